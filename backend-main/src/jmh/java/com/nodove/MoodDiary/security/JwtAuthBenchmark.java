@@ -0,0 +1,89 @@
+package com.nodove.MoodDiary.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 요청 한 건의 토큰 인증 비용 비교.
+ * <ul>
+ *   <li>perCallKey: 예전 필터 경로. 값마다 키를 새로 만들고 토큰을 다시 파싱한다
+ *       (validateToken 2회, isAccessToken, getUserIdFromToken, getRoleFromToken)</li>
+ *   <li>parsedToken: 미리 만든 키와 파서로 한 번 검증해 {@link ParsedToken} 을 얻는다</li>
+ *   <li>cachedPrincipal: {@link AuthenticatedPrincipalCache} 적중 시 (토큰 해시 + 조회)</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtAuthBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-that-is-long-enough-for-hs256";
+
+    private JwtSigningKey signingKey;
+    private AuthenticatedPrincipalCache principalCache;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        signingKey = new JwtSigningKey(SECRET);
+        Date expiration = new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1));
+        token = Jwts.builder()
+                .setClaims(Map.of(
+                        ParsedToken.CLAIM_USER_ID, 42L,
+                        ParsedToken.CLAIM_ROLE, "USER",
+                        ParsedToken.CLAIM_TOKEN_TYPE, ParsedToken.TOKEN_TYPE_ACCESS))
+                .setSubject("user@example.com")
+                .setIssuedAt(new Date())
+                .setExpiration(expiration)
+                .signWith(signingKey.key())
+                .compact();
+
+        principalCache = new AuthenticatedPrincipalCache(true, 1000, TimeUnit.MINUTES.toMillis(5));
+        principalCache.put(token, new AuthenticatedUser(42L, "user@example.com", "user", "USER"), expiration,
+                principalCache.beginLoad());
+    }
+
+    @Benchmark
+    public Object perCallKey() {
+        legacyClaims(token);
+        boolean expired = legacyClaims(token).getExpiration().before(new Date());
+        boolean access = ParsedToken.TOKEN_TYPE_ACCESS.equals(legacyClaims(token).get(ParsedToken.CLAIM_TOKEN_TYPE, String.class));
+        Long userId = legacyClaims(token).get(ParsedToken.CLAIM_USER_ID, Long.class);
+        String role = legacyClaims(token).get(ParsedToken.CLAIM_ROLE, String.class);
+        return !expired && access ? userId + role : null;
+    }
+
+    @Benchmark
+    public Object parsedToken() {
+        ParsedToken parsed = signingKey.parse(token);
+        return parsed.isAccessToken() ? parsed.userId() + parsed.role() : null;
+    }
+
+    @Benchmark
+    public Object cachedPrincipal() {
+        return principalCache.get(token).orElse(null);
+    }
+
+    @SuppressWarnings("deprecation")
+    private static Claims legacyClaims(String token) {
+        SecretKey key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        return Jwts.parser()
+                .setSigningKey(key)
+                .parseClaimsJws(token)
+                .getBody();
+    }
+}
@@ -0,0 +1,244 @@
+package com.nodove.MoodDiary.ai;
+
+import com.nodove.MoodDiary.config.AiOutboxProperties;
+import com.nodove.MoodDiary.dto.DiaryAnalysisResult;
+import com.nodove.MoodDiary.entity.AiAnalysisTask;
+import com.nodove.MoodDiary.entity.MoodDiary;
+import com.nodove.MoodDiary.entity.User;
+import com.nodove.MoodDiary.repository.MoodDiaryRepository;
+import com.nodove.MoodDiary.repository.UserRepository;
+import com.nodove.MoodDiary.service.AIService;
+import com.nodove.MoodDiary.service.AiAnalysisOutboxService;
+import com.nodove.MoodDiary.service.DiaryAnalysisSnapshotService;
+import com.nodove.MoodDiary.service.NotificationService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * AI 분석 outbox 워커.
+ * <p>
+ * 커밋 이벤트를 받으면 즉시, 그렇지 않으면 pollInterval 마다 깨어나 작업을 batch 로 가져온다.
+ * 분석 자체는 {@link AIService} 의 실행 풀에서 돌고, 워커는 batch 가 끝날 때까지 기다린 뒤 다음 batch 를 가져온다.
+ * batch 안의 OpenAI 감정 보강은 먼저 한 번의 배치 요청으로 캐시에 채워 둔다.
+ * 분석이 끝나면 MOOD_ANALYSIS 알림을 보낸 뒤 작업을 지우므로, 도중에 죽으면 알림이 중복될 수 있다.
+ */
+@Slf4j
+@Component
+public class AiAnalysisWorker {
+
+    private final AiOutboxProperties properties;
+    private final AiAnalysisOutboxService outboxService;
+    private final AIService aiService;
+    private final DiaryAnalysisSnapshotService diaryAnalysisSnapshotService;
+    private final NotificationService notificationService;
+    private final UserRepository userRepository;
+    private final MoodDiaryRepository moodDiaryRepository;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition wakeup = lock.newCondition();
+    private boolean signalled;
+    private final AtomicLong backlog = new AtomicLong();
+    private final Counter processed;
+    private final Counter failed;
+
+    private ExecutorService workers;
+    private volatile boolean running;
+
+    public AiAnalysisWorker(AiOutboxProperties properties,
+                            AiAnalysisOutboxService outboxService,
+                            AIService aiService,
+                            DiaryAnalysisSnapshotService diaryAnalysisSnapshotService,
+                            NotificationService notificationService,
+                            UserRepository userRepository,
+                            MoodDiaryRepository moodDiaryRepository,
+                            MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.outboxService = outboxService;
+        this.aiService = aiService;
+        this.diaryAnalysisSnapshotService = diaryAnalysisSnapshotService;
+        this.notificationService = notificationService;
+        this.userRepository = userRepository;
+        this.moodDiaryRepository = moodDiaryRepository;
+        this.processed = Counter.builder("ai.analysis.outbox.processed").register(meterRegistry);
+        this.failed = Counter.builder("ai.analysis.outbox.failed").register(meterRegistry);
+        meterRegistry.gauge("ai.analysis.outbox.backlog", backlog);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!properties.isEnabled()) {
+            log.info("AI analysis outbox worker disabled");
+            return;
+        }
+        running = true;
+        workers = Executors.newFixedThreadPool(properties.getWorkers(),
+                Thread.ofPlatform().name("ai-outbox-", 0).daemon(true).factory());
+        for (int i = 0; i < properties.getWorkers(); i++) {
+            workers.submit(this::runLoop);
+        }
+        log.info("AI analysis outbox worker started - workers: {}, batch size: {}",
+                properties.getWorkers(), properties.getBatchSize());
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        signal();
+        if (workers != null) {
+            workers.shutdown();
+            if (!workers.awaitTermination(10, TimeUnit.SECONDS)) {
+                workers.shutdownNow();
+            }
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onDiaryAnalysisRequested(DiaryAnalysisRequestedEvent event) {
+        signal();
+    }
+
+    public long getBacklog() {
+        return backlog.get();
+    }
+
+    private void runLoop() {
+        while (running) {
+            int claimed = 0;
+            try {
+                claimed = runBatch();
+            } catch (Exception e) {
+                log.error("AI analysis outbox batch failed", e);
+            }
+            // batch 가 가득 찼으면 남은 작업이 있을 수 있으므로 바로 다음 batch 를 가져온다
+            if (claimed < properties.getBatchSize()) {
+                awaitWakeup();
+            }
+        }
+    }
+
+    private int runBatch() {
+        List<AiAnalysisTask> tasks = outboxService.claimBatch(properties.getBatchSize());
+        backlog.set(outboxService.backlog());
+        if (tasks.isEmpty()) {
+            return 0;
+        }
+
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        List<Work> works = new ArrayList<>();
+        for (AiAnalysisTask task : tasks) {
+            Optional<MoodDiary> diary = moodDiaryRepository.findById(task.getDiaryId());
+            Optional<User> user = userRepository.findById(task.getUserId());
+            if (diary.isEmpty() || user.isEmpty()) {
+                // 그 사이 삭제된 일기는 분석할 필요가 없다
+                outboxService.complete(task);
+                continue;
+            }
+            works.add(new Work(task, user.get(), diary.get()));
+        }
+
+        prefetchEmotionAnalysis(works);
+        for (Work work : works) {
+            futures.add(process(work));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        return tasks.size();
+    }
+
+    /**
+     * 스냅샷이 없는 일기들의 OpenAI 감정 보강을 한 번에 요청해 캐시에 채운다.
+     * 이후 일기별 분석은 캐시를 사용하고, 여기서 실패해도 일기별 분석이 각자 다시 시도한다.
+     */
+    private void prefetchEmotionAnalysis(List<Work> works) {
+        List<String> texts = works.stream()
+                .filter(work -> diaryAnalysisSnapshotService.findFresh(work.diary()).isEmpty())
+                .map(work -> work.diary().getContent())
+                .toList();
+        if (texts.size() < 2) {
+            return;
+        }
+        try {
+            aiService.analyzeEmotionBatch(texts).join();
+        } catch (Exception e) {
+            log.warn("Batched emotion analysis prefetch failed for {} diaries: {}", texts.size(), e.getMessage());
+        }
+    }
+
+    private CompletableFuture<Void> process(Work work) {
+        CompletableFuture<DiaryAnalysisResult> analysis;
+        try {
+            analysis = aiService.analyzeDiary(work.user(), work.diary());
+        } catch (Exception e) {
+            analysis = CompletableFuture.failedFuture(e);
+        }
+        return analysis.handle((result, ex) -> {
+            if (ex != null) {
+                failed.increment();
+                outboxService.fail(work.task(), ex.getCause() != null ? ex.getCause() : ex);
+                return null;
+            }
+            if (!Boolean.TRUE.equals(result.getFromSnapshot())) {
+                notifyAnalysisCompleted(work.user(), work.diary(), result);
+            }
+            outboxService.complete(work.task());
+            processed.increment();
+            return null;
+        });
+    }
+
+    private record Work(AiAnalysisTask task, User user, MoodDiary diary) {
+    }
+
+    private void notifyAnalysisCompleted(User user, MoodDiary diary, DiaryAnalysisResult result) {
+        try {
+            String message = String.format("'%s' 일기의 감정 분석이 완료되었습니다. 주요 감정: %s",
+                    diary.getTitle(), result.getEmotionResult().getDominantEmotion());
+            notificationService.sendMoodAnalysis(user.getEmail(), message);
+        } catch (Exception e) {
+            log.warn("Failed to send mood analysis notification for diary: {}", diary.getId(), e);
+        }
+    }
+
+    private void signal() {
+        lock.lock();
+        try {
+            signalled = true;
+            wakeup.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void awaitWakeup() {
+        lock.lock();
+        try {
+            // batch 처리 중에 온 신호도 놓치지 않도록 플래그를 먼저 확인한다
+            if (running && !signalled) {
+                wakeup.await(properties.getPollInterval().toMillis(), TimeUnit.MILLISECONDS);
+            }
+            signalled = false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.nodove.MoodDiary.ai;
+
+import com.nodove.MoodDiary.exception.AiRejectedException;
+import org.springframework.http.HttpStatus;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 동시 실행 수와 대기열 길이가 제한된 실행 풀.
+ * <p>
+ * 실행 중 + 대기 중 작업 수가 {@code maxConcurrent + queueCapacity} 를 넘으면 작업을 받지 않고
+ * {@link AiRejectedException} 으로 완료된 future 를 돌려준다. 한 풀이 막혀도 다른 풀의 작업은 영향을 받지 않는다.
+ */
+public class AiBulkhead {
+
+    private final String name;
+    private final int maxConcurrent;
+    private final int queueCapacity;
+    private final int retryAfterSeconds;
+    private final ExecutorService executor;
+    private final Semaphore permits;
+
+    private final AtomicInteger admitted = new AtomicInteger();
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    public AiBulkhead(String name, int maxConcurrent, int queueCapacity, int retryAfterSeconds, ExecutorService executor) {
+        this.name = name;
+        this.maxConcurrent = maxConcurrent;
+        this.queueCapacity = queueCapacity;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.executor = executor;
+        this.permits = new Semaphore(maxConcurrent, true);
+    }
+
+    public <T> CompletableFuture<T> supply(Supplier<T> task) {
+        if (admitted.incrementAndGet() > maxConcurrent + queueCapacity) {
+            admitted.decrementAndGet();
+            rejected.incrementAndGet();
+            return CompletableFuture.failedFuture(new AiRejectedException(name, HttpStatus.TOO_MANY_REQUESTS,
+                    retryAfterSeconds, "AI " + name + " queue is full"));
+        }
+
+        try {
+            return CompletableFuture.supplyAsync(() -> run(task), executor);
+        } catch (RejectedExecutionException e) {
+            admitted.decrementAndGet();
+            rejected.incrementAndGet();
+            return CompletableFuture.failedFuture(new AiRejectedException(name, HttpStatus.SERVICE_UNAVAILABLE,
+                    retryAfterSeconds, "AI " + name + " executor is not accepting tasks"));
+        }
+    }
+
+    private <T> T run(Supplier<T> task) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            admitted.decrementAndGet();
+            Thread.currentThread().interrupt();
+            throw new AiRejectedException(name, HttpStatus.SERVICE_UNAVAILABLE, retryAfterSeconds,
+                    "AI " + name + " task interrupted while queued");
+        }
+        active.incrementAndGet();
+        try {
+            return task.get();
+        } finally {
+            active.decrementAndGet();
+            permits.release();
+            admitted.decrementAndGet();
+            completed.incrementAndGet();
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public int getActive() {
+        return active.get();
+    }
+
+    public int getQueued() {
+        return Math.max(0, admitted.get() - active.get());
+    }
+
+    public long getCompleted() {
+        return completed.get();
+    }
+
+    public long getRejected() {
+        return rejected.get();
+    }
+
+    void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+        }
+    }
+}
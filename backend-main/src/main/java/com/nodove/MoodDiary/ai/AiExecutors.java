@@ -0,0 +1,84 @@
+package com.nodove.MoodDiary.ai;
+
+import com.nodove.MoodDiary.config.AiExecutionProperties;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * AI 파이프라인이 사용하는 실행 풀 모음. 공용 ForkJoinPool 대신 작업 성격별 bulkhead 를 사용한다.
+ */
+@Slf4j
+@Component
+public class AiExecutors {
+
+    private final AiBulkhead cpu;
+    private final AiBulkhead db;
+    private final AiBulkhead llm;
+
+    public AiExecutors(AiExecutionProperties properties) {
+        int cores = Runtime.getRuntime().availableProcessors();
+        int retryAfter = properties.getRetryAfterSeconds();
+
+        int cpuThreads = properties.getCpu().getMaxConcurrent() > 0 ? properties.getCpu().getMaxConcurrent() : cores;
+        this.cpu = new AiBulkhead("cpu", cpuThreads, properties.getCpu().getQueueCapacity(), retryAfter,
+                Executors.newFixedThreadPool(cpuThreads, Thread.ofPlatform().name("ai-cpu-", 0).daemon(true).factory()));
+        this.db = create("db", properties.getDb(), properties.isVirtualThreads(), cores, retryAfter);
+        this.llm = create("llm", properties.getLlm(), properties.isVirtualThreads(), cores, retryAfter);
+
+        log.info("AI executors initialized - cpu: {}, db: {}, llm: {} (virtual threads: {})",
+                cpu.getMaxConcurrent(), db.getMaxConcurrent(), llm.getMaxConcurrent(), properties.isVirtualThreads());
+    }
+
+    /** 감정 사전 분석 등 CPU 작업 */
+    public AiBulkhead cpu() {
+        return cpu;
+    }
+
+    /** 블로킹 DB 조회 */
+    public AiBulkhead db() {
+        return db;
+    }
+
+    /** 원격 LLM 호출 */
+    public AiBulkhead llm() {
+        return llm;
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        for (AiBulkhead bulkhead : List.of(cpu, db, llm)) {
+            stats.put(bulkhead.getName(), Map.of(
+                    "maxConcurrent", bulkhead.getMaxConcurrent(),
+                    "queueCapacity", bulkhead.getQueueCapacity(),
+                    "active", bulkhead.getActive(),
+                    "queued", bulkhead.getQueued(),
+                    "completed", bulkhead.getCompleted(),
+                    "rejected", bulkhead.getRejected()
+            ));
+        }
+        return stats;
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        for (AiBulkhead bulkhead : List.of(cpu, db, llm)) {
+            bulkhead.shutdown();
+        }
+    }
+
+    private static AiBulkhead create(String name, AiExecutionProperties.Bulkhead settings,
+                                     boolean virtualThreads, int cores, int retryAfter) {
+        int maxConcurrent = settings.getMaxConcurrent() > 0 ? settings.getMaxConcurrent() : cores;
+        ExecutorService executor = virtualThreads
+                ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("ai-" + name + "-", 0).factory())
+                : Executors.newFixedThreadPool(maxConcurrent, Thread.ofPlatform().name("ai-" + name + "-", 0).daemon(true).factory());
+        return new AiBulkhead(name, maxConcurrent, settings.getQueueCapacity(), retryAfter, executor);
+    }
+}
@@ -0,0 +1,52 @@
+package com.nodove.MoodDiary.ai;
+
+/**
+ * AIMD(가산 증가/승산 감소) 방식의 동시 호출 한도.
+ * <p>
+ * 성공할 때마다 한도를 1/limit 씩 올려 한도만큼 성공하면 1 이 늘어나고,
+ * 실패나 타임아웃이 나면 backoffRatio 를 곱해 줄인다. 한도를 넘는 호출은 대기하지 않고 거절한다.
+ */
+public class AimdLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+
+    private double limit;
+    private int inFlight;
+
+    public AimdLimiter(int initialLimit, int minLimit, int maxLimit, double backoffRatio) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.backoffRatio = backoffRatio;
+        this.limit = Math.min(this.maxLimit, Math.max(this.minLimit, initialLimit));
+    }
+
+    public synchronized boolean tryAcquire() {
+        if (inFlight >= (int) limit) {
+            return false;
+        }
+        inFlight++;
+        return true;
+    }
+
+    public synchronized void release() {
+        inFlight--;
+    }
+
+    public synchronized void onSuccess() {
+        limit = Math.min(maxLimit, limit + 1.0 / limit);
+    }
+
+    public synchronized void onDrop() {
+        limit = Math.max(minLimit, limit * backoffRatio);
+    }
+
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+}
@@ -0,0 +1,7 @@
+package com.nodove.MoodDiary.ai;
+
+/**
+ * 일기 분석 작업이 outbox 에 기록되었음을 알린다. 커밋 이후에만 워커에 전달된다.
+ */
+public record DiaryAnalysisRequestedEvent(Long diaryId) {
+}
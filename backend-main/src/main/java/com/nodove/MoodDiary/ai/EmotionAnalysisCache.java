@@ -0,0 +1,155 @@
+package com.nodove.MoodDiary.ai;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.nodove.MoodDiary.config.AiCacheProperties;
+import com.nodove.MoodDiary.dto.EmotionAnalysisResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * OpenAI 감정 분석 결과의 2단계 캐시.
+ * <p>
+ * 키는 정규화한 본문의 SHA-256 과 모델, 프롬프트 버전, 감정 사전 버전으로 만든다.
+ * L1 은 인스턴스 로컬 메모리, L2 는 Redis 이며 L2 에서 찾은 결과는 L1 에 다시 채운다.
+ * Redis 오류는 캐시 미스로 취급한다.
+ */
+@Slf4j
+@Component
+public class EmotionAnalysisCache {
+
+    private static final String REDIS_PREFIX = "ai:emotion:";
+
+    private final AiCacheProperties properties;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final Cache<String, EmotionAnalysisResult> local;
+
+    private final Counter l1Hits;
+    private final Counter l1Misses;
+    private final Counter l2Hits;
+    private final Counter l2Misses;
+    private final Counter bypassed;
+
+    public EmotionAnalysisCache(AiCacheProperties properties,
+                                RedisTemplate<String, Object> redisTemplate,
+                                MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.redisTemplate = redisTemplate;
+        this.local = Caffeine.newBuilder()
+                .maximumSize(properties.getLocalMaxSize())
+                .expireAfterWrite(properties.getLocalTtl())
+                .recordStats()
+                .build();
+
+        this.l1Hits = counter(meterRegistry, "l1", "hit");
+        this.l1Misses = counter(meterRegistry, "l1", "miss");
+        this.l2Hits = counter(meterRegistry, "l2", "hit");
+        this.l2Misses = counter(meterRegistry, "l2", "miss");
+        this.bypassed = Counter.builder("ai.emotion.cache.bypass").register(meterRegistry);
+        meterRegistry.gauge("ai.emotion.cache.size", local, Cache::estimatedSize);
+    }
+
+    public String key(String text, String model, String lexiconVersion) {
+        String normalized = normalize(text);
+        return String.join(":", model, properties.getPromptVersion(),
+                lexiconVersion != null ? lexiconVersion : "none", sha256(normalized));
+    }
+
+    /**
+     * 캐시를 건너뛰어야 하면 true. 설정으로 꺼져 있거나 호출자가 우회를 요청한 경우다.
+     */
+    public boolean shouldBypass(boolean bypassRequested) {
+        if (!properties.isEnabled() || bypassRequested) {
+            bypassed.increment();
+            return true;
+        }
+        return false;
+    }
+
+    public Optional<EmotionAnalysisResult> get(String key) {
+        EmotionAnalysisResult cached = local.getIfPresent(key);
+        if (cached != null) {
+            l1Hits.increment();
+            return Optional.of(cached);
+        }
+        l1Misses.increment();
+
+        if (!properties.isRedisEnabled()) {
+            return Optional.empty();
+        }
+        try {
+            Object value = redisTemplate.opsForValue().get(REDIS_PREFIX + key);
+            if (value instanceof EmotionAnalysisResult result) {
+                l2Hits.increment();
+                local.put(key, result);
+                return Optional.of(result);
+            }
+        } catch (Exception e) {
+            log.warn("Failed to read emotion analysis cache from Redis: {}", e.getMessage());
+        }
+        l2Misses.increment();
+        return Optional.empty();
+    }
+
+    public void put(String key, EmotionAnalysisResult result) {
+        local.put(key, result);
+        if (!properties.isRedisEnabled()) {
+            return;
+        }
+        try {
+            redisTemplate.opsForValue().set(REDIS_PREFIX + key, result, properties.getRedisTtl());
+        } catch (Exception e) {
+            log.warn("Failed to write emotion analysis cache to Redis: {}", e.getMessage());
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", properties.isEnabled());
+        stats.put("promptVersion", properties.getPromptVersion());
+        stats.put("localSize", local.estimatedSize());
+        stats.put("l1Hits", (long) l1Hits.count());
+        stats.put("l1Misses", (long) l1Misses.count());
+        stats.put("l2Hits", (long) l2Hits.count());
+        stats.put("l2Misses", (long) l2Misses.count());
+        stats.put("bypassed", (long) bypassed.count());
+        return stats;
+    }
+
+    /** 공백 차이만 있는 본문이 같은 키를 갖도록 유니코드 정규화 후 공백을 하나로 합친다 */
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String nfc = Normalizer.normalize(text, Normalizer.Form.NFC);
+        return nfc.strip().replaceAll("\\s+", " ");
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static Counter counter(MeterRegistry registry, String tier, String result) {
+        return Counter.builder("ai.emotion.cache.requests")
+                .tag("tier", tier)
+                .tag("result", result)
+                .register(registry);
+    }
+}
@@ -0,0 +1,48 @@
+package com.nodove.MoodDiary.ai;
+
+import com.nodove.MoodDiary.config.AiResilienceProperties;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * 작업 하나의 최근 성공 호출 지연 시간(ms) 원형 버퍼와, 그로부터 정한 타임아웃.
+ * <p>
+ * 타임아웃은 백분위수 × multiplier 를 [min, max] 로 제한한 값이며, 표본이 부족하면 max 이다.
+ */
+class LatencyWindow {
+
+    private final AiResilienceProperties.Timeout settings;
+    private final long[] latencies;
+    private int latencyIndex;
+    private int latencyCount;
+
+    LatencyWindow(AiResilienceProperties.Timeout settings) {
+        this.settings = settings;
+        this.latencies = new long[Math.max(1, settings.getSampleSize())];
+    }
+
+    synchronized void record(long millis) {
+        latencies[latencyIndex] = millis;
+        latencyIndex = (latencyIndex + 1) % latencies.length;
+        if (latencyCount < latencies.length) {
+            latencyCount++;
+        }
+    }
+
+    Duration timeout() {
+        long[] samples;
+        synchronized (this) {
+            if (latencyCount < settings.getMinimumSamples()) {
+                return settings.getMax();
+            }
+            samples = Arrays.copyOf(latencies, latencyCount);
+        }
+        Arrays.sort(samples);
+        int index = (int) Math.ceil(settings.getPercentile() * samples.length) - 1;
+        long percentile = samples[Math.max(0, Math.min(samples.length - 1, index))];
+        long timeout = (long) (percentile * settings.getMultiplier());
+        return Duration.ofMillis(Math.max(settings.getMin().toMillis(),
+                Math.min(settings.getMax().toMillis(), timeout)));
+    }
+}
@@ -0,0 +1,289 @@
+package com.nodove.MoodDiary.ai;
+
+import com.nodove.MoodDiary.config.AiResilienceProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 원격 LLM 호출 보호 계층.
+ * <p>
+ * 서킷이 열려 있거나 동시 호출 한도를 넘으면 호출하지 않고 바로 빈 결과를 돌려주며,
+ * 호출자는 감정 사전 결과 등 기본값으로 대체한다. 타임아웃은 작업(operation)별 최근 성공 호출 지연 시간의
+ * 백분위수로 정한다. 짧은 감정 분석 호출이 표본을 채워 긴 추천 호출의 타임아웃을 줄이지 않도록 작업마다 따로 둔다.
+ */
+@Slf4j
+@Component
+public class LlmGuard {
+
+    private final AiResilienceProperties.Timeout timeoutSettings;
+    private final AiResilienceProperties.Stream streamSettings;
+    private final CircuitBreaker breaker;
+    private final AimdLimiter limiter;
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("ai-llm-call-", 0).factory());
+
+    private final MeterRegistry meterRegistry;
+
+    // 작업별 최근 성공 호출 지연 시간
+    private final Map<String, LatencyWindow> latencies = new ConcurrentHashMap<>();
+
+    private final Counter succeeded;
+    private final Counter failed;
+    private final Counter timedOut;
+    private final Counter shortCircuited;
+    private final Counter limited;
+    private final Counter truncated;
+
+    public LlmGuard(AiResilienceProperties properties, MeterRegistry meterRegistry) {
+        AiResilienceProperties.Breaker breakerSettings = properties.getBreaker();
+        AiResilienceProperties.Limit limitSettings = properties.getLimit();
+        this.timeoutSettings = properties.getTimeout();
+        this.streamSettings = properties.getStream();
+        this.breaker = new CircuitBreaker(breakerSettings.getFailureRateThreshold(), breakerSettings.getSlidingWindowSize(),
+                breakerSettings.getMinimumCalls(), breakerSettings.getOpenDuration(), breakerSettings.getHalfOpenCalls());
+        this.limiter = new AimdLimiter(limitSettings.getInitial(), limitSettings.getMin(), limitSettings.getMax(),
+                limitSettings.getBackoffRatio());
+        this.meterRegistry = meterRegistry;
+
+        this.succeeded = outcome(meterRegistry, "success");
+        this.failed = outcome(meterRegistry, "failure");
+        this.timedOut = outcome(meterRegistry, "timeout");
+        this.shortCircuited = outcome(meterRegistry, "short_circuited");
+        this.limited = outcome(meterRegistry, "limited");
+        this.truncated = outcome(meterRegistry, "truncated");
+        meterRegistry.gauge("ai.llm.concurrency.limit", limiter, AimdLimiter::getLimit);
+        meterRegistry.gauge("ai.llm.concurrency.in_flight", limiter, AimdLimiter::getInFlight);
+    }
+
+    /**
+     * 보호 계층을 거쳐 호출한다. 호출하지 않았거나 실패/타임아웃이면 빈 값을 돌려준다.
+     */
+    public <T> Optional<T> call(String operation, Supplier<T> call) {
+        return call(operation, 1, call);
+    }
+
+    /**
+     * 여러 항목을 한 번에 처리하는 호출. 타임아웃은 weight 배로 늘리되 상한은 넘지 않고,
+     * 지연 시간 표본에는 항목당 지연 시간을 기록한다.
+     */
+    public <T> Optional<T> call(String operation, int weight, Supplier<T> call) {
+        int units = Math.max(1, weight);
+        if (!admit(operation)) {
+            return Optional.empty();
+        }
+
+        LatencyWindow window = latencyWindow(operation);
+        Duration timeout = scaled(window.timeout(), units);
+        long start = System.nanoTime();
+        CompletableFuture<T> future = submit(call);
+        if (future == null) {
+            return Optional.empty();
+        }
+
+        try {
+            T value = future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            window.record((System.nanoTime() - start) / 1_000_000 / units);
+            breaker.onSuccess();
+            limiter.onSuccess();
+            succeeded.increment();
+            return Optional.ofNullable(value);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            breaker.onFailure();
+            limiter.onDrop();
+            timedOut.increment();
+            log.warn("LLM call {} timed out after {} ms", operation, timeout.toMillis());
+        } catch (ExecutionException e) {
+            breaker.onFailure();
+            limiter.onDrop();
+            failed.increment();
+            log.error("LLM call {} failed", operation, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            // 결과를 알 수 없는 호출은 실패로 보고 반열림 허가가 남지 않게 한다
+            breaker.onFailure();
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * 작업의 현재 타임아웃: 최근 성공 호출 지연 시간의 백분위수 × multiplier 를 [min, max] 로 제한한 값. 표본이 부족하면 max.
+     */
+    public Duration currentTimeout(String operation) {
+        return latencyWindow(operation).timeout();
+    }
+
+    private LatencyWindow latencyWindow(String operation) {
+        return latencies.computeIfAbsent(operation, name -> {
+            LatencyWindow window = new LatencyWindow(timeoutSettings);
+            Gauge.builder("ai.llm.timeout.ms", window, w -> w.timeout().toMillis())
+                    .tag("operation", name)
+                    .register(meterRegistry);
+            return window;
+        });
+    }
+
+    /**
+     * 스트리밍 호출. 전체 시간이 아니라 첫 토큰까지의 시간과 토큰 사이 간격으로 멈춘 스트림을 판단하고,
+     * 스트림 길이는 지연 시간 표본에 넣지 않는다. call 은 토큰을 받을 때마다 넘겨받은 progress 를 부른다.
+     * maxDuration 을 넘긴 스트림은 잘라내지만, 토큰은 계속 오고 있었으므로 실패로 세지 않는다.
+     */
+    public <T> Optional<T> stream(String operation, Function<Runnable, T> call) {
+        if (!admit(operation)) {
+            return Optional.empty();
+        }
+
+        long start = System.nanoTime();
+        AtomicLong lastProgress = new AtomicLong(start);
+        AtomicBoolean started = new AtomicBoolean();
+        Runnable progress = () -> {
+            started.set(true);
+            lastProgress.set(System.nanoTime());
+        };
+        CompletableFuture<T> future = submit(() -> call.apply(progress));
+        if (future == null) {
+            return Optional.empty();
+        }
+
+        long hardDeadline = start + streamSettings.getMaxDuration().toNanos();
+        try {
+            while (true) {
+                Duration idleLimit = started.get() ? streamSettings.getIdleTimeout() : streamSettings.getFirstTokenTimeout();
+                long idleDeadline = lastProgress.get() + idleLimit.toNanos();
+                long wait = Math.min(idleDeadline, hardDeadline) - System.nanoTime();
+                if (wait > 0) {
+                    try {
+                        T value = future.get(wait, TimeUnit.NANOSECONDS);
+                        breaker.onSuccess();
+                        limiter.onSuccess();
+                        succeeded.increment();
+                        return Optional.ofNullable(value);
+                    } catch (TimeoutException e) {
+                        // 기다리는 동안 토큰이 왔으면 기한을 다시 계산한다
+                        continue;
+                    }
+                }
+                future.cancel(true);
+                if (System.nanoTime() < lastProgress.get() + idleLimit.toNanos()) {
+                    breaker.onSuccess();
+                    truncated.increment();
+                    log.info("LLM stream {} truncated after {} ms", operation, streamSettings.getMaxDuration().toMillis());
+                } else {
+                    breaker.onFailure();
+                    limiter.onDrop();
+                    timedOut.increment();
+                    log.warn("LLM stream {} stalled: no {} within {} ms", operation,
+                            started.get() ? "token" : "first token", idleLimit.toMillis());
+                }
+                return Optional.empty();
+            }
+        } catch (ExecutionException e) {
+            breaker.onFailure();
+            limiter.onDrop();
+            failed.increment();
+            log.error("LLM stream {} failed", operation, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            breaker.onFailure();
+        }
+        return Optional.empty();
+    }
+
+    // 동시 호출 한도와 서킷을 확인한다. true 면 한도를 하나 잡았고 서킷 허가를 받은 상태다
+    private boolean admit(String operation) {
+        if (!limiter.tryAcquire()) {
+            limited.increment();
+            log.debug("LLM concurrency limit {} reached - skipping {}", limiter.getLimit(), operation);
+            return false;
+        }
+        // 반열림 상태의 시험 호출 허가를 헛되이 쓰지 않도록 동시 호출 한도를 먼저 확인한다
+        if (!breaker.tryAcquire()) {
+            limiter.release();
+            shortCircuited.increment();
+            log.debug("LLM circuit open - skipping {}", operation);
+            return false;
+        }
+        return true;
+    }
+
+    // 호출을 시작한다. 시작하지 못하면 한도를 반납하고 실패로 세며 null
+    private <T> CompletableFuture<T> submit(Supplier<T> call) {
+        CompletableFuture<T> future;
+        try {
+            future = CompletableFuture.supplyAsync(call, executor);
+        } catch (RuntimeException e) {
+            limiter.release();
+            breaker.onFailure();
+            failed.increment();
+            return null;
+        }
+        // 한도는 실제 호출이 끝날 때 반납한다. 타임아웃으로 먼저 포기한 호출도 원격에는 부하로 남아 있기 때문이다
+        future.whenComplete((value, ex) -> limiter.release());
+        return future;
+    }
+
+    private Duration scaled(Duration timeout, int units) {
+        return units == 1 ? timeout : Duration.ofMillis(Math.min(timeoutSettings.getMax().toMillis(), timeout.toMillis() * units));
+    }
+
+    /** OpenAI 클라이언트 자체 타임아웃. 보호 계층의 타임아웃 상한과 같다 */
+    public Duration clientTimeout() {
+        return timeoutSettings.getMax();
+    }
+
+    public CircuitBreaker.State getCircuitState() {
+        return breaker.getState();
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("circuitState", breaker.getState().name());
+        stats.put("failureRate", breaker.getFailureRate());
+        Map<String, Long> timeouts = new TreeMap<>();
+        latencies.forEach((operation, window) -> timeouts.put(operation, window.timeout().toMillis()));
+        stats.put("timeoutMs", timeouts);
+        stats.put("concurrencyLimit", limiter.getLimit());
+        stats.put("inFlight", limiter.getInFlight());
+        stats.put("succeeded", (long) succeeded.count());
+        stats.put("failed", (long) failed.count());
+        stats.put("timedOut", (long) timedOut.count());
+        stats.put("shortCircuited", (long) shortCircuited.count());
+        stats.put("limited", (long) limited.count());
+        stats.put("truncated", (long) truncated.count());
+        return stats;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private static Counter outcome(MeterRegistry registry, String outcome) {
+        return Counter.builder("ai.llm.calls")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+}
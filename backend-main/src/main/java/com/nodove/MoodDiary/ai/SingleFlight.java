@@ -0,0 +1,59 @@
+package com.nodove.MoodDiary.ai;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 같은 키로 동시에 들어온 비동기 작업을 하나로 합친다.
+ * <p>
+ * 진행 중인 작업이 있으면 새 작업을 시작하지 않고 그 future 를 공유한다.
+ * 작업이 끝나면(성공/실패 모두) 키를 제거하므로 결과를 캐시하지는 않는다.
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong started = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+
+    public CompletableFuture<V> execute(K key, Supplier<CompletableFuture<V>> task) {
+        CompletableFuture<V> placeholder = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, placeholder);
+        if (existing != null) {
+            coalesced.incrementAndGet();
+            // 호출자가 공유 future 를 완료/취소해도 다른 호출자에게 영향이 없도록 복사본을 돌려준다
+            return existing.copy();
+        }
+
+        started.incrementAndGet();
+        CompletableFuture<V> source;
+        try {
+            source = task.get();
+        } catch (RuntimeException e) {
+            source = CompletableFuture.failedFuture(e);
+        }
+        source.whenComplete((value, ex) -> {
+            inFlight.remove(key, placeholder);
+            if (ex != null) {
+                placeholder.completeExceptionally(ex);
+            } else {
+                placeholder.complete(value);
+            }
+        });
+        return placeholder.copy();
+    }
+
+    public int getInFlight() {
+        return inFlight.size();
+    }
+
+    public long getStarted() {
+        return started.get();
+    }
+
+    public long getCoalesced() {
+        return coalesced.get();
+    }
+}
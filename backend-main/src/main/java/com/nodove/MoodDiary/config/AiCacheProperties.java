@@ -0,0 +1,30 @@
+package com.nodove.MoodDiary.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * OpenAI 감정 분석 결과 캐시 설정. 로컬 메모리(L1)와 Redis(L2) 두 단계로 캐시한다.
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "ai.cache")
+public class AiCacheProperties {
+
+    /** false 이면 캐시를 조회/저장하지 않고 항상 OpenAI 를 호출한다 */
+    private boolean enabled = true;
+
+    /** 프롬프트가 바뀌면 올려서 이전 결과를 무효화한다 */
+    private String promptVersion = "v1";
+
+    private long localMaxSize = 10_000;
+    private Duration localTtl = Duration.ofMinutes(10);
+
+    private boolean redisEnabled = true;
+    private Duration redisTtl = Duration.ofDays(7);
+}
@@ -0,0 +1,50 @@
+package com.nodove.MoodDiary.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * AI 분석 작업 실행 설정. 작업 성격별로 격리된 실행 풀(bulkhead)을 둔다.
+ * <ul>
+ *   <li>cpu: 감정 사전 분석 등 CPU 작업 (플랫폼 스레드 고정 풀)</li>
+ *   <li>db: 거래 내역 조회 등 블로킹 DB 작업</li>
+ *   <li>llm: OpenAI 등 원격 LLM 호출</li>
+ * </ul>
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "ai.execution")
+public class AiExecutionProperties {
+
+    /** db/llm 풀에 가상 스레드를 사용할지 여부 */
+    private boolean virtualThreads = true;
+
+    /** 거절 응답의 Retry-After (초) */
+    private int retryAfterSeconds = 5;
+
+    private Bulkhead cpu = new Bulkhead(0, 200);
+    private Bulkhead db = new Bulkhead(10, 100);
+    private Bulkhead llm = new Bulkhead(8, 50);
+
+    @Getter
+    @Setter
+    public static class Bulkhead {
+
+        /** 동시 실행 수. 0 이하이면 CPU 코어 수 */
+        private int maxConcurrent;
+
+        /** 실행 대기열 길이. 가득 차면 새 작업을 거절한다 */
+        private int queueCapacity;
+
+        public Bulkhead() {
+        }
+
+        public Bulkhead(int maxConcurrent, int queueCapacity) {
+            this.maxConcurrent = maxConcurrent;
+            this.queueCapacity = queueCapacity;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.nodove.MoodDiary.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * 일기 저장 후 비동기 AI 분석 설정.
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "ai.outbox")
+public class AiOutboxProperties {
+
+    /** false 이면 일기 저장 시 분석 작업을 적재하지 않는다 */
+    private boolean enabled = true;
+
+    /** outbox 를 처리하는 워커 스레드 수 */
+    private int workers = 2;
+
+    /** 워커가 한 번에 가져오는 작업 수 */
+    private int batchSize = 20;
+
+    /** 커밋 이벤트를 놓친 작업과 재시도 대상을 찾는 주기 */
+    private Duration pollInterval = Duration.ofSeconds(10);
+
+    /** 처리 중 작업의 점유 시간. 지나면 워커가 죽은 것으로 보고 다시 가져간다 */
+    private Duration lease = Duration.ofMinutes(5);
+
+    private int maxAttempts = 5;
+    private Duration initialBackoff = Duration.ofSeconds(30);
+    private Duration maxBackoff = Duration.ofMinutes(30);
+}
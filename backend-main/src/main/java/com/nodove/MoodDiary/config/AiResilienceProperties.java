@@ -0,0 +1,89 @@
+package com.nodove.MoodDiary.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * OpenAI 호출 보호 설정: 서킷 브레이커, 지연 시간 기반 타임아웃, AIMD 동시 호출 제한.
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "ai.resilience")
+public class AiResilienceProperties {
+
+    private Breaker breaker = new Breaker();
+    private Timeout timeout = new Timeout();
+    private Limit limit = new Limit();
+    private Stream stream = new Stream();
+
+    @Getter
+    @Setter
+    public static class Breaker {
+
+        /** 최근 호출 중 실패 비율이 이 값 이상이면 서킷을 연다 */
+        private double failureRateThreshold = 0.5;
+
+        /** 실패 비율을 계산할 최근 호출 수 */
+        private int slidingWindowSize = 50;
+
+        /** 실패 비율을 판단하기 위한 최소 호출 수 */
+        private int minimumCalls = 10;
+
+        /** 서킷이 열린 뒤 시험 호출을 허용하기까지의 시간 */
+        private Duration openDuration = Duration.ofSeconds(30);
+
+        /** 반열림 상태에서 허용하는 시험 호출 수 */
+        private int halfOpenCalls = 3;
+    }
+
+    @Getter
+    @Setter
+    public static class Timeout {
+
+        /** 최근 성공 호출 지연 시간의 이 백분위수를 기준으로 타임아웃을 정한다 */
+        private double percentile = 0.99;
+
+        private double multiplier = 1.5;
+        private Duration min = Duration.ofSeconds(2);
+
+        /** 표본이 부족할 때의 타임아웃이자 상한. OpenAI 클라이언트 자체 타임아웃으로도 쓴다 */
+        private Duration max = Duration.ofSeconds(30);
+
+        private int sampleSize = 200;
+        private int minimumSamples = 20;
+    }
+
+    /**
+     * 스트리밍 호출 타임아웃. 스트림 길이는 응답 길이에 따라 달라서 지연 시간 표본 대신 토큰 간격으로 판단한다.
+     */
+    @Getter
+    @Setter
+    public static class Stream {
+
+        /** 첫 토큰까지 기다리는 시간 */
+        private Duration firstTokenTimeout = Duration.ofSeconds(15);
+
+        /** 토큰 사이 최대 간격. 넘으면 멈춘 스트림으로 보고 실패로 센다 */
+        private Duration idleTimeout = Duration.ofSeconds(10);
+
+        /** 스트림 전체 상한. 넘으면 잘라내지만 실패로 세지 않는다 */
+        private Duration maxDuration = Duration.ofMinutes(2);
+    }
+
+    @Getter
+    @Setter
+    public static class Limit {
+
+        private int initial = 8;
+        private int min = 1;
+        private int max = 32;
+
+        /** 실패/타임아웃 시 한도에 곱하는 비율 */
+        private double backoffRatio = 0.7;
+    }
+}
@@ -0,0 +1,37 @@
+package com.nodove.MoodDiary.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * 일기 검색용 메모리 역색인 설정. 사용자별 색인은 처음 검색할 때 만들고 이후 일기 변경 시 갱신한다.
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "search.diary")
+public class DiarySearchProperties {
+
+    /** false 이면 색인 없이 DB LIKE 검색을 사용한다 */
+    private boolean enabled = true;
+
+    /**
+     * 메모리에 유지할 색인 크기 (모든 사용자의 문서 수 + postings 항목 수 합). 항목 하나가 대략 40바이트이다
+     */
+    private long maxPostings = 2_000_000;
+
+    /** 오래 검색하지 않은 사용자 색인을 내린다 */
+    private Duration idleTtl = Duration.ofMinutes(30);
+
+    /**
+     * 색인을 DB 에서 다시 만드는 주기. 다른 인스턴스에서 일어난 변경은 이 주기 안에 반영된다
+     */
+    private Duration rebuildInterval = Duration.ofMinutes(10);
+
+    /** 하이라이트 문구 길이 (글자 수) */
+    private int highlightLength = 100;
+}
@@ -0,0 +1,44 @@
+package com.nodove.MoodDiary.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * 사용자별 태그 사전과 태그 자동완성 설정.
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "tags")
+public class DiaryTagProperties {
+
+    /** 메모리에 유지할 사용자 자동완성 트라이 수 */
+    private long autocompleteMaxUsers = 2_000;
+
+    /** 오래 조회하지 않은 사용자 트라이를 내린다 */
+    private Duration autocompleteIdleTtl = Duration.ofMinutes(30);
+
+    /**
+     * 트라이를 DB 에서 다시 만드는 주기. 다른 인스턴스에서 일어난 변경은 이 주기 안에 반영된다
+     */
+    private Duration autocompleteRefreshInterval = Duration.ofMinutes(10);
+
+    /** 자동완성 후보 최대 개수 */
+    private int maxSuggestions = 10;
+
+    /** 태그 구름 최대 개수 */
+    private int maxCloudSize = 50;
+
+    /** 재구성 작업 실행 여부 */
+    private boolean rebuildEnabled = true;
+
+    /** 재구성 작업 cron (기본: 매일 05:30) */
+    private String rebuildCron = "0 30 5 * * *";
+
+    /** 재구성 작업이 한 번에 가져오는 사용자 수 */
+    private int rebuildBatchSize = 200;
+}
@@ -0,0 +1,25 @@
+package com.nodove.MoodDiary.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 일기 일괄 가져오기/내보내기 설정. 둘 다 파일을 스트림으로 처리하므로 메모리 사용량은 배치 크기로 정해진다.
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "transfer.diary")
+public class DiaryTransferProperties {
+
+    /** 가져오기에서 한 트랜잭션으로 넣는 일기 수 (JDBC 배치 크기) */
+    private int importBatchSize = 500;
+
+    /** 내보내기에서 한 번에 읽는 일기 수 */
+    private int exportPageSize = 500;
+
+    /** 가져오기 결과에 담는 건너뛴 행 사유의 최대 개수 */
+    private int maxReportedErrors = 50;
+}
@@ -0,0 +1,25 @@
+package com.nodove.MoodDiary.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 사용자별 일기 통계 집계 설정. 집계는 일기 저장 시 갱신되고, 재구성 작업이 주기적으로 어긋남을 바로잡는다.
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "stats.mood")
+public class MoodStatsProperties {
+
+    /** 재구성 작업을 실행할지 여부 */
+    private boolean rebuildEnabled = true;
+
+    /** 재구성 작업 cron (기본: 매일 04:30) */
+    private String rebuildCron = "0 30 4 * * *";
+
+    /** 재구성 작업이 한 번에 가져오는 사용자 수 */
+    private int rebuildBatchSize = 200;
+}
@@ -0,0 +1,142 @@
+package com.nodove.MoodDiary.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * 알림 전송 설정. 채널마다 대기열과 작업 스레드를 따로 두어 느린 채널이 다른 채널을 막지 않게 한다.
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "notification.delivery")
+public class NotificationDeliveryProperties {
+
+    private Channel websocket = new Channel(2, 1_000, 1, Duration.ofMillis(200));
+    private Channel sse = new Channel(2, 1_000, 1, Duration.ofMillis(200));
+    private Channel fcm = new Channel(4, 5_000, 3, Duration.ofSeconds(1));
+
+    /** 다른 노드로 넘기는 채널 (cluster.enabled 일 때만) */
+    private Channel relay = new Channel(2, 5_000, 3, Duration.ofMillis(200));
+
+    private Cluster cluster = new Cluster();
+
+    private Session session = new Session();
+
+    private Replay replay = new Replay();
+
+    public Channel forChannel(String name) {
+        return switch (name) {
+            case "websocket" -> websocket;
+            case "sse" -> sse;
+            case "fcm" -> fcm;
+            case "relay" -> relay;
+            default -> throw new IllegalArgumentException("Unknown notification channel: " + name);
+        };
+    }
+
+    /**
+     * 여러 노드에서 WebSocket/SSE 연결을 나눠 받을 때의 설정. 켜면 Redis pub/sub 으로 다른 노드의 연결에도 보낸다.
+     */
+    @Getter
+    @Setter
+    public static class Cluster {
+
+        private boolean enabled = false;
+
+        /** 사용자별 Redis 채널 이름 앞부분 (뒤에 사용자 id) */
+        private String channelPrefix = "notification:user:";
+    }
+
+    /**
+     * WebSocket/SSE 연결별 설정.
+     */
+    @Getter
+    @Setter
+    public static class Session {
+
+        /** 사용자당 연결 수. 넘으면 가장 오래된 연결을 닫는다 */
+        private int maxPerUser = 5;
+
+        /** 연결별 전송 대기열 길이 (메시지 수). SSE 는 가득 차면 가장 오래된 메시지를 버리고, WebSocket 은 overflowPolicy 를 따른다 */
+        private int sendQueueCapacity = 100;
+
+        /** WebSocket/SSE: 한 번의 전송이 이 시간을 넘기면 느린 클라이언트로 보고 연결을 닫는다 */
+        private Duration sendTimeLimit = Duration.ofSeconds(10);
+
+        /** WebSocket: 보내지 못하고 쌓인 메시지 크기 한도 (바이트) */
+        private int bufferSizeLimit = 512 * 1024;
+
+        /** WebSocket: 대기열이 넘칠 때의 처리 */
+        private OverflowPolicy overflowPolicy = OverflowPolicy.DROP_OLDEST;
+
+        /** WebSocket/SSE: 모든 연결이 함께 쓰는 전송 스레드 수 (WebSocket, SSE 가 각자 이만큼 둔다) */
+        private int sendThreads = 4;
+
+        /** SSE: 연결 최대 유지 시간. 지나면 클라이언트가 Last-Event-ID 로 다시 연결한다 */
+        private Duration sseTimeout = Duration.ofMinutes(30);
+
+        /** SSE: 프록시가 유휴 연결을 끊지 않도록 보내는 heartbeat 주기 */
+        private Duration heartbeatInterval = Duration.ofSeconds(15);
+    }
+
+    /**
+     * SSE 재연결 시 놓친 알림 다시 보내기. 최근 알림은 사용자별 버퍼에서, 버퍼가 없거나 모자라면 DB 에서 읽는다.
+     */
+    @Getter
+    @Setter
+    public static class Replay {
+
+        /** 사용자별로 들고 있는 최근 알림 수 */
+        private int bufferSize = 100;
+
+        /** 마지막 사용 후 버퍼를 들고 있는 시간 */
+        private Duration bufferTtl = Duration.ofMinutes(10);
+
+        /** 버퍼를 들고 있는 최대 사용자 수 */
+        private long maxUsers = 10_000;
+
+        /** 재연결 한 번에 다시 보내는 최대 알림 수. 넘으면 resync 이벤트로 목록을 다시 읽게 한다 */
+        private int limit = 200;
+    }
+
+    public enum OverflowPolicy {
+        /** 가장 오래된 메시지를 버린다 */
+        DROP_OLDEST,
+        /** 밀려난 알림들을 "읽지 않은 알림 다시 읽기" 메시지 하나로 합친다 */
+        COALESCE,
+        /** 느린 클라이언트로 보고 연결을 닫는다. 클라이언트는 재연결 후 목록을 다시 읽는다 */
+        DISCONNECT
+    }
+
+    @Getter
+    @Setter
+    public static class Channel {
+
+        /** 작업 스레드 수 */
+        private int workers;
+
+        /** 대기열 길이. 가득 차면 새 알림은 이 채널로 보내지 않는다 */
+        private int queueCapacity;
+
+        /** 첫 시도를 포함한 최대 시도 횟수 */
+        private int maxAttempts;
+
+        /** 첫 재시도 대기 시간. 재시도마다 두 배로 늘어난다 */
+        private Duration initialBackoff;
+
+        public Channel() {
+        }
+
+        public Channel(int workers, int queueCapacity, int maxAttempts, Duration initialBackoff) {
+            this.workers = workers;
+            this.queueCapacity = queueCapacity;
+            this.maxAttempts = maxAttempts;
+            this.initialBackoff = initialBackoff;
+        }
+    }
+}
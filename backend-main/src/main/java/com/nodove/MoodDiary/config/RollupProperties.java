@@ -0,0 +1,33 @@
+package com.nodove.MoodDiary.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 대시보드용 일/주/월 구간 집계 설정.
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "stats.rollup")
+public class RollupProperties {
+
+    /** 시간대 설정이 없거나 잘못되었을 때 쓰는 시간대 */
+    private String defaultTimezone = "Asia/Seoul";
+
+    /** 한 번에 조회할 수 있는 최대 구간 수 */
+    private int maxBuckets = 400;
+
+    /**
+     * 재구성 작업 실행 여부. 앱을 거치지 않고 적재된 거래(외부 동기화 등)는 재구성 때 반영된다
+     */
+    private boolean rebuildEnabled = true;
+
+    /** 재구성 작업 cron (기본: 매일 05:00) */
+    private String rebuildCron = "0 0 5 * * *";
+
+    /** 재구성 작업이 한 번에 가져오는 사용자 수 */
+    private int rebuildBatchSize = 200;
+}
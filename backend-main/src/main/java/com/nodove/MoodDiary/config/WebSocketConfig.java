@@ -1,5 +1,6 @@
 package com.nodove.MoodDiary.config;
 
+import com.nodove.MoodDiary.websocket.JwtHandshakeInterceptor;
 import com.nodove.MoodDiary.websocket.NotificationWebSocketHandler;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.socket.config.annotation.EnableWebSocket;
@@ -11,14 +12,18 @@ import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry
 public class WebSocketConfig implements WebSocketConfigurer {
 
     private final NotificationWebSocketHandler notificationWebSocketHandler;
+    private final JwtHandshakeInterceptor jwtHandshakeInterceptor;
 
-    public WebSocketConfig(NotificationWebSocketHandler notificationWebSocketHandler) {
+    public WebSocketConfig(NotificationWebSocketHandler notificationWebSocketHandler,
+                           JwtHandshakeInterceptor jwtHandshakeInterceptor) {
         this.notificationWebSocketHandler = notificationWebSocketHandler;
+        this.jwtHandshakeInterceptor = jwtHandshakeInterceptor;
     }
 
     @Override
     public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
         registry.addHandler(notificationWebSocketHandler, "/ws/notifications")
+                .addInterceptors(jwtHandshakeInterceptor)
                 .setAllowedOrigins("*");
     }
 }
\ No newline at end of file
@@ -1,22 +1,37 @@
 package com.nodove.MoodDiary.controller;
 
+import com.nodove.MoodDiary.ai.AiExecutors;
+import com.nodove.MoodDiary.ai.CircuitBreaker;
+import com.nodove.MoodDiary.ai.EmotionAnalysisCache;
+import com.nodove.MoodDiary.ai.LlmGuard;
 import com.nodove.MoodDiary.dto.EmotionAnalysisResult;
 import com.nodove.MoodDiary.dto.FinancialCorrelationResult;
 import com.nodove.MoodDiary.dto.PersonalizedRecommendation;
 import com.nodove.MoodDiary.entity.MoodDiary;
 import com.nodove.MoodDiary.entity.User;
+import com.nodove.MoodDiary.exception.AiRejectedException;
 import com.nodove.MoodDiary.service.AIService;
 import com.nodove.MoodDiary.service.MoodDiaryService;
 import com.nodove.MoodDiary.service.AuthService;
+import com.nodove.MoodDiary.service.OpenAIService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import java.io.IOException;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
@@ -27,6 +42,8 @@ public class AIController {
     
     private static final Logger logger = LoggerFactory.getLogger(AIController.class);
     
+    private static final long RECOMMENDATION_STREAM_TIMEOUT_MS = 60_000L;
+    
     @Autowired
     private AIService aiService;
     
@@ -35,11 +52,24 @@ public class AIController {
     
     @Autowired
     private AuthService authService;
+    
+    @Autowired
+    private OpenAIService openAIService;
+    
+    @Autowired
+    private LlmGuard llmGuard;
+    
+    @Autowired
+    private AiExecutors aiExecutors;
+    
+    @Autowired
+    private EmotionAnalysisCache emotionAnalysisCache;
 
     @PostMapping("/analyze-emotion")
-    @Operation(summary = "감정 분석", description = "텍스트의 감정을 분석합니다")
+    @Operation(summary = "감정 분석", description = "텍스트의 감정을 분석합니다. bypassCache=true 이면 캐시된 결과를 사용하지 않습니다")
     public CompletableFuture<ResponseEntity<EmotionAnalysisResult>> analyzeEmotion(
-            @RequestBody Map<String, String> request) {
+            @RequestBody Map<String, String> request,
+            @RequestParam(defaultValue = "false") boolean bypassCache) {
         
         String text = request.get("text");
         if (text == null || text.trim().isEmpty()) {
@@ -50,12 +80,9 @@ public class AIController {
         
         logger.info("Analyzing emotion for text length: {}", text.length());
         
-        return aiService.analyzeEmotion(text)
+        return aiService.analyzeEmotion(text, bypassCache)
                 .thenApply(ResponseEntity::ok)
-                .exceptionally(ex -> {
-                    logger.error("Error in emotion analysis", ex);
-                    return ResponseEntity.internalServerError().build();
-                });
+                .exceptionally(ex -> errorResponse("Error in emotion analysis", ex, null));
     }
 
     @PostMapping("/analyze-financial-correlation/{diaryId}")
@@ -68,7 +95,7 @@ public class AIController {
             User user = authService.getCurrentUser(authentication);
             MoodDiary diary = moodDiaryService.findById(diaryId);
             
-            if (diary == null || !diary.getUser().equals(user)) {
+            if (diary == null || !diary.getUser().getId().equals(user.getId())) {
                 return CompletableFuture.completedFuture(
                     ResponseEntity.notFound().build()
                 );
@@ -78,10 +105,7 @@ public class AIController {
             
             return aiService.analyzeFinancialCorrelation(user, diary)
                     .thenApply(ResponseEntity::ok)
-                    .exceptionally(ex -> {
-                        logger.error("Error in financial correlation analysis", ex);
-                        return ResponseEntity.internalServerError().build();
-                    });
+                    .exceptionally(ex -> errorResponse("Error in financial correlation analysis", ex, null));
                     
         } catch (Exception e) {
             logger.error("Error accessing diary or user", e);
@@ -104,7 +128,7 @@ public class AIController {
             
             if (diaryId != null) {
                 MoodDiary diary = moodDiaryService.findById(diaryId);
-                if (diary != null && diary.getUser().equals(user)) {
+                if (diary != null && diary.getUser().getId().equals(user.getId())) {
                     return generateRecommendationsForDiary(user, diary);
                 }
             }
@@ -119,6 +143,54 @@ public class AIController {
         }
     }
 
+    @GetMapping(value = "/recommendations/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "개인화된 추천 스트리밍",
+               description = "규칙 기반 추천을 먼저 보내고 AI 추천은 생성되는 대로 recommendation 이벤트로 보냅니다. 끝나면 complete 이벤트를 보냅니다")
+    public SseEmitter streamRecommendations(
+            Authentication authentication,
+            @RequestParam(required = false) Long diaryId) {
+        
+        User user = authService.getCurrentUser(authentication);
+        MoodDiary diary = null;
+        if (diaryId != null) {
+            MoodDiary found = moodDiaryService.findById(diaryId);
+            if (found != null && found.getUser().getId().equals(user.getId())) {
+                diary = found;
+            }
+        }
+        
+        SseEmitter emitter = new SseEmitter(RECOMMENDATION_STREAM_TIMEOUT_MS);
+        AtomicBoolean open = new AtomicBoolean(true);
+        emitter.onCompletion(() -> open.set(false));
+        emitter.onTimeout(() -> open.set(false));
+        emitter.onError(ex -> open.set(false));
+        
+        AtomicLong sequence = new AtomicLong();
+        Predicate<PersonalizedRecommendation> sink = recommendation -> {
+            if (!open.get()) {
+                return false;
+            }
+            try {
+                emitter.send(SseEmitter.event()
+                        .id(String.valueOf(sequence.incrementAndGet()))
+                        .name("recommendation")
+                        .data(recommendation, MediaType.APPLICATION_JSON));
+                return true;
+            } catch (IOException | IllegalStateException e) {
+                // 클라이언트가 연결을 끊었으면 남은 AI 생성도 중단한다
+                open.set(false);
+                return false;
+            }
+        };
+        
+        logger.info("Streaming recommendations for user: {}", user.getId());
+        CompletableFuture<Void> stream = diary != null
+                ? aiService.streamRecommendationsForDiary(user, diary, sink)
+                : aiService.streamRecommendations(user, defaultEmotionResult(), defaultFinancialResult(), sink);
+        stream.whenComplete((ignored, ex) -> completeStream(emitter, open, ex));
+        return emitter;
+    }
+
     @PostMapping("/process-diary/{diaryId}")
     @Operation(summary = "다이어리 종합 AI 분석", description = "다이어리에 대한 종합적인 AI 분석을 수행합니다")
     public CompletableFuture<ResponseEntity<String>> processComprehensiveAnalysis(
@@ -129,7 +201,7 @@ public class AIController {
             User user = authService.getCurrentUser(authentication);
             MoodDiary diary = moodDiaryService.findById(diaryId);
             
-            if (diary == null || !diary.getUser().equals(user)) {
+            if (diary == null || !diary.getUser().getId().equals(user.getId())) {
                 return CompletableFuture.completedFuture(
                     ResponseEntity.notFound().build()
                 );
@@ -139,11 +211,7 @@ public class AIController {
             
             return aiService.processComprehensiveAnalysis(user, diary)
                     .thenApply(result -> ResponseEntity.ok("분석이 완료되었습니다"))
-                    .exceptionally(ex -> {
-                        logger.error("Error in comprehensive analysis", ex);
-                        return ResponseEntity.internalServerError()
-                                .body("분석 중 오류가 발생했습니다");
-                    });
+                    .exceptionally(ex -> errorResponse("Error in comprehensive analysis", ex, "분석 중 오류가 발생했습니다"));
                     
         } catch (Exception e) {
             logger.error("Error starting comprehensive analysis", e);
@@ -156,52 +224,98 @@ public class AIController {
     @GetMapping("/health")
     @Operation(summary = "AI 서비스 상태 확인", description = "AI 서비스의 상태를 확인합니다")
     public ResponseEntity<Map<String, Object>> healthCheck() {
-        Map<String, Object> health = Map.of(
-            "status", "UP",
-            "aiService", "ACTIVE",
-            "emotionAnalysis", "AVAILABLE",
-            "financialCorrelation", "AVAILABLE",
-            "recommendations", "AVAILABLE"
-        );
+        // 서킷이 닫혀 있지 않으면 OpenAI 보강 없이 감정 사전 결과만 제공하므로 DEGRADED 로 표시한다
+        boolean openAiConfigured = openAIService.isConfigured();
+        CircuitBreaker.State circuitState = llmGuard.getCircuitState();
+        boolean degraded = openAiConfigured && circuitState != CircuitBreaker.State.CLOSED;
+        
+        Map<String, Object> health = new LinkedHashMap<>();
+        health.put("status", degraded ? "DEGRADED" : "UP");
+        health.put("aiService", "ACTIVE");
+        health.put("emotionAnalysis", "AVAILABLE");
+        health.put("financialCorrelation", "AVAILABLE");
+        health.put("recommendations", degraded ? "FALLBACK" : "AVAILABLE");
+        health.put("openai", openAiConfigured ? circuitState.name() : "NOT_CONFIGURED");
+        health.put("llm", llmGuard.stats());
+        health.put("bulkheads", aiExecutors.stats());
+        health.put("cache", emotionAnalysisCache.stats());
+        health.put("coalescing", aiService.coalescingStats());
         
         return ResponseEntity.ok(health);
     }
 
     private CompletableFuture<ResponseEntity<List<PersonalizedRecommendation>>> generateRecommendationsForDiary(User user, MoodDiary diary) {
-        return aiService.analyzeEmotion(diary.getContent())
-                .thenCompose(emotionResult -> {
-                    return aiService.analyzeFinancialCorrelation(user, diary)
-                            .thenCompose(financialResult -> {
-                                return aiService.generateRecommendations(user, emotionResult, financialResult);
-                            });
-                })
+        return aiService.generateRecommendationsForDiary(user, diary)
                 .thenApply(ResponseEntity::ok)
-                .exceptionally(ex -> {
-                    logger.error("Error generating diary-based recommendations", ex);
-                    return ResponseEntity.internalServerError().build();
-                });
+                .exceptionally(ex -> errorResponse("Error generating diary-based recommendations", ex, null));
     }
 
     private CompletableFuture<ResponseEntity<List<PersonalizedRecommendation>>> generateGeneralRecommendations(User user) {
-        EmotionAnalysisResult defaultEmotionResult = EmotionAnalysisResult.builder()
+        return aiService.generateRecommendations(user, defaultEmotionResult(), defaultFinancialResult())
+                .thenApply(ResponseEntity::ok)
+                .exceptionally(ex -> errorResponse("Error generating general recommendations", ex, null));
+    }
+
+    private static EmotionAnalysisResult defaultEmotionResult() {
+        return EmotionAnalysisResult.builder()
                 .emotionScore(0.0)
                 .dominantEmotion("NEUTRAL")
                 .confidence(0.0)
                 .aiEnhanced(false)
                 .build();
-                
-        FinancialCorrelationResult defaultFinancialResult = FinancialCorrelationResult.builder()
+    }
+
+    private static FinancialCorrelationResult defaultFinancialResult() {
+        return FinancialCorrelationResult.builder()
                 .correlationScore(0.0)
                 .spendingTrend("MODERATE")
                 .emotionImpact(0.0)
                 .riskLevel("LOW")
                 .build();
-        
-        return aiService.generateRecommendations(user, defaultEmotionResult, defaultFinancialResult)
-                .thenApply(ResponseEntity::ok)
-                .exceptionally(ex -> {
-                    logger.error("Error generating general recommendations", ex);
-                    return ResponseEntity.internalServerError().build();
-                });
     }
-}
\ No newline at end of file
+
+    /**
+     * 스트림을 끝낸다. 실행 풀이 거절한 경우 status 와 retryAfter 를 담은 error 이벤트를 보낸다.
+     */
+    private void completeStream(SseEmitter emitter, AtomicBoolean open, Throwable ex) {
+        if (!open.get()) {
+            return;
+        }
+        try {
+            if (ex == null) {
+                emitter.send(SseEmitter.event().name("complete").data("done"));
+            } else {
+                Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+                Map<String, Object> error = new LinkedHashMap<>();
+                if (cause instanceof AiRejectedException rejected) {
+                    logger.warn("Recommendation stream rejected: {} (bulkhead: {})", rejected.getMessage(), rejected.getBulkhead());
+                    error.put("status", rejected.getStatus().value());
+                    error.put("retryAfter", rejected.getRetryAfterSeconds());
+                } else {
+                    logger.error("Error streaming recommendations", cause);
+                    error.put("status", 500);
+                }
+                error.put("message", "추천 생성 중 오류가 발생했습니다");
+                emitter.send(SseEmitter.event().name("error").data(error, MediaType.APPLICATION_JSON));
+            }
+            emitter.complete();
+        } catch (IOException | IllegalStateException e) {
+            logger.debug("Recommendation stream already closed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 비동기 처리 실패를 응답으로 변환한다. 실행 풀이 작업을 거절한 경우 429/503 과 Retry-After 를 돌려준다.
+     */
+    private <T> ResponseEntity<T> errorResponse(String message, Throwable ex, T body) {
+        Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+        if (cause instanceof AiRejectedException rejected) {
+            logger.warn("{}: {} (bulkhead: {})", message, rejected.getMessage(), rejected.getBulkhead());
+            return ResponseEntity.status(rejected.getStatus())
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(rejected.getRetryAfterSeconds()))
+                    .body(body);
+        }
+        logger.error(message, cause);
+        return ResponseEntity.internalServerError().body(body);
+    }
+}
@@ -0,0 +1,80 @@
+package com.nodove.MoodDiary.controller;
+
+import com.nodove.MoodDiary.dto.ApiResponse;
+import com.nodove.MoodDiary.dto.DiaryImportResult;
+import com.nodove.MoodDiary.service.DiaryExportService;
+import com.nodove.MoodDiary.service.DiaryImportService;
+import com.nodove.MoodDiary.transfer.DiaryTransferFormat;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+
+/**
+ * 일기 일괄 가져오기/내보내기. 요청/응답 본문을 스트림으로 처리하므로 파일 크기에 상관없이 메모리 사용량이 일정하다.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/mood-diaries")
+@RequiredArgsConstructor
+public class DiaryTransferController {
+
+    private final DiaryImportService diaryImportService;
+    private final DiaryExportService diaryExportService;
+
+    /**
+     * 요청 본문 그대로 가져온다 (Content-Type: application/x-ndjson 또는 text/csv). multipart 는 받지 않는다.
+     */
+    @PostMapping(value = "/import", consumes = {"application/x-ndjson", "text/csv"})
+    public ResponseEntity<ApiResponse<DiaryImportResult>> importDiaries(
+            Authentication authentication,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            HttpServletRequest request) throws IOException {
+
+        Long userId = (Long) authentication.getDetails();
+        try {
+            DiaryImportResult result = diaryImportService.importDiaries(userId,
+                    DiaryTransferFormat.from(contentType), request.getInputStream());
+            return ResponseEntity.ok(ApiResponse.<DiaryImportResult>builder()
+                    .success(result.isCompleted())
+                    .message(result.isCompleted()
+                            ? "일기 " + result.getImported() + "편을 가져왔습니다."
+                            : "파일을 끝까지 읽지 못했습니다. 일기 " + result.getImported() + "편까지 가져왔습니다.")
+                    .data(result)
+                    .build());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.<DiaryImportResult>builder()
+                    .success(false)
+                    .message(e.getMessage())
+                    .build());
+        }
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportDiaries(
+            Authentication authentication,
+            @RequestParam(defaultValue = "ndjson") String format) {
+
+        Long userId = (Long) authentication.getDetails();
+        DiaryTransferFormat transferFormat;
+        try {
+            transferFormat = DiaryTransferFormat.from(format);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        StreamingResponseBody body = out -> diaryExportService.exportDiaries(userId, transferFormat, out);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(transferFormat.getContentType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"mood-diaries." + transferFormat.getExtension() + "\"")
+                .body(body);
+    }
+}
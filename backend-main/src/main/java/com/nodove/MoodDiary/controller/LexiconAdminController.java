@@ -0,0 +1,46 @@
+package com.nodove.MoodDiary.controller;
+
+import com.nodove.MoodDiary.dto.ApiResponse;
+import com.nodove.MoodDiary.lexicon.EmotionLexicon;
+import com.nodove.MoodDiary.lexicon.EmotionLexiconStore;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/admin/lexicon")
+@RequiredArgsConstructor
+@Tag(name = "감정 사전 관리", description = "감정 사전 버전 조회 및 재로드")
+public class LexiconAdminController {
+
+    private final EmotionLexiconStore lexiconStore;
+
+    @GetMapping
+    @Operation(summary = "현재 감정 사전 조회", description = "사용 중인 감정 사전의 버전과 크기를 조회합니다")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getLexicon() {
+        return ResponseEntity.ok(ApiResponse.success(toInfo(lexiconStore.current())));
+    }
+
+    @PostMapping("/reload")
+    @Operation(summary = "감정 사전 재로드", description = "원본에서 감정 사전을 다시 읽어 내용이 바뀐 경우 교체합니다")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> reload() {
+        EmotionLexicon lexicon = lexiconStore.reload();
+        log.info("Emotion lexicon reload requested, active version: {}", lexicon.getVersion());
+        return ResponseEntity.ok(ApiResponse.success("감정 사전을 다시 불러왔습니다.", toInfo(lexicon)));
+    }
+
+    private Map<String, Object> toInfo(EmotionLexicon lexicon) {
+        return Map.of(
+            "version", lexicon.getVersion(),
+            "source", lexicon.getSource(),
+            "terms", lexicon.size(),
+            "loadedAt", lexicon.getLoadedAt()
+        );
+    }
+}
@@ -1,12 +1,20 @@
 package com.nodove.MoodDiary.controller;
 
 import com.nodove.MoodDiary.dto.ApiResponse;
+import com.nodove.MoodDiary.dto.CursorPage;
 import com.nodove.MoodDiary.dto.DiaryStatsResponse;
 import com.nodove.MoodDiary.dto.MoodDiaryRequest;
 import com.nodove.MoodDiary.dto.MoodDiaryResponse;
-import com.nodove.MoodDiary.entity.User;
+import com.nodove.MoodDiary.dto.MoodReportResponse;
+import com.nodove.MoodDiary.dto.response.MoodDiaryListResponse;
+import com.nodove.MoodDiary.dto.RollupSeriesResponse;
 import com.nodove.MoodDiary.enums.MoodType;
+import com.nodove.MoodDiary.enums.RollupGranularity;
+import com.nodove.MoodDiary.service.DiaryTagService;
 import com.nodove.MoodDiary.service.MoodDiaryService;
+import com.nodove.MoodDiary.service.MoodStatsService;
+import com.nodove.MoodDiary.service.RollupService;
+import com.nodove.MoodDiary.tag.TagUsage;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -16,9 +24,9 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -29,6 +37,9 @@ import java.util.List;
 public class MoodDiaryController {
     
     private final MoodDiaryService moodDiaryService;
+    private final MoodStatsService moodStatsService;
+    private final RollupService rollupService;
+    private final DiaryTagService diaryTagService;
     
     @PostMapping
     public ResponseEntity<ApiResponse<MoodDiaryResponse>> createDiary(
@@ -63,6 +74,31 @@ public class MoodDiaryController {
                 .build());
     }
     
+    /**
+     * 무한 스크롤용 커서 기반 목록. 첫 요청은 cursor 없이 보내고 이후에는 응답의 nextCursor 를 넘긴다.
+     */
+    @GetMapping("/cursor")
+    public ResponseEntity<ApiResponse<CursorPage<MoodDiaryResponse>>> getUserDiariesByCursor(
+            Authentication authentication,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        
+        Long userId = (Long) authentication.getDetails();
+        try {
+            CursorPage<MoodDiaryResponse> diaries = moodDiaryService.getUserDiariesByCursor(userId, cursor, size);
+            return ResponseEntity.ok(ApiResponse.<CursorPage<MoodDiaryResponse>>builder()
+                    .success(true)
+                    .message("일기 목록을 성공적으로 조회했습니다.")
+                    .data(diaries)
+                    .build());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.<CursorPage<MoodDiaryResponse>>builder()
+                    .success(false)
+                    .message(e.getMessage())
+                    .build());
+        }
+    }
+    
     @GetMapping("/{diaryId}")
     public ResponseEntity<ApiResponse<MoodDiaryResponse>> getDiary(
             Authentication authentication,
@@ -144,6 +180,63 @@ public class MoodDiaryController {
                 .build());
     }
     
+    /**
+     * 태그 구름: 사용 횟수가 많은 태그부터.
+     */
+    @GetMapping("/tags")
+    public ResponseEntity<ApiResponse<List<TagUsage>>> getTagCloud(
+            Authentication authentication,
+            @RequestParam(defaultValue = "50") int limit) {
+        
+        Long userId = (Long) authentication.getDetails();
+        List<TagUsage> tags = diaryTagService.getTagCloud(userId, limit);
+        
+        return ResponseEntity.ok(ApiResponse.<List<TagUsage>>builder()
+                .success(true)
+                .message("태그 목록을 성공적으로 조회했습니다.")
+                .data(tags)
+                .build());
+    }
+    
+    @GetMapping("/tags/autocomplete")
+    public ResponseEntity<ApiResponse<List<TagUsage>>> autocompleteTags(
+            Authentication authentication,
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit) {
+        
+        Long userId = (Long) authentication.getDetails();
+        List<TagUsage> suggestions = diaryTagService.autocomplete(userId, prefix, limit);
+        
+        return ResponseEntity.ok(ApiResponse.<List<TagUsage>>builder()
+                .success(true)
+                .message("태그 자동완성 결과를 성공적으로 조회했습니다.")
+                .data(suggestions)
+                .build());
+    }
+    
+    @GetMapping("/tags/{tag}/diaries")
+    public ResponseEntity<ApiResponse<MoodDiaryListResponse>> getDiariesByTag(
+            Authentication authentication,
+            @PathVariable String tag,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        
+        Long userId = (Long) authentication.getDetails();
+        try {
+            MoodDiaryListResponse diaries = moodDiaryService.getDiariesByTagExtended(userId, tag, page, size);
+            return ResponseEntity.ok(ApiResponse.<MoodDiaryListResponse>builder()
+                    .success(true)
+                    .message("태그별 일기 목록을 성공적으로 조회했습니다.")
+                    .data(diaries)
+                    .build());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.<MoodDiaryListResponse>builder()
+                    .success(false)
+                    .message(e.getMessage())
+                    .build());
+        }
+    }
+    
     @GetMapping("/recent")
     public ResponseEntity<ApiResponse<List<MoodDiaryResponse>>> getRecentDiaries(
             Authentication authentication) {
@@ -176,18 +269,11 @@ public class MoodDiaryController {
     
     @GetMapping("/stats")
     public ResponseEntity<ApiResponse<DiaryStatsResponse>> getDiaryStats(
-            @AuthenticationPrincipal User user) {
-        
-        long totalCount = moodDiaryService.getUserDiaryCount(user);
+            Authentication authentication) {
         
-        // 기분별 통계
-        DiaryStatsResponse stats = DiaryStatsResponse.builder()
-                .totalDiaries(totalCount)
-                .happyDiaries(moodDiaryService.getUserMoodCount(user, MoodType.HAPPY))
-                .sadDiaries(moodDiaryService.getUserMoodCount(user, MoodType.SAD))
-                .angryDiaries(moodDiaryService.getUserMoodCount(user, MoodType.ANGRY))
-                .anxiousDiaries(moodDiaryService.getUserMoodCount(user, MoodType.ANXIOUS))
-                .build();
+        Long userId = (Long) authentication.getDetails();
+        // 사용자별 집계 한 행에서 모든 기분의 통계를 읽는다
+        DiaryStatsResponse stats = moodStatsService.getStats(userId);
         
         return ResponseEntity.ok(ApiResponse.<DiaryStatsResponse>builder()
                 .success(true)
@@ -195,4 +281,46 @@ public class MoodDiaryController {
                 .data(stats)
                 .build());
     }
+    
+    /**
+     * 대시보드 차트용 일/주/월 시계열 (사용자 시간대 기준). 구간별 값을 배열로 돌려준다.
+     */
+    @GetMapping("/stats/rollups")
+    public ResponseEntity<ApiResponse<RollupSeriesResponse>> getRollups(
+            Authentication authentication,
+            @RequestParam(defaultValue = "DAY") RollupGranularity granularity,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        
+        Long userId = (Long) authentication.getDetails();
+        try {
+            RollupSeriesResponse series = rollupService.getSeries(userId, granularity, from, to);
+            return ResponseEntity.ok(ApiResponse.<RollupSeriesResponse>builder()
+                    .success(true)
+                    .message("구간별 통계를 성공적으로 조회했습니다.")
+                    .data(series)
+                    .build());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.<RollupSeriesResponse>builder()
+                    .success(false)
+                    .message(e.getMessage())
+                    .build());
+        }
+    }
+    
+    @GetMapping("/stats/report")
+    public ResponseEntity<ApiResponse<MoodReportResponse>> getMoodReport(
+            Authentication authentication,
+            @RequestParam(defaultValue = "WEEKLY") MoodReportResponse.Period period,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        
+        Long userId = (Long) authentication.getDetails();
+        MoodReportResponse report = moodStatsService.getReport(userId, period, date);
+        
+        return ResponseEntity.ok(ApiResponse.<MoodReportResponse>builder()
+                .success(true)
+                .message("기분 리포트를 성공적으로 조회했습니다.")
+                .data(report)
+                .build());
+    }
 }
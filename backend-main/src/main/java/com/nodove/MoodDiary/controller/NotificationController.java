@@ -1,5 +1,6 @@
 package com.nodove.MoodDiary.controller;
 
+import com.nodove.MoodDiary.dto.CursorPage;
 import com.nodove.MoodDiary.dto.NotificationDTO;
 import com.nodove.MoodDiary.dto.NotificationSettingsDTO;
 import com.nodove.MoodDiary.service.NotificationService;
@@ -40,6 +41,20 @@ public class NotificationController {
         return ResponseEntity.ok(notifications);
     }
 
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPage<NotificationDTO>> getNotificationsByCursor(
+            Authentication authentication,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        
+        try {
+            return ResponseEntity.ok(notificationService.getUserNotificationsByCursor(
+                    authentication.getName(), cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @GetMapping("/unread")
     public ResponseEntity<List<NotificationDTO>> getUnreadNotifications(Authentication authentication) {
         List<NotificationDTO> notifications = notificationService.getUnreadNotifications(
@@ -86,6 +101,7 @@ public class NotificationController {
     public SseEmitter streamNotifications(
             Authentication authentication,
             @RequestParam(value = "token", required = false) String token,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
             HttpServletRequest request) {
         
         log.debug("SSE stream request - Authentication: {}, Token param: {}, URI: {}", 
@@ -100,7 +116,7 @@ public class NotificationController {
         }
         
         log.info("Creating SSE connection for user: {}", authentication.getName());
-        return notificationService.createSseConnection(authentication.getName());
+        return notificationService.createSseConnection((Long) authentication.getDetails(), authentication.getName(), lastEventId);
     }
 
     // 테스트용 엔드포인트
@@ -0,0 +1,22 @@
+package com.nodove.MoodDiary.dto;
+
+import lombok.Builder;
+import lombok.Data;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DiaryAnalysisResult {
+    private Long diaryId;
+    private String contentVersion;
+    private EmotionAnalysisResult emotionResult;
+    private FinancialCorrelationResult financialResult;
+    private List<PersonalizedRecommendation> recommendations;
+    private LocalDateTime analyzedAt;
+    private Boolean fromSnapshot;
+}
@@ -0,0 +1,30 @@
+package com.nodove.MoodDiary.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 일기 가져오기 결과. completed 가 false 이면 파일을 끝까지 읽지 못했으며, imported 개수까지는 저장되었다.
+ * 저장된 일기가 어느 줄인지는 committedLines 로 알 수 있다. 저장하지 못한 배치는 skipped 에 더하고 errors 에 줄 범위를 남긴다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DiaryImportResult {
+
+    private int imported;
+    private int skipped;
+    private boolean completed;
+    private List<String> errors;
+    // 커밋된 배치의 줄 범위 (양 끝 포함, 파일 순서). 범위 안에서도 errors 에 나온 줄은 건너뛰었다
+    private List<LineRange> committedLines;
+    private long elapsedMillis;
+
+    public record LineRange(long from, long to) {
+    }
+}
@@ -1,7 +1,11 @@
 package com.nodove.MoodDiary.dto;
 
+import com.nodove.MoodDiary.enums.MoodType;
 import lombok.*;
 
+import java.time.LocalDate;
+import java.util.Map;
+
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -12,4 +16,13 @@ public class DiaryStatsResponse {
     private long sadDiaries;
     private long angryDiaries;
     private long anxiousDiaries;
+    
+    // 모든 기분의 일기 수 (없는 기분은 0)
+    private Map<MoodType, Long> moodCounts;
+    // 기분별 평균 강도 (강도가 기록된 일기가 없으면 null)
+    private Map<MoodType, Double> moodAverageIntensity;
+    private Double averageIntensity;
+    private LocalDate lastEntryDate;
+    private int currentStreak;
+    private int longestStreak;
 }
@@ -20,4 +20,5 @@ public class EmotionAnalysisResult {
     private Boolean aiEnhanced;
     private String analysisDetails;
     private List<String> emotionalTriggers;
+    private String lexiconVersion;
 }
\ No newline at end of file
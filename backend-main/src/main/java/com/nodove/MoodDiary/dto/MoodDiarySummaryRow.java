@@ -0,0 +1,16 @@
+package com.nodove.MoodDiary.dto;
+
+import com.nodove.MoodDiary.enums.MoodType;
+
+import java.time.LocalDateTime;
+
+/**
+ * 일기 목록용 조회 결과. 본문은 DB 에서 앞부분만 잘라 오고 길이만 함께 읽으며, 태그는 페이지 단위로 따로 읽는다.
+ */
+public record MoodDiarySummaryRow(Long id, String title, String contentPreview, Integer contentLength,
+                                  MoodType mood, Integer moodIntensity, String weather, Boolean isPrivate,
+                                  LocalDateTime createdAt, LocalDateTime updatedAt) {
+
+    /** contentPreview 로 잘라 오는 글자 수 */
+    public static final int PREVIEW_LENGTH = 100;
+}
@@ -0,0 +1,39 @@
+package com.nodove.MoodDiary.dto;
+
+import com.nodove.MoodDiary.enums.MoodType;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * 주간/월간 기분 리포트. 기간 내 집계와 함께 사용자 전체 기간 집계를 기준값으로 돌려준다.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MoodReportResponse {
+    
+    public enum Period {
+        WEEKLY, MONTHLY
+    }
+    
+    private Period period;
+    // 기간 시작일 (포함) ~ 종료일 (포함)
+    private LocalDate startDate;
+    private LocalDate endDate;
+    
+    private long totalDiaries;
+    private Map<MoodType, Long> moodCounts;
+    private MoodType dominantMood;
+    private Double averageIntensity;
+    
+    // 전체 기간 기준값
+    private Double baselineAverageIntensity;
+    private Double intensityChange;
+    private Map<MoodType, Double> baselineMoodShare;
+    
+    private int currentStreak;
+    private int longestStreak;
+}
@@ -0,0 +1,32 @@
+package com.nodove.MoodDiary.dto;
+
+import com.nodove.MoodDiary.enums.MoodType;
+import com.nodove.MoodDiary.enums.RollupGranularity;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 대시보드 차트용 구간 시계열. 모든 배열은 bucketStarts 와 같은 길이와 순서이며, 기록이 없는 구간은 0(평균은 null)이다.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RollupSeriesResponse {
+    
+    private RollupGranularity granularity;
+    private String timezone;
+    private List<LocalDate> bucketStarts;
+    
+    private long[] diaryCounts;
+    private Double[] averageIntensity;
+    private Map<MoodType, long[]> moodCounts;
+    
+    private BigDecimal[] expense;
+    private BigDecimal[] income;
+    private Map<String, BigDecimal[]> categorySpend;
+}
@@ -41,5 +41,6 @@ public class MoodDiaryListResponse {
         private LocalDateTime updatedAt;
         private Integer wordCount;
         private Boolean hasImages;
+        private String highlight; // 검색 결과일 때 검색어를 <mark> 로 감싼 본문 일부
     }
 }
\ No newline at end of file
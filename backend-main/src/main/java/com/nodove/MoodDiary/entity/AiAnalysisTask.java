@@ -0,0 +1,62 @@
+package com.nodove.MoodDiary.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 일기 AI 분석 작업 outbox. 일기 저장과 같은 트랜잭션에서 기록되며 처리에 성공하면 삭제된다.
+ * 일기당 한 행만 두고, 처리 중에 일기가 다시 수정되면 requestedAt 이 갱신되어 재처리된다.
+ */
+@Entity
+@Table(name = "ai_analysis_outbox", indexes = {
+    @Index(name = "idx_ai_analysis_outbox_status_next", columnList = "status, next_attempt_at")
+}, uniqueConstraints = {
+    @UniqueConstraint(name = "uk_ai_analysis_outbox_diary", columnNames = "diary_id")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AiAnalysisTask {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "diary_id", nullable = false)
+    private Long diaryId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private Integer attempts = 0;
+
+    @Column(name = "requested_at", nullable = false)
+    private LocalDateTime requestedAt;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "locked_until")
+    private LocalDateTime lockedUntil;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    public enum Status {
+        PENDING,
+        PROCESSING,
+        FAILED
+    }
+}
@@ -0,0 +1,61 @@
+package com.nodove.MoodDiary.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * 일기별 종합 AI 분석 결과 스냅샷.
+ * <p>
+ * 일기 본문 버전, 감정 사전 버전, 관련 거래 내역 지문이 모두 같으면 저장된 결과를 그대로 사용한다.
+ * 분석 결과는 JSON 으로 저장한다.
+ */
+@Entity
+@Table(name = "diary_analysis_snapshots", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_diary_analysis_snapshot_diary", columnNames = "diary_id")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DiaryAnalysisSnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "diary_id", nullable = false)
+    private Long diaryId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    /** 일기 본문의 해시 */
+    @Column(name = "content_version", nullable = false, length = 64)
+    private String contentVersion;
+
+    @Column(name = "lexicon_version", length = 64)
+    private String lexiconVersion;
+
+    /** 분석 구간 거래 내역의 건수/합계/최종 수정 시각 */
+    @Column(name = "transaction_fingerprint", nullable = false, length = 128)
+    private String transactionFingerprint;
+
+    @Column(name = "emotion_result", columnDefinition = "TEXT")
+    private String emotionResult;
+
+    @Column(name = "financial_result", columnDefinition = "TEXT")
+    private String financialResult;
+
+    @Column(name = "recommendations", columnDefinition = "TEXT")
+    private String recommendations;
+
+    @UpdateTimestamp
+    @Column(name = "analyzed_at")
+    private LocalDateTime analyzedAt;
+}
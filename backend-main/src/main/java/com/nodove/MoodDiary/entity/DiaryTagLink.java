@@ -0,0 +1,43 @@
+package com.nodove.MoodDiary.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 일기와 정규화한 태그의 연결. 태그별 일기 목록은 mood_diary_tags 를 훑지 않고
+ * (user_id, tag, created_at) 인덱스로 이 테이블에서 바로 찾는다. createdAt 은 일기 작성 시각이다.
+ */
+@Entity
+@Table(name = "diary_tag_links", indexes = {
+    @Index(name = "idx_diary_tag_links_user_tag_created", columnList = "user_id, tag, created_at DESC, diary_id DESC"),
+    @Index(name = "idx_diary_tag_links_diary", columnList = "diary_id")
+}, uniqueConstraints = {
+    @UniqueConstraint(name = "uk_diary_tag_links_diary_tag", columnNames = {"diary_id", "tag"})
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DiaryTagLink {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "diary_id", nullable = false)
+    private Long diaryId;
+
+    @Column(nullable = false, length = 100)
+    private String tag;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
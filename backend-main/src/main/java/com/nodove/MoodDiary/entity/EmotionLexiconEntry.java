@@ -0,0 +1,44 @@
+package com.nodove.MoodDiary.entity;
+
+import com.nodove.MoodDiary.lexicon.LexiconCategory;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "emotion_lexicon_entries", uniqueConstraints = {
+    @UniqueConstraint(columnNames = {"term", "category"})
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmotionLexiconEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 50)
+    private String term;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private LexiconCategory category;
+
+    @Column(nullable = false)
+    private Double weight;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private Boolean active = true;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
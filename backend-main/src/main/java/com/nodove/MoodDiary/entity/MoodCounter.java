@@ -0,0 +1,42 @@
+package com.nodove.MoodDiary.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 기분 하나의 일기 수와 강도 합계. 강도가 없는 일기도 있으므로 평균은 intensityCount 로 나눈다.
+ */
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MoodCounter {
+
+    @Column(name = "entry_count", nullable = false)
+    private long entryCount;
+
+    @Column(name = "intensity_sum", nullable = false)
+    private long intensitySum;
+
+    @Column(name = "intensity_count", nullable = false)
+    private long intensityCount;
+
+    void add(Integer intensity, int sign) {
+        entryCount += sign;
+        if (intensity != null) {
+            intensitySum += (long) sign * intensity;
+            intensityCount += sign;
+        }
+    }
+
+    public boolean isEmpty() {
+        return entryCount <= 0;
+    }
+
+    public Double getAverageIntensity() {
+        return intensityCount > 0 ? (double) intensitySum / intensityCount : null;
+    }
+}
@@ -3,6 +3,7 @@ package com.nodove.MoodDiary.entity;
 import com.nodove.MoodDiary.enums.MoodType;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -10,7 +11,10 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "mood_diaries")
+@Table(name = "mood_diaries", indexes = {
+    // 커서 기반 목록 조회 (user_id, created_at DESC, id)
+    @Index(name = "idx_mood_diaries_user_created", columnList = "user_id, created_at DESC, id DESC")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -39,7 +43,9 @@ public class MoodDiary {
     @Column(name = "mood_intensity")
     private Integer moodIntensity; // 1-10 scale
     
+    // 엔티티로 읽는 목록에서 일기마다 태그를 따로 읽지 않도록 한 번에 묶어 읽는다
     @ElementCollection
+    @BatchSize(size = 100)
     @CollectionTable(name = "mood_diary_tags", joinColumns = @JoinColumn(name = "diary_id"))
     @Column(name = "tag")
     private List<String> tags;
@@ -9,6 +9,10 @@ import lombok.Builder;
 import java.time.LocalDateTime;
 
 @Entity
+@Table(indexes = {
+    // 커서 기반 목록 조회 (user_id, created_at DESC, id)
+    @Index(name = "idx_notification_user_created", columnList = "user_id, created_at DESC, id DESC")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -0,0 +1,58 @@
+package com.nodove.MoodDiary.entity;
+
+import com.nodove.MoodDiary.enums.RollupGranularity;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * {@link RollupBucket} 구간의 세부 분포. MOOD 는 기분별 일기 수, CATEGORY 는 카테고리별 지출 건수와 금액이다.
+ */
+@Entity
+@Table(name = "user_rollup_breakdowns", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_user_rollup_breakdown",
+            columnNames = {"user_id", "granularity", "bucket_start", "dimension", "dimension_key"})
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RollupBreakdown {
+
+    public enum Dimension {
+        MOOD, CATEGORY
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private RollupGranularity granularity;
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDate bucketStart;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private Dimension dimension;
+
+    @Column(name = "dimension_key", nullable = false, length = 100)
+    private String dimensionKey;
+
+    @Column(name = "entry_count", nullable = false)
+    private long entryCount;
+
+    @Builder.Default
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal amount = BigDecimal.ZERO;
+}
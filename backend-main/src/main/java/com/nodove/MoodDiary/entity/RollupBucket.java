@@ -0,0 +1,66 @@
+package com.nodove.MoodDiary.entity;
+
+import com.nodove.MoodDiary.enums.RollupGranularity;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * 사용자 시간대 기준 일/주/월 구간별 기분·지출 집계.
+ * <p>
+ * 일기와 거래가 저장될 때 해당 구간 행에 증감을 더하므로(upsert) 대시보드 차트는 구간 행만 읽는다.
+ * 기분별 분포와 카테고리별 지출은 {@link RollupBreakdown} 에 있다.
+ */
+@Entity
+@Table(name = "user_rollup_buckets", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_user_rollup_bucket", columnNames = {"user_id", "granularity", "bucket_start"})
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RollupBucket {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private RollupGranularity granularity;
+
+    /** 구간 시작일 (사용자 시간대) */
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDate bucketStart;
+
+    @Column(name = "diary_count", nullable = false)
+    private long diaryCount;
+
+    @Column(name = "intensity_sum", nullable = false)
+    private long intensitySum;
+
+    @Column(name = "intensity_count", nullable = false)
+    private long intensityCount;
+
+    @Builder.Default
+    @Column(name = "expense_sum", nullable = false, precision = 19, scale = 2)
+    private BigDecimal expenseSum = BigDecimal.ZERO;
+
+    @Column(name = "expense_count", nullable = false)
+    private long expenseCount;
+
+    @Builder.Default
+    @Column(name = "income_sum", nullable = false, precision = 19, scale = 2)
+    private BigDecimal incomeSum = BigDecimal.ZERO;
+
+    @Column(name = "income_count", nullable = false)
+    private long incomeCount;
+}
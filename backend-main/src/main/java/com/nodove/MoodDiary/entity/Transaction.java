@@ -13,7 +13,10 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "transactions")
+@Table(name = "transactions", indexes = {
+    // 커서 기반 목록 조회 (user_id, transaction_date DESC, id)
+    @Index(name = "idx_transactions_user_date", columnList = "user_id, transaction_date DESC, id DESC")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -48,7 +51,8 @@ public class Transaction {
     @Column(length = 100)
     private String subcategory;
     
-    @Column
+    // 커서 목록의 정렬 키라 비워 둘 수 없다. 주지 않으면 생성 시각으로 채운다
+    @Column(nullable = false)
     private LocalDateTime transactionDate;
     
     @Column(length = 255)
@@ -72,6 +76,15 @@ public class Transaction {
     @Column(nullable = false)
     private LocalDateTime updatedAt;
     
+    // AuditingEntityListener 가 먼저 불려 createdAt 이 채워진 뒤에 불린다
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        if (transactionDate == null) {
+            transactionDate = createdAt != null ? createdAt : LocalDateTime.now();
+        }
+    }
+    
     // Helper methods
     public boolean isExpense() {
         return "EXPENSE".equals(type);
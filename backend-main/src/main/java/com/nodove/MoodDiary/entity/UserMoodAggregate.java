@@ -0,0 +1,156 @@
+package com.nodove.MoodDiary.entity;
+
+import com.nodove.MoodDiary.enums.MoodType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 사용자별 일기 통계 집계.
+ * <p>
+ * 일기 생성/수정/삭제와 같은 트랜잭션에서 갱신되므로 통계 조회는 집계 행과 기분별 행(최대 {@link MoodType} 개수)만 읽는다.
+ * 연속 작성일(streak)은 lastEntryDate 에서 끝나는 연속 일수이며, 오늘 기준 streak 은 조회 시 계산한다.
+ * 어긋난 집계는 야간 재구성 작업이 일기 테이블에서 다시 만든다.
+ */
+@Entity
+@Table(name = "user_mood_aggregates", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_user_mood_aggregate_user", columnNames = "user_id")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserMoodAggregate {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "total_count", nullable = false)
+    private long totalCount;
+
+    @Column(name = "intensity_sum", nullable = false)
+    private long intensitySum;
+
+    @Column(name = "intensity_count", nullable = false)
+    private long intensityCount;
+
+    @ElementCollection
+    @CollectionTable(name = "user_mood_aggregate_moods", joinColumns = @JoinColumn(name = "aggregate_id"))
+    @MapKeyEnumerated(EnumType.STRING)
+    @MapKeyColumn(name = "mood", length = 20)
+    @Builder.Default
+    private Map<MoodType, MoodCounter> moods = new HashMap<>();
+
+    @Column(name = "last_entry_date")
+    private LocalDate lastEntryDate;
+
+    /** lastEntryDate 에서 끝나는 연속 작성 일수 */
+    @Column(name = "current_streak", nullable = false)
+    private int currentStreak;
+
+    @Column(name = "longest_streak", nullable = false)
+    private int longestStreak;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    /**
+     * 일기 한 건을 더하거나(sign = 1) 뺀다(sign = -1). 연속 작성일은 호출하는 쪽에서 맞춘다.
+     */
+    public void apply(MoodType mood, Integer intensity, int sign) {
+        totalCount += sign;
+        if (intensity != null) {
+            intensitySum += (long) sign * intensity;
+            intensityCount += sign;
+        }
+        MoodCounter counter = moods.computeIfAbsent(mood, key -> new MoodCounter());
+        counter.add(intensity, sign);
+        if (counter.isEmpty()) {
+            moods.remove(mood);
+        }
+    }
+
+    /**
+     * 새 작성일을 연속 작성일에 반영한다. 마지막 작성일보다 이전 날짜면 false 를 돌려주며, 이때는 날짜 목록으로 다시 계산해야 한다.
+     */
+    public boolean extendStreak(LocalDate entryDate) {
+        if (lastEntryDate == null) {
+            lastEntryDate = entryDate;
+            currentStreak = 1;
+        } else if (entryDate.isBefore(lastEntryDate)) {
+            return false;
+        } else if (entryDate.equals(lastEntryDate.plusDays(1))) {
+            lastEntryDate = entryDate;
+            currentStreak++;
+        } else if (entryDate.isAfter(lastEntryDate)) {
+            lastEntryDate = entryDate;
+            currentStreak = 1;
+        }
+        longestStreak = Math.max(longestStreak, currentStreak);
+        return true;
+    }
+
+    /**
+     * 작성 날짜 목록(중복 없이 최신순)으로 연속 작성일을 다시 계산한다.
+     */
+    public void resetStreaks(List<LocalDate> entryDatesDesc) {
+        lastEntryDate = entryDatesDesc.isEmpty() ? null : entryDatesDesc.get(0);
+        currentStreak = 0;
+        longestStreak = 0;
+        int run = 0;
+        boolean latestRun = true;
+        LocalDate previous = null;
+        for (LocalDate date : entryDatesDesc) {
+            if (previous != null && date.equals(previous.minusDays(1))) {
+                run++;
+            } else {
+                latestRun = previous == null;
+                run = 1;
+            }
+            if (latestRun) {
+                currentStreak = run;
+            }
+            longestStreak = Math.max(longestStreak, run);
+            previous = date;
+        }
+    }
+
+    /**
+     * 오늘 기준 연속 작성 일수. 어제까지 썼으면 아직 이어지는 것으로 본다.
+     */
+    public int currentStreakAsOf(LocalDate today) {
+        if (lastEntryDate == null || lastEntryDate.isBefore(today.minusDays(1))) {
+            return 0;
+        }
+        return currentStreak;
+    }
+
+    /** 모든 기분을 포함한 기분별 일기 수 (없는 기분은 0) */
+    public Map<MoodType, Long> moodHistogram() {
+        Map<MoodType, Long> histogram = new EnumMap<>(MoodType.class);
+        for (MoodType mood : MoodType.values()) {
+            MoodCounter counter = moods.get(mood);
+            histogram.put(mood, counter != null ? counter.getEntryCount() : 0L);
+        }
+        return histogram;
+    }
+
+    public Double getAverageIntensity() {
+        return intensityCount > 0 ? (double) intensitySum / intensityCount : null;
+    }
+}
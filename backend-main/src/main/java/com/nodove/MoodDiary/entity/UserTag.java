@@ -0,0 +1,43 @@
+package com.nodove.MoodDiary.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 사용자별 태그 사전. name 은 정규화한 태그이며 usageCount 는 그 태그가 달린 일기 수다.
+ * 일기 저장 시 증감으로 갱신되고, 0 이 되면 지워진다.
+ */
+@Entity
+@Table(name = "user_tags", indexes = {
+    // 태그 구름 (사용 횟수 순)
+    @Index(name = "idx_user_tags_user_usage", columnList = "user_id, usage_count DESC")
+}, uniqueConstraints = {
+    @UniqueConstraint(name = "uk_user_tags_user_name", columnNames = {"user_id", "name"})
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserTag {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false, length = 100)
+    private String name;
+
+    @Column(name = "usage_count", nullable = false)
+    private long usageCount;
+
+    @Column(name = "last_used_at")
+    private LocalDateTime lastUsedAt;
+}
@@ -0,0 +1,33 @@
+package com.nodove.MoodDiary.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * AI 실행 풀이 작업을 받지 못했을 때 발생한다.
+ * 대기열이 가득 찬 경우 429, 풀이 종료 중인 경우 503 으로 응답한다.
+ */
+public class AiRejectedException extends RuntimeException {
+
+    private final String bulkhead;
+    private final HttpStatus status;
+    private final int retryAfterSeconds;
+
+    public AiRejectedException(String bulkhead, HttpStatus status, int retryAfterSeconds, String message) {
+        super(message);
+        this.bulkhead = bulkhead;
+        this.status = status;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public String getBulkhead() {
+        return bulkhead;
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+
+    public int getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
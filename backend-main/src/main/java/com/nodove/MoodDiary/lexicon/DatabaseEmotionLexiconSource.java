@@ -0,0 +1,37 @@
+package com.nodove.MoodDiary.lexicon;
+
+import com.nodove.MoodDiary.repository.EmotionLexiconEntryRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * {@code emotion_lexicon_entries} 테이블의 활성 항목을 감정 사전으로 사용한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class DatabaseEmotionLexiconSource implements EmotionLexiconSource {
+
+    private final EmotionLexiconEntryRepository repository;
+
+    @Override
+    public String name() {
+        return "db";
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public String fingerprint() {
+        return repository.count() + ":" + repository.findLastUpdatedAt().map(Object::toString).orElse("-");
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<LexiconEntry> load() {
+        return repository.findByActiveTrue().stream()
+                .map(e -> new LexiconEntry(e.getCategory(), e.getTerm(), e.getWeight()))
+                .toList();
+    }
+}
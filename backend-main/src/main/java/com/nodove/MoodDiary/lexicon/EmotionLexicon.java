@@ -0,0 +1,97 @@
+package com.nodove.MoodDiary.lexicon;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 한 시점의 감정 사전 스냅샷. 생성 후에는 변경되지 않으므로 여러 분석 요청이 잠금 없이 공유한다.
+ * <p>
+ * 버전은 사전 내용의 해시로 결정되므로 같은 내용을 다시 로드하면 같은 버전이 나온다.
+ */
+public final class EmotionLexicon {
+
+    private final String version;
+    private final String source;
+    private final LocalDateTime loadedAt;
+    private final LexiconAutomaton automaton;
+    private final Map<String, Double> positiveWeights;
+    private final Map<String, Double> negativeWeights;
+
+    private EmotionLexicon(String version, String source, LexiconAutomaton automaton,
+                           Map<String, Double> positiveWeights, Map<String, Double> negativeWeights) {
+        this.version = version;
+        this.source = source;
+        this.loadedAt = LocalDateTime.now();
+        this.automaton = automaton;
+        this.positiveWeights = positiveWeights;
+        this.negativeWeights = negativeWeights;
+    }
+
+    public static EmotionLexicon compile(String source, List<LexiconEntry> entries) {
+        Map<String, Double> positive = new HashMap<>();
+        Map<String, Double> negative = new HashMap<>();
+        for (LexiconEntry entry : entries) {
+            if (entry.category() == LexiconCategory.POSITIVE) {
+                positive.put(entry.term(), entry.weight());
+            } else if (entry.category() == LexiconCategory.NEGATIVE) {
+                negative.put(entry.term(), entry.weight());
+            }
+        }
+
+        LexiconAutomaton automaton = LexiconAutomaton.builder()
+                .addAll(entries)
+                .build();
+
+        return new EmotionLexicon(source + "-" + fingerprint(entries), source, automaton,
+                Map.copyOf(positive), Map.copyOf(negative));
+    }
+
+    public LexiconScan scan(String text) {
+        return automaton.scan(text);
+    }
+
+    /**
+     * 감정 유형별 점수에 쓰이는 단어 가중치. 긍정 사전을 먼저 보고, 없으면 부정 사전, 둘 다 없으면 0.
+     */
+    public double emotionWeight(String term) {
+        return positiveWeights.getOrDefault(term, negativeWeights.getOrDefault(term, 0.0));
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public LocalDateTime getLoadedAt() {
+        return loadedAt;
+    }
+
+    public int size() {
+        return automaton.size();
+    }
+
+    private static String fingerprint(List<LexiconEntry> entries) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            entries.stream()
+                    .sorted(Comparator.comparing(LexiconEntry::term)
+                            .thenComparing(LexiconEntry::category)
+                            .thenComparingDouble(LexiconEntry::weight))
+                    .forEach(e -> digest.update((e.category() + "\t" + e.term() + "\t" + e.weight() + "\n")
+                            .getBytes(StandardCharsets.UTF_8)));
+            return HexFormat.of().formatHex(digest.digest()).substring(0, 12);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
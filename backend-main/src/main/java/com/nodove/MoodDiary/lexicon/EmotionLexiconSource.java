@@ -0,0 +1,19 @@
+package com.nodove.MoodDiary.lexicon;
+
+import java.util.List;
+
+/**
+ * 감정 사전 원본 데이터를 제공하는 저장소. {@code lexicon.source} 설정값과 {@link #name()} 이 일치하는 구현이 사용된다.
+ */
+public interface EmotionLexiconSource {
+
+    String name();
+
+    /**
+     * 원본이 바뀌었는지 빠르게 판단하기 위한 값. 판단할 수 없으면 {@code null} 을 반환하고,
+     * 이 경우 주기 점검 때마다 전체를 다시 읽어 버전을 비교한다.
+     */
+    String fingerprint();
+
+    List<LexiconEntry> load();
+}
@@ -0,0 +1,121 @@
+package com.nodove.MoodDiary.lexicon;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 현재 사용 중인 감정 사전을 보관하고 교체한다.
+ * <p>
+ * 새 사전은 별도로 완전히 컴파일된 뒤 참조 하나만 바꿔 끼우므로, 분석 요청은 {@link #current()} 로 받은
+ * 스냅샷을 끝까지 사용하며 잠금 없이 읽는다. 재로드끼리만 {@code reloadLock} 으로 직렬화된다.
+ */
+@Slf4j
+@Component
+public class EmotionLexiconStore {
+
+    private static final String BUNDLED_SOURCE = "bundled";
+
+    private final Map<String, EmotionLexiconSource> sources;
+    private final ResourceLoader resourceLoader;
+    private final String sourceName;
+
+    private final AtomicReference<EmotionLexicon> current = new AtomicReference<>();
+    private final ReentrantLock reloadLock = new ReentrantLock();
+    private volatile String lastFingerprint;
+
+    public EmotionLexiconStore(List<EmotionLexiconSource> sources,
+                               ResourceLoader resourceLoader,
+                               @Value("${lexicon.source:file}") String sourceName) {
+        this.sources = sources.stream()
+                .collect(Collectors.toMap(EmotionLexiconSource::name, Function.identity()));
+        this.resourceLoader = resourceLoader;
+        this.sourceName = sourceName;
+    }
+
+    @PostConstruct
+    void init() {
+        try {
+            reload();
+        } catch (Exception e) {
+            log.error("Failed to load emotion lexicon from source '{}'", sourceName, e);
+        }
+        if (current.get() == null) {
+            // 원본을 읽지 못해도 분석이 멈추지 않도록 내장 사전으로 시작한다
+            List<LexiconEntry> bundled = FileEmotionLexiconSource.load(
+                    resourceLoader.getResource(FileEmotionLexiconSource.DEFAULT_LOCATION));
+            current.compareAndSet(null, EmotionLexicon.compile(BUNDLED_SOURCE, bundled));
+            log.warn("Using bundled emotion lexicon: {}", current.get().getVersion());
+        }
+    }
+
+    public EmotionLexicon current() {
+        return current.get();
+    }
+
+    @Scheduled(fixedDelayString = "${lexicon.refresh-interval:60000}",
+               initialDelayString = "${lexicon.refresh-interval:60000}")
+    public void refreshIfChanged() {
+        try {
+            String fingerprint = activeSource().fingerprint();
+            if (fingerprint != null && fingerprint.equals(lastFingerprint)) {
+                return;
+            }
+            reload();
+        } catch (Exception e) {
+            log.error("Emotion lexicon refresh failed, keeping version {}", current.get().getVersion(), e);
+        }
+    }
+
+    /**
+     * 원본에서 사전을 다시 읽어 내용이 바뀐 경우에만 교체한다.
+     *
+     * @return 재로드 후 사용 중인 사전
+     */
+    public EmotionLexicon reload() {
+        reloadLock.lock();
+        try {
+            EmotionLexiconSource source = activeSource();
+            String fingerprint = source.fingerprint();
+            List<LexiconEntry> entries = source.load();
+            EmotionLexicon previous = current.get();
+
+            if (entries.isEmpty()) {
+                log.warn("Emotion lexicon source '{}' is empty, keeping current lexicon", source.name());
+                lastFingerprint = fingerprint;
+                return previous;
+            }
+
+            EmotionLexicon candidate = EmotionLexicon.compile(source.name(), entries);
+            lastFingerprint = fingerprint;
+            if (previous != null && previous.getVersion().equals(candidate.getVersion())) {
+                return previous;
+            }
+
+            current.set(candidate);
+            log.info("Emotion lexicon swapped: {} -> {} ({} terms)",
+                    previous != null ? previous.getVersion() : "none", candidate.getVersion(), candidate.size());
+            return candidate;
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private EmotionLexiconSource activeSource() {
+        EmotionLexiconSource source = sources.get(sourceName);
+        if (source == null) {
+            throw new IllegalStateException("Unknown lexicon source: " + sourceName + " (available: " + sources.keySet() + ")");
+        }
+        return source;
+    }
+}
@@ -0,0 +1,84 @@
+package com.nodove.MoodDiary.lexicon;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * TSV 파일(category, term, weight)에서 감정 사전을 읽는다. {@code #} 으로 시작하는 줄과 빈 줄은 무시한다.
+ */
+@Slf4j
+@Component
+public class FileEmotionLexiconSource implements EmotionLexiconSource {
+
+    public static final String DEFAULT_LOCATION = "classpath:lexicon/emotion-lexicon.tsv";
+
+    private final ResourceLoader resourceLoader;
+    private final String location;
+
+    public FileEmotionLexiconSource(ResourceLoader resourceLoader,
+                                    @Value("${lexicon.location:" + DEFAULT_LOCATION + "}") String location) {
+        this.resourceLoader = resourceLoader;
+        this.location = location;
+    }
+
+    @Override
+    public String name() {
+        return "file";
+    }
+
+    @Override
+    public String fingerprint() {
+        try {
+            Resource resource = resourceLoader.getResource(location);
+            if (resource.isFile()) {
+                return resource.lastModified() + ":" + resource.contentLength();
+            }
+        } catch (IOException e) {
+            log.debug("Cannot stat lexicon resource {}: {}", location, e.getMessage());
+        }
+        return null;
+    }
+
+    @Override
+    public List<LexiconEntry> load() {
+        return load(resourceLoader.getResource(location));
+    }
+
+    static List<LexiconEntry> load(Resource resource) {
+        List<LexiconEntry> entries = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                line = line.strip();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] columns = line.split("\t");
+                if (columns.length != 3) {
+                    throw new IllegalArgumentException("Invalid lexicon line " + lineNumber + " in " + resource + ": " + line);
+                }
+                entries.add(new LexiconEntry(
+                        LexiconCategory.valueOf(columns[0].strip()),
+                        columns[1],
+                        Double.parseDouble(columns[2].strip())));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read lexicon from " + resource, e);
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,257 @@
+package com.nodove.MoodDiary.lexicon;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 감정 사전 전체를 하나의 Aho-Corasick 오토마톤으로 컴파일한 불변 구조.
+ * <p>
+ * 한 번의 텍스트 순회로 두 가지 매칭을 동시에 수행한다.
+ * <ul>
+ *   <li>토큰 단위 매칭: 공백({@code \s})으로 나눈 각 토큰에서 한글/영문 이외 문자를 제거한 뒤,
+ *       토큰에 포함된 사전 단어를 토큰당 한 번씩 집계한다.</li>
+ *   <li>원문 매칭: 원문에서 단어별 겹치지 않는 출현 횟수를 센다.</li>
+ * </ul>
+ * 전이는 상태별로 정렬된 문자 배열(CSR 형태)에 저장되어 이진 탐색으로 찾는다.
+ */
+public final class LexiconAutomaton {
+
+    private static final int ROOT = 0;
+    private static final int NONE = -1;
+
+    private final String[] terms;
+    private final Map<String, Integer> termIds;
+    private final LexiconCategory[][] categories;
+    private final double[][] weights;
+
+    private final int[] edgeStart;
+    private final char[] edgeChars;
+    private final int[] edgeTargets;
+    private final int[] fail;
+    private final int[] terminal;
+    private final int[] dictLink;
+
+    private LexiconAutomaton(Map<String, List<LexiconEntry>> entriesByTerm) {
+        int termCount = entriesByTerm.size();
+        this.terms = new String[termCount];
+        this.termIds = new HashMap<>(termCount * 2);
+        this.categories = new LexiconCategory[termCount][];
+        this.weights = new double[termCount][];
+
+        int id = 0;
+        for (Map.Entry<String, List<LexiconEntry>> e : entriesByTerm.entrySet()) {
+            List<LexiconEntry> entries = e.getValue();
+            terms[id] = e.getKey();
+            termIds.put(e.getKey(), id);
+            categories[id] = new LexiconCategory[entries.size()];
+            weights[id] = new double[entries.size()];
+            for (int i = 0; i < entries.size(); i++) {
+                categories[id][i] = entries.get(i).category();
+                weights[id][i] = entries.get(i).weight();
+            }
+            id++;
+        }
+
+        // 1) 트라이 구성
+        List<TreeMap<Character, Integer>> children = new ArrayList<>();
+        List<Integer> terminals = new ArrayList<>();
+        children.add(new TreeMap<>());
+        terminals.add(NONE);
+        for (int t = 0; t < termCount; t++) {
+            int state = ROOT;
+            for (char c : terms[t].toCharArray()) {
+                Integer next = children.get(state).get(c);
+                if (next == null) {
+                    next = children.size();
+                    children.add(new TreeMap<>());
+                    terminals.add(NONE);
+                    children.get(state).put(c, next);
+                }
+                state = next;
+            }
+            terminals.set(state, t);
+        }
+
+        // 2) CSR 형태로 평탄화
+        int stateCount = children.size();
+        int edgeCount = children.stream().mapToInt(Map::size).sum();
+        this.edgeStart = new int[stateCount + 1];
+        this.edgeChars = new char[edgeCount];
+        this.edgeTargets = new int[edgeCount];
+        this.terminal = new int[stateCount];
+        int offset = 0;
+        for (int s = 0; s < stateCount; s++) {
+            edgeStart[s] = offset;
+            for (Map.Entry<Character, Integer> edge : children.get(s).entrySet()) {
+                edgeChars[offset] = edge.getKey();
+                edgeTargets[offset] = edge.getValue();
+                offset++;
+            }
+            terminal[s] = terminals.get(s);
+        }
+        edgeStart[stateCount] = offset;
+
+        // 3) BFS로 실패 링크와 출력 링크 계산
+        this.fail = new int[stateCount];
+        this.dictLink = new int[stateCount];
+        Arrays.fill(dictLink, NONE);
+        Deque<Integer> queue = new ArrayDeque<>();
+        for (int e = edgeStart[ROOT]; e < edgeStart[ROOT + 1]; e++) {
+            fail[edgeTargets[e]] = ROOT;
+            queue.add(edgeTargets[e]);
+        }
+        while (!queue.isEmpty()) {
+            int s = queue.poll();
+            for (int e = edgeStart[s]; e < edgeStart[s + 1]; e++) {
+                int child = edgeTargets[e];
+                int f = next(fail[s], edgeChars[e]);
+                fail[child] = f;
+                dictLink[child] = terminal[f] != NONE ? f : dictLink[f];
+                queue.add(child);
+            }
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public int size() {
+        return terms.length;
+    }
+
+    /**
+     * 텍스트를 한 번 순회하며 토큰 단위 점수 집계와 원문 출현 위치를 함께 수집한다.
+     */
+    public LexiconScan scan(String text) {
+        LexiconScan.Collector collector = new LexiconScan.Collector(this);
+        int rawState = ROOT;
+        int tokenState = ROOT;
+        boolean inToken = false;
+
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+
+            rawState = next(rawState, c);
+            for (int s = terminal[rawState] != NONE ? rawState : dictLink[rawState]; s != NONE; s = dictLink[s]) {
+                collector.rawHit(terminal[s], i + 1);
+            }
+
+            if (isWhitespace(c)) {
+                if (inToken) {
+                    collector.endToken();
+                    inToken = false;
+                } else if (i == 0) {
+                    collector.leadingWhitespace();
+                }
+                tokenState = ROOT;
+                continue;
+            }
+            inToken = true;
+            if (!isWordChar(c)) {
+                continue;
+            }
+            tokenState = next(tokenState, c);
+            for (int s = terminal[tokenState] != NONE ? tokenState : dictLink[tokenState]; s != NONE; s = dictLink[s]) {
+                collector.tokenHit(terminal[s]);
+            }
+        }
+        if (inToken) {
+            collector.endToken();
+        }
+        return collector.finish(text.isEmpty());
+    }
+
+    int termId(String term) {
+        Integer id = termIds.get(term);
+        return id != null ? id : NONE;
+    }
+
+    int termLength(int termId) {
+        return terms[termId].length();
+    }
+
+    LexiconCategory[] categoriesOf(int termId) {
+        return categories[termId];
+    }
+
+    double[] weightsOf(int termId) {
+        return weights[termId];
+    }
+
+    private int next(int state, char c) {
+        while (true) {
+            int target = child(state, c);
+            if (target != NONE) {
+                return target;
+            }
+            if (state == ROOT) {
+                return ROOT;
+            }
+            state = fail[state];
+        }
+    }
+
+    private int child(int state, char c) {
+        int lo = edgeStart[state];
+        int hi = edgeStart[state + 1] - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            char mc = edgeChars[mid];
+            if (mc < c) {
+                lo = mid + 1;
+            } else if (mc > c) {
+                hi = mid - 1;
+            } else {
+                return edgeTargets[mid];
+            }
+        }
+        return NONE;
+    }
+
+    // String.split("\\s+") 와 동일한 공백 정의
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    // replaceAll("[^가-힣a-zA-Z]", "") 에서 남는 문자
+    private static boolean isWordChar(char c) {
+        return (c >= '가' && c <= '힣') || (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    public static final class Builder {
+
+        private final Map<String, List<LexiconEntry>> entriesByTerm = new LinkedHashMap<>();
+
+        public Builder add(LexiconCategory category, String term, double weight) {
+            return add(new LexiconEntry(category, term, weight));
+        }
+
+        public Builder add(LexiconEntry entry) {
+            entriesByTerm.computeIfAbsent(entry.term(), k -> new ArrayList<>()).add(entry);
+            return this;
+        }
+
+        public Builder addAll(Collection<LexiconEntry> entries) {
+            entries.forEach(this::add);
+            return this;
+        }
+
+        public Builder addAll(LexiconCategory category, Map<String, Double> words) {
+            words.forEach((term, weight) -> add(category, term, weight));
+            return this;
+        }
+
+        public LexiconAutomaton build() {
+            return new LexiconAutomaton(entriesByTerm);
+        }
+    }
+}
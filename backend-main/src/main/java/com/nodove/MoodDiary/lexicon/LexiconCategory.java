@@ -0,0 +1,11 @@
+package com.nodove.MoodDiary.lexicon;
+
+public enum LexiconCategory {
+    POSITIVE,
+    NEGATIVE,
+    FINANCIAL;
+
+    public boolean isEmotional() {
+        return this == POSITIVE || this == NEGATIVE;
+    }
+}
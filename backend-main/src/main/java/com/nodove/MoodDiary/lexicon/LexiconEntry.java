@@ -0,0 +1,14 @@
+package com.nodove.MoodDiary.lexicon;
+
+public record LexiconEntry(LexiconCategory category, String term, double weight) {
+
+    public LexiconEntry {
+        if (category == null) {
+            throw new IllegalArgumentException("Lexicon category must not be null");
+        }
+        if (term == null || term.isBlank()) {
+            throw new IllegalArgumentException("Lexicon term must not be empty");
+        }
+        term = term.strip();
+    }
+}
@@ -0,0 +1,170 @@
+package com.nodove.MoodDiary.lexicon;
+
+import java.util.Arrays;
+
+/**
+ * {@link LexiconAutomaton#scan(String)} 한 번의 결과.
+ * 감정/재정 점수 계산에 필요한 합계와 원문 출현 위치를 담는다.
+ */
+public final class LexiconScan {
+
+    private final LexiconAutomaton automaton;
+    private final double emotionTotal;
+    private final int emotionHits;
+    private final double financialTotal;
+    private final int financialHits;
+    private final int emotionalTokens;
+    private final int tokenCount;
+    private final int[] rawHitTerms;
+    private final int[] rawHitEnds;
+    private final int rawHitCount;
+
+    private LexiconScan(Collector c, int tokenCount) {
+        this.automaton = c.automaton;
+        this.emotionTotal = c.emotionTotal;
+        this.emotionHits = c.emotionHits;
+        this.financialTotal = c.financialTotal;
+        this.financialHits = c.financialHits;
+        this.emotionalTokens = c.emotionalTokens;
+        this.tokenCount = tokenCount;
+        this.rawHitTerms = c.rawHitTerms;
+        this.rawHitEnds = c.rawHitEnds;
+        this.rawHitCount = c.rawHitCount;
+    }
+
+    /** 토큰별로 포함된 긍정/부정 단어 가중치의 합 */
+    public double getEmotionTotal() {
+        return emotionTotal;
+    }
+
+    /** 토큰별로 포함된 긍정/부정 단어의 수 */
+    public int getEmotionHits() {
+        return emotionHits;
+    }
+
+    public double getFinancialTotal() {
+        return financialTotal;
+    }
+
+    public int getFinancialHits() {
+        return financialHits;
+    }
+
+    /** 긍정/부정 단어를 하나 이상 포함한 토큰 수 */
+    public int getEmotionalTokens() {
+        return emotionalTokens;
+    }
+
+    /** {@code text.split("\\s+").length} 와 같은 토큰 수 */
+    public int getTokenCount() {
+        return tokenCount;
+    }
+
+    /**
+     * 원문에서 단어가 겹치지 않게 출현한 횟수 ({@code Pattern.compile(term).matcher(text).results().count()} 와 동일).
+     * 사전에 없는 단어는 0을 반환한다.
+     */
+    public long occurrences(String term) {
+        int termId = automaton.termId(term);
+        if (termId < 0) {
+            return 0;
+        }
+        int length = automaton.termLength(termId);
+        long count = 0;
+        int lastEnd = 0;
+        // 히트는 끝 위치 순으로 기록되므로 앞에서부터 겹치지 않는 것만 센다
+        for (int i = 0; i < rawHitCount; i++) {
+            if (rawHitTerms[i] == termId && rawHitEnds[i] - length >= lastEnd) {
+                count++;
+                lastEnd = rawHitEnds[i];
+            }
+        }
+        return count;
+    }
+
+    static final class Collector {
+
+        private static final int[] EMPTY = new int[0];
+
+        private final LexiconAutomaton automaton;
+        private double emotionTotal;
+        private int emotionHits;
+        private double financialTotal;
+        private int financialHits;
+        private int emotionalTokens;
+        private int tokenRuns;
+        private boolean leadingWhitespace;
+
+        private int[] tokenTerms = EMPTY;
+        private int tokenTermCount;
+        private boolean tokenEmotional;
+
+        private int[] rawHitTerms = EMPTY;
+        private int[] rawHitEnds = EMPTY;
+        private int rawHitCount;
+
+        Collector(LexiconAutomaton automaton) {
+            this.automaton = automaton;
+        }
+
+        void rawHit(int termId, int end) {
+            if (rawHitCount == rawHitTerms.length) {
+                int capacity = Math.max(8, rawHitCount * 2);
+                rawHitTerms = Arrays.copyOf(rawHitTerms, capacity);
+                rawHitEnds = Arrays.copyOf(rawHitEnds, capacity);
+            }
+            rawHitTerms[rawHitCount] = termId;
+            rawHitEnds[rawHitCount] = end;
+            rawHitCount++;
+        }
+
+        void tokenHit(int termId) {
+            // 한 토큰 안에서 같은 단어는 한 번만 집계한다 (기존 contains 기반 계산과 동일)
+            for (int i = 0; i < tokenTermCount; i++) {
+                if (tokenTerms[i] == termId) {
+                    return;
+                }
+            }
+            if (tokenTermCount == tokenTerms.length) {
+                tokenTerms = Arrays.copyOf(tokenTerms, Math.max(4, tokenTermCount * 2));
+            }
+            tokenTerms[tokenTermCount++] = termId;
+
+            LexiconCategory[] categories = automaton.categoriesOf(termId);
+            double[] weights = automaton.weightsOf(termId);
+            for (int i = 0; i < categories.length; i++) {
+                if (categories[i].isEmotional()) {
+                    emotionTotal += weights[i];
+                    emotionHits++;
+                    tokenEmotional = true;
+                } else {
+                    financialTotal += weights[i];
+                    financialHits++;
+                }
+            }
+        }
+
+        void endToken() {
+            tokenRuns++;
+            if (tokenEmotional) {
+                emotionalTokens++;
+            }
+            tokenTermCount = 0;
+            tokenEmotional = false;
+        }
+
+        void leadingWhitespace() {
+            leadingWhitespace = true;
+        }
+
+        LexiconScan finish(boolean emptyText) {
+            int tokenCount;
+            if (tokenRuns == 0) {
+                tokenCount = emptyText ? 1 : 0;
+            } else {
+                tokenCount = tokenRuns + (leadingWhitespace ? 1 : 0);
+            }
+            return new LexiconScan(this, tokenCount);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.nodove.MoodDiary.notification;
+
+import com.google.firebase.messaging.FirebaseMessagingException;
+import com.google.firebase.messaging.MessagingErrorCode;
+import com.nodove.MoodDiary.repository.FCMTokenRepository;
+import com.nodove.MoodDiary.service.FCMService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * FCM 푸시. 토큰 조회와 sendMulticast 모두 이 채널의 작업 스레드에서 실행된다.
+ */
+@Slf4j
+@Component
+public class FcmNotificationChannel implements NotificationChannel {
+
+    /** 잠시 후 다시 보내면 성공할 수 있는 오류 */
+    private static final Set<MessagingErrorCode> TRANSIENT_ERRORS = Set.of(
+            MessagingErrorCode.UNAVAILABLE, MessagingErrorCode.INTERNAL, MessagingErrorCode.QUOTA_EXCEEDED);
+
+    private final FCMTokenRepository fcmTokenRepository;
+    private final Optional<FCMService> fcmService;
+
+    public FcmNotificationChannel(FCMTokenRepository fcmTokenRepository,
+                                  @Autowired(required = false) FCMService fcmService) {
+        this.fcmTokenRepository = fcmTokenRepository;
+        this.fcmService = Optional.ofNullable(fcmService);
+    }
+
+    @Override
+    public String name() {
+        return "fcm";
+    }
+
+    @Override
+    public void deliver(NotificationDelivery delivery) throws FirebaseMessagingException {
+        if (fcmService.isEmpty()) {
+            log.debug("FCM service not available, skipping FCM notification for user: {}", delivery.username());
+            return;
+        }
+        List<String> activeTokens = fcmTokenRepository.findActiveTokensByUserId(delivery.userId());
+        if (activeTokens.isEmpty()) {
+            return;
+        }
+        fcmService.get().sendNotificationToTokens(activeTokens, delivery.notification());
+        log.info("FCM notification sent to {} tokens for user: {}", activeTokens.size(), delivery.username());
+    }
+
+    @Override
+    public boolean isRetryable(Exception e) {
+        if (e instanceof FirebaseMessagingException fcmException) {
+            // 오류 코드가 없으면 네트워크 오류
+            return fcmException.getMessagingErrorCode() == null
+                    || TRANSIENT_ERRORS.contains(fcmException.getMessagingErrorCode());
+        }
+        return true;
+    }
+}
@@ -0,0 +1,35 @@
+package com.nodove.MoodDiary.notification;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Consumer;
+
+/**
+ * 단일 노드용. 모든 연결이 이 JVM 에 있으므로 다른 노드로 보낼 것이 없다. Redis 없이 실행하는 테스트도 이 구현을 쓴다.
+ */
+@Component
+@ConditionalOnProperty(name = "notification.delivery.cluster.enabled", havingValue = "false", matchIfMissing = true)
+public class LocalNotificationBus implements NotificationBus {
+
+    @Override
+    public void setReceiver(Consumer<NotificationDelivery> receiver) {
+    }
+
+    @Override
+    public void publish(NotificationDelivery delivery) {
+    }
+
+    @Override
+    public void subscribe(Long userId) {
+    }
+
+    @Override
+    public void unsubscribe(Long userId) {
+    }
+
+    @Override
+    public boolean isLocal() {
+        return true;
+    }
+}
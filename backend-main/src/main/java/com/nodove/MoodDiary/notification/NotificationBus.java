@@ -0,0 +1,31 @@
+package com.nodove.MoodDiary.notification;
+
+import java.util.function.Consumer;
+
+/**
+ * 노드 사이의 알림 전달 통로. WebSocket/SSE 처럼 연결이 특정 노드에 붙어 있는 채널에만 쓴다.
+ * <p>
+ * 노드는 자기에게 연결된 사용자의 통로만 구독하므로 다른 사용자의 알림은 받지 않는다.
+ * 자기가 보낸 알림은 이미 로컬로 전달했으므로 다시 받지 않는다.
+ */
+public interface NotificationBus {
+
+    /** 다른 노드에서 온 알림을 받을 곳 */
+    void setReceiver(Consumer<NotificationDelivery> receiver);
+
+    /**
+     * 사용자의 연결을 가진 다른 노드들로 보낸다. 보내지 못했으면 예외를 던진다.
+     */
+    void publish(NotificationDelivery delivery) throws Exception;
+
+    void subscribe(Long userId);
+
+    /**
+     * 모든 알림이 이 노드에서 만들어져 이 노드의 채널을 거치면 true (단일 노드). false 면 구독한 사용자의 알림만 받는다.
+     */
+    default boolean isLocal() {
+        return false;
+    }
+
+    void unsubscribe(Long userId);
+}
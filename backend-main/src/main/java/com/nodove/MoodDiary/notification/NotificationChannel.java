@@ -0,0 +1,35 @@
+package com.nodove.MoodDiary.notification;
+
+/**
+ * 알림 전송 채널 (WebSocket, SSE, FCM). 각 채널은 {@link NotificationDispatcher} 의 자기 전용 작업 스레드에서 호출된다.
+ */
+public interface NotificationChannel {
+
+    /** 설정과 지표에 쓰는 채널 이름 */
+    String name();
+
+    /**
+     * 알림을 보낸다. 받을 곳이 없으면 그냥 돌아오고, 보내지 못했으면 예외를 던진다.
+     */
+    void deliver(NotificationDelivery delivery) throws Exception;
+
+    /**
+     * 연결이 특정 노드에 붙어 있는 채널이면 true (WebSocket, SSE). 이런 채널은 {@link NotificationBus} 로 다른 노드에도 보낸다.
+     */
+    default boolean isSessionBound() {
+        return false;
+    }
+
+    /**
+     * 이 예외로 실패한 전송을 다시 시도할지 여부.
+     */
+    default boolean isRetryable(Exception e) {
+        return true;
+    }
+
+    /**
+     * 대기열이 가득 차 이 채널로 보내지 못하고 버린 알림. 보낸 기록에 기대는 채널은 여기서 그 기록을 무효로 한다.
+     */
+    default void onDropped(NotificationDelivery delivery) {
+    }
+}
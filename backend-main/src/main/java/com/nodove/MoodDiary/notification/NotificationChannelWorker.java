@@ -0,0 +1,134 @@
+package com.nodove.MoodDiary.notification;
+
+import com.nodove.MoodDiary.config.NotificationDeliveryProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 채널 하나의 전송 대기열과 작업 스레드.
+ * <p>
+ * 대기열은 길이가 제한되어 있고, 가득 차면 알림을 버린다(알림 자체는 DB 에 남아 있다).
+ * 실패한 전송은 작업 스레드를 재우지 않고 retryScheduler 로 대기 후 대기열에 다시 넣는다.
+ */
+@Slf4j
+class NotificationChannelWorker {
+
+    private record Attempt(NotificationDelivery delivery, int number) {
+    }
+
+    private final NotificationChannel channel;
+    private final NotificationDeliveryProperties.Channel settings;
+    private final ScheduledExecutorService retryScheduler;
+    private final BlockingQueue<Attempt> queue;
+    private final ExecutorService workers;
+
+    private final Timer delivered;
+    private final Timer failed;
+    private final Counter retried;
+    private final Counter dropped;
+
+    private volatile boolean running = true;
+
+    NotificationChannelWorker(NotificationChannel channel,
+                              NotificationDeliveryProperties.Channel settings,
+                              ScheduledExecutorService retryScheduler,
+                              MeterRegistry meterRegistry) {
+        this.channel = channel;
+        this.settings = settings;
+        this.retryScheduler = retryScheduler;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, settings.getQueueCapacity()));
+
+        String name = channel.name();
+        this.delivered = Timer.builder("notification.delivery.latency")
+                .tag("channel", name).tag("outcome", "success")
+                .register(meterRegistry);
+        this.failed = Timer.builder("notification.delivery.latency")
+                .tag("channel", name).tag("outcome", "failure")
+                .register(meterRegistry);
+        this.retried = meterRegistry.counter("notification.delivery.retries", "channel", name);
+        this.dropped = meterRegistry.counter("notification.delivery.dropped", "channel", name);
+        meterRegistry.gauge("notification.delivery.queue", Tags.of("channel", name),
+                queue, BlockingQueue::size);
+
+        int threads = Math.max(1, settings.getWorkers());
+        this.workers = Executors.newFixedThreadPool(threads,
+                Thread.ofPlatform().name("notify-" + name + "-", 0).daemon(true).factory());
+        for (int i = 0; i < threads; i++) {
+            workers.execute(this::runLoop);
+        }
+    }
+
+    String name() {
+        return channel.name();
+    }
+
+    boolean sessionBound() {
+        return channel.isSessionBound();
+    }
+
+    /**
+     * 대기열에 넣는다. 가득 찼으면 false 이며 호출 스레드는 기다리지 않는다.
+     */
+    boolean submit(NotificationDelivery delivery) {
+        return enqueue(new Attempt(delivery, 1));
+    }
+
+    void shutdown() throws InterruptedException {
+        running = false;
+        workers.shutdownNow();
+        workers.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    private boolean enqueue(Attempt attempt) {
+        if (!running || !queue.offer(attempt)) {
+            dropped.increment();
+            channel.onDropped(attempt.delivery());
+            log.warn("Notification {} dropped on channel {}: queue full ({} queued)",
+                    attempt.delivery().notification().getId(), channel.name(), queue.size());
+            return false;
+        }
+        return true;
+    }
+
+    private void runLoop() {
+        while (running) {
+            try {
+                process(queue.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void process(Attempt attempt) {
+        NotificationDelivery delivery = attempt.delivery();
+        try {
+            channel.deliver(delivery);
+            delivered.record(System.nanoTime() - delivery.committedAtNanos(), TimeUnit.NANOSECONDS);
+        } catch (Exception e) {
+            if (attempt.number() < settings.getMaxAttempts() && channel.isRetryable(e)) {
+                retried.increment();
+                long backoff = settings.getInitialBackoff().toMillis() << (attempt.number() - 1);
+                log.debug("Retrying notification {} on channel {} in {} ms (attempt {}): {}",
+                        delivery.notification().getId(), channel.name(), backoff, attempt.number(), e.getMessage());
+                retryScheduler.schedule(() -> enqueue(new Attempt(delivery, attempt.number() + 1)),
+                        backoff, TimeUnit.MILLISECONDS);
+                return;
+            }
+            failed.record(System.nanoTime() - delivery.committedAtNanos(), TimeUnit.NANOSECONDS);
+            log.warn("Notification {} delivery failed on channel {} after {} attempt(s): {}",
+                    delivery.notification().getId(), channel.name(), attempt.number(), e.getMessage());
+        }
+    }
+}
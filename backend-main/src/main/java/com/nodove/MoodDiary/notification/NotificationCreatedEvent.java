@@ -0,0 +1,9 @@
+package com.nodove.MoodDiary.notification;
+
+import com.nodove.MoodDiary.dto.NotificationDTO;
+
+/**
+ * 알림이 저장되었음을 알린다. 전송은 커밋 이후에만 시작한다.
+ */
+public record NotificationCreatedEvent(Long userId, String username, NotificationDTO notification) {
+}
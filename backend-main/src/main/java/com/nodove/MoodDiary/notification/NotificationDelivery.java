@@ -0,0 +1,9 @@
+package com.nodove.MoodDiary.notification;
+
+import com.nodove.MoodDiary.dto.NotificationDTO;
+
+/**
+ * 채널 하나로 보낼 알림. committedAtNanos 는 전송 지연 측정 기준 (커밋 직후의 System.nanoTime).
+ */
+public record NotificationDelivery(Long userId, String username, NotificationDTO notification, long committedAtNanos) {
+}
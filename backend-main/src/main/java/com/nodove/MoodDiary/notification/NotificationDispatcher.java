@@ -0,0 +1,76 @@
+package com.nodove.MoodDiary.notification;
+
+import com.nodove.MoodDiary.config.NotificationDeliveryProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * 저장된 알림을 커밋 이후 채널별 대기열로 넘긴다.
+ * <p>
+ * 요청 스레드는 대기열에 넣기만 하고 바로 돌아오므로, 느린 FCM 호출이 DB 연결을 붙잡거나 API 응답을 늦추지 않는다.
+ * 채널마다 작업 스레드와 대기열이 따로 있어 한 채널이 밀려도 다른 채널은 계속 보낸다.
+ * 여러 노드로 운영할 때는 {@link NotificationRelayChannel} 이 다른 노드로 넘기고, 다른 노드에서 온 알림은
+ * 이 노드의 WebSocket/SSE 연결로만 보낸다.
+ */
+@Slf4j
+@Component
+public class NotificationDispatcher {
+
+    private final List<NotificationChannelWorker> workers;
+    private final ScheduledExecutorService retryScheduler;
+
+    public NotificationDispatcher(List<NotificationChannel> channels,
+                                  NotificationDeliveryProperties properties,
+                                  NotificationBus bus,
+                                  MeterRegistry meterRegistry) {
+        this.retryScheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("notify-retry-", 0).daemon(true).factory());
+        this.workers = channels.stream()
+                .map(channel -> new NotificationChannelWorker(channel, properties.forChannel(channel.name()),
+                        retryScheduler, meterRegistry))
+                .toList();
+        log.info("Notification dispatcher initialized - channels: {}",
+                workers.stream().map(NotificationChannelWorker::name).toList());
+        bus.setReceiver(this::deliverToSessions);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onNotificationCreated(NotificationCreatedEvent event) {
+        dispatch(event);
+    }
+
+    public void dispatch(NotificationCreatedEvent event) {
+        NotificationDelivery delivery = new NotificationDelivery(event.userId(), event.username(),
+                event.notification(), System.nanoTime());
+        for (NotificationChannelWorker worker : workers) {
+            worker.submit(delivery);
+        }
+    }
+
+    /**
+     * 다른 노드에서 만든 알림을 이 노드의 WebSocket/SSE 연결로 보낸다. FCM 은 만든 노드에서 이미 보냈다.
+     */
+    private void deliverToSessions(NotificationDelivery delivery) {
+        for (NotificationChannelWorker worker : workers) {
+            if (worker.sessionBound()) {
+                worker.submit(delivery);
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        retryScheduler.shutdownNow();
+        for (NotificationChannelWorker worker : workers) {
+            worker.shutdown();
+        }
+    }
+}
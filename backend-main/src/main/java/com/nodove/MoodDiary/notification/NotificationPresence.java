@@ -0,0 +1,57 @@
+package com.nodove.MoodDiary.notification;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 이 노드에 붙어 있는 사용자별 연결(WebSocket 세션, SSE 연결) 목록.
+ * 사용자의 첫 연결이 생기면 {@link NotificationBus} 의 사용자 통로를 구독하고, 마지막 연결이 끊기면 해지한다.
+ * <p>
+ * 여러 노드로 운영할 때는 구독하지 않은 동안 다른 노드의 알림을 받지 못하므로, 해지할 때 그 사용자의
+ * {@link NotificationReplayBuffer} 를 비운다. 버퍼는 {@link #receivesAll(Long)} 인 동안만 기록한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class NotificationPresence {
+
+    private final NotificationBus bus;
+    private final NotificationReplayBuffer replayBuffer;
+    private final Map<Long, Set<String>> connections = new ConcurrentHashMap<>();
+
+    public void connected(Long userId, String connectionId) {
+        // 구독/해지 순서가 뒤바뀌지 않도록 사용자 항목을 잠근 채로 호출한다
+        connections.compute(userId, (id, ids) -> {
+            if (ids == null) {
+                ids = ConcurrentHashMap.newKeySet();
+                bus.subscribe(id);
+            }
+            ids.add(connectionId);
+            return ids;
+        });
+    }
+
+    /**
+     * 이 노드가 사용자의 알림을 빠짐없이 받고 있는지. 단일 노드면 늘 true, 아니면 구독 중일 때만 true.
+     */
+    public boolean receivesAll(Long userId) {
+        return bus.isLocal() || connections.containsKey(userId);
+    }
+
+    public void disconnected(Long userId, String connectionId) {
+        connections.computeIfPresent(userId, (id, ids) -> {
+            ids.remove(connectionId);
+            if (ids.isEmpty()) {
+                bus.unsubscribe(id);
+                if (!bus.isLocal()) {
+                    replayBuffer.invalidate(id);
+                }
+                return null;
+            }
+            return ids;
+        });
+    }
+}
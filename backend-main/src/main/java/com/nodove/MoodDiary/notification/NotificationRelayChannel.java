@@ -0,0 +1,26 @@
+package com.nodove.MoodDiary.notification;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * 알림을 {@link NotificationBus} 로 다른 노드에 넘긴다. Redis 발행도 요청 스레드가 아닌 이 채널의 작업 스레드에서 한다.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "notification.delivery.cluster.enabled", havingValue = "true")
+public class NotificationRelayChannel implements NotificationChannel {
+
+    private final NotificationBus bus;
+
+    @Override
+    public String name() {
+        return "relay";
+    }
+
+    @Override
+    public void deliver(NotificationDelivery delivery) throws Exception {
+        bus.publish(delivery);
+    }
+}
@@ -0,0 +1,87 @@
+package com.nodove.MoodDiary.notification;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.nodove.MoodDiary.config.NotificationDeliveryProperties;
+import com.nodove.MoodDiary.dto.NotificationDTO;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 사용자별 최근 알림 (SSE 재연결 시 다시 보내기용).
+ * <p>
+ * 사용자마다 최근 bufferSize 개만 들고, floor 이하의 id 는 버퍼가 책임지지 않는다 (버퍼가 생기기 전이거나 밀려난 알림).
+ * 마지막으로 받은 id 가 floor 보다 작으면 버퍼로는 빈틈을 메울 수 없으므로 비어 있는 결과를 돌려주고,
+ * 호출한 쪽이 DB 에서 읽는다.
+ * <p>
+ * 버퍼는 만든 뒤로 그 사용자의 알림을 하나도 놓치지 않았을 때만 믿을 수 있다. 알림을 놓칠 수 있는 일
+ * (대기열이 가득 차 버린 전송, 다른 노드 알림의 구독 해지)이 생기면 {@link #invalidate(Long)} 로 버퍼를 버리고,
+ * 다음 알림부터 새 floor 로 다시 쌓는다.
+ */
+@Component
+public class NotificationReplayBuffer {
+
+    private final int bufferSize;
+    private final Cache<Long, UserBuffer> buffers;
+
+    public NotificationReplayBuffer(NotificationDeliveryProperties properties) {
+        NotificationDeliveryProperties.Replay settings = properties.getReplay();
+        this.bufferSize = Math.max(1, settings.getBufferSize());
+        this.buffers = Caffeine.newBuilder()
+                .maximumSize(settings.getMaxUsers())
+                .expireAfterAccess(settings.getBufferTtl())
+                .build();
+    }
+
+    public void record(Long userId, NotificationDTO notification) {
+        if (notification.getId() == null) {
+            return;
+        }
+        buffers.get(userId, id -> new UserBuffer(notification.getId() - 1)).add(notification, bufferSize);
+    }
+
+    public void invalidate(Long userId) {
+        buffers.invalidate(userId);
+    }
+
+    /**
+     * afterId 이후의 알림 (id 순). 버퍼로 빈틈 없이 알 수 없으면 비어 있다.
+     */
+    public Optional<List<NotificationDTO>> since(Long userId, long afterId) {
+        UserBuffer buffer = buffers.getIfPresent(userId);
+        return buffer != null ? buffer.since(afterId) : Optional.empty();
+    }
+
+    private static final class UserBuffer {
+
+        private final Deque<NotificationDTO> recent = new ArrayDeque<>();
+        private long floor;
+
+        private UserBuffer(long floor) {
+            this.floor = floor;
+        }
+
+        synchronized void add(NotificationDTO notification, int capacity) {
+            recent.addLast(notification);
+            while (recent.size() > capacity) {
+                floor = Math.max(floor, recent.pollFirst().getId());
+            }
+        }
+
+        synchronized Optional<List<NotificationDTO>> since(long afterId) {
+            if (afterId < floor) {
+                return Optional.empty();
+            }
+            // 커밋 순서가 id 순서와 다를 수 있어 id 로 다시 정렬한다
+            return Optional.of(recent.stream()
+                    .filter(notification -> notification.getId() > afterId)
+                    .sorted(Comparator.comparing(NotificationDTO::getId))
+                    .toList());
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.nodove.MoodDiary.notification;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nodove.MoodDiary.config.NotificationDeliveryProperties;
+import com.nodove.MoodDiary.dto.NotificationDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Redis pub/sub 기반 노드 간 알림 전달. 사용자마다 채널(channelPrefix + userId)을 두고,
+ * 그 사용자의 WebSocket/SSE 연결을 가진 노드만 구독한다. 기존 Redis 연결 설정을 그대로 쓴다.
+ * <p>
+ * pub/sub 은 받는 쪽이 없으면 메시지를 버린다. 알림은 DB 에 남아 있으므로 재연결한 클라이언트는 목록에서 다시 읽는다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "notification.delivery.cluster.enabled", havingValue = "true")
+public class RedisNotificationBus implements NotificationBus, MessageListener {
+
+    record Envelope(String origin, Long userId, String username, NotificationDTO notification) {
+    }
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final String channelPrefix;
+    private final RedisMessageListenerContainer container;
+    private final Counter published;
+    private final Counter received;
+
+    private volatile Consumer<NotificationDelivery> receiver = delivery -> { };
+
+    public RedisNotificationBus(RedisConnectionFactory connectionFactory,
+                                StringRedisTemplate redisTemplate,
+                                ObjectMapper objectMapper,
+                                NotificationDeliveryProperties properties,
+                                MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.channelPrefix = properties.getCluster().getChannelPrefix();
+        this.published = meterRegistry.counter("notification.bus.messages", "direction", "published");
+        this.received = meterRegistry.counter("notification.bus.messages", "direction", "received");
+
+        this.container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.afterPropertiesSet();
+        container.start();
+        log.info("Redis notification bus started - node: {}, channel prefix: {}", nodeId, channelPrefix);
+    }
+
+    @Override
+    public void setReceiver(Consumer<NotificationDelivery> receiver) {
+        this.receiver = receiver;
+    }
+
+    @Override
+    public void publish(NotificationDelivery delivery) throws JsonProcessingException {
+        String payload = objectMapper.writeValueAsString(
+                new Envelope(nodeId, delivery.userId(), delivery.username(), delivery.notification()));
+        redisTemplate.convertAndSend(channel(delivery.userId()), payload);
+        published.increment();
+    }
+
+    @Override
+    public void subscribe(Long userId) {
+        container.addMessageListener(this, new ChannelTopic(channel(userId)));
+    }
+
+    @Override
+    public void unsubscribe(Long userId) {
+        container.removeMessageListener(this, new ChannelTopic(channel(userId)));
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            Envelope envelope = objectMapper.readValue(message.getBody(), Envelope.class);
+            if (nodeId.equals(envelope.origin())) {
+                return;
+            }
+            received.increment();
+            receiver.accept(new NotificationDelivery(envelope.userId(), envelope.username(),
+                    envelope.notification(), System.nanoTime()));
+        } catch (Exception e) {
+            log.warn("Failed to handle notification from Redis channel {}: {}",
+                    new String(message.getChannel()), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() throws Exception {
+        container.destroy();
+    }
+
+    private String channel(Long userId) {
+        return channelPrefix + userId;
+    }
+}
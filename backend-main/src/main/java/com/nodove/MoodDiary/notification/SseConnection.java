@@ -0,0 +1,234 @@
+package com.nodove.MoodDiary.notification;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * SSE 연결 하나와 그 연결의 전송 대기열.
+ * <p>
+ * 호출 스레드(채널 작업 스레드, heartbeat 스레드)는 대기열에 넣고 바로 돌아오고, 실제 전송은 공용 전송 스레드가
+ * 연결마다 한 번에 하나씩 한다. 대기열이 가득 차면 가장 오래된 이벤트를 버린다.
+ * 전송 하나가 sendTimeLimit 을 넘기고 있으면 읽지 않는 클라이언트로 보고 연결을 내보낸다({@link #isStalled(long)}).
+ * <p>
+ * 재연결이면 놓친 알림을 다시 보내는 동안 새로 온 알림을 따로 들고 있다가, 다시 보내기가 끝나면 이미 보낸 id 이하는
+ * 버리고 나머지를 대기열에 넣는다. 그래서 같은 id 의 알림이 한 연결로 두 번 가지 않는다.
+ */
+@Slf4j
+public class SseConnection {
+
+    /** 연결을 내보낼 때 부르는 쪽 (목록에서 빼고 닫는다) */
+    interface Evictor {
+        void evict(SseConnection connection, Exception error, String reason);
+    }
+
+    private record Pending(long notificationId, SseEmitter.SseEventBuilder event) {
+    }
+
+    private final String id = UUID.randomUUID().toString();
+    private final Long userId;
+    private final SseEmitter emitter;
+    private final int queueCapacity;
+    private final long sendTimeLimitNanos;
+    private final Executor sendExecutor;
+    private final Evictor evictor;
+
+    // queue, held, replaying, lastNotificationId 는 queue 로 잠근다
+    private final Deque<SseEmitter.SseEventBuilder> queue = new ArrayDeque<>();
+    private final List<Pending> held = new ArrayList<>();
+    private boolean replaying;
+    private long lastNotificationId = Long.MIN_VALUE;
+
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private volatile long sendStartedNanos;
+    private volatile boolean closed;
+
+    SseConnection(Long userId, SseEmitter emitter, int queueCapacity, Duration sendTimeLimit,
+                  Executor sendExecutor, Evictor evictor) {
+        this.userId = userId;
+        this.emitter = emitter;
+        this.queueCapacity = Math.max(1, queueCapacity);
+        this.sendTimeLimitNanos = sendTimeLimit.toNanos();
+        this.sendExecutor = sendExecutor;
+        this.evictor = evictor;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public SseEmitter getEmitter() {
+        return emitter;
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * 이벤트를 대기열에 넣고 전송을 예약한다. 기다리지 않는다.
+     */
+    public void send(SseEmitter.SseEventBuilder event) {
+        if (closed) {
+            return;
+        }
+        synchronized (queue) {
+            offer(event);
+        }
+        schedule();
+    }
+
+    /**
+     * 알림 이벤트를 넣는다. 다시 보내는 중이면 끝날 때까지 들고 있고, 이 연결로 이미 보낸 id 이하면 버린다.
+     */
+    public void sendNotification(Long notificationId, SseEmitter.SseEventBuilder event) {
+        if (notificationId == null) {
+            send(event);
+            return;
+        }
+        if (closed) {
+            return;
+        }
+        synchronized (queue) {
+            if (replaying) {
+                held.add(new Pending(notificationId, event));
+                return;
+            }
+            if (notificationId <= lastNotificationId) {
+                return;
+            }
+            lastNotificationId = notificationId;
+            offer(event);
+        }
+        schedule();
+    }
+
+    /**
+     * 놓친 알림 다시 보내기를 시작한다. afterId 이하는 클라이언트가 이미 받았다. 등록 전에 불러야 그 사이 온 알림을 붙잡는다.
+     */
+    void beginReplay(long afterId) {
+        synchronized (queue) {
+            replaying = true;
+            lastNotificationId = Math.max(lastNotificationId, afterId);
+        }
+    }
+
+    /**
+     * 다시 보내는 알림. 들고 있는 새 알림과 상관없이 바로 대기열에 넣는다.
+     */
+    void replayNotification(long notificationId, SseEmitter.SseEventBuilder event) {
+        if (closed) {
+            return;
+        }
+        synchronized (queue) {
+            if (notificationId <= lastNotificationId) {
+                return;
+            }
+            lastNotificationId = notificationId;
+            offer(event);
+        }
+        schedule();
+    }
+
+    /**
+     * 다시 보내기가 끝났다. 그동안 들고 있던 새 알림 중 아직 보내지 않은 것만 id 순으로 넣는다.
+     */
+    void endReplay() {
+        synchronized (queue) {
+            replaying = false;
+            held.sort(Comparator.comparingLong(Pending::notificationId));
+            for (Pending pending : held) {
+                if (pending.notificationId() > lastNotificationId) {
+                    lastNotificationId = pending.notificationId();
+                    offer(pending.event());
+                }
+            }
+            held.clear();
+        }
+        schedule();
+    }
+
+    public int queued() {
+        synchronized (queue) {
+            return queue.size();
+        }
+    }
+
+    /**
+     * 보내는 중인 전송이 sendTimeLimit 을 넘겼는지.
+     */
+    boolean isStalled(long nowNanos) {
+        long started = sendStartedNanos;
+        return started != 0 && nowNanos - started > sendTimeLimitNanos;
+    }
+
+    void markClosed() {
+        closed = true;
+        synchronized (queue) {
+            queue.clear();
+            held.clear();
+        }
+    }
+
+    private void offer(SseEmitter.SseEventBuilder event) {
+        if (queue.size() >= queueCapacity) {
+            queue.pollFirst();
+            log.debug("SSE send queue full for user {}, dropped oldest event", userId);
+        }
+        queue.addLast(event);
+    }
+
+    private void schedule() {
+        if (closed || !scheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            sendExecutor.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            // 종료 중
+            scheduled.set(false);
+        }
+    }
+
+    private void drain() {
+        try {
+            SseEmitter.SseEventBuilder next;
+            while (!closed && (next = poll()) != null) {
+                sendStartedNanos = System.nanoTime();
+                emitter.send(next);
+                sendStartedNanos = 0;
+            }
+        } catch (Exception e) {
+            sendStartedNanos = 0;
+            scheduled.set(false);
+            log.debug("SSE send to user {} failed on connection {}: {}", userId, id, e.getMessage());
+            evictor.evict(this, e, "send failed");
+            return;
+        }
+        scheduled.set(false);
+        // 비우는 사이 들어온 이벤트가 있으면 다시 예약한다
+        if (queued() > 0) {
+            schedule();
+        }
+    }
+
+    private SseEmitter.SseEventBuilder poll() {
+        synchronized (queue) {
+            return queue.pollFirst();
+        }
+    }
+}
@@ -0,0 +1,278 @@
+package com.nodove.MoodDiary.notification;
+
+import com.nodove.MoodDiary.config.NotificationDeliveryProperties;
+import com.nodove.MoodDiary.dto.NotificationDTO;
+import com.nodove.MoodDiary.repository.NotificationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 사용자별 SSE 연결과 알림 전송. 사용자는 탭/기기마다 여러 연결을 가질 수 있고, 알림은 모든 연결로 보낸다.
+ * 끊긴 연결로는 다시 보내지 않는다.
+ * <p>
+ * 알림 이벤트의 id 는 알림 id 이다 (IDENTITY 라 만든 순서대로 커진다). 클라이언트가 Last-Event-ID 로 다시 연결하면
+ * 그 이후 알림을 {@link NotificationReplayBuffer} 에서, 버퍼로 메울 수 없으면 DB 에서 읽어 다시 보낸다.
+ * 다시 보내는 동안 새로 온 알림은 연결이 들고 있다가 이미 보낸 id 를 빼고 보내므로, 한 연결로 같은 알림이 두 번 가지 않는다.
+ * <p>
+ * 알림과 heartbeat 는 연결별 대기열({@link SseConnection})에 넣기만 하고, 실제 전송은 공용 전송 스레드가 한다.
+ * 클라이언트가 읽지 않아 전송이 sendTimeLimit 을 넘기면 그 연결을 내보내고, 닫기는 전용 스레드에서 한다.
+ */
+@Slf4j
+@Component
+public class SseNotificationChannel implements NotificationChannel {
+
+    /** 끊겼을 때 브라우저가 다시 연결하기까지 기다리는 시간 */
+    private static final long RECONNECT_TIME_MILLIS = 3_000L;
+
+    private final NotificationPresence presence;
+    private final NotificationReplayBuffer replayBuffer;
+    private final NotificationRepository notificationRepository;
+    private final NotificationDeliveryProperties.Session settings;
+    private final NotificationDeliveryProperties.Replay replaySettings;
+    private final UserConnectionRegistry<SseConnection> connections;
+    private final Set<SseConnection> open = ConcurrentHashMap.newKeySet();
+    private final ExecutorService sendExecutor;
+    private final ScheduledExecutorService heartbeatScheduler;
+    // 연결 닫기용. 닫기도 막힌 전송이 끝나기를 기다릴 수 있어 전송 스레드와 나누고, 닫을 때마다 가상 스레드를 쓴다
+    private final ExecutorService closer = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("notify-sse-close-", 0).factory());
+
+    private final Counter replayedFromBuffer;
+    private final Counter replayedFromDatabase;
+    private final Counter evicted;
+
+    public SseNotificationChannel(NotificationPresence presence,
+                                  NotificationReplayBuffer replayBuffer,
+                                  NotificationRepository notificationRepository,
+                                  NotificationDeliveryProperties properties,
+                                  MeterRegistry meterRegistry) {
+        this.presence = presence;
+        this.replayBuffer = replayBuffer;
+        this.notificationRepository = notificationRepository;
+        this.settings = properties.getSession();
+        this.replaySettings = properties.getReplay();
+        this.connections = new UserConnectionRegistry<>(settings.getMaxPerUser());
+        meterRegistry.gauge("notification.connections", Tags.of("channel", "sse"),
+                connections, UserConnectionRegistry::size);
+        this.replayedFromBuffer = meterRegistry.counter("notification.sse.replay", "source", "buffer");
+        this.replayedFromDatabase = meterRegistry.counter("notification.sse.replay", "source", "database");
+        this.evicted = meterRegistry.counter("notification.sse.evicted");
+        meterRegistry.gauge("notification.sse.queued", open,
+                all -> all.stream().mapToInt(SseConnection::queued).sum());
+
+        this.sendExecutor = Executors.newFixedThreadPool(Math.max(1, settings.getSendThreads()),
+                Thread.ofPlatform().name("notify-sse-send-", 0).daemon(true).factory());
+        // heartbeat 와 멈춘 연결 찾기는 대기열만 보므로 스레드 하나로 충분하다
+        this.heartbeatScheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("notify-sse-heartbeat-", 0).daemon(true).factory());
+        long interval = settings.getHeartbeatInterval().toMillis();
+        heartbeatScheduler.scheduleWithFixedDelay(this::sendHeartbeats, interval, interval, TimeUnit.MILLISECONDS);
+        long period = Math.max(100, settings.getSendTimeLimit().toMillis() / 2);
+        heartbeatScheduler.scheduleWithFixedDelay(this::evictStalled, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public boolean isSessionBound() {
+        return true;
+    }
+
+    @Override
+    public String name() {
+        return "sse";
+    }
+
+    /**
+     * @param lastEventId 재연결이면 클라이언트가 마지막으로 받은 알림 id (Last-Event-ID), 처음 연결이면 null
+     */
+    public SseEmitter connect(Long userId, String username, Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(settings.getSseTimeout().toMillis());
+        SseConnection connection = new SseConnection(userId, emitter, settings.getSendQueueCapacity(),
+                settings.getSendTimeLimit(), sendExecutor, this::evict);
+        if (lastEventId != null) {
+            // 등록 전에 시작해야 다시 보내는 동안 온 알림을 연결이 들고 있다가 중복 없이 보낸다
+            connection.beginReplay(lastEventId);
+        }
+        open.add(connection);
+        presence.connected(userId, connection.getId());
+        
+        // 사용자당 연결 수를 넘으면 가장 오래된 연결을 닫는다
+        for (SseConnection oldest : connections.register(userId, connection)) {
+            log.info("Closing oldest SSE connection for user {}: session limit {} reached", username, settings.getMaxPerUser());
+            release(oldest);
+            close(oldest, null);
+        }
+        
+        // 연결 종료 시 정리
+        emitter.onCompletion(() -> {
+            release(connection);
+            log.info("SSE connection completed for user: {}", username);
+        });
+        
+        emitter.onTimeout(() -> {
+            release(connection);
+            log.info("SSE connection timeout for user: {}", username);
+        });
+        
+        emitter.onError((ex) -> {
+            release(connection);
+            log.error("SSE connection error for user: {}", username, ex);
+        });
+        
+        try {
+            // 연결 확인 메시지 전송
+            connection.send(SseEmitter.event()
+                    .name("connect")
+                    .reconnectTime(RECONNECT_TIME_MILLIS)
+                    .data("SSE connection established"));
+            // 등록한 뒤에 다시 보내야 그 사이 온 알림을 놓치지 않는다
+            if (lastEventId != null) {
+                replay(connection, lastEventId);
+            }
+            log.info("SSE connection established for user: {}", username);
+        } catch (Exception e) {
+            log.error("Error replaying SSE notifications for user: {}", username, e);
+            release(connection);
+            close(connection, e);
+        } finally {
+            if (lastEventId != null) {
+                connection.endReplay();
+            }
+        }
+        
+        return emitter;
+    }
+
+    @Override
+    public void deliver(NotificationDelivery delivery) {
+        // 구독하지 않은 동안 다른 노드 알림이 빠졌을 수 있으면 버퍼를 믿지 않고 DB 에서 읽게 한다
+        if (presence.receivesAll(delivery.userId())) {
+            replayBuffer.record(delivery.userId(), delivery.notification());
+        } else {
+            replayBuffer.invalidate(delivery.userId());
+        }
+        // 대기열에 넣기만 한다. 보내지 못한 연결은 전송 스레드가 내보내고, 클라이언트는 Last-Event-ID 로 다시 연결한다
+        NotificationDTO notification = delivery.notification();
+        for (SseConnection connection : connections.connections(delivery.userId())) {
+            connection.sendNotification(notification.getId(), notificationEvent(notification));
+        }
+    }
+
+    @Override
+    public boolean isRetryable(Exception e) {
+        // 실패한 연결은 닫았으므로 재시도할 곳이 없다. 클라이언트는 Last-Event-ID 로 다시 연결해 놓친 알림을 받는다
+        return false;
+    }
+
+    @Override
+    public void onDropped(NotificationDelivery delivery) {
+        // 버퍼에 빈틈이 생겼으므로 재연결 시 DB 에서 읽게 한다
+        replayBuffer.invalidate(delivery.userId());
+    }
+
+    private void replay(SseConnection connection, long lastEventId) {
+        Long userId = connection.getUserId();
+        int limit = Math.max(1, replaySettings.getLimit());
+        List<NotificationDTO> missed = replayBuffer.since(userId, lastEventId).orElse(null);
+        if (missed != null) {
+            replayedFromBuffer.increment();
+        } else {
+            // 버퍼가 없거나 밀려났으면 DB 에서 읽는다. 한 건 더 읽어 한도를 넘는지 본다
+            replayedFromDatabase.increment();
+            missed = notificationRepository.findByUserIdAfterId(userId, lastEventId, PageRequest.of(0, limit + 1))
+                    .stream()
+                    .map(NotificationDTO::fromEntity)
+                    .toList();
+        }
+
+        for (NotificationDTO notification : missed.subList(0, Math.min(limit, missed.size()))) {
+            connection.replayNotification(notification.getId(), notificationEvent(notification));
+        }
+        if (missed.size() > limit) {
+            // 다 보내지 못했으면 클라이언트가 목록을 다시 읽게 한다
+            connection.send(SseEmitter.event().name("resync").data("Too many missed notifications"));
+        }
+        log.debug("Replayed {} notification(s) after {} for user {}", Math.min(limit, missed.size()), lastEventId, userId);
+    }
+
+    private SseEmitter.SseEventBuilder notificationEvent(NotificationDTO notification) {
+        SseEmitter.SseEventBuilder event = SseEmitter.event().name("notification");
+        if (notification.getId() != null) {
+            event.id(String.valueOf(notification.getId()));
+        }
+        return event.data(notification);
+    }
+
+    // 모든 연결의 대기열에 heartbeat 를 넣는다. 보내는 것은 전송 스레드가 한다
+    private void sendHeartbeats() {
+        connections.forEach(connection -> connection.send(SseEmitter.event().comment("heartbeat")));
+    }
+
+    // 새 알림이 없어도 멈춘 전송을 찾아 내보낸다
+    private void evictStalled() {
+        long now = System.nanoTime();
+        for (SseConnection connection : open) {
+            if (connection.isStalled(now)) {
+                evict(connection, null, "send time limit exceeded");
+            }
+        }
+    }
+
+    /**
+     * 보내지 못했거나 멈춘 연결을 내보낸다. 목록에서 먼저 빼서 더는 쌓이지 않게 하고, 닫기는 전용 스레드에서 한다.
+     * 전송 스레드는 멈춘 연결의 send 에 묶여 있을 수 있으므로 거기에 맡기지 않는다.
+     */
+    private void evict(SseConnection connection, Exception error, String reason) {
+        if (!open.remove(connection)) {
+            return;
+        }
+        release(connection);
+        evicted.increment();
+        log.info("Evicting SSE connection {} of user {}: {}", connection.getId(), connection.getUserId(), reason);
+        close(connection, error);
+    }
+
+    private void close(SseConnection connection, Exception error) {
+        Runnable complete = () -> {
+            if (error != null) {
+                connection.getEmitter().completeWithError(error);
+            } else {
+                connection.getEmitter().complete();
+            }
+        };
+        try {
+            closer.execute(complete);
+        } catch (RejectedExecutionException e) {
+            complete.run();
+        }
+    }
+
+    private void release(SseConnection connection) {
+        connection.markClosed();
+        open.remove(connection);
+        connections.remove(connection.getUserId(), connection);
+        presence.disconnected(connection.getUserId(), connection.getId());
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        heartbeatScheduler.shutdownNow();
+        closer.shutdownNow();
+        sendExecutor.shutdownNow();
+        sendExecutor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,84 @@
+package com.nodove.MoodDiary.notification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * 사용자 id → 이 노드의 연결 목록 (WebSocket 세션, SSE 연결).
+ * <p>
+ * 사용자별 목록은 바꿀 때마다 새 불변 리스트로 교체하므로, 전송 쪽은 잠금 없이 O(1) 로 찾아 순회한다.
+ * 연결 수가 maxPerUser 를 넘으면 가장 오래된 연결을 목록에서 빼서 돌려주며, 닫는 것은 호출한 쪽이 한다.
+ * 같은 연결은 한 번만 들어가고(동일성 기준), 제거는 정확히 그 연결만 뺀다.
+ */
+public class UserConnectionRegistry<C> {
+
+    private final int maxPerUser;
+    private final Map<Long, List<C>> connections = new ConcurrentHashMap<>();
+    private final AtomicInteger total = new AtomicInteger();
+
+    public UserConnectionRegistry(int maxPerUser) {
+        this.maxPerUser = Math.max(1, maxPerUser);
+    }
+
+    /**
+     * 연결을 등록하고, 한도를 넘어 밀려난 연결들을 돌려준다.
+     */
+    public List<C> register(Long userId, C connection) {
+        List<C> evicted = new ArrayList<>();
+        connections.compute(userId, (id, current) -> {
+            List<C> next = new ArrayList<>(current != null ? current : List.of());
+            if (next.stream().anyMatch(existing -> existing == connection)) {
+                return current;
+            }
+            next.add(connection);
+            total.incrementAndGet();
+            while (next.size() > maxPerUser) {
+                evicted.add(next.remove(0));
+                total.decrementAndGet();
+            }
+            return List.copyOf(next);
+        });
+        return evicted;
+    }
+
+    /**
+     * 그 연결이 목록에 있었으면 빼고 true.
+     */
+    public boolean remove(Long userId, C connection) {
+        boolean[] removed = {false};
+        connections.computeIfPresent(userId, (id, current) -> {
+            List<C> next = new ArrayList<>(current.size());
+            for (C existing : current) {
+                if (existing == connection) {
+                    removed[0] = true;
+                } else {
+                    next.add(existing);
+                }
+            }
+            return next.isEmpty() ? null : List.copyOf(next);
+        });
+        if (removed[0]) {
+            total.decrementAndGet();
+        }
+        return removed[0];
+    }
+
+    public List<C> connections(Long userId) {
+        return connections.getOrDefault(userId, List.of());
+    }
+
+    /**
+     * 이 노드의 모든 연결.
+     */
+    public void forEach(Consumer<? super C> action) {
+        connections.values().forEach(list -> list.forEach(action));
+    }
+
+    public int size() {
+        return total.get();
+    }
+}
@@ -0,0 +1,35 @@
+package com.nodove.MoodDiary.notification;
+
+import com.nodove.MoodDiary.websocket.NotificationWebSocketHandler;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+@Component
+@RequiredArgsConstructor
+public class WebSocketNotificationChannel implements NotificationChannel {
+
+    private final NotificationWebSocketHandler webSocketHandler;
+
+    @Override
+    public boolean isSessionBound() {
+        return true;
+    }
+
+    @Override
+    public boolean isRetryable(Exception e) {
+        // 세션별 실패는 핸들러가 처리한다. 여기까지 오는 것은 직렬화 실패뿐이다
+        return false;
+    }
+
+    @Override
+    public String name() {
+        return "websocket";
+    }
+
+    @Override
+    public void deliver(NotificationDelivery delivery) throws IOException {
+        webSocketHandler.sendNotificationToUser(delivery.userId(), delivery.notification());
+    }
+}
@@ -0,0 +1,45 @@
+package com.nodove.MoodDiary.repository;
+
+import com.nodove.MoodDiary.entity.AiAnalysisTask;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface AiAnalysisTaskRepository extends JpaRepository<AiAnalysisTask, Long> {
+
+    Optional<AiAnalysisTask> findByDiaryId(Long diaryId);
+
+    long countByStatusIn(Collection<AiAnalysisTask.Status> statuses);
+
+    // 처리할 차례가 된 작업과 lease 가 만료된 처리 중 작업. 다른 인스턴스가 잠근 행은 건너뛴다 (SKIP LOCKED)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT t FROM AiAnalysisTask t WHERE (t.status = :pending AND t.nextAttemptAt <= :now) " +
+           "OR (t.status = :processing AND t.lockedUntil < :now) ORDER BY t.nextAttemptAt")
+    List<AiAnalysisTask> findDueForUpdate(@Param("pending") AiAnalysisTask.Status pending,
+                                          @Param("processing") AiAnalysisTask.Status processing,
+                                          @Param("now") LocalDateTime now,
+                                          Pageable pageable);
+
+    // 처리 중에 다시 요청된 작업(requestedAt 변경)은 지우지 않는다
+    @Modifying
+    @Query("DELETE FROM AiAnalysisTask t WHERE t.id = :id AND t.requestedAt = :requestedAt")
+    int deleteIfUnchanged(@Param("id") Long id, @Param("requestedAt") LocalDateTime requestedAt);
+
+    @Modifying
+    @Query("DELETE FROM AiAnalysisTask t WHERE t.diaryId = :diaryId")
+    void deleteByDiaryId(@Param("diaryId") Long diaryId);
+}
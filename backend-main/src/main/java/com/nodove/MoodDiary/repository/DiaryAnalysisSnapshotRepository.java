@@ -0,0 +1,20 @@
+package com.nodove.MoodDiary.repository;
+
+import com.nodove.MoodDiary.entity.DiaryAnalysisSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface DiaryAnalysisSnapshotRepository extends JpaRepository<DiaryAnalysisSnapshot, Long> {
+
+    Optional<DiaryAnalysisSnapshot> findByDiaryId(Long diaryId);
+
+    @Modifying
+    @Query("DELETE FROM DiaryAnalysisSnapshot s WHERE s.diaryId = :diaryId")
+    void deleteByDiaryId(@Param("diaryId") Long diaryId);
+}
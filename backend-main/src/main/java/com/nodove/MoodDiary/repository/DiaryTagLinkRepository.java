@@ -0,0 +1,36 @@
+package com.nodove.MoodDiary.repository;
+
+import com.nodove.MoodDiary.entity.DiaryTagLink;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface DiaryTagLinkRepository extends JpaRepository<DiaryTagLink, Long> {
+
+    boolean existsByUserId(Long userId);
+
+    // 잠금 읽기: 트랜잭션의 스냅샷이 아니라 최신 커밋 상태를 본다 (사용자 행을 잠근 뒤 연결이 생겼는지 다시 확인할 때)
+    @Query(value = "SELECT id FROM diary_tag_links WHERE user_id = :userId LIMIT 1 FOR UPDATE", nativeQuery = true)
+    List<Long> findAnyIdByUserIdForUpdate(@Param("userId") Long userId);
+
+    @Query("SELECT l.tag FROM DiaryTagLink l WHERE l.diaryId = :diaryId")
+    List<String> findTagsByDiaryId(@Param("diaryId") Long diaryId);
+
+    @Modifying
+    @Query("DELETE FROM DiaryTagLink l WHERE l.diaryId = :diaryId AND l.tag IN :tags")
+    void deleteByDiaryIdAndTagIn(@Param("diaryId") Long diaryId, @Param("tags") Collection<String> tags);
+
+    @Modifying
+    @Query("DELETE FROM DiaryTagLink l WHERE l.diaryId = :diaryId")
+    void deleteByDiaryId(@Param("diaryId") Long diaryId);
+
+    @Modifying
+    @Query("DELETE FROM DiaryTagLink l WHERE l.userId = :userId")
+    void deleteByUserId(@Param("userId") Long userId);
+}
@@ -0,0 +1,19 @@
+package com.nodove.MoodDiary.repository;
+
+import com.nodove.MoodDiary.entity.EmotionLexiconEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface EmotionLexiconEntryRepository extends JpaRepository<EmotionLexiconEntry, Long> {
+
+    List<EmotionLexiconEntry> findByActiveTrue();
+
+    @Query("SELECT MAX(e.updatedAt) FROM EmotionLexiconEntry e")
+    Optional<LocalDateTime> findLastUpdatedAt();
+}
@@ -22,6 +22,9 @@ public interface FCMTokenRepository extends JpaRepository<FCMToken, Long> {
     @Query("SELECT ft.token FROM FCMToken ft WHERE ft.user = :user AND ft.isActive = true")
     List<String> findActiveTokensByUser(@Param("user") User user);
 
+    @Query("SELECT ft.token FROM FCMToken ft WHERE ft.user.id = :userId AND ft.isActive = true")
+    List<String> findActiveTokensByUserId(@Param("userId") Long userId);
+
     @Modifying
     @Query("UPDATE FCMToken ft SET ft.isActive = false WHERE ft.user = :user AND ft.token = :token")
     void deactivateToken(@Param("user") User user, @Param("token") String token);
@@ -1,7 +1,7 @@
 package com.nodove.MoodDiary.repository;
 
+import com.nodove.MoodDiary.dto.MoodDiarySummaryRow;
 import com.nodove.MoodDiary.entity.MoodDiary;
-import com.nodove.MoodDiary.entity.User;
 import com.nodove.MoodDiary.enums.MoodType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -11,41 +11,148 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface MoodDiaryRepository extends JpaRepository<MoodDiary, Long> {
     
+    // 목록용 컬럼만 읽는다. 본문은 앞 100자와 길이만 (MoodDiarySummaryRow.PREVIEW_LENGTH)
+    String SUMMARY_COLUMNS = "SELECT new com.nodove.MoodDiary.dto.MoodDiarySummaryRow(md.id, md.title, " +
+            "SUBSTRING(md.content, 1, 100), LENGTH(md.content), md.mood, md.moodIntensity, md.weather, " +
+            "md.isPrivate, md.createdAt, md.updatedAt) ";
+    String SUMMARY_SELECT = SUMMARY_COLUMNS + "FROM MoodDiary md ";
+    
+    // 사용자 id 로 바로 조건을 거는 쿼리들: users 조회 없이 mood_diaries.user_id 만 사용한다
+    
     // 사용자별 일기 조회
-    Page<MoodDiary> findByUserOrderByCreatedAtDesc(User user, Pageable pageable);
+    Page<MoodDiary> findByUserIdOrderByCreatedAtDesc(Long userId, Pageable pageable);
+    
+    // 사용자별 일기 조회 (정렬은 Pageable 의 Sort 를 따른다)
+    Page<MoodDiary> findByUserId(Long userId, Pageable pageable);
+    
+    // 커서 기반 일기 조회: 첫 페이지 / (createdAt, id) 이후 페이지. 개수 조회 없이 limit 만 적용한다
+    @Query("SELECT md FROM MoodDiary md WHERE md.user.id = :userId ORDER BY md.createdAt DESC, md.id DESC")
+    List<MoodDiary> findFirstPageByUserId(@Param("userId") Long userId, Pageable limit);
+    
+    @Query("SELECT md FROM MoodDiary md WHERE md.user.id = :userId " +
+           "AND (md.createdAt < :createdAt OR (md.createdAt = :createdAt AND md.id < :id)) " +
+           "ORDER BY md.createdAt DESC, md.id DESC")
+    List<MoodDiary> findPageByUserIdAfter(@Param("userId") Long userId,
+                                          @Param("createdAt") LocalDateTime createdAt,
+                                          @Param("id") Long id,
+                                          Pageable limit);
+    
+    // 목록 요약 조회 (정렬은 Pageable 의 Sort 를 따른다)
+    @Query(value = SUMMARY_SELECT + "WHERE md.user.id = :userId",
+           countQuery = "SELECT COUNT(md) FROM MoodDiary md WHERE md.user.id = :userId")
+    Page<MoodDiarySummaryRow> findSummariesByUserId(@Param("userId") Long userId, Pageable pageable);
+    
+    // 태그별 목록: 정규화한 태그로 diary_tag_links 의 (user_id, tag, created_at) 인덱스를 따라간다
+    @Query(value = SUMMARY_COLUMNS + "FROM DiaryTagLink l JOIN MoodDiary md ON md.id = l.diaryId " +
+                   "WHERE l.userId = :userId AND l.tag = :tag ORDER BY l.createdAt DESC, l.diaryId DESC",
+           countQuery = "SELECT COUNT(l) FROM DiaryTagLink l WHERE l.userId = :userId AND l.tag = :tag")
+    Page<MoodDiarySummaryRow> findSummariesByUserIdAndTag(@Param("userId") Long userId, @Param("tag") String tag, Pageable pageable);
+    
+    @Query(value = SUMMARY_SELECT + "WHERE md.user.id = :userId AND (md.title LIKE %:keyword% OR md.content LIKE %:keyword%) " +
+                   "ORDER BY md.createdAt DESC, md.id DESC",
+           countQuery = "SELECT COUNT(md) FROM MoodDiary md WHERE md.user.id = :userId " +
+                        "AND (md.title LIKE %:keyword% OR md.content LIKE %:keyword%)")
+    Page<MoodDiarySummaryRow> findSummariesByUserIdAndKeyword(@Param("userId") Long userId, @Param("keyword") String keyword, Pageable pageable);
+    
+    @Query(SUMMARY_SELECT + "WHERE md.id IN :ids")
+    List<MoodDiarySummaryRow> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+    
+    // 한 페이지의 태그를 한 번에 읽는다 (diaryId, tag)
+    @Query("SELECT md.id, t FROM MoodDiary md JOIN md.tags t WHERE md.id IN :ids")
+    List<Object[]> findTagsByDiaryIdIn(@Param("ids") Collection<Long> ids);
+    
+    // 내보내기 (id, title, content, mood, moodIntensity, weather, location, isPrivate, diaryDate, createdAt). 작성 순 keyset
+    String EXPORT_SELECT = "SELECT md.id, md.title, md.content, md.mood, md.moodIntensity, md.weather, md.location, " +
+            "md.isPrivate, md.diaryDate, md.createdAt FROM MoodDiary md ";
+    
+    @Query(EXPORT_SELECT + "WHERE md.user.id = :userId ORDER BY md.createdAt ASC, md.id ASC")
+    List<Object[]> findExportRowsByUserId(@Param("userId") Long userId, Pageable limit);
+    
+    @Query(EXPORT_SELECT + "WHERE md.user.id = :userId " +
+           "AND (md.createdAt > :createdAt OR (md.createdAt = :createdAt AND md.id > :id)) " +
+           "ORDER BY md.createdAt ASC, md.id ASC")
+    List<Object[]> findExportRowsByUserIdAfter(@Param("userId") Long userId,
+                                               @Param("createdAt") LocalDateTime createdAt,
+                                               @Param("id") Long id,
+                                               Pageable limit);
+    
+    // 검색 후보 확인용 (diaryId, title, content)
+    @Query("SELECT md.id, md.title, md.content FROM MoodDiary md WHERE md.id IN :ids")
+    List<Object[]> findSearchTextsByIdIn(@Param("ids") Collection<Long> ids);
+    
+    // 검색 하이라이트용 본문 (diaryId, content)
+    @Query("SELECT md.id, md.content FROM MoodDiary md WHERE md.id IN :ids")
+    List<Object[]> findContentsByIdIn(@Param("ids") Collection<Long> ids);
     
     // 사용자별 특정 기분의 일기 조회
-    Page<MoodDiary> findByUserAndMoodOrderByCreatedAtDesc(User user, MoodType mood, Pageable pageable);
+    Page<MoodDiary> findByUserIdAndMoodOrderByCreatedAtDesc(Long userId, MoodType mood, Pageable pageable);
     
     // 사용자별 기간별 일기 조회
-    @Query("SELECT md FROM MoodDiary md WHERE md.user = :user AND md.createdAt BETWEEN :startDate AND :endDate ORDER BY md.createdAt DESC")
-    List<MoodDiary> findByUserAndDateRange(@Param("user") User user, 
-                                          @Param("startDate") LocalDateTime startDate, 
-                                          @Param("endDate") LocalDateTime endDate);
+    @Query("SELECT md FROM MoodDiary md WHERE md.user.id = :userId AND md.createdAt BETWEEN :startDate AND :endDate ORDER BY md.createdAt DESC")
+    List<MoodDiary> findByUserIdAndDateRange(@Param("userId") Long userId, 
+                                            @Param("startDate") LocalDateTime startDate, 
+                                            @Param("endDate") LocalDateTime endDate);
     
     // 사용자별 태그로 일기 검색
-    @Query("SELECT md FROM MoodDiary md WHERE md.user = :user AND :tag MEMBER OF md.tags ORDER BY md.createdAt DESC")
-    Page<MoodDiary> findByUserAndTag(@Param("user") User user, @Param("tag") String tag, Pageable pageable);
+    @Query("SELECT md FROM MoodDiary md WHERE md.user.id = :userId AND :tag MEMBER OF md.tags ORDER BY md.createdAt DESC")
+    Page<MoodDiary> findByUserIdAndTag(@Param("userId") Long userId, @Param("tag") String tag, Pageable pageable);
     
     // 사용자별 제목이나 내용으로 일기 검색
-    @Query("SELECT md FROM MoodDiary md WHERE md.user = :user AND (md.title LIKE %:keyword% OR md.content LIKE %:keyword%) ORDER BY md.createdAt DESC")
-    Page<MoodDiary> findByUserAndKeyword(@Param("user") User user, @Param("keyword") String keyword, Pageable pageable);
+    @Query("SELECT md FROM MoodDiary md WHERE md.user.id = :userId AND (md.title LIKE %:keyword% OR md.content LIKE %:keyword%) ORDER BY md.createdAt DESC")
+    Page<MoodDiary> findByUserIdAndKeyword(@Param("userId") Long userId, @Param("keyword") String keyword, Pageable pageable);
+
+    // 검색 색인 생성용 (id, title, content, createdAt)
+    @Query("SELECT md.id, md.title, md.content, md.createdAt FROM MoodDiary md WHERE md.user.id = :userId")
+    List<Object[]> findSearchDocumentsByUserId(@Param("userId") Long userId);
+    
+    // 기분별 집계 (mood, 일기 수, 강도 합계, 강도가 있는 일기 수)
+    @Query("SELECT md.mood, COUNT(md), COALESCE(SUM(md.moodIntensity), 0), COUNT(md.moodIntensity) " +
+           "FROM MoodDiary md WHERE md.user.id = :userId GROUP BY md.mood")
+    List<Object[]> aggregateMoodsByUserId(@Param("userId") Long userId);
+    
+    @Query("SELECT md.mood, COUNT(md), COALESCE(SUM(md.moodIntensity), 0), COUNT(md.moodIntensity) " +
+           "FROM MoodDiary md WHERE md.user.id = :userId AND md.diaryDate >= :from AND md.diaryDate < :to GROUP BY md.mood")
+    List<Object[]> aggregateMoodsByUserIdAndDiaryDate(@Param("userId") Long userId,
+                                                      @Param("from") LocalDateTime from,
+                                                      @Param("to") LocalDateTime to);
+    
+    // 연속 작성일 계산용 작성 일시 목록. 날짜는 사용자 시간대로 바꿔야 하므로 DB 에서 자르지 않는다
+    @Query("SELECT md.diaryDate FROM MoodDiary md WHERE md.user.id = :userId AND md.diaryDate IS NOT NULL")
+    List<LocalDateTime> findDiaryDatesByUserId(@Param("userId") Long userId);
+    
+    // 구간 집계 재구성용 (diaryDate, mood, moodIntensity). 본문은 읽지 않는다
+    @Query("SELECT md.diaryDate, md.mood, md.moodIntensity FROM MoodDiary md WHERE md.user.id = :userId")
+    List<Object[]> findRollupRowsByUserId(@Param("userId") Long userId);
+    
+    // 태그 달린 일기가 있는지 (태그 연결을 아직 만들지 않은 사용자 확인용)
+    @Query("SELECT CASE WHEN COUNT(md) > 0 THEN true ELSE false END FROM MoodDiary md JOIN md.tags t " +
+           "WHERE md.user.id = :userId")
+    boolean existsTaggedByUserId(@Param("userId") Long userId);
+    
+    // 태그 연결 재구성용 (diaryId, createdAt, tag)
+    @Query("SELECT md.id, md.createdAt, t FROM MoodDiary md JOIN md.tags t WHERE md.user.id = :userId")
+    List<Object[]> findTagRowsByUserId(@Param("userId") Long userId);
+    
+    // 집계 재구성 대상 사용자 (id 순 keyset)
+    @Query("SELECT DISTINCT md.user.id FROM MoodDiary md WHERE md.user.id > :afterUserId ORDER BY md.user.id")
+    List<Long> findUserIdsWithDiariesAfter(@Param("afterUserId") Long afterUserId, Pageable limit);
     
     // 사용자별 일기 개수
-    long countByUser(User user);
+    long countByUserId(Long userId);
     
     // 사용자별 기분별 일기 개수
-    long countByUserAndMood(User user, MoodType mood);
+    long countByUserIdAndMood(Long userId, MoodType mood);
     
     // 사용자의 특정 일기 조회 (보안을 위해)
-    Optional<MoodDiary> findByIdAndUser(Long id, User user);
+    Optional<MoodDiary> findByIdAndUserId(Long id, Long userId);
     
     // 사용자별 최근 일기들
-    List<MoodDiary> findTop5ByUserOrderByCreatedAtDesc(User user);
+    List<MoodDiary> findTop5ByUserIdOrderByCreatedAtDesc(Long userId);
 }
@@ -10,6 +10,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -17,6 +18,24 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
     
     Page<Notification> findByUserOrderByCreatedAtDesc(User user, Pageable pageable);
     
+    // 커서 기반 조회: 첫 페이지 / (createdAt, id) 이후 페이지. 개수 조회 없이 limit 만 적용한다
+    @Query("SELECT n FROM Notification n WHERE n.user.id = :userId ORDER BY n.createdAt DESC, n.id DESC")
+    List<Notification> findFirstPageByUserId(@Param("userId") Long userId, Pageable limit);
+    
+    @Query("SELECT n FROM Notification n WHERE n.user.id = :userId " +
+           "AND (n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.id < :id)) " +
+           "ORDER BY n.createdAt DESC, n.id DESC")
+    List<Notification> findPageByUserIdAfter(@Param("userId") Long userId,
+                                             @Param("createdAt") LocalDateTime createdAt,
+                                             @Param("id") Long id,
+                                             Pageable limit);
+    
+    // SSE 재연결 시 놓친 알림: 마지막으로 받은 id 이후 (id 는 IDENTITY 라 만든 순서대로 커진다)
+    @Query("SELECT n FROM Notification n WHERE n.user.id = :userId AND n.id > :afterId ORDER BY n.id ASC")
+    List<Notification> findByUserIdAfterId(@Param("userId") Long userId,
+                                           @Param("afterId") Long afterId,
+                                           Pageable limit);
+    
     List<Notification> findByUserAndIsReadFalseOrderByCreatedAtDesc(User user);
     
     long countByUserAndIsReadFalse(User user);
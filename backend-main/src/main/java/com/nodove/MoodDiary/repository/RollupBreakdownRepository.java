@@ -0,0 +1,38 @@
+package com.nodove.MoodDiary.repository;
+
+import com.nodove.MoodDiary.entity.RollupBreakdown;
+import com.nodove.MoodDiary.enums.RollupGranularity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface RollupBreakdownRepository extends JpaRepository<RollupBreakdown, Long> {
+
+    List<RollupBreakdown> findByUserIdAndGranularityAndBucketStartBetween(
+            Long userId, RollupGranularity granularity, LocalDate from, LocalDate to);
+
+    @Modifying
+    @Query(value = "INSERT INTO user_rollup_breakdowns (user_id, granularity, bucket_start, dimension, dimension_key, " +
+                   "entry_count, amount) " +
+                   "VALUES (:userId, :granularity, :bucketStart, :dimension, :dimensionKey, :entryCount, :amount) " +
+                   "ON DUPLICATE KEY UPDATE entry_count = entry_count + VALUES(entry_count), " +
+                   "amount = amount + VALUES(amount)", nativeQuery = true)
+    void upsert(@Param("userId") Long userId,
+                @Param("granularity") String granularity,
+                @Param("bucketStart") LocalDate bucketStart,
+                @Param("dimension") String dimension,
+                @Param("dimensionKey") String dimensionKey,
+                @Param("entryCount") long entryCount,
+                @Param("amount") BigDecimal amount);
+
+    @Modifying
+    @Query("DELETE FROM RollupBreakdown b WHERE b.userId = :userId")
+    void deleteByUserId(@Param("userId") Long userId);
+}
@@ -0,0 +1,54 @@
+package com.nodove.MoodDiary.repository;
+
+import com.nodove.MoodDiary.entity.RollupBucket;
+import com.nodove.MoodDiary.enums.RollupGranularity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface RollupBucketRepository extends JpaRepository<RollupBucket, Long> {
+
+    boolean existsByUserId(Long userId);
+
+    // 잠금 읽기: 트랜잭션의 스냅샷이 아니라 최신 커밋 상태를 본다 (사용자 행을 잠근 뒤 구간이 생겼는지 다시 확인할 때)
+    @Query(value = "SELECT id FROM user_rollup_buckets WHERE user_id = :userId LIMIT 1 FOR UPDATE", nativeQuery = true)
+    List<Long> findAnyIdByUserIdForUpdate(@Param("userId") Long userId);
+
+    List<RollupBucket> findByUserIdAndGranularityAndBucketStartBetweenOrderByBucketStart(
+            Long userId, RollupGranularity granularity, LocalDate from, LocalDate to);
+
+    // 구간 행이 없으면 만들고 있으면 증감을 더한다. 같은 구간에 동시에 써도 값이 유실되지 않는다
+    @Modifying
+    @Query(value = "INSERT INTO user_rollup_buckets (user_id, granularity, bucket_start, diary_count, intensity_sum, " +
+                   "intensity_count, expense_sum, expense_count, income_sum, income_count) " +
+                   "VALUES (:userId, :granularity, :bucketStart, :diaryCount, :intensitySum, :intensityCount, " +
+                   ":expenseSum, :expenseCount, :incomeSum, :incomeCount) " +
+                   "ON DUPLICATE KEY UPDATE diary_count = diary_count + VALUES(diary_count), " +
+                   "intensity_sum = intensity_sum + VALUES(intensity_sum), " +
+                   "intensity_count = intensity_count + VALUES(intensity_count), " +
+                   "expense_sum = expense_sum + VALUES(expense_sum), " +
+                   "expense_count = expense_count + VALUES(expense_count), " +
+                   "income_sum = income_sum + VALUES(income_sum), " +
+                   "income_count = income_count + VALUES(income_count)", nativeQuery = true)
+    void upsert(@Param("userId") Long userId,
+                @Param("granularity") String granularity,
+                @Param("bucketStart") LocalDate bucketStart,
+                @Param("diaryCount") long diaryCount,
+                @Param("intensitySum") long intensitySum,
+                @Param("intensityCount") long intensityCount,
+                @Param("expenseSum") BigDecimal expenseSum,
+                @Param("expenseCount") long expenseCount,
+                @Param("incomeSum") BigDecimal incomeSum,
+                @Param("incomeCount") long incomeCount);
+
+    @Modifying
+    @Query("DELETE FROM RollupBucket b WHERE b.userId = :userId")
+    void deleteByUserId(@Param("userId") Long userId);
+}
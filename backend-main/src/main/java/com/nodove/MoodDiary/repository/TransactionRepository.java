@@ -5,6 +5,7 @@ import com.nodove.MoodDiary.entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -19,9 +20,37 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
     
     Page<Transaction> findByUserOrderByTransactionDateDesc(User user, Pageable pageable);
     
+    // 커서 기반 조회: 첫 페이지 / (transactionDate, id) 이후 페이지. 개수 조회 없이 limit 만 적용한다
+    @Query("SELECT t FROM Transaction t WHERE t.user.id = :userId ORDER BY t.transactionDate DESC, t.id DESC")
+    List<Transaction> findFirstPageByUserId(@Param("userId") Long userId, Pageable limit);
+    
+    @Query("SELECT t FROM Transaction t WHERE t.user.id = :userId " +
+           "AND (t.transactionDate < :transactionDate OR (t.transactionDate = :transactionDate AND t.id < :id)) " +
+           "ORDER BY t.transactionDate DESC, t.id DESC")
+    List<Transaction> findPageByUserIdAfter(@Param("userId") Long userId,
+                                            @Param("transactionDate") LocalDateTime transactionDate,
+                                            @Param("id") Long id,
+                                            Pageable limit);
+    
+    // transactionDate 가 비어 있던 기존 행을 생성 시각으로 채운다 (TransactionDateBackfill)
+    @Modifying
+    @Query("UPDATE Transaction t SET t.transactionDate = t.createdAt WHERE t.transactionDate IS NULL")
+    int backfillTransactionDates();
+    
     List<Transaction> findByUserAndTransactionDateBetweenOrderByTransactionDateDesc(
         User user, LocalDateTime startDate, LocalDateTime endDate);
     
+    List<Transaction> findByUserAndTransactionDateBetween(User user, LocalDateTime startDate, LocalDateTime endDate);
+    
+    // 분석 스냅샷 유효성 확인용: 구간 거래의 건수, 합계, 최종 수정 시각
+    @Query("SELECT COUNT(t), SUM(t.amount), MAX(t.updatedAt) FROM Transaction t WHERE t.user.id = :userId AND t.transactionDate BETWEEN :startDate AND :endDate")
+    List<Object[]> getTransactionFingerprint(@Param("userId") Long userId, @Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
+    
+    // 구간 집계 재구성용 (transactionDate, type, amount, category)
+    @Query("SELECT t.transactionDate, t.type, t.amount, t.category FROM Transaction t " +
+           "WHERE t.user.id = :userId AND t.transactionDate IS NOT NULL")
+    List<Object[]> findRollupRowsByUserId(@Param("userId") Long userId);
+    
     @Query("SELECT t FROM Transaction t WHERE t.user = :user AND t.type = :type ORDER BY t.transactionDate DESC")
     List<Transaction> findByUserAndType(@Param("user") User user, @Param("type") String type);
     
@@ -0,0 +1,30 @@
+package com.nodove.MoodDiary.repository;
+
+import com.nodove.MoodDiary.entity.UserMoodAggregate;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface UserMoodAggregateRepository extends JpaRepository<UserMoodAggregate, Long> {
+
+    Optional<UserMoodAggregate> findByUserId(Long userId);
+
+    // 같은 사용자의 일기가 동시에 저장될 때 집계 갱신이 서로 덮어쓰지 않도록 행을 잠근다
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM UserMoodAggregate a WHERE a.userId = :userId")
+    Optional<UserMoodAggregate> findByUserIdForUpdate(@Param("userId") Long userId);
+
+    // 동시에 첫 집계를 만들 때 한쪽이 unique 제약에 걸리지 않도록 없을 때만 빈 행을 넣는다
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO user_mood_aggregates " +
+                   "(user_id, total_count, intensity_sum, intensity_count, current_streak, longest_streak) " +
+                   "VALUES (:userId, 0, 0, 0, 0, 0)", nativeQuery = true)
+    int insertIfAbsent(@Param("userId") Long userId);
+}
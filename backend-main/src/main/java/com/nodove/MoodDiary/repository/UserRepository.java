@@ -2,7 +2,10 @@ package com.nodove.MoodDiary.repository;
 
 import com.nodove.MoodDiary.entity.User;
 import com.nodove.MoodDiary.enums.AuthProvider;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -16,6 +19,15 @@ public interface UserRepository extends JpaRepository<User, Long> {
     
     Optional<User> findByEmail(String email);
     
+    // 사용자 단위 재구성 작업이 겹치지 않도록 사용자 행을 잠근다
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u FROM User u WHERE u.id = :id")
+    Optional<User> findByIdForUpdate(@Param("id") Long id);
+    
+    // 배치 작업용 사용자 id (id 순 keyset)
+    @Query("SELECT u.id FROM User u WHERE u.id > :afterId ORDER BY u.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable limit);
+    
     Optional<User> findByVerificationToken(String verificationToken);
     
     Optional<User> findByResetPasswordToken(String resetPasswordToken);
@@ -2,6 +2,8 @@ package com.nodove.MoodDiary.repository;
 
 import com.nodove.MoodDiary.entity.UserSettings;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -10,4 +12,7 @@ import java.util.Optional;
 public interface UserSettingsRepository extends JpaRepository<UserSettings, Long> {
     
     Optional<UserSettings> findByUserId(Long userId);
+    
+    @Query("SELECT s.timezone FROM UserSettings s WHERE s.user.id = :userId")
+    Optional<String> findTimezoneByUserId(@Param("userId") Long userId);
 }
\ No newline at end of file
@@ -0,0 +1,43 @@
+package com.nodove.MoodDiary.repository;
+
+import com.nodove.MoodDiary.entity.UserTag;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface UserTagRepository extends JpaRepository<UserTag, Long> {
+
+    // 태그 구름: 사용 횟수 순 상위 태그
+    @Query("SELECT t FROM UserTag t WHERE t.userId = :userId ORDER BY t.usageCount DESC, t.name ASC")
+    List<UserTag> findTopByUserId(@Param("userId") Long userId, Pageable limit);
+
+    // 자동완성 트라이 생성용 (name, usageCount)
+    @Query("SELECT t.name, t.usageCount FROM UserTag t WHERE t.userId = :userId")
+    List<Object[]> findNamesAndCountsByUserId(@Param("userId") Long userId);
+
+    // 사용 횟수에 증감을 더한다. 같은 태그를 동시에 써도 값이 유실되지 않는다
+    @Modifying
+    @Query(value = "INSERT INTO user_tags (user_id, name, usage_count, last_used_at) " +
+                   "VALUES (:userId, :name, :delta, :usedAt) " +
+                   "ON DUPLICATE KEY UPDATE usage_count = usage_count + VALUES(usage_count), " +
+                   "last_used_at = COALESCE(VALUES(last_used_at), last_used_at)", nativeQuery = true)
+    void addUsage(@Param("userId") Long userId,
+                  @Param("name") String name,
+                  @Param("delta") long delta,
+                  @Param("usedAt") LocalDateTime usedAt);
+
+    @Modifying
+    @Query("DELETE FROM UserTag t WHERE t.userId = :userId AND t.usageCount <= 0")
+    void deleteUnusedByUserId(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("DELETE FROM UserTag t WHERE t.userId = :userId")
+    void deleteByUserId(@Param("userId") Long userId);
+}
@@ -0,0 +1,21 @@
+package com.nodove.MoodDiary.search;
+
+import com.nodove.MoodDiary.entity.MoodDiary;
+
+import java.time.LocalDateTime;
+
+/**
+ * 일기가 생성/수정/삭제되었음을 알린다. 색인은 커밋 이후에만 반영한다.
+ */
+public record DiaryChangedEvent(Long userId, Long diaryId, String title, String content,
+                                LocalDateTime createdAt, boolean deleted) {
+
+    public static DiaryChangedEvent saved(MoodDiary diary) {
+        return new DiaryChangedEvent(diary.getUser().getId(), diary.getId(), diary.getTitle(), diary.getContent(),
+                diary.getCreatedAt(), false);
+    }
+
+    public static DiaryChangedEvent deleted(MoodDiary diary) {
+        return new DiaryChangedEvent(diary.getUser().getId(), diary.getId(), null, null, diary.getCreatedAt(), true);
+    }
+}
@@ -0,0 +1,7 @@
+package com.nodove.MoodDiary.search;
+
+/**
+ * 검색 결과 한 건. 점수가 높은 순, 같으면 최근 작성 순으로 정렬된다.
+ */
+public record DiarySearchHit(Long diaryId, double score) {
+}
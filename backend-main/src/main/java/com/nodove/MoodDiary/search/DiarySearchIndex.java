@@ -0,0 +1,164 @@
+package com.nodove.MoodDiary.search;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.nodove.MoodDiary.config.DiarySearchProperties;
+import com.nodove.MoodDiary.repository.MoodDiaryRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 사용자별 일기 역색인 보관소.
+ * <p>
+ * 색인은 사용자가 처음 검색할 때 DB 에서 만들고, 이후에는 커밋된 {@link DiaryChangedEvent} 로 갱신한다.
+ * 메모리에 올라와 있지 않은 사용자의 변경은 무시하며 다음 검색 때 DB 에서 새로 만든다.
+ * 다른 인스턴스의 변경은 받지 못하므로 rebuildInterval 이 지나면 색인을 버리고 다시 만든다.
+ * <p>
+ * 메모리는 사용자 수가 아니라 postings 항목 수(maxPostings)로 제한한다. 색인 크기가 바뀌면 캐시에 다시 넣어 무게를 새로 잰다.
+ * 색인은 본문을 들고 있지 않으므로, n-gram 만으로 판단할 수 없는 검색어는 후보의 제목/본문을 DB 에서 읽어 확인한다.
+ */
+@Slf4j
+@Component
+public class DiarySearchIndex {
+
+    // 후보 확인 시 한 번에 읽는 일기 수
+    private static final int VERIFY_BATCH_SIZE = 500;
+
+    private final DiarySearchProperties properties;
+    private final MoodDiaryRepository moodDiaryRepository;
+    private final Cache<Long, UserDiaryIndex> indexes;
+
+    public DiarySearchIndex(DiarySearchProperties properties,
+                            MoodDiaryRepository moodDiaryRepository,
+                            MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.moodDiaryRepository = moodDiaryRepository;
+        this.indexes = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaxPostings())
+                .weigher((Long userId, UserDiaryIndex index) -> index.weight())
+                .expireAfter(new IndexExpiry(properties.getIdleTtl().toNanos(), properties.getRebuildInterval().toNanos()))
+                .build();
+        meterRegistry.gauge("diary.search.index.users", indexes, cache -> cache.estimatedSize());
+        meterRegistry.gauge("diary.search.index.postings", indexes,
+                cache -> cache.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0L)).orElse(0L));
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public int getHighlightLength() {
+        return properties.getHighlightLength();
+    }
+
+    /**
+     * 색인으로 찾을 수 있는 검색어인지. 글자/숫자가 하나도 없으면 색인어가 없으므로 DB LIKE 로 찾는다.
+     */
+    public boolean supports(String keyword) {
+        return !KoreanBigramTokenizer.queryTerms(keyword).isEmpty();
+    }
+
+    /**
+     * 사용자의 일기 중 검색어를 포함하는 것을 점수 순으로 모두 돌려준다.
+     */
+    public List<DiarySearchHit> search(Long userId, String keyword) {
+        // 빈 색인만 먼저 등록하고 로드는 색인 자체의 잠금 안에서 해서, 로드 중 커밋된 변경도 잃지 않는다
+        UserDiaryIndex index = indexes.get(userId, id -> new UserDiaryIndex());
+        index.loadIfNeeded(target -> {
+            load(userId, target);
+            reweigh(userId, target);
+        });
+        List<DiarySearchHit> hits = index.search(keyword);
+        if (hits.isEmpty() || !KoreanBigramTokenizer.needsVerification(keyword)) {
+            return hits;
+        }
+        return verify(hits, keyword);
+    }
+
+    /**
+     * 사용자의 색인을 버린다. 다음 검색 때 DB 에서 새로 만든다.
+     */
+    public void invalidate(Long userId) {
+        indexes.invalidate(userId);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onDiaryChanged(DiaryChangedEvent event) {
+        UserDiaryIndex index = indexes.getIfPresent(event.userId());
+        if (index == null) {
+            return;
+        }
+        if (event.deleted()) {
+            index.remove(event.diaryId());
+        } else {
+            index.put(event.diaryId(), event.title(), event.content(), event.createdAt());
+        }
+        reweigh(event.userId(), index);
+    }
+
+    // bigram 이 떨어져서 겹친 후보를 거른다. 점수 순서는 그대로 둔다
+    private List<DiarySearchHit> verify(List<DiarySearchHit> hits, String keyword) {
+        Set<Long> confirmed = new HashSet<>();
+        for (int from = 0; from < hits.size(); from += VERIFY_BATCH_SIZE) {
+            List<Long> ids = hits.subList(from, Math.min(hits.size(), from + VERIFY_BATCH_SIZE)).stream()
+                    .map(DiarySearchHit::diaryId)
+                    .toList();
+            for (Object[] row : moodDiaryRepository.findSearchTextsByIdIn(ids)) {
+                String title = row[1] != null ? (String) row[1] : "";
+                String content = row[2] != null ? (String) row[2] : "";
+                if (KoreanBigramTokenizer.containsAllWords(title + "\n" + content, keyword)) {
+                    confirmed.add((Long) row[0]);
+                }
+            }
+        }
+        return hits.stream().filter(hit -> confirmed.contains(hit.diaryId())).toList();
+    }
+
+    // 색인 크기가 바뀌었으면 같은 색인을 다시 넣어 캐시 무게를 새로 잰다 (만료 시각은 IndexExpiry 가 유지한다)
+    private void reweigh(Long userId, UserDiaryIndex index) {
+        indexes.asMap().replace(userId, index, index);
+    }
+
+    private void load(Long userId, UserDiaryIndex index) {
+        long start = System.nanoTime();
+        List<Object[]> rows = moodDiaryRepository.findSearchDocumentsByUserId(userId);
+        for (Object[] row : rows) {
+            index.put((Long) row[0], (String) row[1], (String) row[2], (LocalDateTime) row[3]);
+        }
+        log.debug("Built diary search index for user {} - {} diaries in {} ms",
+                userId, rows.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * idleTtl 동안 검색이 없거나 만든 지 rebuildInterval 이 지나면 만료한다.
+     * 무게를 다시 재려고 다시 넣어도 rebuildInterval 은 처음 만든 시각부터 센다.
+     */
+    private record IndexExpiry(long idleNanos, long rebuildNanos) implements Expiry<Long, UserDiaryIndex> {
+
+        @Override
+        public long expireAfterCreate(Long userId, UserDiaryIndex index, long currentTime) {
+            return Math.min(idleNanos, rebuildNanos);
+        }
+
+        @Override
+        public long expireAfterUpdate(Long userId, UserDiaryIndex index, long currentTime, long currentDuration) {
+            // 무게만 다시 잰 경우: 검색한 것이 아니므로 남은 시간을 그대로 둔다
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(Long userId, UserDiaryIndex index, long currentTime, long currentDuration) {
+            long untilRebuild = index.createdNanos() + rebuildNanos - currentTime;
+            return Math.max(0, Math.min(idleNanos, untilRebuild));
+        }
+    }
+}
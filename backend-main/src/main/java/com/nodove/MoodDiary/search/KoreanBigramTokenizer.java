@@ -0,0 +1,116 @@
+package com.nodove.MoodDiary.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 형태소 분석 없이 글자 n-gram 으로 색인어를 만든다.
+ * <p>
+ * 글자/숫자가 이어진 구간마다 한 글자(unigram)와 두 글자(bigram)를 모두 색인해, 한 글자 검색어도 찾을 수 있다.
+ * 조사가 붙은 어절("월급날에")도 bigram 이 겹치므로 "월급" 으로 찾을 수 있다.
+ */
+public final class KoreanBigramTokenizer {
+
+    private KoreanBigramTokenizer() {
+    }
+
+    public static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 문서 색인어. 같은 색인어가 여러 번 나오면 그만큼 반복된다.
+     */
+    public static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        for (String run : runs(normalize(text))) {
+            int[] codePoints = run.codePoints().toArray();
+            for (int i = 0; i < codePoints.length; i++) {
+                terms.add(new String(codePoints, i, 1));
+                if (i + 1 < codePoints.length) {
+                    terms.add(new String(codePoints, i, 2));
+                }
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * 검색어 색인어. 두 글자 이상인 구간은 bigram 만, 한 글자 구간은 unigram 을 쓴다.
+     */
+    public static Set<String> queryTerms(String keyword) {
+        Set<String> terms = new LinkedHashSet<>();
+        for (String run : runs(normalize(keyword))) {
+            int[] codePoints = run.codePoints().toArray();
+            if (codePoints.length == 1) {
+                terms.add(run);
+                continue;
+            }
+            for (int i = 0; i + 1 < codePoints.length; i++) {
+                terms.add(new String(codePoints, i, 2));
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * 공백으로 나눈 검색어. 결과 문서는 각 단어를 그대로 포함해야 한다.
+     */
+    public static List<String> queryWords(String keyword) {
+        return Arrays.stream(normalize(keyword).trim().split("\\s+"))
+                .filter(word -> !word.isEmpty())
+                .distinct()
+                .toList();
+    }
+
+    /**
+     * 색인어만으로는 단어가 실제로 들어 있는지 알 수 없는 검색어인지. 두 글자 이하의 글자/숫자 한 구간인 단어는
+     * unigram/bigram 이 곧 그 단어이므로 확인이 필요 없고, 더 긴 단어는 bigram 이 떨어져서 겹쳤을 수 있다.
+     */
+    public static boolean needsVerification(String keyword) {
+        for (String word : queryWords(keyword)) {
+            List<String> runs = runs(word);
+            if (runs.size() != 1 || !runs.get(0).equals(word) || word.codePointCount(0, word.length()) > 2) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * text 가 검색어의 단어를 모두 그대로 포함하는지.
+     */
+    public static boolean containsAllWords(String text, String keyword) {
+        String normalized = normalize(text);
+        for (String word : queryWords(keyword)) {
+            if (!normalized.contains(word)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static List<String> runs(String text) {
+        List<String> runs = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i < text.length(); ) {
+            int codePoint = text.codePointAt(i);
+            boolean wordChar = Character.isLetterOrDigit(codePoint);
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                runs.add(text.substring(start, i));
+                start = -1;
+            }
+            i += Character.charCount(codePoint);
+        }
+        if (start >= 0) {
+            runs.add(text.substring(start));
+        }
+        return runs;
+    }
+}
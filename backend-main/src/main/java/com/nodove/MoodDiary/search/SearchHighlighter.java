@@ -0,0 +1,92 @@
+package com.nodove.MoodDiary.search;
+
+import java.util.List;
+
+/**
+ * 검색어가 처음 나오는 부분을 중심으로 본문 일부를 잘라 검색어를 {@code <mark>} 로 감싼다.
+ * 나머지 본문은 HTML 이스케이프한다.
+ */
+public final class SearchHighlighter {
+
+    private static final String OPEN = "<mark>";
+    private static final String CLOSE = "</mark>";
+
+    private SearchHighlighter() {
+    }
+
+    /**
+     * 본문에 검색어가 없으면(제목에서만 일치 등) null.
+     */
+    public static String highlight(String content, String keyword, int length) {
+        if (content == null || content.isEmpty()) {
+            return null;
+        }
+        List<String> words = KoreanBigramTokenizer.queryWords(keyword);
+        String lower = KoreanBigramTokenizer.normalize(content);
+        if (words.isEmpty() || lower.length() != content.length()) {
+            // 소문자 변환으로 길이가 바뀌는 드문 문자가 있으면 위치를 맞출 수 없다
+            return null;
+        }
+
+        int first = -1;
+        for (String word : words) {
+            int index = lower.indexOf(word);
+            if (index >= 0 && (first < 0 || index < first)) {
+                first = index;
+            }
+        }
+        if (first < 0) {
+            return null;
+        }
+
+        int start = Math.max(0, first - length / 3);
+        int end = Math.min(content.length(), start + length);
+        start = Math.max(0, Math.min(start, end - length));
+
+        StringBuilder out = new StringBuilder();
+        if (start > 0) {
+            out.append("...");
+        }
+        int position = start;
+        while (position < end) {
+            int matchAt = -1;
+            String matchWord = null;
+            for (String word : words) {
+                int index = lower.indexOf(word, position);
+                if (index >= 0 && index < end && (matchAt < 0 || index < matchAt
+                        || (index == matchAt && word.length() > matchWord.length()))) {
+                    matchAt = index;
+                    matchWord = word;
+                }
+            }
+            if (matchAt < 0) {
+                escape(out, content, position, end);
+                break;
+            }
+            int matchEnd = Math.min(end, matchAt + matchWord.length());
+            escape(out, content, position, matchAt);
+            out.append(OPEN);
+            escape(out, content, matchAt, matchEnd);
+            out.append(CLOSE);
+            position = matchEnd;
+        }
+        if (end < content.length()) {
+            out.append("...");
+        }
+        return out.toString();
+    }
+
+    private static void escape(StringBuilder out, String text, int from, int to) {
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '<' -> out.append("&lt;");
+                case '>' -> out.append("&gt;");
+                case '&' -> out.append("&amp;");
+                case '"' -> out.append("&quot;");
+                case '\'' -> out.append("&#39;");
+                default -> out.append(c);
+            }
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.nodove.MoodDiary.search;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * 한 사용자의 일기 역색인 (색인어 → 일기 id → 출현 횟수).
+ * <p>
+ * 검색은 가장 짧은 postings 부터 교집합을 구하고 BM25 로 점수를 매긴다. 제목 색인어는 가중치를 더 준다.
+ * 메모리를 줄이기 위해 본문은 들고 있지 않으므로, bigram 이 우연히 겹친 문서를 걸러내는 단어 확인은
+ * 호출한 쪽({@link DiarySearchIndex})이 한다.
+ */
+final class UserDiaryIndex {
+
+    private static final int TITLE_BOOST = 2;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private static final Comparator<Doc> NEWEST_FIRST = Comparator
+            .comparing(Doc::createdAt, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(Doc::id, Comparator.reverseOrder());
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Doc> docs = new HashMap<>();
+    private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+    private final long createdNanos = System.nanoTime();
+    private long totalLength;
+    private long postingCount;
+    private boolean loaded;
+
+    private record Doc(Long id, LocalDateTime createdAt, int length) {
+    }
+
+    /**
+     * 아직 DB 에서 읽지 않았으면 loader 로 채운다. 로드 중 도착한 변경은 쓰기 잠금에서 기다렸다가 그 뒤에 반영된다.
+     */
+    void loadIfNeeded(Consumer<UserDiaryIndex> loader) {
+        lock.readLock().lock();
+        try {
+            if (loaded) {
+                return;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                loader.accept(this);
+                loaded = true;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void put(Long diaryId, String title, String content, LocalDateTime createdAt) {
+        lock.writeLock().lock();
+        try {
+            remove(diaryId);
+            Map<String, Integer> frequencies = termFrequencies(title, content);
+            int length = frequencies.values().stream().mapToInt(Integer::intValue).sum();
+            docs.put(diaryId, new Doc(diaryId, createdAt, length));
+            frequencies.forEach((term, frequency) ->
+                    postings.computeIfAbsent(term, key -> new HashMap<>()).put(diaryId, frequency));
+            postingCount += frequencies.size();
+            totalLength += length;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(Long diaryId) {
+        lock.writeLock().lock();
+        try {
+            Doc doc = docs.remove(diaryId);
+            if (doc == null) {
+                return;
+            }
+            // 본문이 없어 색인어를 다시 만들 수 없으므로 전체 postings 를 훑는다. 수정/삭제 때만 일어난다
+            Iterator<Map<Long, Integer>> lists = postings.values().iterator();
+            while (lists.hasNext()) {
+                Map<Long, Integer> list = lists.next();
+                if (list.remove(diaryId) != null) {
+                    postingCount--;
+                    if (list.isEmpty()) {
+                        lists.remove();
+                    }
+                }
+            }
+            totalLength -= doc.length();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 검색어의 모든 색인어를 가진 일기를 점수 순으로 돌려준다. 색인어가 없는 검색어(글자/숫자가 없음)면 비어 있다.
+     */
+    List<DiarySearchHit> search(String keyword) {
+        Set<String> terms = KoreanBigramTokenizer.queryTerms(keyword);
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+
+            List<Map<Long, Integer>> lists = new ArrayList<>(terms.size());
+            for (String term : terms) {
+                Map<Long, Integer> list = postings.get(term);
+                if (list == null) {
+                    return List.of();
+                }
+                lists.add(list);
+            }
+            lists.sort(Comparator.comparingInt(Map::size));
+
+            double averageLength = docs.isEmpty() ? 1.0 : Math.max(1.0, (double) totalLength / docs.size());
+            double[] idf = new double[lists.size()];
+            for (int i = 0; i < lists.size(); i++) {
+                double df = lists.get(i).size();
+                idf[i] = Math.log(1 + (docs.size() - df + 0.5) / (df + 0.5));
+            }
+
+            List<Doc> matched = new ArrayList<>();
+            Map<Long, Double> scores = new HashMap<>();
+            candidates:
+            for (Long diaryId : lists.get(0).keySet()) {
+                for (int i = 1; i < lists.size(); i++) {
+                    if (!lists.get(i).containsKey(diaryId)) {
+                        continue candidates;
+                    }
+                }
+                Doc doc = docs.get(diaryId);
+                if (doc == null) {
+                    continue;
+                }
+                double score = 0.0;
+                double norm = K1 * (1 - B + B * doc.length() / averageLength);
+                for (int i = 0; i < lists.size(); i++) {
+                    int tf = lists.get(i).get(diaryId);
+                    score += idf[i] * tf * (K1 + 1) / (tf + norm);
+                }
+                matched.add(doc);
+                scores.put(diaryId, score);
+            }
+
+            Comparator<Doc> byScore = Comparator.comparingDouble(doc -> scores.get(doc.id()));
+            return matched.stream()
+                    .sorted(byScore.reversed().thenComparing(NEWEST_FIRST))
+                    .map(doc -> new DiarySearchHit(doc.id(), scores.get(doc.id())))
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return docs.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 캐시 무게: 문서 수 + postings 항목 수. 메모리 대부분은 postings 항목(boxed id/빈도)이다.
+     */
+    int weight() {
+        lock.readLock().lock();
+        try {
+            return (int) Math.min(Integer.MAX_VALUE, docs.size() + postingCount);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    long createdNanos() {
+        return createdNanos;
+    }
+
+    private static Map<String, Integer> termFrequencies(String title, String content) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String term : KoreanBigramTokenizer.tokenize(title)) {
+            frequencies.merge(term, TITLE_BOOST, Integer::sum);
+        }
+        for (String term : KoreanBigramTokenizer.tokenize(content)) {
+            frequencies.merge(term, 1, Integer::sum);
+        }
+        return frequencies;
+    }
+}
@@ -0,0 +1,127 @@
+package com.nodove.MoodDiary.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 검증을 마친 access 토큰 → 인증 사용자 캐시.
+ * <p>
+ * 같은 토큰 문자열이면 서명 검증 결과도 같으므로, 캐시에 있으면 토큰을 다시 파싱하거나 users 를 조회하지 않는다.
+ * 키는 토큰 원문 대신 SHA-256 해시를 쓰고, 항목은 ttl 과 토큰 만료 시각 중 빠른 쪽에 사라진다.
+ * 로그아웃, 계정 잠금, 상태/프로필 변경은 {@link PrincipalChangedEvent} 로 알리며, 커밋 이후 해당 사용자의 항목을 모두 지운다.
+ * 커밋 전에 지우면 동시에 들어온 요청이 바뀌기 전 행으로 다시 채울 수 있다.
+ * <p>
+ * 지우기 직전에 users 를 읽기 시작한 요청이 지운 뒤에 넣지 못하도록, 읽기 시작할 때 {@link #beginLoad()} 로 받은 세대가
+ * 그 사용자를 마지막으로 지운 세대보다 오래되었으면 {@link #put} 은 넣지 않는다.
+ * 여러 노드로 운영할 때는 {@link RedisPrincipalInvalidationRelay} 가 다른 노드의 캐시도 지운다.
+ */
+@Slf4j
+@Component
+public class AuthenticatedPrincipalCache {
+
+    private final boolean enabled;
+    private final Cache<String, Entry> cache;
+    // 사용자 id → 마지막으로 지운 세대. ttl 이 지나면 그 전에 읽기 시작한 요청도 끝났다고 본다
+    private final Cache<Long, Long> invalidatedAt;
+    private final AtomicLong generation = new AtomicLong();
+
+    private record Entry(AuthenticatedUser principal, long expiresAtMillis) {
+    }
+
+    public AuthenticatedPrincipalCache(@Value("${jwt.principal-cache.enabled:true}") boolean enabled,
+                                       @Value("${jwt.principal-cache.max-size:10000}") long maxSize,
+                                       @Value("${jwt.principal-cache.ttl:300000}") long ttlMillis) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMillis))
+                .build();
+        this.invalidatedAt = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMillis))
+                .build();
+    }
+
+    public Optional<AuthenticatedUser> get(String token) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        String key = hash(token);
+        Entry entry = cache.getIfPresent(key);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        if (entry.expiresAtMillis() <= System.currentTimeMillis()) {
+            cache.invalidate(key);
+            return Optional.empty();
+        }
+        return Optional.of(entry.principal());
+    }
+
+    /**
+     * users 를 읽기 전에 부른다. 돌려받은 값을 {@link #put} 에 넘긴다.
+     */
+    public long beginLoad() {
+        return generation.get();
+    }
+
+    /**
+     * @param loadGeneration users 를 읽기 전에 {@link #beginLoad()} 로 받은 값. 그 뒤에 사용자가 지워졌으면 넣지 않는다
+     */
+    public void put(String token, AuthenticatedUser principal, Date tokenExpiration, long loadGeneration) {
+        if (!enabled) {
+            return;
+        }
+        Long invalidated = invalidatedAt.getIfPresent(principal.getId());
+        if (invalidated != null && invalidated > loadGeneration) {
+            return;
+        }
+        cache.put(hash(token), new Entry(principal, tokenExpiration.getTime()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPrincipalChanged(PrincipalChangedEvent event) {
+        invalidateUser(event.userId());
+    }
+
+    /**
+     * 이 노드에서 사용자의 모든 토큰 항목을 지운다. 다음 요청은 토큰을 다시 검증하고 users 를 조회한다.
+     * 트랜잭션 안에서는 직접 부르지 말고 {@link PrincipalChangedEvent} 를 발행한다.
+     */
+    public void invalidateUser(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        invalidatedAt.put(userId, generation.incrementAndGet());
+        // 호출이 드물고 캐시 크기가 제한되어 있으므로 전체를 훑는다
+        cache.asMap().values().removeIf(entry -> userId.equals(entry.principal().getId()));
+        log.debug("Invalidated cached principals for user: {}", userId);
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.nodove.MoodDiary.security;
+
+import com.nodove.MoodDiary.entity.User;
+import lombok.Getter;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * JWT 인증 필터가 읽어 둔 사용자 정보. 요청 동안 SecurityContext 의 principal 로 쓰이며,
+ * 컨트롤러와 서비스는 users 테이블을 다시 조회하지 않고 여기서 id/이메일/표시 이름을 꺼낸다.
+ * username 은 기존과 같이 이메일이다.
+ */
+@Getter
+public class AuthenticatedUser implements UserDetails {
+
+    private final Long id;
+    private final String email;
+    private final String displayName;
+    private final String role;
+    private final List<GrantedAuthority> authorities;
+
+    public AuthenticatedUser(Long id, String email, String displayName, String role) {
+        this.id = id;
+        this.email = email;
+        this.displayName = displayName;
+        this.role = role;
+        this.authorities = List.of(new SimpleGrantedAuthority("ROLE_" + role));
+    }
+
+    public static AuthenticatedUser of(User user, String role) {
+        return new AuthenticatedUser(user.getId(), user.getEmail(), user.getDisplayName(), role);
+    }
+
+    /**
+     * 현재 요청의 인증 사용자. JWT 로 인증되지 않은 요청이면 비어 있다.
+     */
+    public static Optional<AuthenticatedUser> current() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser principal) {
+            return Optional.of(principal);
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    @Override
+    public String getPassword() {
+        // JWT 인증에는 비밀번호가 필요 없다
+        return "";
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+}
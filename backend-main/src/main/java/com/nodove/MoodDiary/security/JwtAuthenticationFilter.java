@@ -9,15 +9,12 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.Collections;
 import java.util.Optional;
 
 @Slf4j
@@ -27,6 +24,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     
     private final JwtTokenProvider tokenProvider;
     private final UserRepository userRepository;
+    private final AuthenticatedPrincipalCache principalCache;
     
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
@@ -34,39 +32,30 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             String jwt = getJwtFromRequest(request);
             log.debug("Processing request: {} {}, JWT present: {}", request.getMethod(), request.getRequestURI(), jwt != null);
             
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt) && tokenProvider.isAccessToken(jwt)) {
-                Long userId = tokenProvider.getUserIdFromToken(jwt);
-                String role = tokenProvider.getRoleFromToken(jwt);
-                
-                // Load user details
-                Optional<User> userOptional = userRepository.findById(userId);
-                if (userOptional.isEmpty()) {
-                    log.warn("JWT token contains non-existent user ID: {}. Token may be stale.", userId);
+            if (StringUtils.hasText(jwt)) {
+                // 캐시에 있으면 토큰 파싱과 users 조회 없이 인증한다
+                Optional<AuthenticatedUser> cached = principalCache.get(jwt);
+                AuthenticatedUser principal = cached.isPresent() ? cached.get() : authenticate(jwt);
+                if (principal == null) {
                     // Clear any existing authentication and continue with anonymous access
                     SecurityContextHolder.clearContext();
                     filterChain.doFilter(request, response);
                     return;
                 }
-                User user = userOptional.get();
-                UserDetails userDetails = org.springframework.security.core.userdetails.User.builder()
-                    .username(user.getEmail())
-                    .password("") // password not needed for JWT
-                    .authorities(Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role)))
-                    .build();
                 
-                // Create authentication token with UserDetails
                 UsernamePasswordAuthenticationToken authentication = 
                     new UsernamePasswordAuthenticationToken(
-                        userDetails, // principal as UserDetails
+                        principal, // principal as UserDetails
                         null, // credentials
-                        userDetails.getAuthorities()
+                        principal.getAuthorities()
                     );
                 
                 // Set userId as details for easy access
-                authentication.setDetails(userId);
+                authentication.setDetails(principal.getId());
                 
                 SecurityContextHolder.getContext().setAuthentication(authentication);
-                log.debug("JWT authentication successful for user: {} ({})", user.getEmail(), userId);
+                log.debug("JWT authentication successful for user: {} ({}), cached: {}",
+                        principal.getEmail(), principal.getId(), cached.isPresent());
             }
         } catch (Exception ex) {
             log.error("Could not set user authentication in security context", ex);
@@ -75,6 +64,29 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
     
+    /**
+     * 토큰을 한 번 파싱해 검증하고 사용자를 읽어 principal 을 만든다. 인증할 수 없으면 null.
+     */
+    private AuthenticatedUser authenticate(String jwt) {
+        Optional<ParsedToken> parsed = tokenProvider.parseAccessToken(jwt);
+        if (parsed.isEmpty()) {
+            return null;
+        }
+        Long userId = parsed.get().userId();
+        // 읽는 도중 사용자가 바뀌어 캐시가 지워졌으면 읽은 값을 캐시에 넣지 않는다
+        long generation = principalCache.beginLoad();
+        
+        // Load user details
+        Optional<User> userOptional = userRepository.findById(userId);
+        if (userOptional.isEmpty()) {
+            log.warn("JWT token contains non-existent user ID: {}. Token may be stale.", userId);
+            return null;
+        }
+        AuthenticatedUser principal = AuthenticatedUser.of(userOptional.get(), parsed.get().role());
+        principalCache.put(jwt, principal, parsed.get().expiresAt(), generation);
+        return principal;
+    }
+    
     @Override
     protected boolean shouldNotFilter(HttpServletRequest request) throws ServletException {
         String path = request.getRequestURI();
@@ -0,0 +1,51 @@
+package com.nodove.MoodDiary.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * jwt.secret 으로 한 번만 만드는 서명 키와 파서.
+ * <p>
+ * 키와 {@link JwtParser} 는 만든 뒤 바뀌지 않고 스레드 안전하므로, 토큰을 만들거나 검증할 때마다
+ * {@code Keys.hmacShaKeyFor} 와 파서를 새로 만들지 않고 이 인스턴스를 공유한다.
+ * {@link JwtTokenProvider} 와 {@link JwtUtil} 이 같은 키를 쓴다.
+ */
+@Component
+public final class JwtSigningKey {
+
+    private final SecretKey key;
+    private final JwtParser parser;
+
+    public JwtSigningKey(@Value("${jwt.secret}") String secret) {
+        this.key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build();
+    }
+
+    public SecretKey key() {
+        return key;
+    }
+
+    /**
+     * 서명과 만료를 검증하고 claims 를 돌려준다. 검증에 실패하면 JwtException 또는 IllegalArgumentException.
+     */
+    public Claims verify(String token) {
+        return parser.parseClaimsJws(token).getBody();
+    }
+
+    /**
+     * {@link #verify(String)} 한 번으로 필요한 값을 모두 읽는다.
+     */
+    public ParsedToken parse(String token) throws JwtException {
+        return ParsedToken.from(verify(token));
+    }
+}
@@ -2,23 +2,22 @@ package com.nodove.MoodDiary.security;
 
 import com.nodove.MoodDiary.entity.User;
 import io.jsonwebtoken.*;
-import io.jsonwebtoken.security.Keys;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import javax.crypto.SecretKey;
-import java.nio.charset.StandardCharsets;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 
 @Slf4j
 @Component
+@RequiredArgsConstructor
 public class JwtTokenProvider {
     
-    @Value("${jwt.secret}")
-    private String jwtSecret;
+    private final JwtSigningKey signingKey;
     
     @Value("${jwt.expiration:86400000}") // 24 hours
     private long jwtExpiration;
@@ -26,15 +25,11 @@ public class JwtTokenProvider {
     @Value("${jwt.refresh-expiration:604800000}") // 7 days
     private long refreshExpiration;
     
-    private static final String CLAIM_USER_ID = "userId";
-    private static final String CLAIM_ROLE = "role";
-    private static final String CLAIM_TOKEN_TYPE = "tokenType";
-    private static final String TOKEN_TYPE_ACCESS = "ACCESS";
-    private static final String TOKEN_TYPE_REFRESH = "REFRESH";
-    
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
-    }
+    private static final String CLAIM_USER_ID = ParsedToken.CLAIM_USER_ID;
+    private static final String CLAIM_ROLE = ParsedToken.CLAIM_ROLE;
+    private static final String CLAIM_TOKEN_TYPE = ParsedToken.CLAIM_TOKEN_TYPE;
+    private static final String TOKEN_TYPE_ACCESS = ParsedToken.TOKEN_TYPE_ACCESS;
+    private static final String TOKEN_TYPE_REFRESH = ParsedToken.TOKEN_TYPE_REFRESH;
     
     public String generateAccessToken(User user) {
         return generateToken(user, jwtExpiration, TOKEN_TYPE_ACCESS);
@@ -53,12 +48,13 @@ public class JwtTokenProvider {
         claims.put(CLAIM_ROLE, user.getRole().name());
         claims.put(CLAIM_TOKEN_TYPE, tokenType);
         
+        // setClaims 는 claims 를 통째로 바꾸므로 subject 는 그 뒤에 넣는다
         return Jwts.builder()
-                .setSubject(user.getEmail())
                 .setClaims(claims)
+                .setSubject(user.getEmail())
                 .setIssuedAt(now)
                 .setExpiration(expiryDate)
-                .signWith(getSigningKey())
+                .signWith(signingKey.key())
                 .compact();
     }
     
@@ -112,19 +108,16 @@ public class JwtTokenProvider {
     }
     
     private Claims getClaimsFromToken(String token) {
-        return Jwts.parser()
-                .setSigningKey(getSigningKey())
-                .parseClaimsJws(token)
-                .getBody();
+        return signingKey.verify(token);
     }
     
     public boolean validateToken(String token) {
         try {
             log.debug("Validating JWT token: {}...", token != null ? token.substring(0, Math.min(20, token.length())) : "null");
             Claims claims = getClaimsFromToken(token);
-            boolean expired = isTokenExpired(token);
-            log.debug("JWT validation - Claims subject: {}, expired: {}", claims.getSubject(), expired);
-            return !expired;
+            // 만료된 토큰은 파싱 단계에서 ExpiredJwtException 으로 걸러진다
+            log.debug("JWT validation - Claims subject: {}", claims.getSubject());
+            return true;
         } catch (ExpiredJwtException e) {
             log.warn("JWT token is expired: {}", e.getMessage());
             return false;
@@ -143,12 +136,37 @@ public class JwtTokenProvider {
         }
     }
     
+    /**
+     * 서명과 만료를 한 번의 파싱으로 검증하고 필요한 값을 모두 읽는다. 검증에 실패하면 비어 있다.
+     */
+    public Optional<ParsedToken> parse(String token) {
+        try {
+            return Optional.of(signingKey.parse(token));
+        } catch (ExpiredJwtException e) {
+            log.warn("JWT token is expired: {}", e.getMessage());
+        } catch (JwtException | IllegalArgumentException e) {
+            log.error("Invalid JWT token: {}", e.getMessage());
+        }
+        return Optional.empty();
+    }
+    
+    public Optional<ParsedToken> parseAccessToken(String token) {
+        return parse(token).filter(parsed -> {
+            log.debug("Token type check - Expected: {}, Actual: {}", TOKEN_TYPE_ACCESS, parsed.type());
+            return parsed.isAccessToken();
+        });
+    }
+    
+    public Optional<ParsedToken> parseRefreshToken(String token) {
+        return parse(token).filter(ParsedToken::isRefreshToken);
+    }
+    
     public boolean validateAccessToken(String token) {
-        return validateToken(token) && isAccessToken(token);
+        return parseAccessToken(token).isPresent();
     }
     
     public boolean validateRefreshToken(String token) {
-        return validateToken(token) && isRefreshToken(token);
+        return parseRefreshToken(token).isPresent();
     }
     
     public long getExpirationTime() {
@@ -0,0 +1,36 @@
+package com.nodove.MoodDiary.security;
+
+import io.jsonwebtoken.Claims;
+
+import java.util.Date;
+
+/**
+ * 서명 검증을 마친 토큰에서 한 번에 읽어 낸 값. 같은 토큰을 값마다 다시 파싱하지 않도록
+ * 필터, WebSocket 핸드셰이크, 토큰 갱신이 모두 이 객체를 받아 쓴다.
+ * email 은 subject 이며, subject 없이 발급된 예전 토큰이면 null 이다.
+ */
+public record ParsedToken(Long userId, String email, String role, String type, Date expiresAt) {
+
+    static final String CLAIM_USER_ID = "userId";
+    static final String CLAIM_ROLE = "role";
+    static final String CLAIM_TOKEN_TYPE = "tokenType";
+    static final String TOKEN_TYPE_ACCESS = "ACCESS";
+    static final String TOKEN_TYPE_REFRESH = "REFRESH";
+
+    static ParsedToken from(Claims claims) {
+        return new ParsedToken(
+                claims.get(CLAIM_USER_ID, Long.class),
+                claims.getSubject(),
+                claims.get(CLAIM_ROLE, String.class),
+                claims.get(CLAIM_TOKEN_TYPE, String.class),
+                claims.getExpiration());
+    }
+
+    public boolean isAccessToken() {
+        return TOKEN_TYPE_ACCESS.equals(type);
+    }
+
+    public boolean isRefreshToken() {
+        return TOKEN_TYPE_REFRESH.equals(type);
+    }
+}
@@ -0,0 +1,7 @@
+package com.nodove.MoodDiary.security;
+
+/**
+ * 사용자의 인증 정보(로그아웃, 잠금, 상태, 표시 이름)가 바뀌었음을 알린다. 캐시된 principal 은 커밋 이후에 지운다.
+ */
+public record PrincipalChangedEvent(Long userId) {
+}
@@ -0,0 +1,84 @@
+package com.nodove.MoodDiary.security;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * 여러 노드로 운영할 때 principal 캐시 무효화를 다른 노드에 알린다.
+ * <p>
+ * 알림 전달(RedisNotificationBus)과 같은 설정(notification.delivery.cluster.enabled)과 Redis 연결을 쓰며,
+ * 모든 노드가 한 채널을 구독한다. 커밋 이후 {@link PrincipalChangedEvent} 의 사용자 id 를 발행하고, 다른 노드에서 온
+ * 메시지를 받으면 이 노드의 {@link AuthenticatedPrincipalCache} 에서 그 사용자를 지운다.
+ * pub/sub 이 메시지를 잃으면 캐시 ttl 이 지나야 반영된다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "notification.delivery.cluster.enabled", havingValue = "true")
+public class RedisPrincipalInvalidationRelay implements MessageListener {
+
+    static final String CHANNEL = "auth:principal-invalidated";
+
+    private static final String SEPARATOR = "|";
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final StringRedisTemplate redisTemplate;
+    private final AuthenticatedPrincipalCache principalCache;
+    private final RedisMessageListenerContainer container;
+
+    public RedisPrincipalInvalidationRelay(RedisConnectionFactory connectionFactory,
+                                           StringRedisTemplate redisTemplate,
+                                           AuthenticatedPrincipalCache principalCache) {
+        this.redisTemplate = redisTemplate;
+        this.principalCache = principalCache;
+
+        this.container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(this, new ChannelTopic(CHANNEL));
+        container.afterPropertiesSet();
+        container.start();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPrincipalChanged(PrincipalChangedEvent event) {
+        if (event.userId() == null) {
+            return;
+        }
+        try {
+            redisTemplate.convertAndSend(CHANNEL, nodeId + SEPARATOR + event.userId());
+        } catch (Exception e) {
+            log.warn("Failed to broadcast principal invalidation for user {}: {}", event.userId(), e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String payload = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = payload.lastIndexOf(SEPARATOR);
+        if (separator < 0 || nodeId.equals(payload.substring(0, separator))) {
+            return;
+        }
+        try {
+            principalCache.invalidateUser(Long.valueOf(payload.substring(separator + 1)));
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring malformed principal invalidation message: {}", payload);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() throws Exception {
+        container.destroy();
+    }
+}
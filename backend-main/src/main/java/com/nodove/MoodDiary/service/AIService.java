@@ -1,16 +1,25 @@
 package com.nodove.MoodDiary.service;
 
+import com.nodove.MoodDiary.ai.AiExecutors;
+import com.nodove.MoodDiary.ai.SingleFlight;
+import com.nodove.MoodDiary.dto.DiaryAnalysisResult;
 import com.nodove.MoodDiary.dto.EmotionAnalysisResult;
 import com.nodove.MoodDiary.dto.FinancialCorrelationResult;
 import com.nodove.MoodDiary.dto.PersonalizedRecommendation;
 import com.nodove.MoodDiary.entity.MoodDiary;
 import com.nodove.MoodDiary.entity.User;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 import org.springframework.stereotype.Service;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Predicate;
 
 @Service
 public class AIService {
@@ -29,32 +38,90 @@ public class AIService {
     @Autowired
     private OpenAIService openAIService;
 
+    @Autowired
+    private DiaryAnalysisSnapshotService diaryAnalysisSnapshotService;
+
+    @Autowired
+    private AiExecutors aiExecutors;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // 같은 (userId, diaryId) 에 대한 동시 분석 요청은 분석 종류별로 하나의 작업을 공유한다
+    private final SingleFlight<AnalysisKey, EmotionAnalysisResult> emotionFlights = new SingleFlight<>();
+    private final SingleFlight<AnalysisKey, FinancialCorrelationResult> financialFlights = new SingleFlight<>();
+    private final SingleFlight<AnalysisKey, DiaryAnalysisResult> comprehensiveFlights = new SingleFlight<>();
+
+    private record AnalysisKey(Long userId, Long diaryId) {
+    }
+
+    @PostConstruct
+    void registerMetrics() {
+        registerFlightMetrics("emotion", emotionFlights);
+        registerFlightMetrics("financial_correlation", financialFlights);
+        registerFlightMetrics("comprehensive", comprehensiveFlights);
+    }
+
     public CompletableFuture<EmotionAnalysisResult> analyzeEmotion(String diaryText) {
-        return CompletableFuture.supplyAsync(() -> {
+        return analyzeEmotion(diaryText, false);
+    }
+
+    public CompletableFuture<EmotionAnalysisResult> analyzeEmotion(String diaryText, boolean bypassCache) {
+        // 사전 분석은 cpu 풀, OpenAI 보강은 llm 풀에서 실행해 느린 원격 호출이 CPU 작업을 막지 않도록 한다
+        return aiExecutors.cpu().supply(() -> {
             try {
                 logger.info("Starting emotion analysis for diary text");
-                
-                EmotionAnalysisResult result = emotionAnalysisService.analyzeSentiment(diaryText);
-                
-                EmotionAnalysisResult enhancedResult = openAIService.enhanceEmotionAnalysis(diaryText, result);
-                
-                logger.info("Emotion analysis completed with score: {}", enhancedResult.getEmotionScore());
-                return enhancedResult;
-                
+                return emotionAnalysisService.analyzeSentiment(diaryText);
             } catch (Exception e) {
                 logger.error("Error during emotion analysis", e);
-                return EmotionAnalysisResult.builder()
-                        .emotionScore(0.0)
-                        .dominantEmotion("NEUTRAL")
-                        .confidence(0.0)
-                        .aiEnhanced(false)
-                        .build();
+                return null;
             }
+        }).thenCompose(result -> {
+            if (result == null) {
+                return CompletableFuture.completedFuture(neutralEmotionResult());
+            }
+            return aiExecutors.llm().supply(() -> {
+                try {
+                    EmotionAnalysisResult enhancedResult = openAIService.enhanceEmotionAnalysis(diaryText, result, bypassCache);
+                    logger.info("Emotion analysis completed with score: {}", enhancedResult.getEmotionScore());
+                    return enhancedResult;
+                } catch (Exception e) {
+                    logger.error("Error during emotion analysis", e);
+                    return neutralEmotionResult();
+                }
+            });
         });
     }
 
+    public CompletableFuture<EmotionAnalysisResult> analyzeEmotion(User user, MoodDiary diary) {
+        if (diary.getId() == null) {
+            return analyzeEmotion(diary.getContent());
+        }
+        return emotionFlights.execute(new AnalysisKey(user.getId(), diary.getId()),
+                () -> analyzeEmotion(diary.getContent()));
+    }
+
+    /**
+     * 여러 텍스트의 감정 분석. OpenAI 보강은 토큰 예산 단위로 묶어서 요청하고 결과는 캐시에 남는다.
+     */
+    public CompletableFuture<List<EmotionAnalysisResult>> analyzeEmotionBatch(List<String> texts) {
+        return aiExecutors.cpu().supply(() -> texts.stream()
+                        .map(emotionAnalysisService::analyzeSentiment)
+                        .toList())
+                .thenCompose(basicResults -> aiExecutors.llm().supply(() ->
+                        openAIService.enhanceEmotionAnalysisBatch(texts, basicResults)));
+    }
+
     public CompletableFuture<FinancialCorrelationResult> analyzeFinancialCorrelation(User user, MoodDiary diary) {
-        return CompletableFuture.supplyAsync(() -> {
+        if (diary.getId() == null) {
+            return runFinancialCorrelation(user, diary);
+        }
+        return financialFlights.execute(new AnalysisKey(user.getId(), diary.getId()),
+                () -> runFinancialCorrelation(user, diary));
+    }
+
+    private CompletableFuture<FinancialCorrelationResult> runFinancialCorrelation(User user, MoodDiary diary) {
+        return aiExecutors.db().supply(() -> {
             try {
                 logger.info("Starting financial correlation analysis for user: {}", user.getId());
                 
@@ -72,7 +139,7 @@ public class AIService {
     }
 
     public CompletableFuture<List<PersonalizedRecommendation>> generateRecommendations(User user, EmotionAnalysisResult emotionResult, FinancialCorrelationResult financialResult) {
-        return CompletableFuture.supplyAsync(() -> {
+        return aiExecutors.llm().supply(() -> {
             try {
                 logger.info("Generating personalized recommendations for user: {}", user.getId());
                 
@@ -85,24 +152,109 @@ public class AIService {
         });
     }
 
+    /**
+     * 일기 종합 분석. 유효한 스냅샷이 있으면 그대로 돌려주고, 없으면 분석 후 스냅샷으로 저장한다.
+     */
+    public CompletableFuture<DiaryAnalysisResult> analyzeDiary(User user, MoodDiary diary) {
+        return comprehensiveFlights.execute(new AnalysisKey(user.getId(), diary.getId()),
+                () -> aiExecutors.db().supply(() -> diaryAnalysisSnapshotService.findFresh(diary))
+                        .thenCompose(snapshot -> snapshot
+                                .map(CompletableFuture::completedFuture)
+                                .orElseGet(() -> runComprehensiveAnalysis(user, diary))));
+    }
+
+    public CompletableFuture<List<PersonalizedRecommendation>> generateRecommendationsForDiary(User user, MoodDiary diary) {
+        return analyzeDiary(user, diary).thenApply(DiaryAnalysisResult::getRecommendations);
+    }
+
+    /**
+     * 추천 스트리밍. 규칙 기반 추천은 바로, AI 추천은 생성되는 대로 sink 로 넘긴다.
+     */
+    public CompletableFuture<Void> streamRecommendations(User user, EmotionAnalysisResult emotionResult,
+                                                         FinancialCorrelationResult financialResult,
+                                                         Predicate<PersonalizedRecommendation> sink) {
+        return aiExecutors.llm().supply(() -> {
+            logger.info("Streaming personalized recommendations for user: {}", user.getId());
+            recommendationService.streamRecommendations(user, emotionResult, financialResult, sink);
+            return null;
+        });
+    }
+
+    /**
+     * 일기 기준 추천 스트리밍. 유효한 스냅샷이 있으면 그 분석 결과를 쓰고, 없으면 첫 응답이 늦어지지 않도록
+     * OpenAI 보강 없이 감정 사전 결과로 규칙 기반 추천을 만든다. 스냅샷은 저장하지 않는다.
+     */
+    public CompletableFuture<Void> streamRecommendationsForDiary(User user, MoodDiary diary,
+                                                                 Predicate<PersonalizedRecommendation> sink) {
+        return aiExecutors.db().supply(() -> diaryAnalysisSnapshotService.findFresh(diary))
+                .thenCompose(snapshot -> {
+                    if (snapshot.isPresent()) {
+                        return streamRecommendations(user, snapshot.get().getEmotionResult(),
+                                snapshot.get().getFinancialResult(), sink);
+                    }
+                    return aiExecutors.cpu().supply(() -> emotionAnalysisService.analyzeSentiment(diary.getContent()))
+                            .thenCompose(emotionResult -> {
+                                diary.setEmotionScore(emotionResult.getEmotionScore());
+                                diary.setDominantEmotion(emotionResult.getDominantEmotion());
+                                return runFinancialCorrelation(user, diary)
+                                        .thenCompose(financialResult -> streamRecommendations(user, emotionResult, financialResult, sink));
+                            });
+                });
+    }
+
     public CompletableFuture<Void> processComprehensiveAnalysis(User user, MoodDiary diary) {
-        return analyzeEmotion(diary.getContent())
+        return analyzeDiary(user, diary)
+                .thenAccept(result -> {
+                    logger.info("Comprehensive AI analysis completed for diary: {} (from snapshot: {})",
+                            diary.getId(), result.getFromSnapshot());
+                });
+    }
+
+    private CompletableFuture<DiaryAnalysisResult> runComprehensiveAnalysis(User user, MoodDiary diary) {
+        return analyzeEmotion(user, diary)
                 .thenCompose(emotionResult -> {
+                    // 재정 상관관계 분석이 일기의 감정 점수를 사용한다
                     diary.setEmotionScore(emotionResult.getEmotionScore());
                     diary.setDominantEmotion(emotionResult.getDominantEmotion());
                     
-                    return analyzeFinancialCorrelation(user, diary);
-                })
-                .thenCompose(financialResult -> {
-                    return generateRecommendations(user, 
-                        EmotionAnalysisResult.builder()
-                            .emotionScore(diary.getEmotionScore())
-                            .dominantEmotion(diary.getDominantEmotion())
-                            .build(), 
-                        financialResult);
-                })
-                .thenAccept(recommendations -> {
-                    logger.info("Comprehensive AI analysis completed for diary: {}", diary.getId());
+                    return analyzeFinancialCorrelation(user, diary)
+                            .thenCompose(financialResult -> generateRecommendations(user, emotionResult, financialResult)
+                                    .thenCompose(recommendations -> aiExecutors.db().supply(() ->
+                                            diaryAnalysisSnapshotService.save(diary, emotionResult, financialResult, recommendations))));
                 });
     }
+
+    public Map<String, Object> coalescingStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("emotion", flightStats(emotionFlights));
+        stats.put("financialCorrelation", flightStats(financialFlights));
+        stats.put("comprehensive", flightStats(comprehensiveFlights));
+        return stats;
+    }
+
+    private Map<String, Object> flightStats(SingleFlight<?, ?> flights) {
+        return Map.of(
+                "inFlight", flights.getInFlight(),
+                "started", flights.getStarted(),
+                "coalesced", flights.getCoalesced()
+        );
+    }
+
+    private void registerFlightMetrics(String type, SingleFlight<?, ?> flights) {
+        FunctionCounter.builder("ai.analysis.coalesced", flights, SingleFlight::getCoalesced)
+                .tag("type", type)
+                .register(meterRegistry);
+        FunctionCounter.builder("ai.analysis.started", flights, SingleFlight::getStarted)
+                .tag("type", type)
+                .register(meterRegistry);
+    }
+
+    private EmotionAnalysisResult neutralEmotionResult() {
+        return EmotionAnalysisResult.builder()
+                .emotionScore(0.0)
+                .dominantEmotion("NEUTRAL")
+                .confidence(0.0)
+                .aiEnhanced(false)
+                .build();
+    }
 }
\ No newline at end of file
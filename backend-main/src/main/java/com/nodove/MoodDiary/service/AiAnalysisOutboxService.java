@@ -0,0 +1,121 @@
+package com.nodove.MoodDiary.service;
+
+import com.nodove.MoodDiary.ai.DiaryAnalysisRequestedEvent;
+import com.nodove.MoodDiary.config.AiOutboxProperties;
+import com.nodove.MoodDiary.entity.AiAnalysisTask;
+import com.nodove.MoodDiary.entity.MoodDiary;
+import com.nodove.MoodDiary.repository.AiAnalysisTaskRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 일기 AI 분석 outbox 관리.
+ * <p>
+ * 작업은 일기 저장 트랜잭션 안에서 기록되므로 커밋된 일기는 반드시 분석 대상이 된다 (at-least-once).
+ * 커밋 후에는 {@link DiaryAnalysisRequestedEvent} 로 워커를 깨운다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class AiAnalysisOutboxService {
+
+    private final AiAnalysisTaskRepository taskRepository;
+    private final AiOutboxProperties properties;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * 일기 분석 작업 적재. 호출자의 트랜잭션에 참여한다.
+     */
+    public void enqueue(MoodDiary diary) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        AiAnalysisTask task = taskRepository.findByDiaryId(diary.getId())
+                .orElseGet(() -> AiAnalysisTask.builder()
+                        .diaryId(diary.getId())
+                        .userId(diary.getUser().getId())
+                        .build());
+        task.setStatus(AiAnalysisTask.Status.PENDING);
+        task.setAttempts(0);
+        task.setRequestedAt(now);
+        task.setNextAttemptAt(now);
+        task.setLockedUntil(null);
+        task.setLastError(null);
+        taskRepository.save(task);
+
+        eventPublisher.publishEvent(new DiaryAnalysisRequestedEvent(diary.getId()));
+    }
+
+    /**
+     * 처리할 작업을 최대 batchSize 개 가져와 PROCESSING 으로 표시한다.
+     */
+    public List<AiAnalysisTask> claimBatch(int batchSize) {
+        LocalDateTime now = LocalDateTime.now();
+        List<AiAnalysisTask> tasks = taskRepository.findDueForUpdate(
+                AiAnalysisTask.Status.PENDING, AiAnalysisTask.Status.PROCESSING, now, PageRequest.of(0, batchSize));
+        for (AiAnalysisTask task : tasks) {
+            task.setStatus(AiAnalysisTask.Status.PROCESSING);
+            task.setAttempts(task.getAttempts() + 1);
+            task.setLockedUntil(now.plus(properties.getLease()));
+        }
+        return tasks;
+    }
+
+    public void complete(AiAnalysisTask task) {
+        taskRepository.deleteIfUnchanged(task.getId(), task.getRequestedAt());
+    }
+
+    /**
+     * 실패한 작업을 backoff 후 재시도하도록 되돌린다. 최대 시도 횟수를 넘으면 FAILED 로 남긴다.
+     */
+    public void fail(AiAnalysisTask claimed, Throwable error) {
+        taskRepository.findById(claimed.getId())
+                .filter(task -> task.getRequestedAt().equals(claimed.getRequestedAt()))
+                .ifPresent(task -> {
+                    task.setLockedUntil(null);
+                    task.setLastError(truncate(String.valueOf(error.getMessage())));
+                    if (task.getAttempts() >= properties.getMaxAttempts()) {
+                        task.setStatus(AiAnalysisTask.Status.FAILED);
+                        log.error("AI 분석 작업 최종 실패: diaryId={}, attempts={}", task.getDiaryId(), task.getAttempts());
+                    } else {
+                        task.setStatus(AiAnalysisTask.Status.PENDING);
+                        task.setNextAttemptAt(LocalDateTime.now().plus(backoff(task.getAttempts())));
+                        log.warn("AI 분석 작업 재시도 예약: diaryId={}, attempts={}, next={}",
+                                task.getDiaryId(), task.getAttempts(), task.getNextAttemptAt());
+                    }
+                });
+    }
+
+    @Transactional(readOnly = true)
+    public long backlog() {
+        return taskRepository.countByStatusIn(EnumSet.of(AiAnalysisTask.Status.PENDING, AiAnalysisTask.Status.PROCESSING));
+    }
+
+    public void evict(Long diaryId) {
+        taskRepository.deleteByDiaryId(diaryId);
+    }
+
+    private Duration backoff(int attempts) {
+        long initial = properties.getInitialBackoff().toMillis();
+        long delay = Math.min(properties.getMaxBackoff().toMillis(), initial << Math.min(attempts - 1, 20));
+        // 동시에 실패한 작업이 한꺼번에 재시도하지 않도록 ±20% 흔든다
+        long jitter = (long) (delay * 0.2 * (ThreadLocalRandom.current().nextDouble() * 2 - 1));
+        return Duration.ofMillis(Math.max(0, delay + jitter));
+    }
+
+    private static String truncate(String message) {
+        return message.length() > 500 ? message.substring(0, 500) : message;
+    }
+}
@@ -7,13 +7,17 @@ import com.nodove.MoodDiary.enums.AuthProvider;
 import com.nodove.MoodDiary.enums.UserStatus;
 import com.nodove.MoodDiary.repository.UserRepository;
 import com.nodove.MoodDiary.security.JwtTokenProvider;
+import com.nodove.MoodDiary.security.ParsedToken;
+import com.nodove.MoodDiary.security.PrincipalChangedEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -32,6 +36,7 @@ public class AuthService {
     private final JwtTokenProvider jwtTokenProvider;
     private final EmailService emailService;
     private final RedisTemplate<String, String> redisTemplate;
+    private final ApplicationEventPublisher eventPublisher;
     
     @Value("${app.frontend.url:http://localhost:3000}")
     private String frontendUrl;
@@ -99,6 +104,8 @@ public class AuthService {
                 .build();
     }
     
+    // 비밀번호가 틀려 예외를 던져도 실패 횟수와 계정 잠금은 커밋해야 한다 (잠금은 커밋 이후 캐시에서도 지운다)
+    @Transactional(noRollbackFor = BadCredentialsException.class)
     public AuthResponse login(LoginRequest request, String clientIp, String userAgent) {
         User user = userRepository.findByEmail(request.getEmail())
                 .orElseThrow(() -> new UsernameNotFoundException("존재하지 않는 사용자입니다"));
@@ -112,6 +119,7 @@ public class AuthService {
             user.incrementLoginAttempts();
             if (user.getLoginAttempts() >= MAX_LOGIN_ATTEMPTS) {
                 user.lockAccount(LOCK_DURATION_MINUTES);
+                eventPublisher.publishEvent(new PrincipalChangedEvent(user.getId()));
                 log.warn("Account locked due to too many failed login attempts: {}", user.getEmail());
             }
             userRepository.save(user);
@@ -154,11 +162,10 @@ public class AuthService {
     }
     
     public TokenResponse refreshToken(String refreshToken) {
-        if (!jwtTokenProvider.validateRefreshToken(refreshToken)) {
-            throw new RuntimeException("유효하지 않은 리프레시 토큰입니다");
-        }
+        ParsedToken parsed = jwtTokenProvider.parseRefreshToken(refreshToken)
+                .orElseThrow(() -> new RuntimeException("유효하지 않은 리프레시 토큰입니다"));
         
-        Long userId = jwtTokenProvider.getUserIdFromToken(refreshToken);
+        Long userId = parsed.userId();
         
         // Check if refresh token exists in Redis
         String storedToken = redisTemplate.opsForValue().get(REFRESH_TOKEN_PREFIX + userId);
@@ -186,6 +193,7 @@ public class AuthService {
         
         // Remove refresh token from Redis
         redisTemplate.delete(REFRESH_TOKEN_PREFIX + user.getId());
+        eventPublisher.publishEvent(new PrincipalChangedEvent(user.getId()));
         
         // Add refresh token to blacklist
         if (refreshToken != null) {
@@ -209,6 +217,7 @@ public class AuthService {
         user.setVerificationTokenExpiry(null);
         user.setStatus(UserStatus.ACTIVE);
         userRepository.save(user);
+        eventPublisher.publishEvent(new PrincipalChangedEvent(user.getId()));
         
         log.info("Email verified for user: {}", user.getEmail());
     }
@@ -275,6 +284,13 @@ public class AuthService {
         log.info("Password changed for user: {}", email);
     }
     
+    @Transactional(readOnly = true)
+    public User getCurrentUser(Authentication authentication) {
+        Long userId = (Long) authentication.getDetails();
+        return userRepository.findById(userId)
+                .orElseThrow(() -> new UsernameNotFoundException("사용자를 찾을 수 없습니다"));
+    }
+    
     public UserProfileResponse getCurrentUserProfile(String email) {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("사용자를 찾을 수 없습니다"));
@@ -0,0 +1,156 @@
+package com.nodove.MoodDiary.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nodove.MoodDiary.dto.DiaryAnalysisResult;
+import com.nodove.MoodDiary.dto.EmotionAnalysisResult;
+import com.nodove.MoodDiary.dto.FinancialCorrelationResult;
+import com.nodove.MoodDiary.dto.PersonalizedRecommendation;
+import com.nodove.MoodDiary.entity.DiaryAnalysisSnapshot;
+import com.nodove.MoodDiary.entity.MoodDiary;
+import com.nodove.MoodDiary.lexicon.EmotionLexiconStore;
+import com.nodove.MoodDiary.repository.DiaryAnalysisSnapshotRepository;
+import com.nodove.MoodDiary.repository.MoodDiaryRepository;
+import com.nodove.MoodDiary.repository.TransactionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * 일기 종합 AI 분석 결과의 저장과 재사용을 담당한다.
+ * <p>
+ * 스냅샷은 일기 본문 해시, 감정 사전 버전, 분석 구간 거래 내역 지문이 모두 현재 값과 같을 때만 유효하다.
+ * 하나라도 바뀌면 호출자가 다시 분석해 {@link #save} 로 덮어쓴다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class DiaryAnalysisSnapshotService {
+
+    private static final TypeReference<List<PersonalizedRecommendation>> RECOMMENDATION_LIST = new TypeReference<>() {};
+
+    private final DiaryAnalysisSnapshotRepository snapshotRepository;
+    private final MoodDiaryRepository moodDiaryRepository;
+    private final TransactionRepository transactionRepository;
+    private final EmotionLexiconStore lexiconStore;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 현재 일기/거래 내역 기준으로 유효한 스냅샷이 있으면 반환한다.
+     */
+    public Optional<DiaryAnalysisResult> findFresh(MoodDiary diary) {
+        if (diary.getId() == null) {
+            return Optional.empty();
+        }
+        return snapshotRepository.findByDiaryId(diary.getId())
+                .filter(snapshot -> isFresh(snapshot, diary))
+                .flatMap(this::toResult);
+    }
+
+    /**
+     * 분석 결과를 스냅샷으로 저장하고 일기의 AI 분석 필드를 갱신한다.
+     */
+    @Transactional
+    public DiaryAnalysisResult save(MoodDiary diary, EmotionAnalysisResult emotionResult,
+                                    FinancialCorrelationResult financialResult,
+                                    List<PersonalizedRecommendation> recommendations) {
+        DiaryAnalysisSnapshot snapshot = snapshotRepository.findByDiaryId(diary.getId())
+                .orElseGet(() -> DiaryAnalysisSnapshot.builder()
+                        .diaryId(diary.getId())
+                        .userId(diary.getUser().getId())
+                        .build());
+
+        snapshot.setContentVersion(contentVersion(diary.getContent()));
+        snapshot.setLexiconVersion(lexiconStore.current().getVersion());
+        snapshot.setTransactionFingerprint(transactionFingerprint(diary));
+        snapshot.setEmotionResult(toJson(emotionResult));
+        snapshot.setFinancialResult(toJson(financialResult));
+        snapshot.setRecommendations(toJson(recommendations));
+        DiaryAnalysisSnapshot saved = snapshotRepository.saveAndFlush(snapshot);
+
+        moodDiaryRepository.findById(diary.getId()).ifPresent(managed -> {
+            managed.setEmotionScore(emotionResult.getEmotionScore());
+            managed.setDominantEmotion(emotionResult.getDominantEmotion());
+            managed.setFinancialEmotionScore(emotionResult.getFinancialEmotionScore());
+            managed.setAnalysisDetails(emotionResult.getAnalysisDetails());
+            managed.setAiAnalysisCompleted(true);
+        });
+
+        log.info("AI 분석 스냅샷 저장: diaryId={}, contentVersion={}", diary.getId(), saved.getContentVersion());
+        return DiaryAnalysisResult.builder()
+                .diaryId(diary.getId())
+                .contentVersion(saved.getContentVersion())
+                .emotionResult(emotionResult)
+                .financialResult(financialResult)
+                .recommendations(recommendations)
+                .analyzedAt(saved.getAnalyzedAt())
+                .fromSnapshot(false)
+                .build();
+    }
+
+    @Transactional
+    public void evict(Long diaryId) {
+        snapshotRepository.deleteByDiaryId(diaryId);
+    }
+
+    public static String contentVersion(String content) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest((content != null ? content : "").getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private boolean isFresh(DiaryAnalysisSnapshot snapshot, MoodDiary diary) {
+        return snapshot.getContentVersion().equals(contentVersion(diary.getContent()))
+                && Objects.equals(snapshot.getLexiconVersion(), lexiconStore.current().getVersion())
+                && snapshot.getTransactionFingerprint().equals(transactionFingerprint(diary));
+    }
+
+    private String transactionFingerprint(MoodDiary diary) {
+        List<Object[]> rows = transactionRepository.getTransactionFingerprint(diary.getUser().getId(),
+                FinancialCorrelationService.analysisWindowStart(diary),
+                FinancialCorrelationService.analysisWindowEnd(diary));
+        Object[] row = rows.isEmpty() ? new Object[3] : rows.get(0);
+        return row[0] + "|" + row[1] + "|" + row[2];
+    }
+
+    private Optional<DiaryAnalysisResult> toResult(DiaryAnalysisSnapshot snapshot) {
+        try {
+            return Optional.of(DiaryAnalysisResult.builder()
+                    .diaryId(snapshot.getDiaryId())
+                    .contentVersion(snapshot.getContentVersion())
+                    .emotionResult(objectMapper.readValue(snapshot.getEmotionResult(), EmotionAnalysisResult.class))
+                    .financialResult(objectMapper.readValue(snapshot.getFinancialResult(), FinancialCorrelationResult.class))
+                    .recommendations(objectMapper.readValue(snapshot.getRecommendations(), RECOMMENDATION_LIST))
+                    .analyzedAt(snapshot.getAnalyzedAt())
+                    .fromSnapshot(true)
+                    .build());
+        } catch (JsonProcessingException e) {
+            // 저장 형식이 바뀐 스냅샷은 다시 분석한다
+            log.warn("AI 분석 스냅샷 역직렬화 실패: diaryId={}", snapshot.getDiaryId(), e);
+            return Optional.empty();
+        }
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("AI 분석 결과 직렬화 실패", e);
+        }
+    }
+}
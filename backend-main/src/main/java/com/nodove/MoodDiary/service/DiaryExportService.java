@@ -0,0 +1,90 @@
+package com.nodove.MoodDiary.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nodove.MoodDiary.config.DiaryTransferProperties;
+import com.nodove.MoodDiary.dto.PageCursor;
+import com.nodove.MoodDiary.enums.MoodType;
+import com.nodove.MoodDiary.repository.MoodDiaryRepository;
+import com.nodove.MoodDiary.transfer.DiaryRecord;
+import com.nodove.MoodDiary.transfer.DiaryRecordWriter;
+import com.nodove.MoodDiary.transfer.DiaryTransferFormat;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 일기 일괄 내보내기. 작성 순으로 exportPageSize 개씩 커서로 읽어 바로 출력 스트림에 쓴다.
+ * 페이지마다 짧은 조회만 하므로 내려받는 동안 DB 연결을 붙잡고 있지 않는다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DiaryExportService {
+
+    private final DiaryTransferProperties properties;
+    private final MoodDiaryRepository moodDiaryRepository;
+    private final ObjectMapper objectMapper;
+
+    public void exportDiaries(Long userId, DiaryTransferFormat format, OutputStream out) throws IOException {
+        long started = System.currentTimeMillis();
+        int pageSize = Math.max(1, properties.getExportPageSize());
+        Pageable limit = PageRequest.of(0, pageSize);
+        DiaryRecordWriter writer = DiaryRecordWriter.open(format, out, objectMapper);
+        PageCursor after = null;
+        long exported = 0;
+
+        while (true) {
+            List<Object[]> rows = after == null
+                    ? moodDiaryRepository.findExportRowsByUserId(userId, limit)
+                    : moodDiaryRepository.findExportRowsByUserIdAfter(userId, after.timestamp(), after.id(), limit);
+            if (rows.isEmpty()) {
+                break;
+            }
+
+            Map<Long, List<String>> tags = new HashMap<>();
+            List<Long> ids = rows.stream().map(row -> (Long) row[0]).toList();
+            for (Object[] row : moodDiaryRepository.findTagsByDiaryIdIn(ids)) {
+                tags.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add((String) row[1]);
+            }
+            for (Object[] row : rows) {
+                writer.write(toRecord(row, tags.getOrDefault((Long) row[0], List.of())));
+            }
+            writer.flush();
+            exported += rows.size();
+
+            if (rows.size() < pageSize) {
+                break;
+            }
+            Object[] last = rows.get(rows.size() - 1);
+            after = new PageCursor((LocalDateTime) last[9], (Long) last[0]);
+        }
+
+        writer.flush();
+        log.info("Diary export for user {}: exported={}, format={}, took={}ms",
+                userId, exported, format, System.currentTimeMillis() - started);
+    }
+
+    private static DiaryRecord toRecord(Object[] row, List<String> tags) {
+        return new DiaryRecord(
+                (String) row[1],
+                (String) row[2],
+                (MoodType) row[3],
+                (Integer) row[4],
+                tags,
+                (String) row[5],
+                (String) row[6],
+                (Boolean) row[7],
+                (LocalDateTime) row[8],
+                (LocalDateTime) row[9]);
+    }
+}
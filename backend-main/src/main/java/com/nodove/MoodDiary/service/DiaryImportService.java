@@ -0,0 +1,268 @@
+package com.nodove.MoodDiary.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nodove.MoodDiary.config.DiaryTransferProperties;
+import com.nodove.MoodDiary.dto.DiaryImportResult;
+import com.nodove.MoodDiary.repository.UserRepository;
+import com.nodove.MoodDiary.search.DiarySearchIndex;
+import com.nodove.MoodDiary.tag.TagNormalizer;
+import com.nodove.MoodDiary.transfer.DiaryRecord;
+import com.nodove.MoodDiary.transfer.DiaryRecordReader;
+import com.nodove.MoodDiary.transfer.DiaryTransferFormat;
+import com.nodove.MoodDiary.transfer.MalformedDiaryRecordException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 일기 일괄 가져오기.
+ * <p>
+ * 파일을 한 편씩 읽어 importBatchSize 개씩 JDBC 배치로 일기와 태그를 넣고 배치마다 커밋한다.
+ * 엔티티와 저장 훅을 거치지 않으므로, 끝나면 통계 집계, 구간 집계, 태그 사전과 검색 색인을 한 번에 다시 만든다.
+ * 잘못된 행은 건너뛰고 사유를 결과에 남긴다. 저장하지 못한 배치는 그 배치만 되돌리고 줄 범위를 결과에 남긴 뒤 다음 배치를 계속한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DiaryImportService {
+
+    private static final String INSERT_DIARY =
+            "INSERT INTO mood_diaries (user_id, title, content, mood, mood_intensity, weather, location, " +
+            "is_private, ai_analysis_completed, diary_date, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, false, ?, ?, ?)";
+
+    private static final String INSERT_TAG = "INSERT INTO mood_diary_tags (diary_id, tag) VALUES (?, ?)";
+
+    private static final int MAX_TITLE_LENGTH = 100;
+    private static final int MAX_CONTENT_LENGTH = 5000;
+
+    /** 배치에 넣은 일기와 그 일기를 읽은 줄 번호 */
+    private record Entry(long line, DiaryRecord record) {
+    }
+
+    private final DiaryTransferProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final UserRepository userRepository;
+    private final MoodStatsService moodStatsService;
+    private final RollupService rollupService;
+    private final DiaryTagService diaryTagService;
+    private final DiarySearchIndex diarySearchIndex;
+
+    public DiaryImportResult importDiaries(Long userId, DiaryTransferFormat format, InputStream in) throws IOException {
+        if (!userRepository.existsById(userId)) {
+            throw new IllegalArgumentException("사용자를 찾을 수 없습니다.");
+        }
+        long started = System.currentTimeMillis();
+        int batchSize = Math.max(1, properties.getImportBatchSize());
+        List<Entry> batch = new ArrayList<>(batchSize);
+        List<String> errors = new ArrayList<>();
+        List<DiaryImportResult.LineRange> committedLines = new ArrayList<>();
+        int imported = 0;
+        int skipped = 0;
+        boolean completed = false;
+
+        try (DiaryRecordReader reader = DiaryRecordReader.open(format, in, objectMapper)) {
+            while (true) {
+                DiaryRecord record;
+                try {
+                    record = reader.next();
+                } catch (MalformedDiaryRecordException e) {
+                    skipped++;
+                    addError(errors, e.getLine(), e.getMessage());
+                    continue;
+                }
+                if (record == null) {
+                    break;
+                }
+                String invalid = validate(record);
+                if (invalid != null) {
+                    skipped++;
+                    addError(errors, reader.line(), invalid);
+                    continue;
+                }
+                batch.add(new Entry(reader.line(), record));
+                if (batch.size() >= batchSize) {
+                    if (commitBatch(userId, batch, committedLines, errors)) {
+                        imported += batch.size();
+                    } else {
+                        skipped += batch.size();
+                    }
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                if (commitBatch(userId, batch, committedLines, errors)) {
+                    imported += batch.size();
+                } else {
+                    skipped += batch.size();
+                }
+            }
+            completed = true;
+        } catch (IllegalArgumentException e) {
+            // 파일 구조가 깨져 더 읽을 수 없는 경우. 이미 넣은 배치는 유지한다
+            errors.add(e.getMessage());
+        } finally {
+            if (imported > 0) {
+                refreshDerivedData(userId);
+            }
+        }
+
+        long elapsed = System.currentTimeMillis() - started;
+        log.info("Diary import for user {}: imported={}, skipped={}, completed={}, took={}ms",
+                userId, imported, skipped, completed, elapsed);
+        return DiaryImportResult.builder()
+                .imported(imported)
+                .skipped(skipped)
+                .completed(completed)
+                .errors(errors)
+                .committedLines(committedLines)
+                .elapsedMillis(elapsed)
+                .build();
+    }
+
+    /**
+     * 배치 하나를 넣고 커밋한다. 실패하면 이 배치만 되돌려지고(앞서 커밋한 배치는 남는다) 줄 범위와 함께 오류를 남긴다.
+     */
+    private boolean commitBatch(Long userId, List<Entry> batch, List<DiaryImportResult.LineRange> committedLines,
+                                List<String> errors) {
+        long from = batch.get(0).line();
+        long to = batch.get(batch.size() - 1).line();
+        try {
+            insertBatch(userId, batch);
+        } catch (IllegalStateException | DataAccessException e) {
+            log.warn("Diary import batch for user {} (lines {}-{}) rolled back", userId, from, to, e);
+            if (errors.size() < properties.getMaxReportedErrors()) {
+                errors.add(from + "~" + to + "번째 줄: 저장하지 못해 이 " + batch.size() + "편을 가져오지 않았습니다");
+            }
+            return false;
+        }
+        committedLines.add(new DiaryImportResult.LineRange(from, to));
+        return true;
+    }
+
+    private void insertBatch(Long userId, List<Entry> entries) {
+        List<DiaryRecord> batch = entries.stream().map(Entry::record).toList();
+        LocalDateTime now = LocalDateTime.now();
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Long> ids = jdbcTemplate.execute((ConnectionCallback<List<Long>>) connection -> {
+                try (PreparedStatement statement = connection.prepareStatement(INSERT_DIARY, Statement.RETURN_GENERATED_KEYS)) {
+                    for (DiaryRecord record : batch) {
+                        LocalDateTime createdAt = firstNonNull(record.createdAt(), record.diaryDate(), now);
+                        statement.setLong(1, userId);
+                        statement.setString(2, record.title().strip());
+                        statement.setString(3, record.content());
+                        statement.setString(4, record.mood().name());
+                        if (record.moodIntensity() != null) {
+                            statement.setInt(5, record.moodIntensity());
+                        } else {
+                            statement.setNull(5, Types.INTEGER);
+                        }
+                        statement.setString(6, record.weather());
+                        statement.setString(7, record.location());
+                        statement.setBoolean(8, record.isPrivate() == null || record.isPrivate());
+                        statement.setTimestamp(9, Timestamp.valueOf(firstNonNull(record.diaryDate(), createdAt, now)));
+                        statement.setTimestamp(10, Timestamp.valueOf(createdAt));
+                        statement.setTimestamp(11, Timestamp.valueOf(now));
+                        statement.addBatch();
+                    }
+                    statement.executeBatch();
+
+                    List<Long> keys = new ArrayList<>(batch.size());
+                    try (ResultSet generated = statement.getGeneratedKeys()) {
+                        while (generated.next()) {
+                            keys.add(generated.getLong(1));
+                        }
+                    }
+                    if (keys.size() != batch.size()) {
+                        throw new IllegalStateException("Expected " + batch.size() + " generated keys, got " + keys.size());
+                    }
+                    return keys;
+                }
+            });
+
+            List<Object[]> tagRows = new ArrayList<>();
+            for (int i = 0; i < batch.size(); i++) {
+                List<String> tags = batch.get(i).tags();
+                if (tags != null) {
+                    for (String tag : tags) {
+                        if (tag != null && !tag.isBlank()) {
+                            tagRows.add(new Object[]{ids.get(i), tag.strip()});
+                        }
+                    }
+                }
+            }
+            if (!tagRows.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_TAG, tagRows);
+            }
+        });
+    }
+
+    /**
+     * 일기 작성 요청과 같은 규칙. 통과하면 null, 아니면 사유.
+     */
+    private static String validate(DiaryRecord record) {
+        if (record.title() == null || record.title().isBlank()) {
+            return "제목은 필수입니다";
+        }
+        if (record.title().strip().length() > MAX_TITLE_LENGTH) {
+            return "제목은 " + MAX_TITLE_LENGTH + "자를 초과할 수 없습니다";
+        }
+        if (record.content() != null && record.content().length() > MAX_CONTENT_LENGTH) {
+            return "내용은 " + MAX_CONTENT_LENGTH + "자를 초과할 수 없습니다";
+        }
+        if (record.mood() == null) {
+            return "기분은 필수입니다";
+        }
+        if (record.moodIntensity() != null && (record.moodIntensity() < 1 || record.moodIntensity() > 10)) {
+            return "기분 강도는 1에서 10 사이여야 합니다";
+        }
+        if (record.tags() != null) {
+            for (String tag : record.tags()) {
+                if (tag != null && tag.strip().length() > TagNormalizer.MAX_LENGTH) {
+                    return "태그는 " + TagNormalizer.MAX_LENGTH + "자를 초과할 수 없습니다";
+                }
+            }
+        }
+        return null;
+    }
+
+    private void addError(List<String> errors, long line, String message) {
+        if (errors.size() < properties.getMaxReportedErrors()) {
+            errors.add(line + "번째 줄: " + message);
+        }
+    }
+
+    private void refreshDerivedData(Long userId) {
+        moodStatsService.rebuild(userId);
+        rollupService.rebuild(userId);
+        diaryTagService.rebuild(userId);
+        diarySearchIndex.invalidate(userId);
+    }
+
+    @SafeVarargs
+    private static <T> T firstNonNull(T... values) {
+        for (T value : values) {
+            if (value != null) {
+                return value;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,57 @@
+package com.nodove.MoodDiary.service;
+
+import com.nodove.MoodDiary.config.DiaryTagProperties;
+import com.nodove.MoodDiary.repository.MoodDiaryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 태그 사전과 일기-태그 연결을 일기 테이블에서 다시 만든다. 아직 연결이 없는 기존 일기도 여기서 채워진다.
+ * 사용자마다 별도 트랜잭션으로 처리한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DiaryTagRebuildJob {
+
+    private final DiaryTagProperties properties;
+    private final DiaryTagService diaryTagService;
+    private final MoodDiaryRepository moodDiaryRepository;
+
+    @Scheduled(cron = "${tags.rebuild-cron:0 30 5 * * *}")
+    public void rebuildAll() {
+        if (!properties.isRebuildEnabled()) {
+            return;
+        }
+        long started = System.currentTimeMillis();
+        int users = 0;
+        int failed = 0;
+        Long afterUserId = 0L;
+
+        while (true) {
+            List<Long> userIds = moodDiaryRepository.findUserIdsWithDiariesAfter(afterUserId,
+                    PageRequest.of(0, properties.getRebuildBatchSize()));
+            for (Long userId : userIds) {
+                try {
+                    diaryTagService.rebuild(userId);
+                } catch (Exception e) {
+                    failed++;
+                    log.warn("Tag dictionary rebuild failed for user {}: {}", userId, e.getMessage());
+                }
+                users++;
+            }
+            if (userIds.size() < properties.getRebuildBatchSize()) {
+                break;
+            }
+            afterUserId = userIds.get(userIds.size() - 1);
+        }
+
+        log.info("Tag dictionary rebuild finished: users={}, failed={}, took={}ms",
+                users, failed, System.currentTimeMillis() - started);
+    }
+}
@@ -0,0 +1,216 @@
+package com.nodove.MoodDiary.service;
+
+import com.nodove.MoodDiary.config.DiaryTagProperties;
+import com.nodove.MoodDiary.entity.DiaryTagLink;
+import com.nodove.MoodDiary.entity.MoodDiary;
+import com.nodove.MoodDiary.repository.DiaryTagLinkRepository;
+import com.nodove.MoodDiary.repository.MoodDiaryRepository;
+import com.nodove.MoodDiary.repository.UserRepository;
+import com.nodove.MoodDiary.repository.UserTagRepository;
+import com.nodove.MoodDiary.tag.TagAutocompleteIndex;
+import com.nodove.MoodDiary.tag.TagNormalizer;
+import com.nodove.MoodDiary.tag.TagUsage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 사용자별 태그 사전(user_tags)과 일기-태그 연결(diary_tag_links) 관리.
+ * <p>
+ * 일기 생성/수정/삭제는 같은 트랜잭션에서 그 일기의 연결만 비교해 바뀐 태그의 사용 횟수를 증감한다.
+ * 연결이 하나도 없는 사용자(배포 전부터 있던 사용자)는 태그 달린 일기가 있으면 처음 저장하거나 태그를 읽을 때
+ * 일기 테이블에서 한 번 만들고({@link #ensureLinks(Long)}), 재구성 작업이 매일 어긋난 값을 바로잡는다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class DiaryTagService {
+
+    private final DiaryTagProperties properties;
+    private final DiaryTagLinkRepository linkRepository;
+    private final UserTagRepository userTagRepository;
+    private final MoodDiaryRepository moodDiaryRepository;
+    private final UserRepository userRepository;
+    private final TagAutocompleteIndex autocompleteIndex;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * 생성과 수정 모두 여기로 온다. 일기의 현재 태그와 저장된 연결을 비교한다.
+     */
+    @Transactional
+    public void onDiarySaved(MoodDiary diary) {
+        Long userId = diary.getUser().getId();
+        Set<String> current = TagNormalizer.normalizeAll(diary.getTags());
+        if (!hasLinks(userId)) {
+            // 연결이 아직 없는 사용자: 이번 일기나 예전 일기에 태그가 있으면 한 번 만들며, 이번 일기까지 함께 반영된다
+            if (!current.isEmpty() || moodDiaryRepository.existsTaggedByUserId(userId)) {
+                rebuild(userId);
+            }
+            return;
+        }
+        Set<String> existing = new HashSet<>(linkRepository.findTagsByDiaryId(diary.getId()));
+
+        Set<String> removed = new HashSet<>(existing);
+        removed.removeAll(current);
+        Set<String> added = new LinkedHashSet<>(current);
+        added.removeAll(existing);
+        if (removed.isEmpty() && added.isEmpty()) {
+            return;
+        }
+
+        if (!removed.isEmpty()) {
+            linkRepository.deleteByDiaryIdAndTagIn(diary.getId(), removed);
+        }
+        LocalDateTime createdAt = diary.getCreatedAt() != null ? diary.getCreatedAt() : LocalDateTime.now();
+        linkRepository.saveAll(added.stream()
+                .map(tag -> DiaryTagLink.builder()
+                        .userId(userId)
+                        .diaryId(diary.getId())
+                        .tag(tag)
+                        .createdAt(createdAt)
+                        .build())
+                .toList());
+        applyUsage(userId, added, removed);
+    }
+
+    @Transactional
+    public void onDiaryDeleted(MoodDiary diary) {
+        Long userId = diary.getUser().getId();
+        List<String> tags = linkRepository.findTagsByDiaryId(diary.getId());
+        if (tags.isEmpty()) {
+            return;
+        }
+        linkRepository.deleteByDiaryId(diary.getId());
+        applyUsage(userId, Set.of(), new HashSet<>(tags));
+    }
+
+    /**
+     * 사용자의 태그 사전과 연결을 일기 테이블에서 다시 만든다.
+     */
+    @Transactional
+    public void rebuild(Long userId) {
+        // 같은 사용자의 재구성이 겹쳐 두 번 더해지지 않도록 한다
+        if (userRepository.findByIdForUpdate(userId).isEmpty()) {
+            return;
+        }
+        linkRepository.deleteByUserId(userId);
+        userTagRepository.deleteByUserId(userId);
+
+        Map<Long, Set<String>> tagsByDiary = new HashMap<>();
+        Map<Long, LocalDateTime> createdAtByDiary = new HashMap<>();
+        for (Object[] row : moodDiaryRepository.findTagRowsByUserId(userId)) {
+            String tag = TagNormalizer.normalize((String) row[2]);
+            if (tag != null) {
+                tagsByDiary.computeIfAbsent((Long) row[0], id -> new HashSet<>()).add(tag);
+                createdAtByDiary.put((Long) row[0], (LocalDateTime) row[1]);
+            }
+        }
+
+        List<DiaryTagLink> links = new ArrayList<>();
+        Map<String, Long> usage = new HashMap<>();
+        tagsByDiary.forEach((diaryId, tags) -> tags.forEach(tag -> {
+            links.add(DiaryTagLink.builder()
+                    .userId(userId)
+                    .diaryId(diaryId)
+                    .tag(tag)
+                    .createdAt(createdAtByDiary.get(diaryId))
+                    .build());
+            usage.merge(tag, 1L, Long::sum);
+        }));
+        linkRepository.saveAll(links);
+        usage.forEach((tag, count) -> userTagRepository.addUsage(userId, tag, count, null));
+
+        invalidateAfterCommit(userId);
+        log.debug("Rebuilt tag dictionary for user {}: {} tags, {} links", userId, usage.size(), links.size());
+    }
+
+    /**
+     * 연결이 아직 없는데 태그 달린 일기가 있으면 지금 만든다. 태그를 읽기 전에 부른다.
+     * <p>
+     * 만든 결과가 바로 보이도록 바깥 트랜잭션 없이 호출해야 한다 (REPEATABLE READ 에서는 이미 시작한 읽기 트랜잭션이
+     * 새로 커밋된 연결을 보지 못한다). 재구성은 자체 트랜잭션에서 한다.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void ensureLinks(Long userId) {
+        if (linkRepository.existsByUserId(userId) || !moodDiaryRepository.existsTaggedByUserId(userId)) {
+            return;
+        }
+        log.info("Backfilling tag links for user {} on first read", userId);
+        transactionTemplate.executeWithoutResult(status -> rebuild(userId));
+    }
+
+    /**
+     * 사용 횟수가 많은 태그부터 최대 limit 개.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<TagUsage> getTagCloud(Long userId, int limit) {
+        ensureLinks(userId);
+        int size = Math.max(1, Math.min(limit, properties.getMaxCloudSize()));
+        return userTagRepository.findTopByUserId(userId, PageRequest.of(0, size)).stream()
+                .map(tag -> new TagUsage(tag.getName(), tag.getUsageCount()))
+                .toList();
+    }
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<TagUsage> autocomplete(Long userId, String prefix, int limit) {
+        ensureLinks(userId);
+        return autocompleteIndex.suggest(userId, prefix, Math.max(1, limit));
+    }
+
+    /**
+     * 연결이 있는 사용자인지. 스냅샷에 없으면 사용자 행을 잠그고 잠금 읽기로 다시 확인한다.
+     * 동시에 처음 태그를 단 두 트랜잭션이 모두 재구성하면, 나중 쪽이 먼저 커밋된 쪽의 연결을 지우고
+     * 그 일기가 빠진 스냅샷으로 다시 만들기 때문이다.
+     */
+    private boolean hasLinks(Long userId) {
+        if (linkRepository.existsByUserId(userId)) {
+            return true;
+        }
+        if (userRepository.findByIdForUpdate(userId).isEmpty()) {
+            return false;
+        }
+        return !linkRepository.findAnyIdByUserIdForUpdate(userId).isEmpty();
+    }
+
+    private void applyUsage(Long userId, Set<String> added, Set<String> removed) {
+        LocalDateTime now = LocalDateTime.now();
+        for (String tag : added) {
+            userTagRepository.addUsage(userId, tag, 1, now);
+        }
+        for (String tag : removed) {
+            userTagRepository.addUsage(userId, tag, -1, null);
+        }
+        if (!removed.isEmpty()) {
+            userTagRepository.deleteUnusedByUserId(userId);
+        }
+    }
+
+    private void invalidateAfterCommit(Long userId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            autocompleteIndex.invalidate(userId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                autocompleteIndex.invalidate(userId);
+            }
+        });
+    }
+}
@@ -74,7 +74,11 @@ public class FCMService {
         }
     }
 
-    public void sendNotificationToTokens(List<String> tokens, NotificationDTO notification) {
+    /**
+     * 요청 전체가 실패하면 FirebaseMessagingException 을 다시 던져 호출한 쪽이 재시도할 수 있게 한다.
+     * 토큰별 실패는 로그만 남긴다.
+     */
+    public void sendNotificationToTokens(List<String> tokens, NotificationDTO notification) throws FirebaseMessagingException {
         if (firebaseMessaging == null || tokens == null || tokens.isEmpty()) {
             log.warn("Firebase messaging is not initialized or no tokens provided, skipping FCM notification");
             return;
@@ -137,6 +141,7 @@ public class FCMService {
 
         } catch (FirebaseMessagingException e) {
             log.error("Failed to send FCM multicast message: {}", e.getMessage(), e);
+            throw e;
         } catch (Exception e) {
             log.error("Unexpected error sending FCM multicast message: {}", e.getMessage(), e);
         }
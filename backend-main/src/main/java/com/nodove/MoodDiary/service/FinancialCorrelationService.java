@@ -21,13 +21,21 @@ public class FinancialCorrelationService {
     @Autowired
     private TransactionRepository transactionRepository;
 
+    public static LocalDateTime analysisWindowStart(MoodDiary diary) {
+        return diary.getDiaryDate().minusDays(7);
+    }
+
+    public static LocalDateTime analysisWindowEnd(MoodDiary diary) {
+        return diary.getDiaryDate().plusDays(1);
+    }
+
     public FinancialCorrelationResult analyzeCorrelation(User user, MoodDiary diary) {
         try {
             logger.debug("Analyzing financial correlation for user: {} and diary date: {}", 
                         user.getId(), diary.getDiaryDate());
             
-            LocalDateTime startDate = diary.getDiaryDate().minusDays(7);
-            LocalDateTime endDate = diary.getDiaryDate().plusDays(1);
+            LocalDateTime startDate = analysisWindowStart(diary);
+            LocalDateTime endDate = analysisWindowEnd(diary);
             
             List<Transaction> recentTransactions = transactionRepository
                     .findByUserAndTransactionDateBetween(user, startDate, endDate);
@@ -0,0 +1,60 @@
+package com.nodove.MoodDiary.service;
+
+import com.nodove.MoodDiary.config.MoodStatsProperties;
+import com.nodove.MoodDiary.repository.MoodDiaryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 사용자별 일기 통계 집계를 일기 테이블에서 다시 만들어 어긋남을 바로잡는다.
+ * 사용자마다 별도 트랜잭션으로 처리하므로 한 사용자의 실패가 나머지에 영향을 주지 않는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MoodAggregateRebuildJob {
+
+    private final MoodStatsProperties properties;
+    private final MoodStatsService moodStatsService;
+    private final MoodDiaryRepository moodDiaryRepository;
+
+    @Scheduled(cron = "${stats.mood.rebuild-cron:0 30 4 * * *}")
+    public void rebuildAll() {
+        if (!properties.isRebuildEnabled()) {
+            return;
+        }
+        long started = System.currentTimeMillis();
+        int users = 0;
+        int drifted = 0;
+        int failed = 0;
+        Long afterUserId = 0L;
+
+        while (true) {
+            List<Long> userIds = moodDiaryRepository.findUserIdsWithDiariesAfter(afterUserId,
+                    PageRequest.of(0, properties.getRebuildBatchSize()));
+            for (Long userId : userIds) {
+                try {
+                    if (moodStatsService.rebuild(userId)) {
+                        drifted++;
+                    }
+                } catch (Exception e) {
+                    failed++;
+                    log.warn("Mood aggregate rebuild failed for user {}: {}", userId, e.getMessage());
+                }
+                users++;
+            }
+            if (userIds.size() < properties.getRebuildBatchSize()) {
+                break;
+            }
+            afterUserId = userIds.get(userIds.size() - 1);
+        }
+
+        log.info("Mood aggregate rebuild finished: users={}, drifted={}, failed={}, took={}ms",
+                users, drifted, failed, System.currentTimeMillis() - started);
+    }
+}
@@ -1,28 +1,45 @@
 package com.nodove.MoodDiary.service;
 
+import com.nodove.MoodDiary.dto.CursorPage;
 import com.nodove.MoodDiary.dto.MoodDiaryRequest;
 import com.nodove.MoodDiary.dto.MoodDiaryResponse;
+import com.nodove.MoodDiary.dto.MoodDiarySummaryRow;
+import com.nodove.MoodDiary.dto.PageCursor;
 import com.nodove.MoodDiary.dto.request.MoodDiaryCreateRequest;
 import com.nodove.MoodDiary.dto.request.MoodDiaryUpdateRequest;
 import com.nodove.MoodDiary.dto.response.MoodDiaryListResponse;
 import com.nodove.MoodDiary.entity.MoodDiary;
-import com.nodove.MoodDiary.entity.User;
 import com.nodove.MoodDiary.enums.MoodType;
 import com.nodove.MoodDiary.exception.ResourceNotFoundException;
+import com.nodove.MoodDiary.repository.DiaryAnalysisSnapshotRepository;
 import com.nodove.MoodDiary.repository.MoodDiaryRepository;
 import com.nodove.MoodDiary.repository.UserRepository;
+import com.nodove.MoodDiary.search.DiaryChangedEvent;
+import com.nodove.MoodDiary.security.AuthenticatedUser;
+import com.nodove.MoodDiary.search.DiarySearchHit;
+import com.nodove.MoodDiary.search.DiarySearchIndex;
+import com.nodove.MoodDiary.tag.TagNormalizer;
+import com.nodove.MoodDiary.search.SearchHighlighter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -31,17 +48,25 @@ import java.util.stream.Collectors;
 @Transactional(readOnly = true)
 public class MoodDiaryService {
     
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+    
     private final MoodDiaryRepository moodDiaryRepository;
     private final UserRepository userRepository;
+    private final DiaryAnalysisSnapshotRepository diaryAnalysisSnapshotRepository;
+    private final AiAnalysisOutboxService aiAnalysisOutboxService;
+    private final DiarySearchIndex diarySearchIndex;
+    private final MoodStatsService moodStatsService;
+    private final RollupService rollupService;
+    private final DiaryTagService diaryTagService;
+    private final ApplicationEventPublisher eventPublisher;
     
     // 기존 메서드들 유지
     @Transactional
     public MoodDiaryResponse createDiary(MoodDiaryRequest request, Long userId) {
-        User user = getUserById(userId);
-        log.info("Creating mood diary for user: {}", user.getEmail());
+        log.info("Creating mood diary for user: {}", userId);
         
         MoodDiary diary = MoodDiary.builder()
-                .user(user)
+                .user(userRepository.getReferenceById(userId))
                 .title(request.getTitle())
                 .content(request.getContent())
                 .mood(request.getMood())
@@ -53,16 +78,17 @@ public class MoodDiaryService {
                 .build();
         
         MoodDiary savedDiary = moodDiaryRepository.save(diary);
+        afterCreated(savedDiary);
         return convertToResponse(savedDiary);
     }
     
     @Transactional
     public MoodDiaryResponse updateDiary(Long userId, Long diaryId, MoodDiaryRequest request) {
-        User user = getUserById(userId);
-        log.info("Updating mood diary {} for user: {}", diaryId, user.getEmail());
+        log.info("Updating mood diary {} for user: {}", diaryId, userId);
         
-        MoodDiary diary = moodDiaryRepository.findByIdAndUser(diaryId, user)
+        MoodDiary diary = moodDiaryRepository.findByIdAndUserId(diaryId, userId)
                 .orElseThrow(() -> new RuntimeException("일기를 찾을 수 없습니다."));
+        MoodStatsService.DiaryMoodState before = MoodStatsService.DiaryMoodState.of(diary);
         
         diary.setTitle(request.getTitle());
         diary.setContent(request.getContent());
@@ -74,68 +100,120 @@ public class MoodDiaryService {
         diary.setIsPrivate(request.getIsPrivate());
         
         MoodDiary updatedDiary = moodDiaryRepository.save(diary);
+        afterUpdated(before, updatedDiary);
         return convertToResponse(updatedDiary);
     }
     
+    /**
+     * 일기를 새로 저장한 뒤 같은 트랜잭션에서 하는 일 (통계, 롤업, 태그, AI 분석 outbox, 검색 색인). 모든 생성 경로가 거친다.
+     */
+    private void afterCreated(MoodDiary savedDiary) {
+        moodStatsService.onDiaryCreated(savedDiary);
+        rollupService.onDiaryCreated(savedDiary);
+        diaryTagService.onDiarySaved(savedDiary);
+        aiAnalysisOutboxService.enqueue(savedDiary);
+        eventPublisher.publishEvent(DiaryChangedEvent.saved(savedDiary));
+    }
+    
+    /**
+     * 일기를 고쳐 저장한 뒤 같은 트랜잭션에서 하는 일. 모든 수정 경로가 거친다.
+     */
+    private void afterUpdated(MoodStatsService.DiaryMoodState before, MoodDiary updatedDiary) {
+        moodStatsService.onDiaryUpdated(before, updatedDiary);
+        rollupService.onDiaryUpdated(before, updatedDiary);
+        diaryTagService.onDiarySaved(updatedDiary);
+        aiAnalysisOutboxService.enqueue(updatedDiary);
+        eventPublisher.publishEvent(DiaryChangedEvent.saved(updatedDiary));
+    }
+    
     @Transactional
     public void deleteDiary(Long userId, Long diaryId) {
-        User user = getUserById(userId);
-        log.info("Deleting mood diary {} for user: {}", diaryId, user.getEmail());
+        log.info("Deleting mood diary {} for user: {}", diaryId, userId);
         
-        MoodDiary diary = moodDiaryRepository.findByIdAndUser(diaryId, user)
+        MoodDiary diary = moodDiaryRepository.findByIdAndUserId(diaryId, userId)
                 .orElseThrow(() -> new RuntimeException("일기를 찾을 수 없습니다."));
         
+        diaryAnalysisSnapshotRepository.deleteByDiaryId(diary.getId());
+        aiAnalysisOutboxService.evict(diary.getId());
         moodDiaryRepository.delete(diary);
+        moodStatsService.onDiaryDeleted(diary);
+        rollupService.onDiaryDeleted(diary);
+        diaryTagService.onDiaryDeleted(diary);
+        eventPublisher.publishEvent(DiaryChangedEvent.deleted(diary));
     }
     
     public MoodDiaryResponse getDiary(Long userId, Long diaryId) {
-        User user = getUserById(userId);
-        MoodDiary diary = moodDiaryRepository.findByIdAndUser(diaryId, user)
+        MoodDiary diary = moodDiaryRepository.findByIdAndUserId(diaryId, userId)
                 .orElseThrow(() -> new RuntimeException("일기를 찾을 수 없습니다."));
         
         return convertToResponse(diary);
     }
     
     public Page<MoodDiaryResponse> getUserDiaries(Long userId, Pageable pageable) {
-        User user = getUserById(userId);
-        Page<MoodDiary> diaries = moodDiaryRepository.findByUserOrderByCreatedAtDesc(user, pageable);
+        Page<MoodDiary> diaries = moodDiaryRepository.findByUserIdOrderByCreatedAtDesc(userId, pageable);
         return diaries.map(this::convertToResponse);
     }
     
+    /**
+     * 커서 기반 일기 목록 (최신순). 전체 개수를 세지 않으며 다음 페이지는 nextCursor 로 이어서 조회한다.
+     */
+    public CursorPage<MoodDiaryResponse> getUserDiariesByCursor(Long userId, String cursor, int size) {
+        PageCursor after = PageCursor.decode(cursor);
+        int pageSize = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        
+        List<MoodDiary> diaries = after == null
+                ? moodDiaryRepository.findFirstPageByUserId(userId, limit)
+                : moodDiaryRepository.findPageByUserIdAfter(userId, after.timestamp(), after.id(), limit);
+        return CursorPage.of(diaries, pageSize,
+                diary -> new PageCursor(diary.getCreatedAt(), diary.getId()), this::convertToResponse);
+    }
+    
     public Page<MoodDiaryResponse> getDiariesByMood(Long userId, MoodType mood, Pageable pageable) {
-        User user = getUserById(userId);
-        Page<MoodDiary> diaries = moodDiaryRepository.findByUserAndMoodOrderByCreatedAtDesc(user, mood, pageable);
+        Page<MoodDiary> diaries = moodDiaryRepository.findByUserIdAndMoodOrderByCreatedAtDesc(userId, mood, pageable);
         return diaries.map(this::convertToResponse);
     }
     
     public List<MoodDiaryResponse> getDiariesByDateRange(Long userId, LocalDateTime startDate, LocalDateTime endDate) {
-        User user = getUserById(userId);
-        List<MoodDiary> diaries = moodDiaryRepository.findByUserAndDateRange(user, startDate, endDate);
+        List<MoodDiary> diaries = moodDiaryRepository.findByUserIdAndDateRange(userId, startDate, endDate);
         return diaries.stream()
                 .map(this::convertToResponse)
                 .collect(Collectors.toList());
     }
     
     public Page<MoodDiaryResponse> searchDiaries(Long userId, String keyword, Pageable pageable) {
-        User user = getUserById(userId);
-        Page<MoodDiary> diaries = moodDiaryRepository.findByUserAndKeyword(user, keyword, pageable);
-        return diaries.map(this::convertToResponse);
+        if (!diarySearchIndex.isEnabled() || !diarySearchIndex.supports(keyword)) {
+            Page<MoodDiary> diaries = moodDiaryRepository.findByUserIdAndKeyword(userId, keyword, pageable);
+            return diaries.map(this::convertToResponse);
+        }
+        
+        List<DiarySearchHit> hits = diarySearchIndex.search(userId, keyword);
+        List<MoodDiaryResponse> diaries = loadSearchPage(hits, pageable).stream()
+                .map(this::convertToResponse)
+                .collect(Collectors.toList());
+        return new PageImpl<>(diaries, pageable, hits.size());
     }
     
     public List<MoodDiaryResponse> getRecentDiaries(Long userId) {
-        User user = getUserById(userId);
-        List<MoodDiary> diaries = moodDiaryRepository.findTop5ByUserOrderByCreatedAtDesc(user);
+        List<MoodDiary> diaries = moodDiaryRepository.findTop5ByUserIdOrderByCreatedAtDesc(userId);
         return diaries.stream()
                 .map(this::convertToResponse)
                 .collect(Collectors.toList());
     }
     
-    public long getUserDiaryCount(User user) {
-        return moodDiaryRepository.countByUser(user);
+    /**
+     * AI 분석용 일기 조회. 일기가 없으면 null 을 반환한다.
+     */
+    public MoodDiary findById(Long diaryId) {
+        return moodDiaryRepository.findById(diaryId).orElse(null);
     }
     
-    public long getUserMoodCount(User user, MoodType mood) {
-        return moodDiaryRepository.countByUserAndMood(user, mood);
+    public long getUserDiaryCount(Long userId) {
+        return moodDiaryRepository.countByUserId(userId);
+    }
+    
+    public long getUserMoodCount(Long userId, MoodType mood) {
+        return moodDiaryRepository.countByUserIdAndMood(userId, mood);
     }
     
     // 새로운 확장 메서드들
@@ -145,10 +223,9 @@ public class MoodDiaryService {
      */
     @Transactional
     public com.nodove.MoodDiary.dto.response.MoodDiaryResponse createDiaryExtended(Long userId, MoodDiaryCreateRequest request) {
-        User user = getUserById(userId);
         
         MoodDiary diary = MoodDiary.builder()
-            .user(user)
+            .user(userRepository.getReferenceById(userId))
             .title(request.getTitle())
             .content(request.getContent())
             .mood(request.getMood())
@@ -160,36 +237,34 @@ public class MoodDiaryService {
             .build();
         
         MoodDiary savedDiary = moodDiaryRepository.save(diary);
+        afterCreated(savedDiary);
         log.info("일기 생성 완료: userId={}, diaryId={}", userId, savedDiary.getId());
         
-        return convertToExtendedResponse(savedDiary);
+        return convertToExtendedResponse(savedDiary, userId);
     }
     
     /**
      * 일기 조회 (확장 버전)
      */
     public com.nodove.MoodDiary.dto.response.MoodDiaryResponse getDiaryExtended(Long userId, Long diaryId) {
-        User user = getUserById(userId);
-        MoodDiary diary = moodDiaryRepository.findByIdAndUser(diaryId, user)
+        MoodDiary diary = moodDiaryRepository.findByIdAndUserId(diaryId, userId)
             .orElseThrow(() -> new ResourceNotFoundException("일기를 찾을 수 없습니다: " + diaryId));
         
-        return convertToExtendedResponse(diary);
+        return convertToExtendedResponse(diary, userId);
     }
     
     /**
      * 일기 목록 조회 (확장 버전)
      */
     public MoodDiaryListResponse getDiaryListExtended(Long userId, int page, int size, String sortBy, String sortDir) {
-        User user = getUserById(userId);
         
-        Sort sort = Sort.by(sortDir.equalsIgnoreCase("asc") ? Sort.Direction.ASC : Sort.Direction.DESC, sortBy);
+        // 같은 값이 많은 정렬 기준에서도 페이지 경계가 흔들리지 않도록 id 로 한 번 더 정렬한다
+        Sort.Direction direction = sortDir.equalsIgnoreCase("asc") ? Sort.Direction.ASC : Sort.Direction.DESC;
+        Sort sort = Sort.by(direction, sortBy).and(Sort.by(direction, "id"));
         Pageable pageable = PageRequest.of(page, size, sort);
         
-        Page<MoodDiary> diaryPage = moodDiaryRepository.findByUserOrderByCreatedAtDesc(user, pageable);
-        
-        List<MoodDiaryListResponse.MoodDiarySummary> diaries = diaryPage.getContent().stream()
-            .map(this::convertToSummary)
-            .collect(Collectors.toList());
+        Page<MoodDiarySummaryRow> diaryPage = moodDiaryRepository.findSummariesByUserId(userId, pageable);
+        List<MoodDiaryListResponse.MoodDiarySummary> diaries = toSummaries(diaryPage.getContent());
         
         return MoodDiaryListResponse.builder()
             .diaries(diaries)
@@ -207,15 +282,16 @@ public class MoodDiaryService {
      */
     @Transactional
     public com.nodove.MoodDiary.dto.response.MoodDiaryResponse updateDiaryExtended(Long userId, Long diaryId, MoodDiaryUpdateRequest request) {
-        User user = getUserById(userId);
-        MoodDiary diary = moodDiaryRepository.findByIdAndUser(diaryId, user)
+        MoodDiary diary = moodDiaryRepository.findByIdAndUserId(diaryId, userId)
             .orElseThrow(() -> new ResourceNotFoundException("일기를 찾을 수 없습니다: " + diaryId));
+        MoodStatsService.DiaryMoodState before = MoodStatsService.DiaryMoodState.of(diary);
         
         updateDiaryFromRequest(diary, request);
         MoodDiary updatedDiary = moodDiaryRepository.save(diary);
+        afterUpdated(before, updatedDiary);
         
         log.info("일기 수정 완료: userId={}, diaryId={}", userId, diaryId);
-        return convertToExtendedResponse(updatedDiary);
+        return convertToExtendedResponse(updatedDiary, userId);
     }
     
     /**
@@ -223,26 +299,33 @@ public class MoodDiaryService {
      */
     @Transactional
     public void deleteDiaryExtended(Long userId, Long diaryId) {
-        User user = getUserById(userId);
-        MoodDiary diary = moodDiaryRepository.findByIdAndUser(diaryId, user)
+        MoodDiary diary = moodDiaryRepository.findByIdAndUserId(diaryId, userId)
             .orElseThrow(() -> new ResourceNotFoundException("일기를 찾을 수 없습니다: " + diaryId));
         
+        diaryAnalysisSnapshotRepository.deleteByDiaryId(diary.getId());
+        aiAnalysisOutboxService.evict(diary.getId());
         moodDiaryRepository.delete(diary);
+        moodStatsService.onDiaryDeleted(diary);
+        rollupService.onDiaryDeleted(diary);
+        diaryTagService.onDiaryDeleted(diary);
+        eventPublisher.publishEvent(DiaryChangedEvent.deleted(diary));
         log.info("일기 삭제 완료: userId={}, diaryId={}", userId, diaryId);
     }
     
     /**
-     * 태그별 일기 조회 (확장 버전)
+     * 태그별 일기 조회 (확장 버전). 태그 연결을 먼저 만들 수 있도록 트랜잭션 없이 읽는다
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public MoodDiaryListResponse getDiariesByTagExtended(Long userId, String tag, int page, int size) {
-        User user = getUserById(userId);
         Pageable pageable = PageRequest.of(page, size);
+        String normalized = TagNormalizer.normalize(tag);
+        if (normalized == null) {
+            throw new IllegalArgumentException("태그를 입력해주세요.");
+        }
+        diaryTagService.ensureLinks(userId);
         
-        Page<MoodDiary> diaryPage = moodDiaryRepository.findByUserAndTag(user, tag, pageable);
-        
-        List<MoodDiaryListResponse.MoodDiarySummary> diaries = diaryPage.getContent().stream()
-            .map(this::convertToSummary)
-            .collect(Collectors.toList());
+        Page<MoodDiarySummaryRow> diaryPage = moodDiaryRepository.findSummariesByUserIdAndTag(userId, normalized, pageable);
+        List<MoodDiaryListResponse.MoodDiarySummary> diaries = toSummaries(diaryPage.getContent());
         
         return MoodDiaryListResponse.builder()
             .diaries(diaries)
@@ -259,14 +342,30 @@ public class MoodDiaryService {
      * 키워드 검색 (확장 버전)
      */
     public MoodDiaryListResponse searchDiariesExtended(Long userId, String keyword, int page, int size) {
-        User user = getUserById(userId);
         Pageable pageable = PageRequest.of(page, size);
         
-        Page<MoodDiary> diaryPage = moodDiaryRepository.findByUserAndKeyword(user, keyword, pageable);
+        Page<MoodDiarySummaryRow> diaryPage;
+        if (diarySearchIndex.isEnabled() && diarySearchIndex.supports(keyword)) {
+            List<DiarySearchHit> hits = diarySearchIndex.search(userId, keyword);
+            List<Long> ids = searchPageIds(hits, pageable);
+            Map<Long, MoodDiarySummaryRow> rows = moodDiaryRepository.findSummariesByIdIn(ids).stream()
+                .collect(Collectors.toMap(MoodDiarySummaryRow::id, Function.identity()));
+            diaryPage = new PageImpl<>(ids.stream().map(rows::get).filter(Objects::nonNull).toList(), pageable, hits.size());
+        } else {
+            diaryPage = moodDiaryRepository.findSummariesByUserIdAndKeyword(userId, keyword, pageable);
+        }
         
-        List<MoodDiaryListResponse.MoodDiarySummary> diaries = diaryPage.getContent().stream()
-            .map(this::convertToSummary)
-            .collect(Collectors.toList());
+        // 하이라이트는 검색어 주변 본문이 필요하므로 이 페이지의 본문만 한 번에 읽는다
+        List<MoodDiaryListResponse.MoodDiarySummary> diaries = toSummaries(diaryPage.getContent());
+        Map<Long, String> contents = new HashMap<>();
+        if (!diaries.isEmpty()) {
+            List<Long> ids = diaries.stream().map(MoodDiaryListResponse.MoodDiarySummary::getId).toList();
+            for (Object[] row : moodDiaryRepository.findContentsByIdIn(ids)) {
+                contents.put((Long) row[0], (String) row[1]);
+            }
+        }
+        diaries.forEach(summary -> summary.setHighlight(
+            SearchHighlighter.highlight(contents.get(summary.getId()), keyword, diarySearchIndex.getHighlightLength())));
         
         return MoodDiaryListResponse.builder()
             .diaries(diaries)
@@ -279,9 +378,25 @@ public class MoodDiaryService {
             .build();
     }
     
-    private User getUserById(Long userId) {
-        return userRepository.findById(userId)
-            .orElseThrow(() -> new ResourceNotFoundException("사용자를 찾을 수 없습니다: " + userId));
+    /**
+     * 검색 결과 중 요청한 페이지의 일기만 읽어 검색 순위대로 돌려준다.
+     */
+    private List<MoodDiary> loadSearchPage(List<DiarySearchHit> hits, Pageable pageable) {
+        List<Long> ids = searchPageIds(hits, pageable);
+        Map<Long, MoodDiary> diaries = moodDiaryRepository.findAllById(ids).stream()
+            .collect(Collectors.toMap(MoodDiary::getId, Function.identity()));
+        return ids.stream()
+            .map(diaries::get)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+    }
+    
+    private static List<Long> searchPageIds(List<DiarySearchHit> hits, Pageable pageable) {
+        int from = (int) Math.min(pageable.getOffset(), hits.size());
+        int to = Math.min(from + pageable.getPageSize(), hits.size());
+        return hits.subList(from, to).stream()
+            .map(DiarySearchHit::diaryId)
+            .toList();
     }
     
     private void updateDiaryFromRequest(MoodDiary diary, MoodDiaryUpdateRequest request) {
@@ -316,10 +431,11 @@ public class MoodDiaryService {
     }
     
     // 새로운 convertToExtendedResponse 메서드
-    private com.nodove.MoodDiary.dto.response.MoodDiaryResponse convertToExtendedResponse(MoodDiary diary) {
+    // 작성자는 항상 요청 사용자이므로 diary.getUser() 를 건드리지 않고 userId 를 받는다
+    private com.nodove.MoodDiary.dto.response.MoodDiaryResponse convertToExtendedResponse(MoodDiary diary, Long userId) {
         return com.nodove.MoodDiary.dto.response.MoodDiaryResponse.builder()
             .id(diary.getId())
-            .userId(diary.getUser().getId())
+            .userId(userId)
             .title(diary.getTitle())
             .content(diary.getContent())
             .mood(diary.getMood())
@@ -330,7 +446,7 @@ public class MoodDiaryService {
             .isPrivate(diary.getIsPrivate())
             .createdAt(diary.getCreatedAt())
             .updatedAt(diary.getUpdatedAt())
-            .userNickname(diary.getUser().getDisplayName())
+            .userNickname(displayNameOf(diary, userId))
             .moodDisplay(diary.getMood().getKoreanName())
             .moodEmoji(diary.getMood().getEmoji())
             .moodColor(diary.getMood().getColor())
@@ -340,24 +456,50 @@ public class MoodDiaryService {
             .build();
     }
     
-    private MoodDiaryListResponse.MoodDiarySummary convertToSummary(MoodDiary diary) {
-        String summary = diary.getContent() != null && diary.getContent().length() > 100 ?
-            diary.getContent().substring(0, 100) + "..." : diary.getContent();
+    /**
+     * 작성자 표시 이름. 현재 요청 사용자의 일기이면 인증 정보에 있는 값을 써서 users 조회를 피한다.
+     */
+    private String displayNameOf(MoodDiary diary, Long ownerId) {
+        return AuthenticatedUser.current()
+            .filter(principal -> principal.getId().equals(ownerId))
+            .map(AuthenticatedUser::getDisplayName)
+            .orElseGet(() -> diary.getUser().getDisplayName());
+    }
+    
+    /**
+     * 목록 요약 변환. 태그는 페이지 전체를 한 번의 쿼리로 읽는다.
+     */
+    private List<MoodDiaryListResponse.MoodDiarySummary> toSummaries(List<MoodDiarySummaryRow> rows) {
+        if (rows.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, List<String>> tags = new HashMap<>();
+        for (Object[] row : moodDiaryRepository.findTagsByDiaryIdIn(rows.stream().map(MoodDiarySummaryRow::id).toList())) {
+            tags.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add((String) row[1]);
+        }
+        return rows.stream()
+            .map(row -> convertToSummary(row, tags.getOrDefault(row.id(), new ArrayList<>())))
+            .collect(Collectors.toList());
+    }
+    
+    private MoodDiaryListResponse.MoodDiarySummary convertToSummary(MoodDiarySummaryRow row, List<String> tags) {
+        int length = row.contentLength() != null ? row.contentLength() : 0;
+        String summary = length > MoodDiarySummaryRow.PREVIEW_LENGTH ? row.contentPreview() + "..." : row.contentPreview();
             
         return MoodDiaryListResponse.MoodDiarySummary.builder()
-            .id(diary.getId())
-            .title(diary.getTitle())
+            .id(row.id())
+            .title(row.title())
             .content(summary)
-            .mood(diary.getMood().getKoreanName())
-            .moodEmoji(diary.getMood().getEmoji())
-            .moodColor(diary.getMood().getColor())
-            .moodIntensity(diary.getMoodIntensity())
-            .tags(diary.getTags())
-            .weather(diary.getWeather())
-            .isPrivate(diary.getIsPrivate())
-            .createdAt(diary.getCreatedAt())
-            .updatedAt(diary.getUpdatedAt())
-            .wordCount(diary.getContent() != null ? diary.getContent().length() : 0)
+            .mood(row.mood().getKoreanName())
+            .moodEmoji(row.mood().getEmoji())
+            .moodColor(row.mood().getColor())
+            .moodIntensity(row.moodIntensity())
+            .tags(tags)
+            .weather(row.weather())
+            .isPrivate(row.isPrivate())
+            .createdAt(row.createdAt())
+            .updatedAt(row.updatedAt())
+            .wordCount(length)
             .hasImages(false) // TODO: 이미지 기능 구현 후 수정
             .build();
     }
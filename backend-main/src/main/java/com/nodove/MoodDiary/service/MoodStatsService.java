@@ -0,0 +1,269 @@
+package com.nodove.MoodDiary.service;
+
+import com.nodove.MoodDiary.dto.DiaryStatsResponse;
+import com.nodove.MoodDiary.dto.MoodReportResponse;
+import com.nodove.MoodDiary.entity.MoodCounter;
+import com.nodove.MoodDiary.entity.MoodDiary;
+import com.nodove.MoodDiary.entity.UserMoodAggregate;
+import com.nodove.MoodDiary.enums.MoodType;
+import com.nodove.MoodDiary.enums.RollupGranularity;
+import com.nodove.MoodDiary.repository.MoodDiaryRepository;
+import com.nodove.MoodDiary.repository.UserMoodAggregateRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 사용자별 일기 통계 집계({@link UserMoodAggregate}) 관리.
+ * <p>
+ * 일기 생성/수정/삭제는 같은 트랜잭션에서 집계 행을 잠그고 증감만 반영한다.
+ * 집계 행이 아직 없으면 일기 테이블에서 한 번 만든다. 과거 날짜 일기, 날짜 변경, 삭제처럼
+ * 연속 작성일을 증감으로 맞출 수 없는 경우에만 작성 날짜 목록을 다시 읽는다.
+ * <p>
+ * 작성 날짜와 "오늘" 은 구간 집계({@link RollupService})와 같은 사용자 시간대로 정한다.
+ * 주간/월간 리포트의 기간 값도 그 주/월 구간 집계에서 읽는다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class MoodStatsService {
+
+    private final UserMoodAggregateRepository aggregateRepository;
+    private final MoodDiaryRepository moodDiaryRepository;
+    private final RollupService rollupService;
+
+    /**
+     * 집계에 영향을 주는 일기 값. 수정 전 값을 담아 두었다가 {@link #onDiaryUpdated} 에 넘긴다.
+     */
+    public record DiaryMoodState(MoodType mood, Integer intensity, LocalDateTime diaryDate) {
+
+        public static DiaryMoodState of(MoodDiary diary) {
+            return new DiaryMoodState(diary.getMood(), diary.getMoodIntensity(), diary.getDiaryDate());
+        }
+
+        /** 사용자 시간대의 작성 날짜 */
+        public LocalDate entryDate(ZoneId zone) {
+            return diaryDate != null ? RollupService.toUserDate(diaryDate, zone) : null;
+        }
+    }
+
+    @Transactional
+    public void onDiaryCreated(MoodDiary diary) {
+        UserMoodAggregate aggregate = lockOrRebuild(diary.getUser().getId());
+        if (aggregate == null) {
+            return;
+        }
+        DiaryMoodState state = DiaryMoodState.of(diary);
+        aggregate.apply(state.mood(), state.intensity(), 1);
+        ZoneId zone = rollupService.zoneOf(aggregate.getUserId());
+        LocalDate entryDate = state.entryDate(zone);
+        if (entryDate == null || !aggregate.extendStreak(entryDate)) {
+            recomputeStreaks(aggregate, zone);
+        }
+    }
+
+    @Transactional
+    public void onDiaryUpdated(DiaryMoodState before, MoodDiary diary) {
+        DiaryMoodState after = DiaryMoodState.of(diary);
+        if (before.equals(after)) {
+            return;
+        }
+        UserMoodAggregate aggregate = lockOrRebuild(diary.getUser().getId());
+        if (aggregate == null) {
+            return;
+        }
+        aggregate.apply(before.mood(), before.intensity(), -1);
+        aggregate.apply(after.mood(), after.intensity(), 1);
+        if (!Objects.equals(before.diaryDate(), after.diaryDate())) {
+            ZoneId zone = rollupService.zoneOf(aggregate.getUserId());
+            if (!Objects.equals(before.entryDate(zone), after.entryDate(zone))) {
+                recomputeStreaks(aggregate, zone);
+            }
+        }
+    }
+
+    /**
+     * 일기를 삭제한 뒤 호출한다. 작성 날짜 목록을 읽을 때 삭제가 먼저 반영된다 (auto flush).
+     */
+    @Transactional
+    public void onDiaryDeleted(MoodDiary diary) {
+        UserMoodAggregate aggregate = lockOrRebuild(diary.getUser().getId());
+        if (aggregate == null) {
+            return;
+        }
+        aggregate.apply(diary.getMood(), diary.getMoodIntensity(), -1);
+        recomputeStreaks(aggregate, rollupService.zoneOf(aggregate.getUserId()));
+    }
+
+    /**
+     * 일기 테이블에서 집계를 다시 만든다. 기존 값과 달랐으면 true.
+     */
+    @Transactional
+    public boolean rebuild(Long userId) {
+        aggregateRepository.insertIfAbsent(userId);
+        UserMoodAggregate aggregate = aggregateRepository.findByUserIdForUpdate(userId)
+                .orElseThrow(() -> new IllegalStateException("Mood aggregate missing after insert: " + userId));
+        String before = fingerprint(aggregate);
+        fill(aggregate, userId);
+        return !before.equals(fingerprint(aggregate));
+    }
+
+    public DiaryStatsResponse getStats(Long userId) {
+        UserMoodAggregate aggregate = load(userId);
+        Map<MoodType, Long> histogram = aggregate.moodHistogram();
+
+        return DiaryStatsResponse.builder()
+                .totalDiaries(aggregate.getTotalCount())
+                .happyDiaries(histogram.get(MoodType.HAPPY))
+                .sadDiaries(histogram.get(MoodType.SAD))
+                .angryDiaries(histogram.get(MoodType.ANGRY))
+                .anxiousDiaries(histogram.get(MoodType.ANXIOUS))
+                .moodCounts(histogram)
+                .moodAverageIntensity(averageIntensityByMood(aggregate.getMoods()))
+                .averageIntensity(aggregate.getAverageIntensity())
+                .lastEntryDate(aggregate.getLastEntryDate())
+                .currentStreak(aggregate.currentStreakAsOf(LocalDate.now(rollupService.zoneOf(userId))))
+                .longestStreak(aggregate.getLongestStreak())
+                .build();
+    }
+
+    /**
+     * date 가 속한 주(월요일 시작) 또는 달의 리포트. date 가 null 이면 사용자 시간대의 오늘.
+     * 기간 값은 그 주/월 구간 집계 한 행에서 읽고, 비교 기준은 전체 기간 집계를 쓴다.
+     */
+    public MoodReportResponse getReport(Long userId, MoodReportResponse.Period period, LocalDate date) {
+        ZoneId zone = rollupService.zoneOf(userId);
+        RollupGranularity granularity = period == MoodReportResponse.Period.WEEKLY
+                ? RollupGranularity.WEEK
+                : RollupGranularity.MONTH;
+        LocalDate startDate = granularity.bucketStart(date != null ? date : LocalDate.now(zone));
+        LocalDate endDate = granularity.next(startDate).minusDays(1);
+
+        RollupService.MoodBucket bucket = rollupService.getMoodBucket(userId, granularity, startDate)
+                .orElseGet(() -> aggregatePeriod(userId, zone, startDate, granularity.next(startDate)));
+        UserMoodAggregate baseline = load(userId);
+
+        Map<MoodType, Long> histogram = bucket.moodCounts();
+        MoodType dominantMood = bucket.diaryCount() == 0 ? null : histogram.entrySet().stream()
+                .max(Map.Entry.comparingByValue())
+                .map(Map.Entry::getKey)
+                .orElse(null);
+        Double average = bucket.intensityCount() > 0
+                ? (double) bucket.intensitySum() / bucket.intensityCount() : null;
+        Double baselineAverage = baseline.getAverageIntensity();
+
+        Map<MoodType, Double> baselineShare = new EnumMap<>(MoodType.class);
+        baseline.moodHistogram().forEach((mood, count) -> baselineShare.put(mood,
+                baseline.getTotalCount() > 0 ? (double) count / baseline.getTotalCount() : 0.0));
+
+        return MoodReportResponse.builder()
+                .period(period)
+                .startDate(startDate)
+                .endDate(endDate)
+                .totalDiaries(bucket.diaryCount())
+                .moodCounts(histogram)
+                .dominantMood(dominantMood)
+                .averageIntensity(average)
+                .baselineAverageIntensity(baselineAverage)
+                .intensityChange(average != null && baselineAverage != null ? average - baselineAverage : null)
+                .baselineMoodShare(baselineShare)
+                .currentStreak(baseline.currentStreakAsOf(LocalDate.now(zone)))
+                .longestStreak(baseline.getLongestStreak())
+                .build();
+    }
+
+    /**
+     * 저장된 집계. 아직 없으면(첫 일기 저장 전, 재구성 전) 일기 테이블에서 계산만 하고 저장하지 않는다.
+     */
+    private UserMoodAggregate load(Long userId) {
+        return aggregateRepository.findByUserId(userId).orElseGet(() -> {
+            UserMoodAggregate aggregate = new UserMoodAggregate();
+            aggregate.setUserId(userId);
+            fill(aggregate, userId);
+            return aggregate;
+        });
+    }
+
+    /**
+     * 구간 집계가 아직 없는 사용자의 기간 값. 사용자 시간대의 [from, to) 를 서버 시간대 일시로 바꿔 group by 한다.
+     */
+    private RollupService.MoodBucket aggregatePeriod(Long userId, ZoneId zone, LocalDate from, LocalDate to) {
+        UserMoodAggregate period = new UserMoodAggregate();
+        applyRows(period, moodDiaryRepository.aggregateMoodsByUserIdAndDiaryDate(
+                userId, toServerTime(from, zone), toServerTime(to, zone)));
+        return new RollupService.MoodBucket(period.getTotalCount(), period.getIntensitySum(),
+                period.getIntensityCount(), period.moodHistogram());
+    }
+
+    /**
+     * 잠근 집계 행. 없어서 새로 만들었다면 이번 변경까지 이미 반영되어 있으므로 null.
+     */
+    private UserMoodAggregate lockOrRebuild(Long userId) {
+        UserMoodAggregate aggregate = aggregateRepository.findByUserIdForUpdate(userId).orElse(null);
+        if (aggregate == null) {
+            rebuild(userId);
+        }
+        return aggregate;
+    }
+
+    private void fill(UserMoodAggregate aggregate, Long userId) {
+        aggregate.setTotalCount(0);
+        aggregate.setIntensitySum(0);
+        aggregate.setIntensityCount(0);
+        aggregate.getMoods().clear();
+        applyRows(aggregate, moodDiaryRepository.aggregateMoodsByUserId(userId));
+        recomputeStreaks(aggregate, rollupService.zoneOf(userId));
+    }
+
+    private void recomputeStreaks(UserMoodAggregate aggregate, ZoneId zone) {
+        List<LocalDate> entryDates = moodDiaryRepository.findDiaryDatesByUserId(aggregate.getUserId()).stream()
+                .map(diaryDate -> RollupService.toUserDate(diaryDate, zone))
+                .distinct()
+                .sorted(Comparator.reverseOrder())
+                .toList();
+        aggregate.resetStreaks(entryDates);
+    }
+
+    // DB 의 일시는 서버 시간대 기준이다
+    private static LocalDateTime toServerTime(LocalDate date, ZoneId zone) {
+        return date.atStartOfDay(zone).withZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+    }
+
+    // (mood, count, intensitySum, intensityCount)
+    private static void applyRows(UserMoodAggregate aggregate, List<Object[]> rows) {
+        for (Object[] row : rows) {
+            MoodCounter counter = new MoodCounter(((Number) row[1]).longValue(),
+                    ((Number) row[2]).longValue(), ((Number) row[3]).longValue());
+            aggregate.getMoods().put((MoodType) row[0], counter);
+            aggregate.setTotalCount(aggregate.getTotalCount() + counter.getEntryCount());
+            aggregate.setIntensitySum(aggregate.getIntensitySum() + counter.getIntensitySum());
+            aggregate.setIntensityCount(aggregate.getIntensityCount() + counter.getIntensityCount());
+        }
+    }
+
+    private static Map<MoodType, Double> averageIntensityByMood(Map<MoodType, MoodCounter> moods) {
+        Map<MoodType, Double> averages = new EnumMap<>(MoodType.class);
+        for (MoodType mood : MoodType.values()) {
+            MoodCounter counter = moods.get(mood);
+            averages.put(mood, counter != null ? counter.getAverageIntensity() : null);
+        }
+        return averages;
+    }
+
+    private static String fingerprint(UserMoodAggregate aggregate) {
+        return aggregate.getTotalCount() + "|" + aggregate.getIntensitySum() + "|" + aggregate.getIntensityCount()
+                + "|" + aggregate.moodHistogram() + "|" + aggregate.getLastEntryDate()
+                + "|" + aggregate.getCurrentStreak() + "|" + aggregate.getLongestStreak();
+    }
+}
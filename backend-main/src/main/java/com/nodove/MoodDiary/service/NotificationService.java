@@ -1,19 +1,25 @@
 package com.nodove.MoodDiary.service;
 
+import com.nodove.MoodDiary.dto.CursorPage;
 import com.nodove.MoodDiary.dto.NotificationDTO;
 import com.nodove.MoodDiary.dto.NotificationSettingsDTO;
+import com.nodove.MoodDiary.dto.PageCursor;
 import com.nodove.MoodDiary.entity.FCMToken;
 import com.nodove.MoodDiary.entity.Notification;
 import com.nodove.MoodDiary.entity.NotificationSettings;
 import com.nodove.MoodDiary.entity.User;
+import com.nodove.MoodDiary.notification.NotificationCreatedEvent;
+import com.nodove.MoodDiary.notification.NotificationDispatcher;
+import com.nodove.MoodDiary.notification.SseNotificationChannel;
 import com.nodove.MoodDiary.repository.FCMTokenRepository;
 import com.nodove.MoodDiary.repository.NotificationRepository;
 import com.nodove.MoodDiary.repository.NotificationSettingsRepository;
 import com.nodove.MoodDiary.repository.UserRepository;
-import com.nodove.MoodDiary.websocket.NotificationWebSocketHandler;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -21,9 +27,7 @@ import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 @Service
@@ -31,30 +35,35 @@ import java.util.stream.Collectors;
 @Transactional
 public class NotificationService {
 
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+
     private final NotificationRepository notificationRepository;
     private final NotificationSettingsRepository notificationSettingsRepository;
     private final UserRepository userRepository;
-    private final NotificationWebSocketHandler webSocketHandler;
     private final FCMTokenRepository fcmTokenRepository;
     private final Optional<FCMService> fcmService;
+    private final SseNotificationChannel sseChannel;
+    private final ApplicationEventPublisher eventPublisher;
     
     public NotificationService(NotificationRepository notificationRepository,
                              NotificationSettingsRepository notificationSettingsRepository,
                              UserRepository userRepository,
-                             NotificationWebSocketHandler webSocketHandler,
                              FCMTokenRepository fcmTokenRepository,
-                             @Autowired(required = false) FCMService fcmService) {
+                             @Autowired(required = false) FCMService fcmService,
+                             SseNotificationChannel sseChannel,
+                             ApplicationEventPublisher eventPublisher) {
         this.notificationRepository = notificationRepository;
         this.notificationSettingsRepository = notificationSettingsRepository;
         this.userRepository = userRepository;
-        this.webSocketHandler = webSocketHandler;
         this.fcmTokenRepository = fcmTokenRepository;
         this.fcmService = Optional.ofNullable(fcmService);
+        this.sseChannel = sseChannel;
+        this.eventPublisher = eventPublisher;
     }
-    
-    // SSE 연결 관리
-    private final Map<String, SseEmitter> sseEmitters = new ConcurrentHashMap<>();
 
+    /**
+     * 알림을 저장한다. WebSocket/SSE/FCM 전송은 커밋 후 {@link NotificationDispatcher} 가 채널별 작업 스레드에서 한다.
+     */
     public void createNotification(String username, Notification.NotificationType type, 
                                  String title, String message, String actionUrl) {
         User user = userRepository.findByEmail(username)
@@ -70,13 +79,11 @@ public class NotificationService {
         
         notification = notificationRepository.save(notification);
         
-        // 실시간 알림 전송 (WebSocket & SSE & FCM)
-        NotificationDTO dto = NotificationDTO.fromEntity(notification);
-        webSocketHandler.sendNotificationToUser(username, dto);
-        sendSseNotificationToUser(username, dto);
-        sendFcmNotificationToUser(user, dto);
+        // 실시간 알림 전송 (WebSocket & SSE & FCM) 은 커밋 이후
+        eventPublisher.publishEvent(new NotificationCreatedEvent(user.getId(), username,
+                NotificationDTO.fromEntity(notification)));
         
-        log.info("Notification created and sent to user: {}", username);
+        log.info("Notification created and queued for user: {}", username);
     }
 
     public Page<NotificationDTO> getUserNotifications(String username, Pageable pageable) {
@@ -87,6 +94,24 @@ public class NotificationService {
         return notifications.map(NotificationDTO::fromEntity);
     }
 
+    /**
+     * 커서 기반 알림 목록 (최신순). 전체 개수를 세지 않으며 다음 페이지는 nextCursor 로 이어서 조회한다.
+     */
+    public CursorPage<NotificationDTO> getUserNotificationsByCursor(String username, String cursor, int size) {
+        PageCursor after = PageCursor.decode(cursor);
+        User user = userRepository.findByEmail(username)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        
+        int pageSize = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        List<Notification> notifications = after == null
+                ? notificationRepository.findFirstPageByUserId(user.getId(), limit)
+                : notificationRepository.findPageByUserIdAfter(user.getId(), after.timestamp(), after.id(), limit);
+        return CursorPage.of(notifications, pageSize,
+                notification -> new PageCursor(notification.getCreatedAt(), notification.getId()),
+                NotificationDTO::fromEntity);
+    }
+
     public List<NotificationDTO> getUnreadNotifications(String username) {
         User user = userRepository.findByEmail(username)
                 .orElseThrow(() -> new RuntimeException("User not found"));
@@ -184,76 +209,20 @@ public class NotificationService {
     }
 
     // SSE 관련 메서드들
-    public SseEmitter createSseConnection(String username) {
-        SseEmitter emitter = new SseEmitter(30 * 60 * 1000L); // 30분 타임아웃
-        
-        // 기존 연결이 있다면 제거
-        SseEmitter oldEmitter = sseEmitters.put(username, emitter);
-        if (oldEmitter != null) {
-            oldEmitter.complete();
-        }
-        
-        // 연결 종료 시 정리
-        emitter.onCompletion(() -> {
-            sseEmitters.remove(username);
-            log.info("SSE connection completed for user: {}", username);
-        });
-        
-        emitter.onTimeout(() -> {
-            sseEmitters.remove(username);
-            log.info("SSE connection timeout for user: {}", username);
-        });
-        
-        emitter.onError((ex) -> {
-            sseEmitters.remove(username);
-            log.error("SSE connection error for user: {}", username, ex);
-        });
-        
-        try {
-            // 연결 확인 메시지 전송
-            emitter.send(SseEmitter.event()
-                    .name("connect")
-                    .data("SSE connection established"));
-            log.info("SSE connection established for user: {}", username);
-        } catch (Exception e) {
-            log.error("Error sending SSE connect message for user: {}", username, e);
-            sseEmitters.remove(username);
-            emitter.completeWithError(e);
-        }
-        
-        return emitter;
+    public SseEmitter createSseConnection(Long userId, String username, String lastEventId) {
+        return sseChannel.connect(userId, username, parseEventId(lastEventId));
     }
     
-    private void sendSseNotificationToUser(String username, NotificationDTO notification) {
-        SseEmitter emitter = sseEmitters.get(username);
-        if (emitter != null) {
-            try {
-                emitter.send(SseEmitter.event()
-                        .name("notification")
-                        .data(notification));
-                log.info("SSE notification sent to user: {}", username);
-            } catch (Exception e) {
-                log.error("Error sending SSE notification to user: {}", username, e);
-                sseEmitters.remove(username);
-                emitter.completeWithError(e);
-            }
+    // Last-Event-ID 는 알림 id. 형식이 맞지 않으면 처음 연결로 본다
+    private Long parseEventId(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return null;
         }
-    }
-    
-    // FCM 관련 메서드들
-    private void sendFcmNotificationToUser(User user, NotificationDTO notification) {
         try {
-            if (fcmService.isPresent()) {
-                List<String> activeTokens = fcmTokenRepository.findActiveTokensByUser(user);
-                if (!activeTokens.isEmpty()) {
-                    fcmService.get().sendNotificationToTokens(activeTokens, notification);
-                    log.info("FCM notification sent to {} tokens for user: {}", activeTokens.size(), user.getEmail());
-                }
-            } else {
-                log.debug("FCM service not available, skipping FCM notification for user: {}", user.getEmail());
-            }
-        } catch (Exception e) {
-            log.error("Error sending FCM notification to user: {}", user.getEmail(), e);
+            return Long.parseLong(lastEventId.trim());
+        } catch (NumberFormatException e) {
+            log.debug("Ignoring malformed Last-Event-ID: {}", lastEventId);
+            return null;
         }
     }
     
@@ -1,17 +1,27 @@
 package com.nodove.MoodDiary.service;
 
+import com.theokanning.openai.completion.chat.ChatCompletionChoice;
+import com.theokanning.openai.completion.chat.ChatCompletionChunk;
 import com.theokanning.openai.completion.chat.ChatCompletionRequest;
 import com.theokanning.openai.completion.chat.ChatMessage;
 import com.theokanning.openai.completion.chat.ChatCompletionResult;
 import com.theokanning.openai.service.OpenAiService;
+import com.nodove.MoodDiary.ai.EmotionAnalysisCache;
+import com.nodove.MoodDiary.ai.LlmGuard;
 import com.nodove.MoodDiary.dto.EmotionAnalysisResult;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 @Service
 public class OpenAIService {
@@ -24,22 +34,65 @@ public class OpenAIService {
     @Value("${openai.model:gpt-3.5-turbo}")
     private String model;
     
+    // 배치 요청 한 번에 보낼 입력 토큰 추정치 상한과 항목 수 상한
+    @Value("${openai.batch.max-input-tokens:3000}")
+    private int batchMaxInputTokens;
+    
+    @Value("${openai.batch.max-items:20}")
+    private int batchMaxItems;
+    
+    private static final int BATCH_OUTPUT_TOKENS_PER_ITEM = 150;
+    private static final int BATCH_ITEM_OVERHEAD_TOKENS = 30;
+    
+    @Autowired
+    private EmotionAnalysisCache emotionAnalysisCache;
+    
+    @Autowired
+    private LlmGuard llmGuard;
+    
     private OpenAiService openAiService;
     private ObjectMapper objectMapper = new ObjectMapper();
 
     private OpenAiService getOpenAiService() {
         if (openAiService == null && openaiApiKey != null && !openaiApiKey.isEmpty()) {
-            openAiService = new OpenAiService(openaiApiKey, Duration.ofSeconds(30));
+            openAiService = new OpenAiService(openaiApiKey, llmGuard.clientTimeout());
         }
         return openAiService;
     }
 
+    public boolean isConfigured() {
+        return getOpenAiService() != null;
+    }
+
     public EmotionAnalysisResult enhanceEmotionAnalysis(String text, EmotionAnalysisResult basicResult) {
+        return enhanceEmotionAnalysis(text, basicResult, false);
+    }
+
+    public EmotionAnalysisResult enhanceEmotionAnalysis(String text, EmotionAnalysisResult basicResult, boolean bypassCache) {
         if (getOpenAiService() == null) {
             logger.warn("OpenAI service not available - using basic analysis only");
             return basicResult;
         }
         
+        if (emotionAnalysisCache.shouldBypass(bypassCache)) {
+            return requestEmotionAnalysis(text, basicResult);
+        }
+        
+        String cacheKey = emotionAnalysisCache.key(text, model, basicResult.getLexiconVersion());
+        Optional<EmotionAnalysisResult> cached = emotionAnalysisCache.get(cacheKey);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        
+        EmotionAnalysisResult enhanced = requestEmotionAnalysis(text, basicResult);
+        // 실패 시 돌려주는 기본 분석 결과는 캐시하지 않는다
+        if (Boolean.TRUE.equals(enhanced.getAiEnhanced())) {
+            emotionAnalysisCache.put(cacheKey, enhanced);
+        }
+        return enhanced;
+    }
+
+    private EmotionAnalysisResult requestEmotionAnalysis(String text, EmotionAnalysisResult basicResult) {
         try {
             String prompt = buildEmotionAnalysisPrompt(text, basicResult);
             
@@ -53,9 +106,10 @@ public class OpenAIService {
                     .maxTokens(500)
                     .build();
 
-            ChatCompletionResult result = openAiService.createChatCompletion(chatRequest);
+            ChatCompletionResult result = llmGuard.call("emotion", () -> openAiService.createChatCompletion(chatRequest))
+                    .orElse(null);
             
-            if (result.getChoices() != null && !result.getChoices().isEmpty()) {
+            if (result != null && result.getChoices() != null && !result.getChoices().isEmpty()) {
                 String aiResponse = result.getChoices().get(0).getMessage().getContent();
                 return parseAiEmotionResponse(aiResponse, basicResult);
             }
@@ -67,6 +121,161 @@ public class OpenAIService {
         return basicResult;
     }
 
+    /**
+     * 여러 텍스트의 감정 분석을 한 번의 요청으로 보강한다. 입력 토큰 추정치가 상한을 넘으면 여러 요청으로 나눈다.
+     * 응답에서 빠졌거나 해석할 수 없는 항목은 해당 basicResult 를 그대로 돌려준다.
+     */
+    public List<EmotionAnalysisResult> enhanceEmotionAnalysisBatch(List<String> texts, List<EmotionAnalysisResult> basicResults) {
+        if (texts.size() != basicResults.size()) {
+            throw new IllegalArgumentException("texts and basicResults must have the same size");
+        }
+        List<EmotionAnalysisResult> results = new ArrayList<>(basicResults);
+        if (getOpenAiService() == null) {
+            logger.warn("OpenAI service not available - using basic analysis only");
+            return results;
+        }
+        
+        boolean useCache = !emotionAnalysisCache.shouldBypass(false);
+        String[] cacheKeys = new String[texts.size()];
+        List<Integer> pending = new ArrayList<>();
+        for (int i = 0; i < texts.size(); i++) {
+            if (useCache) {
+                cacheKeys[i] = emotionAnalysisCache.key(texts.get(i), model, basicResults.get(i).getLexiconVersion());
+                Optional<EmotionAnalysisResult> cached = emotionAnalysisCache.get(cacheKeys[i]);
+                if (cached.isPresent()) {
+                    results.set(i, cached.get());
+                    continue;
+                }
+            }
+            pending.add(i);
+        }
+        
+        for (List<Integer> chunk : splitByTokenBudget(texts, pending)) {
+            Map<Integer, EmotionAnalysisResult> enhanced = requestEmotionAnalysisBatch(texts, basicResults, chunk);
+            enhanced.forEach((index, result) -> {
+                results.set(index, result);
+                if (useCache) {
+                    emotionAnalysisCache.put(cacheKeys[index], result);
+                }
+            });
+        }
+        return results;
+    }
+
+    private List<List<Integer>> splitByTokenBudget(List<String> texts, List<Integer> indexes) {
+        List<List<Integer>> chunks = new ArrayList<>();
+        List<Integer> current = new ArrayList<>();
+        int currentTokens = 0;
+        for (Integer index : indexes) {
+            int tokens = estimateTokens(texts.get(index)) + BATCH_ITEM_OVERHEAD_TOKENS;
+            if (!current.isEmpty() && (currentTokens + tokens > batchMaxInputTokens || current.size() >= batchMaxItems)) {
+                chunks.add(current);
+                current = new ArrayList<>();
+                currentTokens = 0;
+            }
+            // 예산보다 큰 단일 항목도 혼자서는 보낸다
+            current.add(index);
+            currentTokens += tokens;
+        }
+        if (!current.isEmpty()) {
+            chunks.add(current);
+        }
+        return chunks;
+    }
+
+    // 한글은 음절당 1~2 토큰이 들어가므로 보수적으로 추정한다
+    private static int estimateTokens(String text) {
+        return text == null ? 0 : (int) Math.ceil(text.length() * 1.5);
+    }
+
+    private Map<Integer, EmotionAnalysisResult> requestEmotionAnalysisBatch(List<String> texts,
+                                                                           List<EmotionAnalysisResult> basicResults,
+                                                                           List<Integer> chunk) {
+        Map<Integer, EmotionAnalysisResult> enhanced = new HashMap<>();
+        try {
+            ArrayNode items = objectMapper.createArrayNode();
+            for (Integer index : chunk) {
+                EmotionAnalysisResult basic = basicResults.get(index);
+                items.addObject()
+                        .put("id", index)
+                        .put("text", texts.get(index))
+                        .put("emotionScore", basic.getEmotionScore())
+                        .put("dominantEmotion", basic.getDominantEmotion())
+                        .put("confidence", basic.getConfidence());
+            }
+            
+            ChatCompletionRequest chatRequest = ChatCompletionRequest.builder()
+                    .model(model)
+                    .messages(Arrays.asList(
+                        new ChatMessage("system", "You are an expert emotion analyst specializing in Korean text and financial psychology."),
+                        new ChatMessage("user", buildBatchEmotionAnalysisPrompt(objectMapper.writeValueAsString(items)))
+                    ))
+                    .temperature(0.3)
+                    .maxTokens(BATCH_OUTPUT_TOKENS_PER_ITEM * chunk.size())
+                    .build();
+
+            ChatCompletionResult result = llmGuard.call("emotion-batch", chunk.size(),
+                    () -> openAiService.createChatCompletion(chatRequest)).orElse(null);
+            if (result == null || result.getChoices() == null || result.getChoices().isEmpty()) {
+                return enhanced;
+            }
+            
+            JsonNode response = objectMapper.readTree(stripCodeFence(result.getChoices().get(0).getMessage().getContent()));
+            if (!response.isArray()) {
+                logger.warn("OpenAI batch response is not a JSON array - using basic analysis for {} items", chunk.size());
+                return enhanced;
+            }
+            for (JsonNode item : response) {
+                int index = item.path("id").asInt(-1);
+                if (!chunk.contains(index) || enhanced.containsKey(index)) {
+                    continue;
+                }
+                try {
+                    Map<String, Object> aiData = objectMapper.convertValue(item, Map.class);
+                    enhanced.put(index, toEnhancedResult(aiData, basicResults.get(index)));
+                } catch (Exception e) {
+                    logger.debug("Skipping unparseable batch item {}", index, e);
+                }
+            }
+            if (enhanced.size() < chunk.size()) {
+                logger.warn("OpenAI batch response covered {}/{} items - using basic analysis for the rest",
+                        enhanced.size(), chunk.size());
+            }
+            
+        } catch (Exception e) {
+            logger.error("Error calling OpenAI API for batch emotion analysis", e);
+        }
+        return enhanced;
+    }
+
+    private String buildBatchEmotionAnalysisPrompt(String itemsJson) {
+        return "다음 한국어 텍스트들의 감정을 각각 분석해주세요. 각 항목에는 기본 분석 결과가 포함되어 있습니다.\n\n" +
+            "입력:\n" + itemsJson + "\n\n" +
+            "입력과 같은 id 를 사용해 다음 형식의 JSON 배열만 응답해주세요:\n" +
+            "[\n" +
+            "  {\n" +
+            "    \"id\": number,\n" +
+            "    \"enhancedEmotionScore\": number,\n" +
+            "    \"enhancedDominantEmotion\": string,\n" +
+            "    \"contextualInsights\": string,\n" +
+            "    \"emotionalTriggers\": [string],\n" +
+            "    \"improvementConfidence\": number\n" +
+            "  }\n" +
+            "]";
+    }
+
+    private static String stripCodeFence(String content) {
+        String trimmed = content.strip();
+        if (trimmed.startsWith("```")) {
+            int start = trimmed.indexOf('\n');
+            int end = trimmed.lastIndexOf("```");
+            if (start >= 0 && end > start) {
+                return trimmed.substring(start + 1, end);
+            }
+        }
+        return trimmed;
+    }
+
     public List<String> generatePersonalizedRecommendations(String userProfile, double emotionScore, String financialContext) {
         if (getOpenAiService() == null) {
             return getDefaultRecommendations(emotionScore);
@@ -85,9 +294,10 @@ public class OpenAIService {
                     .maxTokens(800)
                     .build();
 
-            ChatCompletionResult result = openAiService.createChatCompletion(chatRequest);
+            ChatCompletionResult result = llmGuard.call("recommendations", () -> openAiService.createChatCompletion(chatRequest))
+                    .orElse(null);
             
-            if (result.getChoices() != null && !result.getChoices().isEmpty()) {
+            if (result != null && result.getChoices() != null && !result.getChoices().isEmpty()) {
                 String aiResponse = result.getChoices().get(0).getMessage().getContent();
                 return parseRecommendations(aiResponse);
             }
@@ -99,6 +309,68 @@ public class OpenAIService {
         return getDefaultRecommendations(emotionScore);
     }
 
+    /**
+     * 추천 문구를 스트리밍으로 생성한다. 응답 조각을 줄 단위로 모아 한 줄이 완성될 때마다
+     * onRecommendation 에 넘기고, maxItems 개를 넘겼거나 onRecommendation 이 false 를 돌려주면 스트림을 끊는다.
+     * 넘긴 추천 수를 반환하며, 서킷이 열려 있거나 실패하면 그때까지 넘긴 수만 반환한다.
+     */
+    public int streamPersonalizedRecommendations(String userProfile, double emotionScore, String financialContext,
+                                                 int maxItems, Predicate<String> onRecommendation) {
+        if (getOpenAiService() == null) {
+            return 0;
+        }
+        
+        ChatCompletionRequest chatRequest = ChatCompletionRequest.builder()
+                .model(model)
+                .messages(Arrays.asList(
+                    new ChatMessage("system", "You are a personal financial wellness advisor specializing in emotional spending patterns."),
+                    new ChatMessage("user", buildRecommendationPrompt(userProfile, emotionScore, financialContext))
+                ))
+                .temperature(0.7)
+                .maxTokens(800)
+                .stream(true)
+                .build();
+        
+        AtomicInteger emitted = new AtomicInteger();
+        AtomicBoolean stopped = new AtomicBoolean();
+        StringBuilder pending = new StringBuilder();
+        Consumer<String> emitLine = line -> {
+            String recommendation = parseRecommendationLine(line);
+            if (recommendation != null && !stopped.get()
+                    && (!onRecommendation.test(recommendation) || emitted.incrementAndGet() >= maxItems)) {
+                stopped.set(true);
+            }
+        };
+        
+        llmGuard.stream("recommendations-stream", progress -> {
+            // takeUntil 로 멈추면 업스트림 구독이 취소되어 남은 토큰은 받지 않는다
+            openAiService.streamChatCompletion(chatRequest)
+                    .takeUntil((ChatCompletionChunk chunk) -> stopped.get())
+                    .blockingForEach(chunk -> {
+                        progress.run();
+                        for (ChatCompletionChoice choice : chunk.getChoices()) {
+                            String delta = choice.getMessage() != null ? choice.getMessage().getContent() : null;
+                            if (delta == null) {
+                                continue;
+                            }
+                            pending.append(delta);
+                            int newline;
+                            while ((newline = pending.indexOf("\n")) >= 0 && !stopped.get()) {
+                                emitLine.accept(pending.substring(0, newline));
+                                pending.delete(0, newline + 1);
+                            }
+                        }
+                    });
+            if (pending.length() > 0) {
+                emitLine.accept(pending.toString());
+            }
+            return Boolean.TRUE;
+        });
+        // 타임아웃으로 포기한 스트림이 뒤늦게 넘기는 줄은 버린다
+        stopped.set(true);
+        return emitted.get();
+    }
+
     private String buildEmotionAnalysisPrompt(String text, EmotionAnalysisResult basicResult) {
         return String.format(
             "다음 한국어 텍스트의 감정을 분석해주세요:\n\n" +
@@ -138,17 +410,7 @@ public class OpenAIService {
     private EmotionAnalysisResult parseAiEmotionResponse(String aiResponse, EmotionAnalysisResult basicResult) {
         try {
             Map<String, Object> aiData = objectMapper.readValue(aiResponse, Map.class);
-            
-            return EmotionAnalysisResult.builder()
-                    .emotionScore((Double) aiData.getOrDefault("enhancedEmotionScore", basicResult.getEmotionScore()))
-                    .dominantEmotion((String) aiData.getOrDefault("enhancedDominantEmotion", basicResult.getDominantEmotion()))
-                    .confidence(basicResult.getConfidence())
-                    .emotionBreakdown(basicResult.getEmotionBreakdown())
-                    .financialEmotionScore(basicResult.getFinancialEmotionScore())
-                    .aiEnhanced(true)
-                    .analysisDetails((String) aiData.getOrDefault("contextualInsights", basicResult.getAnalysisDetails()))
-                    .emotionalTriggers((List<String>) aiData.getOrDefault("emotionalTriggers", new ArrayList<>()))
-                    .build();
+            return toEnhancedResult(aiData, basicResult);
                     
         } catch (Exception e) {
             logger.error("Error parsing AI emotion response", e);
@@ -156,25 +418,49 @@ public class OpenAIService {
         }
     }
 
+    private EmotionAnalysisResult toEnhancedResult(Map<String, Object> aiData, EmotionAnalysisResult basicResult) {
+        Object score = aiData.get("enhancedEmotionScore");
+        return EmotionAnalysisResult.builder()
+                .emotionScore(score instanceof Number number ? number.doubleValue() : basicResult.getEmotionScore())
+                .dominantEmotion((String) aiData.getOrDefault("enhancedDominantEmotion", basicResult.getDominantEmotion()))
+                .confidence(basicResult.getConfidence())
+                .emotionBreakdown(basicResult.getEmotionBreakdown())
+                .financialEmotionScore(basicResult.getFinancialEmotionScore())
+                .aiEnhanced(true)
+                .analysisDetails((String) aiData.getOrDefault("contextualInsights", basicResult.getAnalysisDetails()))
+                .emotionalTriggers((List<String>) aiData.getOrDefault("emotionalTriggers", new ArrayList<>()))
+                .lexiconVersion(basicResult.getLexiconVersion())
+                .build();
+    }
+
     private List<String> parseRecommendations(String aiResponse) {
         List<String> recommendations = new ArrayList<>();
         
         String[] lines = aiResponse.split("\n");
         for (String line : lines) {
-            line = line.trim();
-            if (!line.isEmpty() && 
-                (line.startsWith("-") || line.startsWith("•") || line.matches("\\d+\\..*"))) {
-                String cleanLine = line.replaceAll("^[-•]\\s*|^\\d+\\.\\s*", "").trim();
-                if (!cleanLine.isEmpty()) {
-                    recommendations.add(cleanLine);
-                }
+            String recommendation = parseRecommendationLine(line);
+            if (recommendation != null) {
+                recommendations.add(recommendation);
             }
         }
         
         return recommendations.isEmpty() ? getDefaultRecommendations(0.0) : recommendations;
     }
 
-    private List<String> getDefaultRecommendations(double emotionScore) {
+    /** 목록 항목("-", "•", "1.")으로 시작하는 줄이면 기호를 뗀 추천 문구, 아니면 null */
+    private static String parseRecommendationLine(String rawLine) {
+        String line = rawLine.trim();
+        if (!line.isEmpty() && 
+            (line.startsWith("-") || line.startsWith("•") || line.matches("\\d+\\..*"))) {
+            String cleanLine = line.replaceAll("^[-•]\\s*|^\\d+\\.\\s*", "").trim();
+            if (!cleanLine.isEmpty()) {
+                return cleanLine;
+            }
+        }
+        return null;
+    }
+
+    List<String> getDefaultRecommendations(double emotionScore) {
         List<String> defaultRecommendations = new ArrayList<>();
         
         if (emotionScore > 1.0) {
@@ -9,12 +9,15 @@ import org.springframework.stereotype.Service;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import java.util.*;
+import java.util.function.Predicate;
 
 @Service
 public class RecommendationService {
     
     private static final Logger logger = LoggerFactory.getLogger(RecommendationService.class);
     
+    private static final int MAX_AI_RECOMMENDATIONS = 4;
+    
     @Autowired
     private OpenAIService openAIService;
 
@@ -52,6 +55,39 @@ public class RecommendationService {
         }
     }
 
+    /**
+     * 규칙 기반 추천을 우선순위 순으로 먼저 넘기고, AI 추천은 생성되는 대로 한 건씩 넘긴다.
+     * sink 가 false 를 돌려주면(클라이언트 연결 종료 등) 더 이상 넘기지 않는다.
+     * AI 추천을 하나도 받지 못하면 기본 조언으로 채운다.
+     */
+    public void streamRecommendations(User user, EmotionAnalysisResult emotionResult, FinancialCorrelationResult financialResult,
+                                      Predicate<PersonalizedRecommendation> sink) {
+        List<PersonalizedRecommendation> ruleBased = new ArrayList<>();
+        ruleBased.addAll(generateEmotionBasedRecommendations(emotionResult));
+        ruleBased.addAll(generateFinancialRecommendations(financialResult));
+        ruleBased.sort(Comparator.comparing(PersonalizedRecommendation::getPriority).reversed());
+        for (PersonalizedRecommendation recommendation : ruleBased) {
+            if (!sink.test(recommendation)) {
+                return;
+            }
+        }
+        
+        int streamed = openAIService.streamPersonalizedRecommendations(
+            buildUserProfile(user),
+            emotionResult.getEmotionScore(),
+            financialResult.getSpendingTrend(),
+            MAX_AI_RECOMMENDATIONS,
+            text -> sink.test(toAiRecommendation(text, true))
+        );
+        if (streamed == 0) {
+            for (String text : openAIService.getDefaultRecommendations(emotionResult.getEmotionScore())) {
+                if (!sink.test(toAiRecommendation(text, true))) {
+                    return;
+                }
+            }
+        }
+    }
+
     private List<PersonalizedRecommendation> generateEmotionBasedRecommendations(EmotionAnalysisResult emotionResult) {
         List<PersonalizedRecommendation> recommendations = new ArrayList<>();
         
@@ -171,23 +207,24 @@ public class RecommendationService {
     private List<PersonalizedRecommendation> convertToPersonalizedRecommendations(List<String> aiRecommendations, boolean aiGenerated) {
         List<PersonalizedRecommendation> recommendations = new ArrayList<>();
         
-        for (int i = 0; i < aiRecommendations.size() && i < 4; i++) {
-            String recommendation = aiRecommendations.get(i);
-            recommendations.add(
-                PersonalizedRecommendation.builder()
-                    .category("AI추천")
-                    .title("개인화된 조언")
-                    .description(recommendation)
-                    .actionType("SUGGESTION")
-                    .priority(3)
-                    .aiGenerated(aiGenerated)
-                    .build()
-            );
+        for (int i = 0; i < aiRecommendations.size() && i < MAX_AI_RECOMMENDATIONS; i++) {
+            recommendations.add(toAiRecommendation(aiRecommendations.get(i), aiGenerated));
         }
         
         return recommendations;
     }
 
+    private PersonalizedRecommendation toAiRecommendation(String recommendation, boolean aiGenerated) {
+        return PersonalizedRecommendation.builder()
+                .category("AI추천")
+                .title("개인화된 조언")
+                .description(recommendation)
+                .actionType("SUGGESTION")
+                .priority(3)
+                .aiGenerated(aiGenerated)
+                .build();
+    }
+
     private List<PersonalizedRecommendation> getDefaultRecommendations() {
         return Arrays.asList(
             PersonalizedRecommendation.builder()
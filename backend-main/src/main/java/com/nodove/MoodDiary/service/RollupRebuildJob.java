@@ -0,0 +1,56 @@
+package com.nodove.MoodDiary.service;
+
+import com.nodove.MoodDiary.config.RollupProperties;
+import com.nodove.MoodDiary.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 구간 집계를 원본 테이블에서 다시 만든다. 앱의 저장 경로를 거치지 않고 들어온 거래도 여기서 반영된다.
+ * 사용자마다 별도 트랜잭션으로 처리한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RollupRebuildJob {
+
+    private final RollupProperties properties;
+    private final RollupService rollupService;
+    private final UserRepository userRepository;
+
+    @Scheduled(cron = "${stats.rollup.rebuild-cron:0 0 5 * * *}")
+    public void rebuildAll() {
+        if (!properties.isRebuildEnabled()) {
+            return;
+        }
+        long started = System.currentTimeMillis();
+        int users = 0;
+        int failed = 0;
+        Long afterUserId = 0L;
+
+        while (true) {
+            List<Long> userIds = userRepository.findIdsAfter(afterUserId, PageRequest.of(0, properties.getRebuildBatchSize()));
+            for (Long userId : userIds) {
+                try {
+                    rollupService.rebuild(userId);
+                } catch (Exception e) {
+                    failed++;
+                    log.warn("Rollup rebuild failed for user {}: {}", userId, e.getMessage());
+                }
+                users++;
+            }
+            if (userIds.size() < properties.getRebuildBatchSize()) {
+                break;
+            }
+            afterUserId = userIds.get(userIds.size() - 1);
+        }
+
+        log.info("Rollup rebuild finished: users={}, failed={}, took={}ms",
+                users, failed, System.currentTimeMillis() - started);
+    }
+}
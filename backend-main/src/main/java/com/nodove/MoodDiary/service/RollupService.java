@@ -0,0 +1,404 @@
+package com.nodove.MoodDiary.service;
+
+import com.nodove.MoodDiary.config.RollupProperties;
+import com.nodove.MoodDiary.dto.RollupSeriesResponse;
+import com.nodove.MoodDiary.entity.MoodDiary;
+import com.nodove.MoodDiary.entity.RollupBreakdown;
+import com.nodove.MoodDiary.entity.RollupBucket;
+import com.nodove.MoodDiary.entity.Transaction;
+import com.nodove.MoodDiary.enums.MoodType;
+import com.nodove.MoodDiary.enums.RollupGranularity;
+import com.nodove.MoodDiary.repository.MoodDiaryRepository;
+import com.nodove.MoodDiary.repository.RollupBreakdownRepository;
+import com.nodove.MoodDiary.repository.RollupBucketRepository;
+import com.nodove.MoodDiary.repository.TransactionRepository;
+import com.nodove.MoodDiary.repository.UserRepository;
+import com.nodove.MoodDiary.repository.UserSettingsRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * 사용자 시간대 기준 일/주/월 구간 집계({@link RollupBucket}, {@link RollupBreakdown}).
+ * <p>
+ * 일기/거래가 바뀌면 같은 트랜잭션에서 해당 구간들에 증감을 upsert 한다. 아직 구간이 하나도 없는 사용자는
+ * 처음 쓸 때 원본 테이블에서 한 번 만들고, 시간대가 바뀌면 전부 다시 만든다.
+ * DB 의 일시는 서버 시간대로 저장되어 있으므로 사용자 시간대로 바꾼 날짜로 구간을 정한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class RollupService {
+
+    private static final String UNCATEGORIZED = "UNCATEGORIZED";
+    private static final int MAX_CATEGORY_LENGTH = 100;
+
+    private final RollupProperties properties;
+    private final RollupBucketRepository bucketRepository;
+    private final RollupBreakdownRepository breakdownRepository;
+    private final MoodDiaryRepository moodDiaryRepository;
+    private final TransactionRepository transactionRepository;
+    private final UserSettingsRepository userSettingsRepository;
+    private final UserRepository userRepository;
+
+    /**
+     * 집계에 영향을 주는 거래 값. 수정 전 값을 담아 두었다가 {@link #onTransactionSaved} 에 넘긴다.
+     */
+    public record TransactionState(String type, BigDecimal amount, String category, LocalDateTime transactionDate) {
+
+        public static TransactionState of(Transaction transaction) {
+            return new TransactionState(transaction.getType(), transaction.getAmount(),
+                    transaction.getCategory(), transaction.getTransactionDate());
+        }
+    }
+
+    /**
+     * 한 구간의 일기 수, 강도 합/수, 기분별 일기 수 (없는 기분은 0).
+     */
+    public record MoodBucket(long diaryCount, long intensitySum, long intensityCount, Map<MoodType, Long> moodCounts) {
+    }
+
+    /**
+     * 한 건의 증감. 구간 값과 세부 분포(기분 또는 카테고리) 하나를 함께 담는다.
+     */
+    private record Change(LocalDateTime at, long diaryCount, long intensitySum, long intensityCount,
+                          BigDecimal expenseSum, long expenseCount, BigDecimal incomeSum, long incomeCount,
+                          RollupBreakdown.Dimension dimension, String dimensionKey, long entryCount, BigDecimal amount) {
+
+        static Change diary(LocalDateTime diaryDate, MoodType mood, Integer intensity, int sign) {
+            if (diaryDate == null || mood == null) {
+                return null;
+            }
+            return new Change(diaryDate, sign, intensity != null ? (long) sign * intensity : 0,
+                    intensity != null ? sign : 0, BigDecimal.ZERO, 0, BigDecimal.ZERO, 0,
+                    RollupBreakdown.Dimension.MOOD, mood.name(), sign, BigDecimal.ZERO);
+        }
+
+        // 이체는 지출/수입 어느 쪽에도 넣지 않는다
+        static Change transaction(LocalDateTime transactionDate, String type, BigDecimal amount, String category, int sign) {
+            if (transactionDate == null || amount == null) {
+                return null;
+            }
+            BigDecimal signed = sign < 0 ? amount.negate() : amount;
+            if ("EXPENSE".equals(type)) {
+                return new Change(transactionDate, 0, 0, 0, signed, sign, BigDecimal.ZERO, 0,
+                        RollupBreakdown.Dimension.CATEGORY, categoryKey(category), sign, signed);
+            }
+            if ("INCOME".equals(type)) {
+                return new Change(transactionDate, 0, 0, 0, BigDecimal.ZERO, 0, signed, sign,
+                        null, null, 0, BigDecimal.ZERO);
+            }
+            return null;
+        }
+    }
+
+    @Transactional
+    public void onDiaryCreated(MoodDiary diary) {
+        Long userId = diary.getUser().getId();
+        if (prepare(userId)) {
+            apply(userId, zoneOf(userId), List.of(
+                    Change.diary(diary.getDiaryDate(), diary.getMood(), diary.getMoodIntensity(), 1)));
+        }
+    }
+
+    @Transactional
+    public void onDiaryUpdated(MoodStatsService.DiaryMoodState before, MoodDiary diary) {
+        MoodStatsService.DiaryMoodState after = MoodStatsService.DiaryMoodState.of(diary);
+        Long userId = diary.getUser().getId();
+        if (before.equals(after) || !prepare(userId)) {
+            return;
+        }
+        apply(userId, zoneOf(userId), List.of(
+                Change.diary(before.diaryDate(), before.mood(), before.intensity(), -1),
+                Change.diary(after.diaryDate(), after.mood(), after.intensity(), 1)));
+    }
+
+    @Transactional
+    public void onDiaryDeleted(MoodDiary diary) {
+        Long userId = diary.getUser().getId();
+        if (prepare(userId)) {
+            apply(userId, zoneOf(userId), List.of(
+                    Change.diary(diary.getDiaryDate(), diary.getMood(), diary.getMoodIntensity(), -1)));
+        }
+    }
+
+    /**
+     * 거래 저장 후 호출한다. 새 거래면 before 는 null.
+     */
+    @Transactional
+    public void onTransactionSaved(TransactionState before, Transaction transaction) {
+        TransactionState after = TransactionState.of(transaction);
+        Long userId = transaction.getUser().getId();
+        if (after.equals(before) || !prepare(userId)) {
+            return;
+        }
+        List<Change> changes = new ArrayList<>(2);
+        if (before != null) {
+            changes.add(Change.transaction(before.transactionDate(), before.type(), before.amount(), before.category(), -1));
+        }
+        changes.add(Change.transaction(after.transactionDate(), after.type(), after.amount(), after.category(), 1));
+        apply(userId, zoneOf(userId), changes);
+    }
+
+    @Transactional
+    public void onTransactionDeleted(Transaction transaction) {
+        Long userId = transaction.getUser().getId();
+        if (prepare(userId)) {
+            apply(userId, zoneOf(userId), List.of(Change.transaction(transaction.getTransactionDate(),
+                    transaction.getType(), transaction.getAmount(), transaction.getCategory(), -1)));
+        }
+    }
+
+    /**
+     * 사용자의 구간 집계를 원본 테이블에서 다시 만든다. 시간대가 바뀌었거나 집계가 어긋났을 때 쓴다.
+     */
+    @Transactional
+    public void rebuild(Long userId) {
+        // 같은 사용자의 재구성이 겹쳐 두 번 더해지지 않도록 한다
+        if (userRepository.findByIdForUpdate(userId).isEmpty()) {
+            return;
+        }
+        bucketRepository.deleteByUserId(userId);
+        breakdownRepository.deleteByUserId(userId);
+
+        ZoneId zone = zoneOf(userId);
+        Map<String, RollupBucket> buckets = new HashMap<>();
+        Map<String, RollupBreakdown> breakdowns = new HashMap<>();
+        for (Object[] row : moodDiaryRepository.findRollupRowsByUserId(userId)) {
+            accumulate(userId, zone, Change.diary((LocalDateTime) row[0], (MoodType) row[1], (Integer) row[2], 1),
+                    buckets, breakdowns);
+        }
+        for (Object[] row : transactionRepository.findRollupRowsByUserId(userId)) {
+            accumulate(userId, zone, Change.transaction((LocalDateTime) row[0], (String) row[1], (BigDecimal) row[2],
+                    (String) row[3], 1), buckets, breakdowns);
+        }
+
+        bucketRepository.saveAll(buckets.values());
+        breakdownRepository.saveAll(breakdowns.values());
+        log.debug("Rebuilt rollups for user {}: {} buckets, {} breakdowns ({})",
+                userId, buckets.size(), breakdowns.size(), zone);
+    }
+
+    /**
+     * from ~ to 가 걸친 구간들의 시계열. 비어 있으면 최근 구간들을 돌려준다.
+     */
+    public RollupSeriesResponse getSeries(Long userId, RollupGranularity granularity, LocalDate from, LocalDate to) {
+        ZoneId zone = zoneOf(userId);
+        LocalDate end = granularity.bucketStart(to != null ? to : LocalDate.now(zone));
+        LocalDate start = granularity.bucketStart(from != null ? from : defaultFrom(granularity, end));
+        if (start.isAfter(end)) {
+            throw new IllegalArgumentException("조회 시작일이 종료일보다 늦습니다.");
+        }
+
+        Map<LocalDate, Integer> index = new LinkedHashMap<>();
+        for (LocalDate bucket = start; !bucket.isAfter(end); bucket = granularity.next(bucket)) {
+            if (index.size() >= properties.getMaxBuckets()) {
+                throw new IllegalArgumentException("조회 구간이 너무 깁니다. 최대 " + properties.getMaxBuckets() + "개 구간까지 조회할 수 있습니다.");
+            }
+            index.put(bucket, index.size());
+        }
+        int size = index.size();
+
+        long[] diaryCounts = new long[size];
+        Double[] averageIntensity = new Double[size];
+        BigDecimal[] expense = zeros(size);
+        BigDecimal[] income = zeros(size);
+        for (RollupBucket bucket : bucketRepository.findByUserIdAndGranularityAndBucketStartBetweenOrderByBucketStart(
+                userId, granularity, start, end)) {
+            int i = index.get(bucket.getBucketStart());
+            diaryCounts[i] = bucket.getDiaryCount();
+            averageIntensity[i] = bucket.getIntensityCount() > 0
+                    ? (double) bucket.getIntensitySum() / bucket.getIntensityCount() : null;
+            expense[i] = bucket.getExpenseSum();
+            income[i] = bucket.getIncomeSum();
+        }
+
+        Map<MoodType, long[]> moodCounts = new EnumMap<>(MoodType.class);
+        for (MoodType mood : MoodType.values()) {
+            moodCounts.put(mood, new long[size]);
+        }
+        Map<String, BigDecimal[]> categorySpend = new HashMap<>();
+        for (RollupBreakdown breakdown : breakdownRepository.findByUserIdAndGranularityAndBucketStartBetween(
+                userId, granularity, start, end)) {
+            int i = index.get(breakdown.getBucketStart());
+            if (breakdown.getDimension() == RollupBreakdown.Dimension.MOOD) {
+                moodCounts.get(MoodType.valueOf(breakdown.getDimensionKey()))[i] = breakdown.getEntryCount();
+            } else if (breakdown.getEntryCount() > 0) {
+                categorySpend.computeIfAbsent(breakdown.getDimensionKey(), key -> zeros(size))[i] = breakdown.getAmount();
+            }
+        }
+
+        return RollupSeriesResponse.builder()
+                .granularity(granularity)
+                .timezone(zone.getId())
+                .bucketStarts(new ArrayList<>(index.keySet()))
+                .diaryCounts(diaryCounts)
+                .averageIntensity(averageIntensity)
+                .moodCounts(moodCounts)
+                .expense(expense)
+                .income(income)
+                .categorySpend(categorySpend)
+                .build();
+    }
+
+    /**
+     * 한 구간의 일기 값. 구간 집계가 아직 없는 사용자면 empty (첫 쓰기나 재구성 전).
+     */
+    public Optional<MoodBucket> getMoodBucket(Long userId, RollupGranularity granularity, LocalDate bucketStart) {
+        if (!bucketRepository.existsByUserId(userId)) {
+            return Optional.empty();
+        }
+        Map<MoodType, Long> moodCounts = new EnumMap<>(MoodType.class);
+        for (MoodType mood : MoodType.values()) {
+            moodCounts.put(mood, 0L);
+        }
+        for (RollupBreakdown breakdown : breakdownRepository.findByUserIdAndGranularityAndBucketStartBetween(
+                userId, granularity, bucketStart, bucketStart)) {
+            if (breakdown.getDimension() == RollupBreakdown.Dimension.MOOD) {
+                moodCounts.put(MoodType.valueOf(breakdown.getDimensionKey()), breakdown.getEntryCount());
+            }
+        }
+        return Optional.of(bucketRepository.findByUserIdAndGranularityAndBucketStartBetweenOrderByBucketStart(
+                        userId, granularity, bucketStart, bucketStart).stream()
+                .findFirst()
+                .map(bucket -> new MoodBucket(bucket.getDiaryCount(), bucket.getIntensitySum(),
+                        bucket.getIntensityCount(), moodCounts))
+                .orElseGet(() -> new MoodBucket(0, 0, 0, moodCounts)));
+    }
+
+    /**
+     * 구간 집계가 있는 사용자면 true. 없으면 지금 만들며, 이때는 이번 변경까지 이미 반영된다.
+     * <p>
+     * 첫 쓰기가 동시에 일어나면 둘 다 "구간 없음" 을 볼 수 있다. 그래서 사용자 행을 잠근 뒤 잠금 읽기로 다시 확인한다.
+     * REPEATABLE READ 의 일반 읽기는 트랜잭션 스냅샷을 보므로, 먼저 커밋한 쪽이 만든 구간을 놓치고 다시 만들면서
+     * 그쪽 일기를 지울 수 있다.
+     */
+    private boolean prepare(Long userId) {
+        // 한 번 생긴 구간은 재구성 때 같은 트랜잭션 안에서만 지웠다 다시 만들므로, 스냅샷에 있으면 그대로 믿는다
+        if (bucketRepository.existsByUserId(userId)) {
+            return true;
+        }
+        if (userRepository.findByIdForUpdate(userId).isEmpty()) {
+            return false;
+        }
+        if (!bucketRepository.findAnyIdByUserIdForUpdate(userId).isEmpty()) {
+            return true;
+        }
+        rebuild(userId);
+        return false;
+    }
+
+    private void apply(Long userId, ZoneId zone, List<Change> changes) {
+        for (Change change : changes) {
+            if (change == null) {
+                continue;
+            }
+            LocalDate date = toUserDate(change.at(), zone);
+            for (RollupGranularity granularity : RollupGranularity.values()) {
+                LocalDate bucketStart = granularity.bucketStart(date);
+                bucketRepository.upsert(userId, granularity.name(), bucketStart,
+                        change.diaryCount(), change.intensitySum(), change.intensityCount(),
+                        change.expenseSum(), change.expenseCount(), change.incomeSum(), change.incomeCount());
+                if (change.dimension() != null) {
+                    breakdownRepository.upsert(userId, granularity.name(), bucketStart,
+                            change.dimension().name(), change.dimensionKey(), change.entryCount(), change.amount());
+                }
+            }
+        }
+    }
+
+    private static void accumulate(Long userId, ZoneId zone, Change change,
+                                   Map<String, RollupBucket> buckets, Map<String, RollupBreakdown> breakdowns) {
+        if (change == null) {
+            return;
+        }
+        LocalDate date = toUserDate(change.at(), zone);
+        for (RollupGranularity granularity : RollupGranularity.values()) {
+            LocalDate bucketStart = granularity.bucketStart(date);
+            RollupBucket bucket = buckets.computeIfAbsent(granularity + "|" + bucketStart, key -> RollupBucket.builder()
+                    .userId(userId)
+                    .granularity(granularity)
+                    .bucketStart(bucketStart)
+                    .build());
+            bucket.setDiaryCount(bucket.getDiaryCount() + change.diaryCount());
+            bucket.setIntensitySum(bucket.getIntensitySum() + change.intensitySum());
+            bucket.setIntensityCount(bucket.getIntensityCount() + change.intensityCount());
+            bucket.setExpenseSum(bucket.getExpenseSum().add(change.expenseSum()));
+            bucket.setExpenseCount(bucket.getExpenseCount() + change.expenseCount());
+            bucket.setIncomeSum(bucket.getIncomeSum().add(change.incomeSum()));
+            bucket.setIncomeCount(bucket.getIncomeCount() + change.incomeCount());
+
+            if (change.dimension() != null) {
+                RollupBreakdown breakdown = breakdowns.computeIfAbsent(
+                        granularity + "|" + bucketStart + "|" + change.dimension() + "|" + change.dimensionKey(),
+                        key -> RollupBreakdown.builder()
+                                .userId(userId)
+                                .granularity(granularity)
+                                .bucketStart(bucketStart)
+                                .dimension(change.dimension())
+                                .dimensionKey(change.dimensionKey())
+                                .build());
+                breakdown.setEntryCount(breakdown.getEntryCount() + change.entryCount());
+                breakdown.setAmount(breakdown.getAmount().add(change.amount()));
+            }
+        }
+    }
+
+    /**
+     * 사용자 설정의 시간대. 없거나 잘못되었으면 기본 시간대.
+     */
+    public ZoneId zoneOf(Long userId) {
+        String timezone = userSettingsRepository.findTimezoneByUserId(userId)
+                .orElse(properties.getDefaultTimezone());
+        try {
+            return ZoneId.of(Objects.requireNonNullElse(timezone, properties.getDefaultTimezone()));
+        } catch (DateTimeException e) {
+            log.warn("Invalid timezone '{}' for user {}, using {}", timezone, userId, properties.getDefaultTimezone());
+            return ZoneId.of(properties.getDefaultTimezone());
+        }
+    }
+
+    // DB 의 일시는 서버 시간대 기준이다
+    static LocalDate toUserDate(LocalDateTime dateTime, ZoneId zone) {
+        return dateTime.atZone(ZoneId.systemDefault()).withZoneSameInstant(zone).toLocalDate();
+    }
+
+    private static String categoryKey(String category) {
+        if (category == null || category.isBlank()) {
+            return UNCATEGORIZED;
+        }
+        String key = category.trim();
+        return key.length() > MAX_CATEGORY_LENGTH ? key.substring(0, MAX_CATEGORY_LENGTH) : key;
+    }
+
+    private static LocalDate defaultFrom(RollupGranularity granularity, LocalDate end) {
+        return switch (granularity) {
+            case DAY -> end.minusDays(29);
+            case WEEK -> end.minusWeeks(11);
+            case MONTH -> end.minusMonths(11);
+        };
+    }
+
+    private static BigDecimal[] zeros(int size) {
+        BigDecimal[] values = new BigDecimal[size];
+        Arrays.fill(values, BigDecimal.ZERO);
+        return values;
+    }
+}
@@ -0,0 +1,33 @@
+package com.nodove.MoodDiary.service;
+
+import com.nodove.MoodDiary.repository.TransactionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * transactionDate 가 비어 있는 기존 거래를 생성 시각으로 채운다.
+ * <p>
+ * 거래 커서 목록은 (transactionDate, id) 로 정렬하고 자르므로 NULL 인 행은 어느 페이지에도 나오지 않고,
+ * {@link com.nodove.MoodDiary.dto.PageCursor} 로 나타낼 수도 없다. 새 행은 엔티티가 채우므로 시작할 때 한 번이면 된다.
+ * ddl-auto: update 는 기존 컬럼을 NOT NULL 로 바꾸지 않으므로, 운영 DB 는 이 작업 뒤에 제약을 직접 건다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TransactionDateBackfill {
+
+    private final TransactionRepository transactionRepository;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfill() {
+        int updated = transactionRepository.backfillTransactionDates();
+        if (updated > 0) {
+            log.info("Backfilled transactionDate from createdAt for {} transaction(s)", updated);
+        }
+    }
+}
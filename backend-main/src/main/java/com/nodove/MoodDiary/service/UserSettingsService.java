@@ -9,11 +9,14 @@ import com.nodove.MoodDiary.entity.UserSettings;
 import com.nodove.MoodDiary.exception.ResourceNotFoundException;
 import com.nodove.MoodDiary.repository.UserRepository;
 import com.nodove.MoodDiary.repository.UserSettingsRepository;
+import com.nodove.MoodDiary.security.PrincipalChangedEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Objects;
 import java.util.Optional;
 
 @Slf4j
@@ -24,6 +27,9 @@ public class UserSettingsService {
     
     private final UserSettingsRepository userSettingsRepository;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final RollupService rollupService;
+    private final MoodStatsService moodStatsService;
     
     // 기존 메서드 유지
     public UserSettingsResponse getUserSettings(Long userId) {
@@ -83,9 +89,11 @@ public class UserSettingsService {
      */
     public com.nodove.MoodDiary.dto.response.UserSettingsResponse updateExtendedUserSettings(Long userId, UserSettingsUpdateRequest request) {
         UserSettings settings = getUserSettingsEntity(userId);
+        String previousTimezone = settings.getTimezone();
         updateSettingsFromRequest(settings, request);
         
         UserSettings savedSettings = userSettingsRepository.save(settings);
+        rebuildRollupsIfTimezoneChanged(userId, previousTimezone, savedSettings);
         log.info("사용자 설정 업데이트 완료: userId={}", userId);
         
         return convertToExtendedResponse(savedSettings);
@@ -101,6 +109,8 @@ public class UserSettingsService {
         // 닉네임 업데이트
         user.setNickname(request.getNickname());
         userRepository.save(user);
+        // 인증 정보에 담긴 표시 이름도 바뀌어야 한다
+        eventPublisher.publishEvent(new PrincipalChangedEvent(userId));
         
         // 설정 생성 또는 업데이트
         UserSettings settings = userSettingsRepository.findByUserId(userId)
@@ -151,6 +161,7 @@ public class UserSettingsService {
         // 기본값으로 초기화 (온보딩 상태는 유지)
         boolean onboardingCompleted = settings.getOnboardingCompleted();
         var onboardingCompletedAt = settings.getOnboardingCompletedAt();
+        String previousTimezone = settings.getTimezone();
         
         UserSettings newSettings = UserSettings.builder()
             .user(settings.getUser())
@@ -160,11 +171,20 @@ public class UserSettingsService {
         
         newSettings.setId(settings.getId());
         UserSettings savedSettings = userSettingsRepository.save(newSettings);
+        rebuildRollupsIfTimezoneChanged(userId, previousTimezone, savedSettings);
         
         log.info("사용자 설정 초기화 완료: userId={}", userId);
         return convertToExtendedResponse(savedSettings);
     }
     
+    // 구간 집계와 연속 작성일은 사용자 시간대 기준 날짜로 정해지므로 시간대가 바뀌면 다시 만든다
+    private void rebuildRollupsIfTimezoneChanged(Long userId, String previousTimezone, UserSettings settings) {
+        if (!Objects.equals(previousTimezone, settings.getTimezone())) {
+            rollupService.rebuild(userId);
+            moodStatsService.rebuild(userId);
+        }
+    }
+    
     private UserSettings getUserSettingsEntity(Long userId) {
         return userSettingsRepository.findByUserId(userId)
             .orElseThrow(() -> new ResourceNotFoundException("사용자 설정을 찾을 수 없습니다: " + userId));
@@ -0,0 +1,74 @@
+package com.nodove.MoodDiary.tag;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.nodove.MoodDiary.config.DiaryTagProperties;
+import com.nodove.MoodDiary.repository.UserTagRepository;
+import com.nodove.MoodDiary.search.DiaryChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+/**
+ * 사용자별 태그 자동완성 트라이 보관소.
+ * <p>
+ * 트라이는 사용자가 처음 자동완성을 요청할 때 user_tags 에서 만든다. 일기 변경이 커밋되면 그 사용자의 트라이를 버리고
+ * 다음 요청 때 다시 만든다. 다른 인스턴스의 변경은 refreshInterval 안에 반영된다.
+ */
+@Slf4j
+@Component
+public class TagAutocompleteIndex {
+
+    private final DiaryTagProperties properties;
+    private final UserTagRepository userTagRepository;
+    private final Cache<Long, TagTrie> tries;
+
+    public TagAutocompleteIndex(DiaryTagProperties properties,
+                                UserTagRepository userTagRepository,
+                                MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.userTagRepository = userTagRepository;
+        this.tries = Caffeine.newBuilder()
+                .maximumSize(properties.getAutocompleteMaxUsers())
+                .expireAfterAccess(properties.getAutocompleteIdleTtl())
+                .expireAfterWrite(properties.getAutocompleteRefreshInterval())
+                .build();
+        meterRegistry.gauge("diary.tag.autocomplete.users", tries, cache -> cache.estimatedSize());
+    }
+
+    /**
+     * prefix 로 시작하는 사용자의 태그를 사용 횟수 순으로. prefix 는 태그와 같은 규칙으로 정규화한다.
+     */
+    public List<TagUsage> suggest(Long userId, String prefix, int limit) {
+        String normalized = TagNormalizer.normalize(prefix);
+        if (normalized == null) {
+            return List.of();
+        }
+        TagTrie trie = tries.get(userId, this::load);
+        return trie.suggest(normalized, Math.min(limit, properties.getMaxSuggestions()));
+    }
+
+    public void invalidate(Long userId) {
+        tries.invalidate(userId);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onDiaryChanged(DiaryChangedEvent event) {
+        invalidate(event.userId());
+    }
+
+    private TagTrie load(Long userId) {
+        long start = System.nanoTime();
+        TagTrie trie = new TagTrie();
+        for (Object[] row : userTagRepository.findNamesAndCountsByUserId(userId)) {
+            trie.add((String) row[0], ((Number) row[1]).longValue());
+        }
+        log.debug("Built tag autocomplete trie for user {} - {} tags in {} ms",
+                userId, trie.size(), (System.nanoTime() - start) / 1_000_000);
+        return trie;
+    }
+}
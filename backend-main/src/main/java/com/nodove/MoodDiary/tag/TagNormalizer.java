@@ -0,0 +1,51 @@
+package com.nodove.MoodDiary.tag;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 태그 사전과 태그 검색에 쓰는 정규화. 앞의 '#' 과 양끝 공백을 없애고, 연속 공백을 하나로 줄이고, 소문자로 바꾼다.
+ */
+public final class TagNormalizer {
+
+    public static final int MAX_LENGTH = 100;
+
+    private TagNormalizer() {
+    }
+
+    /**
+     * 정규화한 태그. 비어 있으면 null.
+     */
+    public static String normalize(String tag) {
+        if (tag == null) {
+            return null;
+        }
+        String normalized = tag.strip();
+        while (normalized.startsWith("#")) {
+            normalized = normalized.substring(1).strip();
+        }
+        normalized = normalized.replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+        if (normalized.isEmpty()) {
+            return null;
+        }
+        return normalized.length() > MAX_LENGTH ? normalized.substring(0, MAX_LENGTH) : normalized;
+    }
+
+    /**
+     * 일기 한 편의 태그를 정규화한다. 같은 태그는 한 번만 남는다.
+     */
+    public static Set<String> normalizeAll(Collection<String> tags) {
+        Set<String> normalized = new LinkedHashSet<>();
+        if (tags != null) {
+            for (String tag : tags) {
+                String value = normalize(tag);
+                if (value != null) {
+                    normalized.add(value);
+                }
+            }
+        }
+        return normalized;
+    }
+}
@@ -0,0 +1,67 @@
+package com.nodove.MoodDiary.tag;
+
+import java.util.ArrayList;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 한 사용자의 태그 접두어 트라이. 만든 뒤에는 읽기만 하므로 여러 스레드가 함께 조회해도 된다.
+ */
+final class TagTrie {
+
+    private static final Comparator<TagUsage> BY_USAGE =
+            Comparator.comparingLong(TagUsage::usageCount).reversed().thenComparing(TagUsage::tag);
+
+    private static final class Node {
+        private final Map<Character, Node> children = new HashMap<>();
+        private TagUsage terminal;
+    }
+
+    private final Node root = new Node();
+    private int size;
+
+    void add(String tag, long usageCount) {
+        Node node = root;
+        for (int i = 0; i < tag.length(); i++) {
+            node = node.children.computeIfAbsent(tag.charAt(i), key -> new Node());
+        }
+        if (node.terminal == null) {
+            size++;
+        }
+        node.terminal = new TagUsage(tag, usageCount);
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * prefix 로 시작하는 태그를 사용 횟수가 많은 순으로 최대 limit 개.
+     */
+    List<TagUsage> suggest(String prefix, int limit) {
+        Node node = root;
+        for (int i = 0; i < prefix.length() && node != null; i++) {
+            node = node.children.get(prefix.charAt(i));
+        }
+        if (node == null || limit <= 0) {
+            return List.of();
+        }
+
+        List<TagUsage> matches = new ArrayList<>();
+        Deque<Node> stack = new ArrayDeque<>();
+        stack.push(node);
+        while (!stack.isEmpty()) {
+            Node current = stack.pop();
+            if (current.terminal != null) {
+                matches.add(current.terminal);
+            }
+            current.children.values().forEach(stack::push);
+        }
+        matches.sort(BY_USAGE);
+        return matches.size() > limit ? List.copyOf(matches.subList(0, limit)) : matches;
+    }
+}
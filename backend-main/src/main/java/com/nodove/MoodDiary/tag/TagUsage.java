@@ -0,0 +1,7 @@
+package com.nodove.MoodDiary.tag;
+
+/**
+ * 태그와 그 태그가 달린 일기 수. 자동완성 후보와 태그 구름에 쓴다.
+ */
+public record TagUsage(String tag, long usageCount) {
+}
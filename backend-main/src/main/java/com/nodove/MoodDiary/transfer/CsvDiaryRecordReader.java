@@ -0,0 +1,174 @@
+package com.nodove.MoodDiary.transfer;
+
+import com.nodove.MoodDiary.enums.MoodType;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * RFC 4180 CSV. 첫 행은 열 이름이며 열 순서는 자유롭다. title, mood 열은 반드시 있어야 한다.
+ * 따옴표로 감싼 칸은 쉼표와 줄바꿈을 담을 수 있다.
+ */
+class CsvDiaryRecordReader implements DiaryRecordReader {
+
+    /** 닫히지 않은 따옴표가 파일 끝까지 이어질 때 메모리를 다 쓰지 않도록 한 행의 크기를 제한한다 */
+    private static final int MAX_RECORD_CHARS = 64 * 1024;
+
+    private final BufferedReader reader;
+    private Map<String, Integer> header;
+    private long lineNumber = 1;
+    private long recordLine;
+
+    CsvDiaryRecordReader(BufferedReader reader) {
+        this.reader = reader;
+    }
+
+    @Override
+    public DiaryRecord next() throws IOException {
+        if (header == null) {
+            readHeader();
+        }
+        List<String> fields;
+        do {
+            fields = readFields();
+            if (fields == null) {
+                return null;
+            }
+        } while (fields.size() == 1 && fields.get(0).isBlank());
+
+        try {
+            return new DiaryRecord(
+                    field(fields, "title"),
+                    field(fields, "content"),
+                    parseMood(field(fields, "mood")),
+                    parseInteger(field(fields, "moodIntensity")),
+                    DiaryCsv.splitTags(field(fields, "tags")),
+                    field(fields, "weather"),
+                    field(fields, "location"),
+                    parseBoolean(field(fields, "isPrivate")),
+                    DiaryCsv.parseDateTime(field(fields, "diaryDate")),
+                    DiaryCsv.parseDateTime(field(fields, "createdAt")));
+        } catch (IllegalArgumentException e) {
+            throw new MalformedDiaryRecordException(recordLine, e.getMessage());
+        }
+    }
+
+    @Override
+    public long line() {
+        return recordLine;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private void readHeader() throws IOException {
+        List<String> names = readFields();
+        if (names == null) {
+            throw new IllegalArgumentException("CSV 파일이 비어 있습니다.");
+        }
+        header = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            header.put(names.get(i).strip(), i);
+        }
+        if (!header.containsKey("title") || !header.containsKey("mood")) {
+            throw new IllegalArgumentException("CSV 첫 행에 title, mood 열이 필요합니다. 사용할 수 있는 열: " + DiaryCsv.COLUMNS);
+        }
+    }
+
+    private String field(List<String> fields, String name) {
+        Integer index = header.get(name);
+        if (index == null || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index);
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * 한 행의 칸들. 파일 끝이면 null.
+     */
+    private List<String> readFields() throws IOException {
+        recordLine = lineNumber;
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean any = false;
+        int length = 0;
+
+        int c;
+        while ((c = reader.read()) != -1) {
+            any = true;
+            if (++length > MAX_RECORD_CHARS) {
+                throw new IllegalArgumentException(recordLine + "번째 줄: CSV 행이 너무 깁니다. 닫히지 않은 따옴표가 있는지 확인해주세요.");
+            }
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    if (reader.read() == '"') {
+                        field.append('"');
+                    } else {
+                        reader.reset();
+                        quoted = false;
+                    }
+                } else {
+                    if (c == '\n') {
+                        lineNumber++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                lineNumber++;
+                break;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+        }
+
+        if (!any) {
+            return null;
+        }
+        if (quoted) {
+            throw new IllegalArgumentException(recordLine + "번째 줄: 따옴표가 닫히지 않았습니다.");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static MoodType parseMood(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return MoodType.valueOf(value.strip().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("알 수 없는 기분입니다: " + value);
+        }
+    }
+
+    private static Integer parseInteger(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(value.strip());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("숫자 형식이 잘못되었습니다: " + value);
+        }
+    }
+
+    private static Boolean parseBoolean(String value) {
+        return value == null || value.isBlank() ? null : Boolean.valueOf(value.strip());
+    }
+}
@@ -0,0 +1,41 @@
+package com.nodove.MoodDiary.transfer;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * {@link DiaryCsv#COLUMNS} 순서로 쓴다. 첫 행은 열 이름이다.
+ */
+class CsvDiaryRecordWriter implements DiaryRecordWriter {
+
+    private final Writer writer;
+
+    CsvDiaryRecordWriter(Writer writer) throws IOException {
+        this.writer = writer;
+        writer.write(String.join(",", DiaryCsv.COLUMNS));
+        writer.write("\r\n");
+    }
+
+    @Override
+    public void write(DiaryRecord record) throws IOException {
+        List<String> tags = record.tags() != null ? record.tags() : List.of();
+        writer.write(String.join(",",
+                DiaryCsv.quote(record.title()),
+                DiaryCsv.quote(record.content()),
+                record.mood() != null ? record.mood().name() : "",
+                record.moodIntensity() != null ? record.moodIntensity().toString() : "",
+                DiaryCsv.quote(String.join(DiaryCsv.TAG_SEPARATOR, tags)),
+                DiaryCsv.quote(record.weather()),
+                DiaryCsv.quote(record.location()),
+                record.isPrivate() != null ? record.isPrivate().toString() : "",
+                record.diaryDate() != null ? record.diaryDate().toString() : "",
+                record.createdAt() != null ? record.createdAt().toString() : ""));
+        writer.write("\r\n");
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+}
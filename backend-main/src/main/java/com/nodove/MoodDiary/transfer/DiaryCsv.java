@@ -0,0 +1,58 @@
+package com.nodove.MoodDiary.transfer;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * CSV 파일의 열 구성과 값 변환. 태그는 한 칸에 '|' 로 이어 쓴다.
+ */
+final class DiaryCsv {
+
+    static final List<String> COLUMNS = List.of(
+            "title", "content", "mood", "moodIntensity", "tags",
+            "weather", "location", "isPrivate", "diaryDate", "createdAt");
+
+    static final String TAG_SEPARATOR = "|";
+
+    private DiaryCsv() {
+    }
+
+    static List<String> splitTags(String value) {
+        List<String> tags = new ArrayList<>();
+        if (value != null) {
+            for (String tag : value.split("\\" + TAG_SEPARATOR)) {
+                if (!tag.isBlank()) {
+                    tags.add(tag.strip());
+                }
+            }
+        }
+        return tags;
+    }
+
+    /**
+     * ISO 날짜-시각 또는 날짜만 (그날 0시). 비어 있으면 null.
+     */
+    static LocalDateTime parseDateTime(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        String trimmed = value.strip();
+        try {
+            return trimmed.length() <= 10 ? LocalDate.parse(trimmed).atStartOfDay() : LocalDateTime.parse(trimmed);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("날짜 형식이 잘못되었습니다: " + value);
+        }
+    }
+
+    static String quote(String value) {
+        if (value == null) {
+            return "";
+        }
+        boolean needsQuote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        return needsQuote ? '"' + value.replace("\"", "\"\"") + '"' : value;
+    }
+}
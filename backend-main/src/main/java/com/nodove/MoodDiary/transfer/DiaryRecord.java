@@ -0,0 +1,21 @@
+package com.nodove.MoodDiary.transfer;
+
+import com.nodove.MoodDiary.enums.MoodType;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 가져오기/내보내기 파일의 일기 한 편. 사용자와 AI 분석 결과는 담지 않는다.
+ */
+public record DiaryRecord(String title,
+                          String content,
+                          MoodType mood,
+                          Integer moodIntensity,
+                          List<String> tags,
+                          String weather,
+                          String location,
+                          Boolean isPrivate,
+                          LocalDateTime diaryDate,
+                          LocalDateTime createdAt) {
+}
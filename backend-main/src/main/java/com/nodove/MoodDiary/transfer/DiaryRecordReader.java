@@ -0,0 +1,39 @@
+package com.nodove.MoodDiary.transfer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 가져오기 파일을 한 편씩 읽는다. 파일 전체를 메모리에 올리지 않는다.
+ */
+public interface DiaryRecordReader extends Closeable {
+
+    /**
+     * 다음 일기. 파일 끝이면 null. 행 형식이 잘못되었으면 {@link MalformedDiaryRecordException} 이며 다음 호출은 그다음 행부터 읽는다.
+     */
+    DiaryRecord next() throws IOException;
+
+    /**
+     * 마지막으로 읽은 일기가 시작된 줄 번호 (1부터).
+     */
+    long line();
+
+    static DiaryRecordReader open(DiaryTransferFormat format, InputStream in, ObjectMapper objectMapper) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        // 엑셀 등이 붙이는 BOM 은 건너뛴다
+        reader.mark(1);
+        if (reader.read() != '\uFEFF') {
+            reader.reset();
+        }
+        return switch (format) {
+            case NDJSON -> new NdjsonDiaryRecordReader(reader, objectMapper);
+            case CSV -> new CsvDiaryRecordReader(reader);
+        };
+    }
+}
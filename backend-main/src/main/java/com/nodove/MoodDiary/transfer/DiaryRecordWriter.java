@@ -0,0 +1,26 @@
+package com.nodove.MoodDiary.transfer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedWriter;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 내보내기 파일을 한 편씩 쓴다. 출력 스트림은 닫지 않는다.
+ */
+public interface DiaryRecordWriter extends Flushable {
+
+    void write(DiaryRecord record) throws IOException;
+
+    static DiaryRecordWriter open(DiaryTransferFormat format, OutputStream out, ObjectMapper objectMapper) throws IOException {
+        BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        return switch (format) {
+            case NDJSON -> new NdjsonDiaryRecordWriter(writer, objectMapper);
+            case CSV -> new CsvDiaryRecordWriter(writer);
+        };
+    }
+}
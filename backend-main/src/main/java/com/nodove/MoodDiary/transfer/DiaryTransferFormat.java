@@ -0,0 +1,42 @@
+package com.nodove.MoodDiary.transfer;
+
+import java.util.Locale;
+
+/**
+ * 일기 가져오기/내보내기 파일 형식.
+ */
+public enum DiaryTransferFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String extension;
+
+    DiaryTransferFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * "ndjson", "csv" 같은 이름 또는 Content-Type 으로 형식을 찾는다.
+     */
+    public static DiaryTransferFormat from(String value) {
+        if (value != null) {
+            String normalized = value.toLowerCase(Locale.ROOT);
+            for (DiaryTransferFormat format : values()) {
+                if (normalized.equals(format.extension) || normalized.startsWith(format.contentType)) {
+                    return format;
+                }
+            }
+        }
+        throw new IllegalArgumentException("지원하지 않는 형식입니다: " + value + " (ndjson, csv)");
+    }
+}
@@ -0,0 +1,18 @@
+package com.nodove.MoodDiary.transfer;
+
+/**
+ * 가져오기 파일의 한 행을 읽지 못했을 때 발생한다. 다음 행부터 계속 읽을 수 있다.
+ */
+public class MalformedDiaryRecordException extends RuntimeException {
+
+    private final long line;
+
+    public MalformedDiaryRecordException(long line, String message) {
+        super(message);
+        this.line = line;
+    }
+
+    public long getLine() {
+        return line;
+    }
+}
@@ -0,0 +1,53 @@
+package com.nodove.MoodDiary.transfer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+/**
+ * 한 줄에 JSON 객체 하나. 빈 줄은 건너뛴다.
+ */
+class NdjsonDiaryRecordReader implements DiaryRecordReader {
+
+    private final BufferedReader reader;
+    private final ObjectReader recordReader;
+    private long lineNumber;
+    private long recordLine;
+
+    NdjsonDiaryRecordReader(BufferedReader reader, ObjectMapper objectMapper) {
+        this.reader = reader;
+        this.recordReader = objectMapper.readerFor(DiaryRecord.class);
+    }
+
+    @Override
+    public DiaryRecord next() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+            lineNumber++;
+        } while (line.isBlank());
+
+        recordLine = lineNumber;
+        try {
+            return recordReader.readValue(line);
+        } catch (JsonProcessingException e) {
+            throw new MalformedDiaryRecordException(recordLine, e.getOriginalMessage());
+        }
+    }
+
+    @Override
+    public long line() {
+        return recordLine;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
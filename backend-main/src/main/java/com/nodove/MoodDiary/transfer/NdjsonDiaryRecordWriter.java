@@ -0,0 +1,31 @@
+package com.nodove.MoodDiary.transfer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.Writer;
+
+class NdjsonDiaryRecordWriter implements DiaryRecordWriter {
+
+    private final Writer writer;
+    private final ObjectWriter recordWriter;
+
+    NdjsonDiaryRecordWriter(Writer writer, ObjectMapper objectMapper) {
+        this.writer = writer;
+        // 한 줄에 하나씩이므로 들여쓰기는 끈다
+        this.recordWriter = objectMapper.writerFor(DiaryRecord.class).without(SerializationFeature.INDENT_OUTPUT);
+    }
+
+    @Override
+    public void write(DiaryRecord record) throws IOException {
+        writer.write(recordWriter.writeValueAsString(record));
+        writer.write('\n');
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+}
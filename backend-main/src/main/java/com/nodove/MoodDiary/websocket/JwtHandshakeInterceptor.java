@@ -0,0 +1,50 @@
+package com.nodove.MoodDiary.websocket;
+
+import com.nodove.MoodDiary.security.JwtTokenProvider;
+import com.nodove.MoodDiary.security.ParsedToken;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.server.HandshakeInterceptor;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 핸드셰이크 때 ?token= 을 한 번만 검증하고 결과를 세션 속성에 넣는다. HTTP 요청과 같이 access 토큰만 받는다
+ * (refresh 토큰으로는 연결을 열 수 없다).
+ * 핸들러는 연결/종료 시 토큰을 다시 파싱하지 않고 {@link #PARSED_TOKEN_ATTRIBUTE} 를 읽는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class JwtHandshakeInterceptor implements HandshakeInterceptor {
+
+    public static final String PARSED_TOKEN_ATTRIBUTE = "parsedToken";
+
+    private final JwtTokenProvider tokenProvider;
+
+    @Override
+    public boolean beforeHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                                   WebSocketHandler wsHandler, Map<String, Object> attributes) {
+        String token = UriComponentsBuilder.fromUri(request.getURI()).build().getQueryParams().getFirst("token");
+        Optional<ParsedToken> parsed = token != null ? tokenProvider.parseAccessToken(token) : Optional.empty();
+        if (parsed.isEmpty() || parsed.get().email() == null) {
+            log.debug("Rejecting WebSocket handshake: invalid or missing token");
+            response.setStatusCode(HttpStatus.UNAUTHORIZED);
+            return false;
+        }
+        attributes.put(PARSED_TOKEN_ATTRIBUTE, parsed.get());
+        return true;
+    }
+
+    @Override
+    public void afterHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                               WebSocketHandler wsHandler, Exception exception) {
+    }
+}
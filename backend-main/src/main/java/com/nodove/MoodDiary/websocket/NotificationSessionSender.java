@@ -0,0 +1,193 @@
+package com.nodove.MoodDiary.websocket;
+
+import com.nodove.MoodDiary.config.NotificationDeliveryProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 알림 WebSocket 세션 하나의 전송 대기열.
+ * <p>
+ * 호출 스레드는 대기열에 넣고 바로 돌아오고, 실제 전송은 공용 전송 스레드가 세션마다 한 번에 하나씩 한다
+ * (WebSocketSession 은 동시에 보낼 수 없다). 대기열은 메시지 수와 바이트로 제한하며, 넘치면 overflowPolicy 를 따른다.
+ * 전송 하나가 sendTimeLimit 을 넘기고 있으면 느린 클라이언트로 보고 세션을 내보낸다({@link #isStalled(long)}).
+ */
+@Slf4j
+class NotificationSessionSender {
+
+    /** 세션을 내보낼 때 부르는 쪽 (목록에서 빼고 닫는다) */
+    interface Evictor {
+        void evict(NotificationSessionSender sender, CloseStatus status, String reason);
+    }
+
+    /** 대기열에 넣은 결과 */
+    enum Outcome { QUEUED, DROPPED, COALESCED, EVICTED }
+
+    private final WebSocketSession session;
+    private final Long userId;
+    private final NotificationDeliveryProperties.Session settings;
+    private final Executor sendExecutor;
+    private final Evictor evictor;
+
+    // queue, queuedBytes, coalesced 는 queue 로 잠근다
+    private final Deque<TextMessage> queue = new ArrayDeque<>();
+    private int queuedBytes;
+    private int coalesced;
+
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private volatile long sendStartedNanos;
+    private volatile boolean closed;
+
+    NotificationSessionSender(WebSocketSession session, Long userId,
+                              NotificationDeliveryProperties.Session settings,
+                              Executor sendExecutor, Evictor evictor) {
+        this.session = session;
+        this.userId = userId;
+        this.settings = settings;
+        this.sendExecutor = sendExecutor;
+        this.evictor = evictor;
+    }
+
+    WebSocketSession getSession() {
+        return session;
+    }
+
+    Long getUserId() {
+        return userId;
+    }
+
+    boolean isOpen() {
+        return !closed && session.isOpen();
+    }
+
+    /**
+     * 메시지를 대기열에 넣고 전송을 예약한다. 기다리지 않는다.
+     */
+    Outcome enqueue(TextMessage message) {
+        if (!isOpen()) {
+            return Outcome.DROPPED;
+        }
+        if (isStalled(System.nanoTime())) {
+            evictor.evict(this, CloseStatus.SESSION_NOT_RELIABLE, "send time limit exceeded");
+            return Outcome.EVICTED;
+        }
+
+        Outcome outcome = Outcome.QUEUED;
+        int length = message.getPayloadLength();
+        synchronized (queue) {
+            while (!queue.isEmpty() && overflows(length)) {
+                if (settings.getOverflowPolicy() == NotificationDeliveryProperties.OverflowPolicy.DISCONNECT) {
+                    outcome = Outcome.EVICTED;
+                    break;
+                }
+                TextMessage oldest = queue.pollFirst();
+                queuedBytes -= oldest.getPayloadLength();
+                if (settings.getOverflowPolicy() == NotificationDeliveryProperties.OverflowPolicy.COALESCE) {
+                    coalesced++;
+                    outcome = Outcome.COALESCED;
+                } else {
+                    outcome = Outcome.DROPPED;
+                }
+            }
+            if (outcome != Outcome.EVICTED) {
+                queue.addLast(message);
+                queuedBytes += length;
+            }
+        }
+
+        if (outcome == Outcome.EVICTED) {
+            evictor.evict(this, CloseStatus.SESSION_NOT_RELIABLE, "send buffer overflow");
+            return outcome;
+        }
+        schedule();
+        return outcome;
+    }
+
+    /**
+     * 대기 중인 메시지 수.
+     */
+    int queued() {
+        synchronized (queue) {
+            return queue.size() + (coalesced > 0 ? 1 : 0);
+        }
+    }
+
+    /**
+     * 보내는 중인 전송이 sendTimeLimit 을 넘겼는지.
+     */
+    boolean isStalled(long nowNanos) {
+        long started = sendStartedNanos;
+        return started != 0 && nowNanos - started > settings.getSendTimeLimit().toNanos();
+    }
+
+    void markClosed() {
+        closed = true;
+        synchronized (queue) {
+            queue.clear();
+            queuedBytes = 0;
+            coalesced = 0;
+        }
+    }
+
+    private boolean overflows(int length) {
+        return queue.size() >= settings.getSendQueueCapacity()
+                || queuedBytes + length > settings.getBufferSizeLimit();
+    }
+
+    private void schedule() {
+        if (closed || !scheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            sendExecutor.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            // 종료 중
+            scheduled.set(false);
+        }
+    }
+
+    private void drain() {
+        try {
+            TextMessage next;
+            while (!closed && (next = poll()) != null) {
+                sendStartedNanos = System.nanoTime();
+                session.sendMessage(next);
+                sendStartedNanos = 0;
+            }
+        } catch (Exception e) {
+            sendStartedNanos = 0;
+            scheduled.set(false);
+            log.debug("WebSocket send to user {} failed on session {}: {}", userId, session.getId(), e.getMessage());
+            evictor.evict(this, CloseStatus.SESSION_NOT_RELIABLE, "send failed");
+            return;
+        }
+        scheduled.set(false);
+        // 비우는 사이 들어온 메시지가 있으면 다시 예약한다
+        if (queued() > 0) {
+            schedule();
+        }
+    }
+
+    private TextMessage poll() {
+        synchronized (queue) {
+            if (coalesced > 0) {
+                // 밀려난 알림이 있었다는 표시를 먼저 보낸다. 클라이언트는 읽지 않은 알림을 다시 읽는다
+                TextMessage sync = new TextMessage("{\"type\":\"UNREAD_SYNC\",\"coalesced\":" + coalesced + "}");
+                coalesced = 0;
+                return sync;
+            }
+            TextMessage next = queue.pollFirst();
+            if (next != null) {
+                queuedBytes -= next.getPayloadLength();
+            }
+            return next;
+        }
+    }
+}
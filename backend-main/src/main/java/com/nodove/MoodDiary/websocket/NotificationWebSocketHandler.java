@@ -1,37 +1,110 @@
 package com.nodove.MoodDiary.websocket;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.nodove.MoodDiary.security.JwtUtil;
+import com.nodove.MoodDiary.config.NotificationDeliveryProperties;
+import com.nodove.MoodDiary.notification.NotificationPresence;
+import com.nodove.MoodDiary.notification.UserConnectionRegistry;
+import com.nodove.MoodDiary.security.ParsedToken;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 import org.springframework.web.socket.*;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * 알림 WebSocket. 사용자는 탭/기기마다 여러 세션을 가질 수 있으며 알림은 모든 세션으로 보낸다.
+ * <p>
+ * 세션마다 {@link NotificationSessionSender} 대기열을 두고 공용 전송 스레드가 보내므로, 알림을 보내는 스레드는
+ * 느린 클라이언트를 기다리지 않는다. 전송이 sendTimeLimit 을 넘기거나 (DISCONNECT 정책에서) 대기열이 넘친 세션은 닫는다.
+ * 종료 시에는 닫힌 그 세션만 뺀다.
+ */
 @Component
 @Slf4j
 public class NotificationWebSocketHandler implements WebSocketHandler {
 
-    private final JwtUtil jwtUtil;
+    /** 세션 속성: 이 세션의 전송 대기열 */
+    private static final String SENDER_ATTRIBUTE = "notificationSender";
+
     private final ObjectMapper objectMapper;
-    private final ConcurrentHashMap<String, WebSocketSession> userSessions = new ConcurrentHashMap<>();
+    private final NotificationPresence presence;
+    private final NotificationDeliveryProperties.Session settings;
+    private final UserConnectionRegistry<NotificationSessionSender> userSessions;
+    private final Set<NotificationSessionSender> senders = ConcurrentHashMap.newKeySet();
+    private final ExecutorService sendExecutor;
+    private final ScheduledExecutorService stallChecker;
+    // 멈춘 세션 닫기용. 닫기도 막힌 소켓에서 기다릴 수 있어 전송 스레드와 나누고, 닫을 때마다 가상 스레드를 쓴다
+    private final ExecutorService closer = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("notify-ws-close-", 0).factory());
+
+    private final DistributionSummary queueDepth;
+    private final Counter dropped;
+    private final Counter coalesced;
+    private final Counter evicted;
 
-    public NotificationWebSocketHandler(JwtUtil jwtUtil, ObjectMapper objectMapper) {
-        this.jwtUtil = jwtUtil;
+    public NotificationWebSocketHandler(ObjectMapper objectMapper,
+                                        NotificationPresence presence,
+                                        NotificationDeliveryProperties properties,
+                                        MeterRegistry meterRegistry) {
         this.objectMapper = objectMapper;
+        this.presence = presence;
+        this.settings = properties.getSession();
+        this.userSessions = new UserConnectionRegistry<>(settings.getMaxPerUser());
+        this.sendExecutor = Executors.newFixedThreadPool(Math.max(1, settings.getSendThreads()),
+                Thread.ofPlatform().name("notify-ws-send-", 0).daemon(true).factory());
+        this.stallChecker = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("notify-ws-stall-", 0).daemon(true).factory());
+
+        meterRegistry.gauge("notification.connections", Tags.of("channel", "websocket"),
+                userSessions, UserConnectionRegistry::size);
+        // 세션별 계량기를 만들지 않고, 넣을 때마다 그 세션의 대기열 길이를 분포로 남긴다
+        this.queueDepth = DistributionSummary.builder("notification.websocket.session.queue")
+                .description("Queued messages of a session, recorded on each enqueue")
+                .register(meterRegistry);
+        meterRegistry.gauge("notification.websocket.queued", senders,
+                all -> all.stream().mapToInt(NotificationSessionSender::queued).sum());
+        this.dropped = meterRegistry.counter("notification.websocket.overflow", "action", "dropped");
+        this.coalesced = meterRegistry.counter("notification.websocket.overflow", "action", "coalesced");
+        this.evicted = meterRegistry.counter("notification.websocket.evicted");
+
+        long period = Math.max(100, settings.getSendTimeLimit().toMillis() / 2);
+        stallChecker.scheduleWithFixedDelay(this::evictStalled, period, period, TimeUnit.MILLISECONDS);
     }
 
     @Override
     public void afterConnectionEstablished(WebSocketSession session) throws Exception {
-        String token = getTokenFromSession(session);
-        if (token != null && jwtUtil.validateToken(token)) {
-            String username = jwtUtil.getUsernameFromToken(token);
-            userSessions.put(username, session);
-            log.info("WebSocket connection established for user: {}", username);
-        } else {
+        ParsedToken token = getTokenFromSession(session);
+        if (token == null) {
             session.close(CloseStatus.NOT_ACCEPTABLE.withReason("Invalid token"));
+            return;
         }
+
+        NotificationSessionSender sender = new NotificationSessionSender(session, token.userId(), settings,
+                sendExecutor, this::evict);
+        session.getAttributes().put(SENDER_ATTRIBUTE, sender);
+        senders.add(sender);
+        presence.connected(token.userId(), session.getId());
+
+        // 사용자당 세션 수를 넘으면 가장 오래된 세션을 닫는다
+        for (NotificationSessionSender oldest : userSessions.register(token.userId(), sender)) {
+            log.info("Closing oldest WebSocket session for user {}: session limit {} reached",
+                    token.email(), settings.getMaxPerUser());
+            oldest.markClosed();
+            closeQuietly(oldest.getSession(), CloseStatus.POLICY_VIOLATION.withReason("Too many sessions"));
+        }
+        log.info("WebSocket connection established for user: {}", token.email());
     }
 
     @Override
@@ -46,11 +119,17 @@ public class NotificationWebSocketHandler implements WebSocketHandler {
 
     @Override
     public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
-        String username = getUsernameFromSession(session);
-        if (username != null) {
-            userSessions.remove(username);
-            log.info("WebSocket connection closed for user: {}", username);
+        ParsedToken token = getTokenFromSession(session);
+        if (token == null) {
+            return;
         }
+        if (session.getAttributes().get(SENDER_ATTRIBUTE) instanceof NotificationSessionSender sender) {
+            sender.markClosed();
+            senders.remove(sender);
+            userSessions.remove(token.userId(), sender);
+        }
+        presence.disconnected(token.userId(), session.getId());
+        log.info("WebSocket connection closed for user: {}", token.email());
     }
 
     @Override
@@ -58,31 +137,74 @@ public class NotificationWebSocketHandler implements WebSocketHandler {
         return false;
     }
 
-    public void sendNotificationToUser(String username, Object notification) {
-        WebSocketSession session = userSessions.get(username);
-        if (session != null && session.isOpen()) {
-            try {
-                String message = objectMapper.writeValueAsString(notification);
-                session.sendMessage(new TextMessage(message));
-            } catch (IOException e) {
-                log.error("Failed to send notification to user: {}", username, e);
+    /**
+     * 사용자의 모든 세션 대기열에 넣는다. 메시지는 한 번만 직렬화해 모든 세션이 같이 쓴다.
+     */
+    public void sendNotificationToUser(Long userId, Object notification) throws IOException {
+        List<NotificationSessionSender> sessions = userSessions.connections(userId);
+        if (sessions.isEmpty()) {
+            return;
+        }
+        TextMessage message = new TextMessage(objectMapper.writeValueAsBytes(notification));
+        for (NotificationSessionSender sender : sessions) {
+            switch (sender.enqueue(message)) {
+                case DROPPED -> dropped.increment();
+                case COALESCED -> coalesced.increment();
+                default -> {
+                }
             }
+            queueDepth.record(sender.queued());
         }
     }
 
-    private String getTokenFromSession(WebSocketSession session) {
-        String query = session.getUri().getQuery();
-        if (query != null && query.startsWith("token=")) {
-            return query.substring(6);
+    /**
+     * 느린 세션을 내보낸다. 목록에서 먼저 빼서 더는 쌓이지 않게 하고, 닫기는 전용 스레드에서 한다.
+     * 전송 스레드는 멈춘 세션의 sendMessage 에 묶여 있을 수 있으므로 거기에 맡기지 않는다.
+     */
+    private void evict(NotificationSessionSender sender, CloseStatus status, String reason) {
+        if (!senders.remove(sender)) {
+            return;
+        }
+        sender.markClosed();
+        userSessions.remove(sender.getUserId(), sender);
+        evicted.increment();
+        log.info("Evicting WebSocket session {} of user {}: {}", sender.getSession().getId(), sender.getUserId(), reason);
+        try {
+            closer.execute(() -> closeQuietly(sender.getSession(), status.withReason(reason)));
+        } catch (RejectedExecutionException e) {
+            closeQuietly(sender.getSession(), status.withReason(reason));
+        }
+    }
+
+    // 새 알림이 없어도 멈춘 전송을 찾아 내보낸다
+    private void evictStalled() {
+        long now = System.nanoTime();
+        for (NotificationSessionSender sender : senders) {
+            if (sender.isStalled(now)) {
+                evict(sender, CloseStatus.SESSION_NOT_RELIABLE, "send time limit exceeded");
+            }
         }
-        return null;
     }
 
-    private String getUsernameFromSession(WebSocketSession session) {
-        String token = getTokenFromSession(session);
-        if (token != null && jwtUtil.validateToken(token)) {
-            return jwtUtil.getUsernameFromToken(token);
+    private void closeQuietly(WebSocketSession session, CloseStatus status) {
+        try {
+            session.close(status);
+        } catch (IOException e) {
+            log.debug("Failed to close WebSocket session {}: {}", session.getId(), e.getMessage());
         }
-        return null;
     }
-}
\ No newline at end of file
+
+    // 핸드셰이크에서 검증한 토큰 (JwtHandshakeInterceptor)
+    private ParsedToken getTokenFromSession(WebSocketSession session) {
+        Object parsed = session.getAttributes().get(JwtHandshakeInterceptor.PARSED_TOKEN_ATTRIBUTE);
+        return parsed instanceof ParsedToken token ? token : null;
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        stallChecker.shutdownNow();
+        closer.shutdownNow();
+        sendExecutor.shutdownNow();
+        sendExecutor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+}
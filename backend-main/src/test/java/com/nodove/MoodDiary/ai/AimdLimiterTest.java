@@ -0,0 +1,68 @@
+package com.nodove.MoodDiary.ai;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AimdLimiterTest {
+
+    @Test
+    void rejectsAboveLimitUntilReleased() {
+        AimdLimiter limiter = new AimdLimiter(2, 1, 10, 0.5);
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+        assertEquals(2, limiter.getInFlight());
+
+        limiter.release();
+
+        assertTrue(limiter.tryAcquire());
+    }
+
+    @Test
+    void growsByOneAfterLimitSuccesses() {
+        AimdLimiter limiter = new AimdLimiter(4, 1, 10, 0.5);
+
+        for (int i = 0; i < 4; i++) {
+            limiter.onSuccess();
+        }
+        // 1/4 씩 네 번 더하면 4 를 조금 넘는다 (한도가 오를수록 증가분이 줄어든다)
+        assertEquals(4, limiter.getLimit());
+        limiter.onSuccess();
+
+        assertEquals(5, limiter.getLimit());
+    }
+
+    @Test
+    void neverExceedsMax() {
+        AimdLimiter limiter = new AimdLimiter(3, 1, 3, 0.5);
+
+        for (int i = 0; i < 100; i++) {
+            limiter.onSuccess();
+        }
+
+        assertEquals(3, limiter.getLimit());
+    }
+
+    @Test
+    void backsOffMultiplicativelyDownToMin() {
+        AimdLimiter limiter = new AimdLimiter(8, 2, 10, 0.5);
+
+        limiter.onDrop();
+        assertEquals(4, limiter.getLimit());
+        limiter.onDrop();
+        assertEquals(2, limiter.getLimit());
+        limiter.onDrop();
+
+        assertEquals(2, limiter.getLimit());
+    }
+
+    @Test
+    void clampsInitialLimit() {
+        assertEquals(5, new AimdLimiter(50, 1, 5, 0.5).getLimit());
+        assertEquals(1, new AimdLimiter(0, 0, 5, 0.5).getLimit());
+    }
+}
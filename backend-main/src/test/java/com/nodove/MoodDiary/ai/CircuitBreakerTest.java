@@ -0,0 +1,117 @@
+package com.nodove.MoodDiary.ai;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CircuitBreakerTest {
+
+    private static final Duration OPEN_DURATION = Duration.ofSeconds(30);
+
+    private final AtomicLong now = new AtomicLong();
+    // 실패율 50%, 최근 10회, 최소 4회, 반열림 시험 2회
+    private final CircuitBreaker breaker = new CircuitBreaker(0.5, 10, 4, OPEN_DURATION, 2, now::get);
+
+    @Test
+    void staysClosedBelowMinimumCalls() {
+        fail(3);
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertTrue(breaker.tryAcquire());
+        assertEquals(1.0, breaker.getFailureRate(), 1e-9);
+    }
+
+    @Test
+    void opensWhenFailureRateReachesThreshold() {
+        succeed(2);
+        fail(1);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+
+        fail(1);
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquire());
+    }
+
+    @Test
+    void slidingWindowForgetsOldCalls() {
+        fail(3);
+        succeed(10);
+
+        assertEquals(0.0, breaker.getFailureRate(), 1e-9);
+        fail(4);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertEquals(0.4, breaker.getFailureRate(), 1e-9);
+    }
+
+    @Test
+    void halfOpensAfterOpenDurationAndClosesWhenTrialsSucceed() {
+        trip();
+
+        now.addAndGet(OPEN_DURATION.toNanos() - 1);
+        assertFalse(breaker.tryAcquire());
+        now.addAndGet(1);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+
+        assertTrue(breaker.tryAcquire());
+        assertTrue(breaker.tryAcquire());
+        assertFalse(breaker.tryAcquire(), "반열림 상태에서는 시험 횟수만 허용한다");
+
+        breaker.onSuccess();
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        breaker.onSuccess();
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertEquals(0.0, breaker.getFailureRate(), 1e-9);
+        assertTrue(breaker.tryAcquire());
+    }
+
+    @Test
+    void reopensWhenTrialFails() {
+        trip();
+        now.addAndGet(OPEN_DURATION.toNanos());
+
+        assertTrue(breaker.tryAcquire());
+        breaker.onSuccess();
+        assertTrue(breaker.tryAcquire());
+        breaker.onFailure();
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquire());
+        now.addAndGet(OPEN_DURATION.toNanos());
+        assertTrue(breaker.tryAcquire());
+    }
+
+    @Test
+    void lateFailuresDoNotExtendOpenDuration() {
+        trip();
+
+        now.addAndGet(OPEN_DURATION.toNanos() / 2);
+        breaker.onFailure();
+        now.addAndGet(OPEN_DURATION.toNanos() / 2);
+
+        assertTrue(breaker.tryAcquire());
+    }
+
+    private void trip() {
+        fail(4);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    private void succeed(int times) {
+        for (int i = 0; i < times; i++) {
+            breaker.onSuccess();
+        }
+    }
+
+    private void fail(int times) {
+        for (int i = 0; i < times; i++) {
+            breaker.onFailure();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.nodove.MoodDiary.ai;
+
+import com.nodove.MoodDiary.config.AiResilienceProperties;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LatencyWindowTest {
+
+    private final AiResilienceProperties.Timeout settings = new AiResilienceProperties.Timeout();
+
+    LatencyWindowTest() {
+        settings.setPercentile(0.9);
+        settings.setMultiplier(2.0);
+        settings.setMin(Duration.ofMillis(100));
+        settings.setMax(Duration.ofSeconds(10));
+        settings.setSampleSize(10);
+        settings.setMinimumSamples(5);
+    }
+
+    @Test
+    void usesMaxUntilEnoughSamples() {
+        LatencyWindow window = new LatencyWindow(settings);
+        for (int i = 0; i < 4; i++) {
+            window.record(200);
+        }
+
+        assertEquals(Duration.ofSeconds(10), window.timeout());
+    }
+
+    @Test
+    void scalesPercentile() {
+        LatencyWindow window = new LatencyWindow(settings);
+        for (int i = 1; i <= 10; i++) {
+            window.record(i * 100L);
+        }
+
+        // 100..1000 의 p90 은 900, 그 2배
+        assertEquals(Duration.ofMillis(1800), window.timeout());
+    }
+
+    @Test
+    void clampsToMinAndMax() {
+        LatencyWindow fast = new LatencyWindow(settings);
+        LatencyWindow slow = new LatencyWindow(settings);
+        for (int i = 0; i < 10; i++) {
+            fast.record(10);
+            slow.record(60_000);
+        }
+
+        assertEquals(Duration.ofMillis(100), fast.timeout());
+        assertEquals(Duration.ofSeconds(10), slow.timeout());
+    }
+
+    @Test
+    void keepsOnlyRecentSamples() {
+        LatencyWindow window = new LatencyWindow(settings);
+        for (int i = 0; i < 10; i++) {
+            window.record(4_000);
+        }
+        for (int i = 0; i < 10; i++) {
+            window.record(300);
+        }
+
+        assertEquals(Duration.ofMillis(600), window.timeout());
+    }
+}
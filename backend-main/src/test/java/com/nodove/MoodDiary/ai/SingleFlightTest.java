@@ -0,0 +1,105 @@
+package com.nodove.MoodDiary.ai;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SingleFlightTest {
+
+    private final SingleFlight<String, String> singleFlight = new SingleFlight<>();
+
+    @Test
+    void sharesInFlightTask() throws Exception {
+        CompletableFuture<String> source = new CompletableFuture<>();
+        AtomicInteger calls = new AtomicInteger();
+
+        CompletableFuture<String> first = singleFlight.execute("k", () -> {
+            calls.incrementAndGet();
+            return source;
+        });
+        CompletableFuture<String> second = singleFlight.execute("k", () -> {
+            calls.incrementAndGet();
+            return CompletableFuture.completedFuture("other");
+        });
+
+        assertEquals(1, calls.get());
+        assertEquals(1, singleFlight.getInFlight());
+        assertFalse(first.isDone());
+
+        source.complete("value");
+
+        assertEquals("value", first.get());
+        assertEquals("value", second.get());
+        assertEquals(0, singleFlight.getInFlight());
+        assertEquals(1, singleFlight.getStarted());
+        assertEquals(1, singleFlight.getCoalesced());
+    }
+
+    @Test
+    void runsAgainAfterCompletion() throws Exception {
+        singleFlight.execute("k", () -> CompletableFuture.completedFuture("a")).get();
+        String second = singleFlight.execute("k", () -> CompletableFuture.completedFuture("b")).get();
+
+        assertEquals("b", second);
+        assertEquals(2, singleFlight.getStarted());
+        assertEquals(0, singleFlight.getCoalesced());
+    }
+
+    @Test
+    void differentKeysDoNotShare() throws Exception {
+        CompletableFuture<String> a = singleFlight.execute("a", CompletableFuture::new);
+        CompletableFuture<String> b = singleFlight.execute("b", () -> CompletableFuture.completedFuture("b"));
+
+        assertEquals("b", b.get());
+        assertFalse(a.isDone());
+        assertEquals(1, singleFlight.getInFlight());
+    }
+
+    @Test
+    void propagatesFailureToAllCallersAndForgetsKey() {
+        CompletableFuture<String> source = new CompletableFuture<>();
+        CompletableFuture<String> first = singleFlight.execute("k", () -> source);
+        CompletableFuture<String> second = singleFlight.execute("k", () -> source);
+        IllegalStateException failure = new IllegalStateException("boom");
+
+        source.completeExceptionally(failure);
+
+        assertSame(failure, assertThrows(ExecutionException.class, first::get).getCause());
+        assertSame(failure, assertThrows(ExecutionException.class, second::get).getCause());
+        assertEquals(0, singleFlight.getInFlight());
+    }
+
+    @Test
+    void taskThrowingSynchronouslyFailsFuture() {
+        IllegalStateException failure = new IllegalStateException("boom");
+
+        CompletableFuture<String> result = singleFlight.execute("k", () -> {
+            throw failure;
+        });
+
+        assertSame(failure, assertThrows(ExecutionException.class, result::get).getCause());
+        assertEquals(0, singleFlight.getInFlight());
+    }
+
+    @Test
+    void callerCancellingItsCopyDoesNotAffectOthers() throws Exception {
+        CompletableFuture<String> source = new CompletableFuture<>();
+        CompletableFuture<String> first = singleFlight.execute("k", () -> source);
+        CompletableFuture<String> second = singleFlight.execute("k", () -> source);
+
+        assertTrue(first.cancel(true));
+        source.complete("value");
+
+        assertTrue(first.isCancelled());
+        assertEquals("value", second.get());
+        assertFalse(source.isCancelled());
+    }
+}
@@ -0,0 +1,119 @@
+package com.nodove.MoodDiary.lexicon;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 오토마톤 한 번 순회의 결과가 예전 split/replaceAll/contains, Pattern 기반 계산과 같은지 확인한다.
+ */
+class LexiconAutomatonTest {
+
+    private static final Map<String, Double> POSITIVE = words("행복", 2.0, "기쁘", 2.0, "좋", 1.5, "만족", 1.5, "happy", 1.0);
+    private static final Map<String, Double> NEGATIVE = words("슬프", -2.0, "우울", -2.5, "스트레스", -2.0, "스트", -0.5, "싫어", -1.6);
+    private static final Map<String, Double> FINANCIAL = words("돈", 0.0, "비싸", -1.2, "싸", 0.8, "월급", 0.8, "할인", 1.0);
+
+    private static final LexiconAutomaton AUTOMATON = LexiconAutomaton.builder()
+            .addAll(LexiconCategory.POSITIVE, POSITIVE)
+            .addAll(LexiconCategory.NEGATIVE, NEGATIVE)
+            .addAll(LexiconCategory.FINANCIAL, FINANCIAL)
+            .build();
+
+    @Test
+    void matchesRegexScoringOnSamples() {
+        List<String> samples = List.of(
+                "",
+                " ",
+                "   앞에 공백",
+                "오늘은 행복하고 기쁘다. 월급날!",
+                "행복행복 행복",
+                "비싸서 싫어... 돈돈돈",
+                "스트레스 스트 레스",
+                "할-인 받아서 좋았다\t정말\n좋아",
+                "happy? HAPPY happyhappy",
+                "월급,이 들어와서 만족 :)  ",
+                "우울\u000B슬프\f좋\r싸다");
+        samples.forEach(this::assertSameAsRegex);
+    }
+
+    @Test
+    void matchesRegexScoringOnRandomText() {
+        String[] pieces = {"행복", "기쁘", "좋", "슬", "프", "우울", "스트", "레스", "비", "싸", "돈", "월급", "할인",
+                "happy", "ha", "py", "하", "다", " ", "  ", "\t", "\n", ".", "!", "-", "1"};
+        Random random = new Random(42);
+        for (int i = 0; i < 2_000; i++) {
+            StringBuilder text = new StringBuilder();
+            int length = random.nextInt(20);
+            for (int j = 0; j < length; j++) {
+                text.append(pieces[random.nextInt(pieces.length)]);
+            }
+            assertSameAsRegex(text.toString());
+        }
+    }
+
+    @Test
+    void unknownTermHasNoOccurrences() {
+        assertEquals(0L, AUTOMATON.scan("행복 행복").occurrences("분노"));
+    }
+
+    private void assertSameAsRegex(String text) {
+        LexiconScan scan = AUTOMATON.scan(text);
+        String[] tokens = text.split("\\s+");
+
+        double emotionTotal = 0;
+        int emotionHits = 0;
+        double financialTotal = 0;
+        int financialHits = 0;
+        int emotionalTokens = 0;
+        for (String token : tokens) {
+            String clean = token.replaceAll("[^가-힣a-zA-Z]", "");
+            boolean emotional = false;
+            for (Map<String, Double> emotion : List.of(POSITIVE, NEGATIVE)) {
+                for (Map.Entry<String, Double> entry : emotion.entrySet()) {
+                    if (clean.contains(entry.getKey())) {
+                        emotionTotal += entry.getValue();
+                        emotionHits++;
+                        emotional = true;
+                    }
+                }
+            }
+            for (Map.Entry<String, Double> entry : FINANCIAL.entrySet()) {
+                if (clean.contains(entry.getKey())) {
+                    financialTotal += entry.getValue();
+                    financialHits++;
+                }
+            }
+            if (emotional) {
+                emotionalTokens++;
+            }
+        }
+
+        String message = "text=[" + text + "]";
+        assertEquals(emotionTotal, scan.getEmotionTotal(), 1e-9, message);
+        assertEquals(emotionHits, scan.getEmotionHits(), message);
+        assertEquals(financialTotal, scan.getFinancialTotal(), 1e-9, message);
+        assertEquals(financialHits, scan.getFinancialHits(), message);
+        assertEquals(emotionalTokens, scan.getEmotionalTokens(), message);
+        assertEquals(tokens.length, scan.getTokenCount(), message);
+        for (Map<String, Double> lexicon : List.of(POSITIVE, NEGATIVE, FINANCIAL)) {
+            for (String term : lexicon.keySet()) {
+                long expected = Pattern.compile(term).matcher(text).results().count();
+                assertEquals(expected, scan.occurrences(term), message + " term=" + term);
+            }
+        }
+    }
+
+    private static Map<String, Double> words(Object... pairs) {
+        Map<String, Double> words = new LinkedHashMap<>();
+        for (int i = 0; i < pairs.length; i += 2) {
+            words.put((String) pairs[i], (Double) pairs[i + 1]);
+        }
+        return words;
+    }
+}
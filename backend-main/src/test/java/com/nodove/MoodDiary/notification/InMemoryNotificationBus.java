@@ -0,0 +1,61 @@
+package com.nodove.MoodDiary.notification;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * 테스트용 노드 간 알림 통로. 같은 {@link Hub} 에 붙은 버스끼리 {@link RedisNotificationBus} 처럼 주고받는다.
+ * 사용자를 구독한 다른 노드에만 보내고, 보낸 노드 자신은 받지 않는다.
+ */
+class InMemoryNotificationBus implements NotificationBus {
+
+    /** 여러 노드가 함께 쓰는 pub/sub 서버 역할 */
+    static final class Hub {
+
+        private final List<InMemoryNotificationBus> nodes = new CopyOnWriteArrayList<>();
+        private final AtomicInteger published = new AtomicInteger();
+
+        int published() {
+            return published.get();
+        }
+    }
+
+    private final Hub hub;
+    private final Set<Long> subscriptions = ConcurrentHashMap.newKeySet();
+    private volatile Consumer<NotificationDelivery> receiver = delivery -> { };
+
+    InMemoryNotificationBus(Hub hub) {
+        this.hub = hub;
+        hub.nodes.add(this);
+    }
+
+    @Override
+    public void setReceiver(Consumer<NotificationDelivery> receiver) {
+        this.receiver = receiver;
+    }
+
+    @Override
+    public void publish(NotificationDelivery delivery) {
+        hub.published.incrementAndGet();
+        for (InMemoryNotificationBus node : hub.nodes) {
+            if (node != this && node.subscriptions.contains(delivery.userId())) {
+                node.receiver.accept(new NotificationDelivery(delivery.userId(), delivery.username(),
+                        delivery.notification(), System.nanoTime()));
+            }
+        }
+    }
+
+    @Override
+    public void subscribe(Long userId) {
+        subscriptions.add(userId);
+    }
+
+    @Override
+    public void unsubscribe(Long userId) {
+        subscriptions.remove(userId);
+    }
+}
@@ -0,0 +1,117 @@
+package com.nodove.MoodDiary.notification;
+
+import com.nodove.MoodDiary.config.NotificationDeliveryProperties;
+import com.nodove.MoodDiary.dto.NotificationDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * 두 노드(A, B)의 디스패처가 하나의 버스를 함께 쓸 때, A 에서 만든 알림이 B 의 연결로 가고 FCM 은 한 번만 나가는지 확인한다.
+ */
+class NotificationDispatcherClusterTest {
+
+    private static final Long USER_ID = 7L;
+
+    private final InMemoryNotificationBus.Hub hub = new InMemoryNotificationBus.Hub();
+    private final Node nodeA = new Node(new InMemoryNotificationBus(hub));
+    private final Node nodeB = new Node(new InMemoryNotificationBus(hub));
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        nodeA.dispatcher.shutdown();
+        nodeB.dispatcher.shutdown();
+    }
+
+    @Test
+    void notificationReachesSessionOnOtherNodeAndPushesOnce() throws InterruptedException {
+        // 사용자의 WebSocket 연결은 B 에만 있다
+        nodeB.bus.subscribe(USER_ID);
+
+        nodeA.dispatcher.dispatch(event(1L));
+
+        NotificationDelivery relayed = nodeB.sessions.poll(5, TimeUnit.SECONDS);
+        assertNotNull(relayed, "B 노드의 연결로 전달되어야 한다");
+        assertEquals(1L, relayed.notification().getId());
+        assertNotNull(nodeA.sessions.poll(5, TimeUnit.SECONDS), "만든 노드의 연결 채널에도 들어간다");
+        assertNotNull(nodeA.pushes.poll(5, TimeUnit.SECONDS), "FCM 은 만든 노드에서 보낸다");
+
+        assertNull(nodeB.pushes.poll(200, TimeUnit.MILLISECONDS), "다른 노드에서 온 알림으로 FCM 을 다시 보내면 안 된다");
+        assertNull(nodeA.pushes.poll(200, TimeUnit.MILLISECONDS));
+        assertNull(nodeB.sessions.poll(200, TimeUnit.MILLISECONDS));
+        assertNull(nodeA.sessions.poll(200, TimeUnit.MILLISECONDS), "받은 노드가 다시 넘기면 안 된다");
+        assertEquals(1, hub.published());
+    }
+
+    @Test
+    void notificationStaysLocalWithoutSubscriber() throws InterruptedException {
+        nodeA.dispatcher.dispatch(event(1L));
+
+        assertNotNull(nodeA.pushes.poll(5, TimeUnit.SECONDS));
+        assertNull(nodeB.sessions.poll(200, TimeUnit.MILLISECONDS));
+        assertEquals(1, hub.published());
+    }
+
+    @Test
+    void unsubscribedNodeStopsReceiving() throws InterruptedException {
+        nodeB.bus.subscribe(USER_ID);
+        nodeA.dispatcher.dispatch(event(1L));
+        assertNotNull(nodeB.sessions.poll(5, TimeUnit.SECONDS));
+
+        nodeB.bus.unsubscribe(USER_ID);
+        nodeA.dispatcher.dispatch(event(2L));
+
+        assertNotNull(nodeA.pushes.poll(5, TimeUnit.SECONDS));
+        assertNotNull(nodeA.pushes.poll(5, TimeUnit.SECONDS));
+        assertNull(nodeB.sessions.poll(200, TimeUnit.MILLISECONDS));
+    }
+
+    private static NotificationCreatedEvent event(Long id) {
+        NotificationDTO notification = new NotificationDTO();
+        notification.setId(id);
+        notification.setType("DIARY_REMINDER");
+        notification.setTitle("알림 " + id);
+        return new NotificationCreatedEvent(USER_ID, "user" + USER_ID, notification);
+    }
+
+    /** 한 노드: 연결 채널(websocket), FCM, 다른 노드로 넘기는 relay 채널과 디스패처 */
+    private static final class Node {
+
+        private final InMemoryNotificationBus bus;
+        private final BlockingQueue<NotificationDelivery> sessions = new LinkedBlockingQueue<>();
+        private final BlockingQueue<NotificationDelivery> pushes = new LinkedBlockingQueue<>();
+        private final NotificationDispatcher dispatcher;
+
+        private Node(InMemoryNotificationBus bus) {
+            this.bus = bus;
+            this.dispatcher = new NotificationDispatcher(
+                    List.of(new RecordingChannel("websocket", true, sessions),
+                            new RecordingChannel("fcm", false, pushes),
+                            new NotificationRelayChannel(bus)),
+                    new NotificationDeliveryProperties(), bus, new SimpleMeterRegistry());
+        }
+    }
+
+    private record RecordingChannel(String name, boolean sessionBound,
+                                    BlockingQueue<NotificationDelivery> received) implements NotificationChannel {
+
+        @Override
+        public void deliver(NotificationDelivery delivery) {
+            received.add(delivery);
+        }
+
+        @Override
+        public boolean isSessionBound() {
+            return sessionBound;
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.nodove.MoodDiary.notification;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SseConnectionTest {
+
+    private final RecordingEmitter emitter = new RecordingEmitter();
+    private final AtomicReference<String> evictedReason = new AtomicReference<>();
+
+    @Test
+    void holdsLiveNotificationsUntilReplayEnds() {
+        SseConnection connection = connection(Runnable::run);
+        SseEmitter.SseEventBuilder live5 = SseEmitter.event();
+        SseEmitter.SseEventBuilder live6 = SseEmitter.event();
+        SseEmitter.SseEventBuilder replayed4 = SseEmitter.event();
+        SseEmitter.SseEventBuilder replayed5 = SseEmitter.event();
+
+        connection.beginReplay(3);
+        // 다시 보내기 도중 커밋된 5, 6 이 실시간으로 먼저 온다
+        connection.sendNotification(6L, live6);
+        connection.sendNotification(5L, live5);
+        connection.sendNotification(3L, SseEmitter.event());
+        connection.replayNotification(4, replayed4);
+        connection.replayNotification(5, replayed5);
+        connection.endReplay();
+
+        assertEquals(List.of(replayed4, replayed5, live6), emitter.sent);
+    }
+
+    @Test
+    void skipsNotificationsAlreadySent() {
+        SseConnection connection = connection(Runnable::run);
+        SseEmitter.SseEventBuilder first = SseEmitter.event();
+        SseEmitter.SseEventBuilder heartbeat = SseEmitter.event().comment("heartbeat");
+
+        connection.sendNotification(10L, first);
+        connection.sendNotification(10L, SseEmitter.event());
+        connection.sendNotification(9L, SseEmitter.event());
+        connection.send(heartbeat);
+
+        assertEquals(List.of(first, heartbeat), emitter.sent);
+    }
+
+    @Test
+    void dropsOldestWhenQueueIsFull() {
+        List<Runnable> scheduled = new CopyOnWriteArrayList<>();
+        SseConnection connection = connection(scheduled::add);
+        SseEmitter.SseEventBuilder second = SseEmitter.event();
+        SseEmitter.SseEventBuilder third = SseEmitter.event();
+
+        connection.send(SseEmitter.event());
+        connection.send(second);
+        connection.send(third);
+        scheduled.forEach(Runnable::run);
+
+        assertEquals(List.of(second, third), emitter.sent);
+    }
+
+    @Test
+    void reportsStallWhileSendBlocks() throws Exception {
+        ExecutorService sendExecutor = Executors.newSingleThreadExecutor();
+        try {
+            emitter.block = new CountDownLatch(1);
+            SseConnection connection = connection(sendExecutor);
+
+            connection.send(SseEmitter.event());
+            assertTrue(emitter.entered.await(5, TimeUnit.SECONDS));
+
+            assertFalse(connection.isStalled(System.nanoTime()));
+            assertTrue(connection.isStalled(System.nanoTime() + Duration.ofSeconds(2).toNanos()));
+            emitter.block.countDown();
+        } finally {
+            sendExecutor.shutdownNow();
+        }
+    }
+
+    @Test
+    void evictsOnSendFailure() {
+        emitter.failure = new IllegalStateException("client gone");
+        SseConnection connection = connection(Runnable::run);
+
+        connection.send(SseEmitter.event());
+
+        assertEquals("send failed", evictedReason.get());
+    }
+
+    @Test
+    void closedConnectionIgnoresEvents() {
+        SseConnection connection = connection(Runnable::run);
+        connection.markClosed();
+
+        connection.send(SseEmitter.event());
+        connection.sendNotification(1L, SseEmitter.event());
+
+        assertTrue(emitter.sent.isEmpty());
+        assertNull(evictedReason.get());
+    }
+
+    private SseConnection connection(Executor sendExecutor) {
+        return new SseConnection(1L, emitter, 2, Duration.ofSeconds(1), sendExecutor,
+                (connection, error, reason) -> {
+                    assertSame(emitter, connection.getEmitter());
+                    evictedReason.set(reason);
+                });
+    }
+
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final List<SseEventBuilder> sent = new CopyOnWriteArrayList<>();
+        private final CountDownLatch entered = new CountDownLatch(1);
+        private volatile CountDownLatch block;
+        private volatile RuntimeException failure;
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            entered.countDown();
+            if (failure != null) {
+                throw failure;
+            }
+            if (block != null) {
+                try {
+                    block.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            sent.add(builder);
+        }
+    }
+}
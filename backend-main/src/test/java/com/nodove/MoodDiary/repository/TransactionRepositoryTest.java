@@ -0,0 +1,94 @@
+package com.nodove.MoodDiary.repository;
+
+import com.nodove.MoodDiary.dto.PageCursor;
+import com.nodove.MoodDiary.entity.FinancialAccount;
+import com.nodove.MoodDiary.entity.Transaction;
+import com.nodove.MoodDiary.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class TransactionRepositoryTest {
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private User user;
+    private FinancialAccount account;
+
+    @BeforeEach
+    void setUp() {
+        user = entityManager.persist(User.builder().email("keyset@example.com").build());
+        account = entityManager.persist(FinancialAccount.builder()
+                .user(user)
+                .accountName("생활비")
+                .accountType("CHECKING")
+                .build());
+    }
+
+    @Test
+    void transactionWithoutDateUsesCreatedAt() {
+        Transaction saved = entityManager.persistFlushFind(transaction(null));
+
+        assertNotNull(saved.getTransactionDate());
+        assertEquals(saved.getCreatedAt(), saved.getTransactionDate());
+    }
+
+    @Test
+    void cursorPagesVisitEveryTransactionOnce() {
+        LocalDateTime tie = LocalDateTime.of(2024, 3, 1, 10, 0);
+        Transaction older = entityManager.persist(transaction(tie));
+        Transaction sameTime = entityManager.persist(transaction(tie));
+        Transaction dated = entityManager.persist(transaction(LocalDateTime.of(2024, 3, 2, 9, 30)));
+        // 날짜 없이 저장한 거래도 목록에서 빠지면 안 된다
+        Transaction undated = entityManager.persist(transaction(null));
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Long> visited = new ArrayList<>();
+        String cursor = null;
+        while (true) {
+            PageCursor after = PageCursor.decode(cursor);
+            List<Transaction> page = after == null
+                    ? transactionRepository.findFirstPageByUserId(user.getId(), PageRequest.of(0, 1))
+                    : transactionRepository.findPageByUserIdAfter(user.getId(), after.timestamp(), after.id(),
+                            PageRequest.of(0, 1));
+            if (page.isEmpty()) {
+                break;
+            }
+            Transaction last = page.get(page.size() - 1);
+            page.forEach(t -> visited.add(t.getId()));
+            cursor = new PageCursor(last.getTransactionDate(), last.getId()).encode();
+        }
+
+        assertEquals(List.of(undated.getId(), dated.getId(), sameTime.getId(), older.getId()), visited);
+    }
+
+    private Transaction transaction(LocalDateTime transactionDate) {
+        return Transaction.builder()
+                .user(user)
+                .account(account)
+                .type("EXPENSE")
+                .amount(new BigDecimal("12000.00"))
+                .description("점심")
+                .transactionDate(transactionDate)
+                .build();
+    }
+}
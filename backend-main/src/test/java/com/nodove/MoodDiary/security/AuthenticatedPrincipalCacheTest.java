@@ -0,0 +1,75 @@
+package com.nodove.MoodDiary.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AuthenticatedPrincipalCacheTest {
+
+    private static final AuthenticatedUser USER = new AuthenticatedUser(42L, "user@example.com", "user", "USER");
+    private static final AuthenticatedUser OTHER = new AuthenticatedUser(43L, "other@example.com", "other", "USER");
+
+    private final AuthenticatedPrincipalCache cache =
+            new AuthenticatedPrincipalCache(true, 1_000, TimeUnit.MINUTES.toMillis(5));
+    private final Date expiration = new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1));
+
+    @Test
+    void returnsCachedPrincipal() {
+        cache.put("token", USER, expiration, cache.beginLoad());
+
+        assertEquals(USER, cache.get("token").orElseThrow());
+    }
+
+    @Test
+    void invalidationRemovesOnlyThatUser() {
+        cache.put("a", USER, expiration, cache.beginLoad());
+        cache.put("b", OTHER, expiration, cache.beginLoad());
+
+        cache.onPrincipalChanged(new PrincipalChangedEvent(USER.getId()));
+
+        assertFalse(cache.get("a").isPresent());
+        assertTrue(cache.get("b").isPresent());
+    }
+
+    @Test
+    void loadStartedBeforeInvalidationIsNotCached() {
+        // users 를 읽기 시작한 뒤 커밋된 변경으로 지워졌다
+        long generation = cache.beginLoad();
+        cache.invalidateUser(USER.getId());
+
+        cache.put("token", USER, expiration, generation);
+
+        assertFalse(cache.get("token").isPresent());
+    }
+
+    @Test
+    void loadStartedAfterInvalidationIsCached() {
+        cache.invalidateUser(USER.getId());
+
+        cache.put("token", USER, expiration, cache.beginLoad());
+
+        assertTrue(cache.get("token").isPresent());
+    }
+
+    @Test
+    void invalidatingOtherUserDoesNotBlockLoad() {
+        long generation = cache.beginLoad();
+        cache.invalidateUser(OTHER.getId());
+
+        cache.put("token", USER, expiration, generation);
+
+        assertTrue(cache.get("token").isPresent());
+    }
+
+    @Test
+    void expiredTokenIsNotReturned() {
+        cache.put("token", USER, new Date(System.currentTimeMillis() - 1), cache.beginLoad());
+
+        assertFalse(cache.get("token").isPresent());
+    }
+}
@@ -0,0 +1,131 @@
+package com.nodove.MoodDiary.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nodove.MoodDiary.config.DiaryTransferProperties;
+import com.nodove.MoodDiary.dto.DiaryImportResult;
+import com.nodove.MoodDiary.repository.UserRepository;
+import com.nodove.MoodDiary.search.DiarySearchIndex;
+import com.nodove.MoodDiary.transfer.DiaryTransferFormat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 배치 하나가 실패해도(생성 키 수가 행 수와 다름) 500 으로 끝나지 않고 그 배치만 오류로 남기는지 확인한다.
+ */
+@ExtendWith(MockitoExtension.class)
+class DiaryImportServiceTest {
+
+    private static final Long USER_ID = 7L;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private MoodStatsService moodStatsService;
+    @Mock
+    private RollupService rollupService;
+    @Mock
+    private DiaryTagService diaryTagService;
+    @Mock
+    private DiarySearchIndex diarySearchIndex;
+    @Mock
+    private Connection connection;
+    @Mock
+    private PreparedStatement statement;
+
+    private DiaryImportService service;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        DiaryTransferProperties properties = new DiaryTransferProperties();
+        properties.setImportBatchSize(2);
+        service = new DiaryImportService(properties, jdbcTemplate, transactionTemplate, new ObjectMapper(),
+                userRepository, moodStatsService, rollupService, diaryTagService, diarySearchIndex);
+
+        when(userRepository.existsById(USER_ID)).thenReturn(true);
+        // 실제 TransactionTemplate 처럼 콜백을 실행하고 예외는 그대로 던진다 (롤백)
+        doAnswer(invocation -> {
+            Consumer<TransactionStatus> action = invocation.getArgument(0);
+            action.accept(mock(TransactionStatus.class));
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenAnswer(invocation -> {
+            ConnectionCallback<?> callback = invocation.getArgument(0);
+            return callback.doInConnection(connection);
+        });
+        when(connection.prepareStatement(anyString(), eq(Statement.RETURN_GENERATED_KEYS))).thenReturn(statement);
+    }
+
+    @Test
+    void batchWithMissingGeneratedKeysIsReportedAndImportContinues() throws Exception {
+        ResultSet first = keys(1L, 2L);
+        ResultSet second = keys(3L);
+        ResultSet third = keys(4L);
+        when(statement.getGeneratedKeys()).thenReturn(first, second, third);
+
+        DiaryImportResult result = service.importDiaries(USER_ID, DiaryTransferFormat.CSV, csv("""
+                title,mood
+                하나,HAPPY
+                둘,SAD
+                셋,HAPPY
+                넷,SAD
+                다섯,HAPPY
+                """));
+
+        assertTrue(result.isCompleted());
+        assertEquals(3, result.getImported());
+        assertEquals(2, result.getSkipped());
+        assertEquals(List.of(new DiaryImportResult.LineRange(2, 3), new DiaryImportResult.LineRange(6, 6)),
+                result.getCommittedLines());
+        assertEquals(1, result.getErrors().size());
+        assertTrue(result.getErrors().get(0).startsWith("4~5번째 줄"), result.getErrors().get(0));
+        verify(moodStatsService).rebuild(USER_ID);
+        verify(rollupService).rebuild(USER_ID);
+    }
+
+    private static ResultSet keys(Long... ids) throws SQLException {
+        ResultSet resultSet = mock(ResultSet.class);
+        // next() 는 ids 개수만큼 true, 그다음 false
+        Boolean[] more = new Boolean[ids.length];
+        Arrays.fill(more, true);
+        more[ids.length - 1] = false;
+        when(resultSet.next()).thenReturn(true, more);
+        when(resultSet.getLong(1)).thenReturn(ids[0], Arrays.copyOfRange(ids, 1, ids.length));
+        return resultSet;
+    }
+
+    private static ByteArrayInputStream csv(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,136 @@
+package com.nodove.MoodDiary.service;
+
+import com.nodove.MoodDiary.ai.DiaryAnalysisRequestedEvent;
+import com.nodove.MoodDiary.config.AiOutboxProperties;
+import com.nodove.MoodDiary.dto.MoodDiaryRequest;
+import com.nodove.MoodDiary.entity.AiAnalysisTask;
+import com.nodove.MoodDiary.entity.MoodDiary;
+import com.nodove.MoodDiary.entity.User;
+import com.nodove.MoodDiary.enums.MoodType;
+import com.nodove.MoodDiary.repository.AiAnalysisTaskRepository;
+import com.nodove.MoodDiary.repository.DiaryAnalysisSnapshotRepository;
+import com.nodove.MoodDiary.repository.MoodDiaryRepository;
+import com.nodove.MoodDiary.repository.UserRepository;
+import com.nodove.MoodDiary.search.DiarySearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * API 의 일기 생성/수정 경로(createDiary, updateDiary)가 AI 분석 outbox 에 작업을 남기는지 확인한다.
+ */
+@ExtendWith(MockitoExtension.class)
+class MoodDiaryServiceOutboxTest {
+
+    private static final Long USER_ID = 7L;
+    private static final Long DIARY_ID = 100L;
+
+    @Mock
+    private MoodDiaryRepository moodDiaryRepository;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private DiaryAnalysisSnapshotRepository diaryAnalysisSnapshotRepository;
+    @Mock
+    private AiAnalysisTaskRepository taskRepository;
+    @Mock
+    private DiarySearchIndex diarySearchIndex;
+    @Mock
+    private MoodStatsService moodStatsService;
+    @Mock
+    private RollupService rollupService;
+    @Mock
+    private DiaryTagService diaryTagService;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private final User user = User.builder().id(USER_ID).email("user@example.com").build();
+    private MoodDiaryService service;
+
+    @BeforeEach
+    void setUp() {
+        AiAnalysisOutboxService outbox = new AiAnalysisOutboxService(taskRepository, new AiOutboxProperties(), eventPublisher);
+        service = new MoodDiaryService(moodDiaryRepository, userRepository, diaryAnalysisSnapshotRepository, outbox,
+                diarySearchIndex, moodStatsService, rollupService, diaryTagService, eventPublisher);
+    }
+
+    @Test
+    void createDiaryWritesOutboxRow() {
+        when(userRepository.getReferenceById(USER_ID)).thenReturn(user);
+        when(moodDiaryRepository.save(any(MoodDiary.class))).thenAnswer(invocation -> {
+            MoodDiary diary = invocation.getArgument(0);
+            diary.setId(DIARY_ID);
+            return diary;
+        });
+        when(taskRepository.findByDiaryId(DIARY_ID)).thenReturn(Optional.empty());
+
+        service.createDiary(request("첫 일기"), USER_ID);
+
+        AiAnalysisTask task = savedTask();
+        assertEquals(DIARY_ID, task.getDiaryId());
+        assertEquals(USER_ID, task.getUserId());
+        assertEquals(AiAnalysisTask.Status.PENDING, task.getStatus());
+        verify(eventPublisher).publishEvent(new DiaryAnalysisRequestedEvent(DIARY_ID));
+    }
+
+    @Test
+    void updateDiaryRequeuesOutboxRow() {
+        MoodDiary existing = MoodDiary.builder()
+                .id(DIARY_ID)
+                .user(user)
+                .title("예전 제목")
+                .mood(MoodType.SAD)
+                .diaryDate(LocalDateTime.of(2024, 5, 1, 9, 0))
+                .build();
+        AiAnalysisTask failed = AiAnalysisTask.builder()
+                .id(1L)
+                .diaryId(DIARY_ID)
+                .userId(USER_ID)
+                .status(AiAnalysisTask.Status.FAILED)
+                .attempts(5)
+                .lastError("timeout")
+                .build();
+        when(moodDiaryRepository.findByIdAndUserId(DIARY_ID, USER_ID)).thenReturn(Optional.of(existing));
+        when(moodDiaryRepository.save(existing)).thenReturn(existing);
+        when(taskRepository.findByDiaryId(DIARY_ID)).thenReturn(Optional.of(failed));
+
+        service.updateDiary(USER_ID, DIARY_ID, request("고친 제목"));
+
+        AiAnalysisTask task = savedTask();
+        assertEquals(1L, task.getId());
+        assertEquals(AiAnalysisTask.Status.PENDING, task.getStatus());
+        assertEquals(0, task.getAttempts());
+        assertNull(task.getLastError());
+        verify(eventPublisher).publishEvent(new DiaryAnalysisRequestedEvent(DIARY_ID));
+    }
+
+    private AiAnalysisTask savedTask() {
+        ArgumentCaptor<AiAnalysisTask> saved = ArgumentCaptor.forClass(AiAnalysisTask.class);
+        verify(taskRepository).save(saved.capture());
+        return saved.getValue();
+    }
+
+    private static MoodDiaryRequest request(String title) {
+        return MoodDiaryRequest.builder()
+                .title(title)
+                .content("오늘은 월급날이라 기분이 좋았다")
+                .mood(MoodType.HAPPY)
+                .moodIntensity(7)
+                .tags(List.of("월급"))
+                .build();
+    }
+}
@@ -0,0 +1,140 @@
+package com.nodove.MoodDiary.service;
+
+import com.nodove.MoodDiary.dto.MoodReportResponse;
+import com.nodove.MoodDiary.entity.UserMoodAggregate;
+import com.nodove.MoodDiary.enums.MoodType;
+import com.nodove.MoodDiary.enums.RollupGranularity;
+import com.nodove.MoodDiary.repository.MoodDiaryRepository;
+import com.nodove.MoodDiary.repository.UserMoodAggregateRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 연속 작성일과 리포트 기간이 서버가 아니라 사용자 시간대 기준인지, 리포트가 구간 집계를 읽는지 확인한다.
+ */
+@ExtendWith(MockitoExtension.class)
+class MoodStatsServiceTest {
+
+    private static final Long USER_ID = 7L;
+    // 서버 시간대와 거의 항상 날짜가 갈리도록 UTC+14 를 쓴다
+    private static final ZoneId ZONE = ZoneId.of("Pacific/Kiritimati");
+
+    @Mock
+    private UserMoodAggregateRepository aggregateRepository;
+    @Mock
+    private MoodDiaryRepository moodDiaryRepository;
+    @Mock
+    private RollupService rollupService;
+
+    private MoodStatsService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new MoodStatsService(aggregateRepository, moodDiaryRepository, rollupService);
+        when(rollupService.zoneOf(USER_ID)).thenReturn(ZONE);
+    }
+
+    @Test
+    void streakUsesUserZoneDates() {
+        UserMoodAggregate aggregate = new UserMoodAggregate();
+        aggregate.setUserId(USER_ID);
+        when(aggregateRepository.findByUserIdForUpdate(USER_ID)).thenReturn(Optional.of(aggregate));
+        when(moodDiaryRepository.findDiaryDatesByUserId(USER_ID)).thenReturn(List.of(
+                serverTime(LocalDateTime.of(2024, 3, 1, 23, 30)),
+                serverTime(LocalDateTime.of(2024, 3, 2, 0, 30)),
+                serverTime(LocalDateTime.of(2024, 3, 3, 8, 0))));
+
+        service.rebuild(USER_ID);
+
+        assertEquals(LocalDate.of(2024, 3, 3), aggregate.getLastEntryDate());
+        assertEquals(3, aggregate.getCurrentStreak());
+        assertEquals(3, aggregate.getLongestStreak());
+    }
+
+    @Test
+    void reportReadsWeekBucket() {
+        Map<MoodType, Long> moodCounts = moodCounts(MoodType.HAPPY, 3L);
+        moodCounts.put(MoodType.SAD, 1L);
+        when(rollupService.getMoodBucket(USER_ID, RollupGranularity.WEEK, LocalDate.of(2024, 3, 4)))
+                .thenReturn(Optional.of(new RollupService.MoodBucket(4, 24, 4, moodCounts)));
+        when(aggregateRepository.findByUserId(USER_ID)).thenReturn(Optional.of(baseline()));
+
+        MoodReportResponse report = service.getReport(USER_ID, MoodReportResponse.Period.WEEKLY, LocalDate.of(2024, 3, 6));
+
+        assertEquals(LocalDate.of(2024, 3, 4), report.getStartDate());
+        assertEquals(LocalDate.of(2024, 3, 10), report.getEndDate());
+        assertEquals(4, report.getTotalDiaries());
+        assertEquals(MoodType.HAPPY, report.getDominantMood());
+        assertEquals(6.0, report.getAverageIntensity());
+        verify(moodDiaryRepository, never()).aggregateMoodsByUserIdAndDiaryDate(any(), any(), any());
+    }
+
+    @Test
+    void reportWithoutRollupsGroupsByUserZoneBounds() {
+        when(rollupService.getMoodBucket(USER_ID, RollupGranularity.MONTH, LocalDate.of(2024, 3, 1)))
+                .thenReturn(Optional.empty());
+        when(moodDiaryRepository.aggregateMoodsByUserIdAndDiaryDate(USER_ID,
+                serverTime(LocalDateTime.of(2024, 3, 1, 0, 0)), serverTime(LocalDateTime.of(2024, 4, 1, 0, 0))))
+                .thenReturn(List.<Object[]>of(new Object[]{MoodType.SAD, 2L, 9L, 2L}));
+        when(aggregateRepository.findByUserId(USER_ID)).thenReturn(Optional.of(baseline()));
+
+        MoodReportResponse report = service.getReport(USER_ID, MoodReportResponse.Period.MONTHLY, LocalDate.of(2024, 3, 15));
+
+        assertEquals(LocalDate.of(2024, 3, 31), report.getEndDate());
+        assertEquals(2, report.getTotalDiaries());
+        assertEquals(MoodType.SAD, report.getDominantMood());
+        assertEquals(4.5, report.getAverageIntensity());
+    }
+
+    @Test
+    void reportDefaultsToTodayInUserZone() {
+        LocalDate monthStart = LocalDate.now(ZONE).withDayOfMonth(1);
+        when(rollupService.getMoodBucket(USER_ID, RollupGranularity.MONTH, monthStart))
+                .thenReturn(Optional.of(new RollupService.MoodBucket(0, 0, 0, moodCounts(MoodType.HAPPY, 0L))));
+        when(aggregateRepository.findByUserId(USER_ID)).thenReturn(Optional.of(baseline()));
+
+        MoodReportResponse report = service.getReport(USER_ID, MoodReportResponse.Period.MONTHLY, null);
+
+        assertEquals(monthStart, report.getStartDate());
+        assertEquals(0, report.getTotalDiaries());
+        assertNull(report.getDominantMood());
+    }
+
+    private static UserMoodAggregate baseline() {
+        UserMoodAggregate aggregate = new UserMoodAggregate();
+        aggregate.setUserId(USER_ID);
+        return aggregate;
+    }
+
+    private static Map<MoodType, Long> moodCounts(MoodType mood, long count) {
+        Map<MoodType, Long> counts = new EnumMap<>(MoodType.class);
+        for (MoodType type : MoodType.values()) {
+            counts.put(type, 0L);
+        }
+        counts.put(mood, count);
+        return counts;
+    }
+
+    // 사용자 시간대의 일시를 DB 에 저장되는 서버 시간대 일시로 바꾼다
+    private static LocalDateTime serverTime(LocalDateTime userTime) {
+        return userTime.atZone(ZONE).withZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+    }
+}
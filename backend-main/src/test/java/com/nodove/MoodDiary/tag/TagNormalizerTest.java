@@ -0,0 +1,59 @@
+package com.nodove.MoodDiary.tag;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TagNormalizerTest {
+
+    @Test
+    void stripsHashesAndWhitespace() {
+        assertEquals("여행", TagNormalizer.normalize("  #여행 "));
+        assertEquals("여행", TagNormalizer.normalize("## 여행"));
+        assertEquals("제주 여행", TagNormalizer.normalize("#제주 \t  여행"));
+    }
+
+    @Test
+    void lowercases() {
+        assertEquals("coffee", TagNormalizer.normalize("#Coffee"));
+        assertEquals("istanbul", TagNormalizer.normalize("ISTANBUL"));
+    }
+
+    @Test
+    void keepsInnerHash() {
+        assertEquals("c#", TagNormalizer.normalize("#C#"));
+    }
+
+    @Test
+    void emptyBecomesNull() {
+        assertNull(TagNormalizer.normalize(null));
+        assertNull(TagNormalizer.normalize(""));
+        assertNull(TagNormalizer.normalize("   "));
+        assertNull(TagNormalizer.normalize("# #"));
+    }
+
+    @Test
+    void truncatesToMaxLength() {
+        String normalized = TagNormalizer.normalize("가".repeat(TagNormalizer.MAX_LENGTH + 20));
+
+        assertEquals(TagNormalizer.MAX_LENGTH, normalized.length());
+    }
+
+    @Test
+    void normalizeAllDeduplicatesInOrder() {
+        Set<String> normalized = TagNormalizer.normalizeAll(Arrays.asList("#Travel", "운동", null, " ", "travel", "#운동"));
+
+        assertEquals(List.of("travel", "운동"), List.copyOf(normalized));
+    }
+
+    @Test
+    void normalizeAllAcceptsNull() {
+        assertTrue(TagNormalizer.normalizeAll(null).isEmpty());
+    }
+}
@@ -0,0 +1,71 @@
+package com.nodove.MoodDiary.tag;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TagTrieTest {
+
+    @Test
+    void suggestsByUsageThenTag() {
+        TagTrie trie = new TagTrie();
+        trie.add("여행", 3);
+        trie.add("여름", 5);
+        trie.add("여름휴가", 3);
+        trie.add("월급", 10);
+
+        assertEquals(List.of(new TagUsage("여름", 5), new TagUsage("여름휴가", 3), new TagUsage("여행", 3)),
+                trie.suggest("여", 10));
+    }
+
+    @Test
+    void prefixIncludesExactMatch() {
+        TagTrie trie = new TagTrie();
+        trie.add("cafe", 1);
+        trie.add("cafeteria", 2);
+
+        assertEquals(List.of(new TagUsage("cafeteria", 2), new TagUsage("cafe", 1)), trie.suggest("cafe", 10));
+        assertEquals(List.of(new TagUsage("cafeteria", 2)), trie.suggest("cafet", 10));
+    }
+
+    @Test
+    void emptyPrefixMatchesEverything() {
+        TagTrie trie = new TagTrie();
+        trie.add("a", 1);
+        trie.add("b", 2);
+
+        assertEquals(List.of(new TagUsage("b", 2), new TagUsage("a", 1)), trie.suggest("", 10));
+    }
+
+    @Test
+    void limitsResults() {
+        TagTrie trie = new TagTrie();
+        for (int i = 0; i < 20; i++) {
+            trie.add("tag" + i, i);
+        }
+
+        assertEquals(List.of(new TagUsage("tag19", 19), new TagUsage("tag18", 18)), trie.suggest("tag", 2));
+        assertEquals(List.of(), trie.suggest("tag", 0));
+    }
+
+    @Test
+    void unknownPrefixSuggestsNothing() {
+        TagTrie trie = new TagTrie();
+        trie.add("운동", 1);
+
+        assertEquals(List.of(), trie.suggest("운전", 10));
+        assertEquals(List.of(), trie.suggest("운동장", 10));
+    }
+
+    @Test
+    void addingSameTagReplacesCount() {
+        TagTrie trie = new TagTrie();
+        trie.add("운동", 1);
+        trie.add("운동", 4);
+
+        assertEquals(1, trie.size());
+        assertEquals(List.of(new TagUsage("운동", 4)), trie.suggest("운", 10));
+    }
+}
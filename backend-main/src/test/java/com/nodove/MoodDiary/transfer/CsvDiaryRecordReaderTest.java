@@ -0,0 +1,131 @@
+package com.nodove.MoodDiary.transfer;
+
+import com.nodove.MoodDiary.enums.MoodType;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CsvDiaryRecordReaderTest {
+
+    @Test
+    void readsQuotedCommasQuotesAndLineBreaks() throws IOException {
+        DiaryRecordReader reader = open("""
+                title,content,mood
+                "제목, 쉼표","그가 ""안녕"" 이라고 했다
+                둘째 줄",HAPPY
+                """);
+
+        DiaryRecord record = reader.next();
+
+        assertEquals("제목, 쉼표", record.title());
+        assertEquals("그가 \"안녕\" 이라고 했다\n둘째 줄", record.content());
+        assertEquals(MoodType.HAPPY, record.mood());
+        assertNull(reader.next());
+    }
+
+    @Test
+    void keepsCarriageReturnInsideQuotesAndDropsItOutside() throws IOException {
+        DiaryRecordReader reader = open("title,content,mood\r\n제목,\"a\r\nb\",sad\r\n");
+
+        DiaryRecord record = reader.next();
+
+        assertEquals("제목", record.title());
+        assertEquals("a\r\nb", record.content());
+        assertEquals(MoodType.SAD, record.mood());
+        assertNull(reader.next());
+    }
+
+    @Test
+    void quoteInsideUnquotedFieldIsLiteral() throws IOException {
+        DiaryRecord record = open("title,mood\n5\" 화면,HAPPY\n").next();
+
+        assertEquals("5\" 화면", record.title());
+    }
+
+    @Test
+    void emptyQuotedFieldIsNull() throws IOException {
+        DiaryRecord record = open("title,content,mood\n제목,\"\",HAPPY\n").next();
+
+        assertNull(record.content());
+    }
+
+    @Test
+    void columnsInAnyOrderWithBomAndBlankLines() throws IOException {
+        DiaryRecordReader reader = open("\uFEFFmood,tags,title,diaryDate,isPrivate\n\nTIRED,운동| 산책 |,제목,2024-05-01,true\n");
+
+        DiaryRecord record = reader.next();
+
+        assertEquals("제목", record.title());
+        assertEquals(MoodType.TIRED, record.mood());
+        assertEquals(List.of("운동", "산책"), record.tags());
+        assertEquals(LocalDateTime.of(2024, 5, 1, 0, 0), record.diaryDate());
+        assertEquals(Boolean.TRUE, record.isPrivate());
+        assertEquals(3, reader.line());
+    }
+
+    @Test
+    void reportsStartLineOfMultiLineRecord() throws IOException {
+        DiaryRecordReader reader = open("""
+                title,content,mood
+                "첫
+                일기",,HAPPY
+                둘째,,NOPE
+                셋째,,SAD
+                """);
+
+        reader.next();
+        assertEquals(2, reader.line());
+
+        MalformedDiaryRecordException malformed = assertThrows(MalformedDiaryRecordException.class, reader::next);
+        assertEquals(4, malformed.getLine());
+
+        // 잘못된 행 다음부터 계속 읽는다
+        assertEquals("셋째", reader.next().title());
+        assertEquals(5, reader.line());
+    }
+
+    @Test
+    void rejectsUnterminatedQuote() throws IOException {
+        DiaryRecordReader reader = open("title,mood\n\"닫히지 않음,HAPPY\n");
+
+        assertThrows(IllegalArgumentException.class, reader::next);
+    }
+
+    @Test
+    void requiresTitleAndMoodColumns() throws IOException {
+        DiaryRecordReader reader = open("title,content\n제목,내용\n");
+
+        assertThrows(IllegalArgumentException.class, reader::next);
+    }
+
+    @Test
+    void readsWhatTheWriterWrites() throws IOException {
+        DiaryRecord original = new DiaryRecord("제목, \"따옴표\"", "첫 줄\n둘째 줄", MoodType.EXCITED, 7,
+                List.of("여행", "제주"), "맑음", "서울, 한국", false,
+                LocalDateTime.of(2024, 5, 1, 9, 30), LocalDateTime.of(2024, 5, 1, 21, 0, 15));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        DiaryRecordWriter writer = DiaryRecordWriter.open(DiaryTransferFormat.CSV, out, null);
+        writer.write(original);
+        writer.flush();
+
+        DiaryRecordReader reader = DiaryRecordReader.open(DiaryTransferFormat.CSV,
+                new ByteArrayInputStream(out.toByteArray()), null);
+
+        assertEquals(original, reader.next());
+        assertNull(reader.next());
+    }
+
+    private static DiaryRecordReader open(String csv) throws IOException {
+        return DiaryRecordReader.open(DiaryTransferFormat.CSV,
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), null);
+    }
+}
@@ -0,0 +1,79 @@
+package com.nodove.MoodDiary.websocket;
+
+import com.nodove.MoodDiary.entity.User;
+import com.nodove.MoodDiary.security.JwtSigningKey;
+import com.nodove.MoodDiary.security.JwtTokenProvider;
+import com.nodove.MoodDiary.security.ParsedToken;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JwtHandshakeInterceptorTest {
+
+    private static final String SECRET = "test-secret-key-for-testing-purposes-only-256-bit-long-enough";
+
+    private final User user = User.builder().id(7L).email("user@example.com").build();
+    private JwtTokenProvider tokenProvider;
+    private JwtHandshakeInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        tokenProvider = new JwtTokenProvider(new JwtSigningKey(SECRET));
+        ReflectionTestUtils.setField(tokenProvider, "jwtExpiration", 60_000L);
+        ReflectionTestUtils.setField(tokenProvider, "refreshExpiration", 60_000L);
+        interceptor = new JwtHandshakeInterceptor(tokenProvider);
+    }
+
+    @Test
+    void acceptsAccessToken() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        Map<String, Object> attributes = new HashMap<>();
+
+        boolean accepted = handshake(tokenProvider.generateAccessToken(user), response, attributes);
+
+        assertTrue(accepted);
+        ParsedToken parsed = (ParsedToken) attributes.get(JwtHandshakeInterceptor.PARSED_TOKEN_ATTRIBUTE);
+        assertEquals(7L, parsed.userId());
+        assertEquals("user@example.com", parsed.email());
+    }
+
+    @Test
+    void rejectsRefreshToken() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        Map<String, Object> attributes = new HashMap<>();
+
+        boolean accepted = handshake(tokenProvider.generateRefreshToken(user), response, attributes);
+
+        assertFalse(accepted);
+        assertEquals(401, response.getStatus());
+        assertTrue(attributes.isEmpty());
+    }
+
+    @Test
+    void rejectsMissingToken() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertFalse(handshake(null, response, new HashMap<>()));
+        assertEquals(401, response.getStatus());
+    }
+
+    private boolean handshake(String token, MockHttpServletResponse response, Map<String, Object> attributes) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/ws/notifications");
+        if (token != null) {
+            request.setQueryString("token=" + token);
+        }
+        return interceptor.beforeHandshake(new ServletServerHttpRequest(request), new ServletServerHttpResponse(response),
+                null, attributes);
+    }
+}